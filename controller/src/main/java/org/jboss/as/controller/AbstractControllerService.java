@@ -359,6 +359,7 @@ public abstract class AbstractControllerService implements Service<ModelControll
             public void run() {
                 try {
                     try {
+                        BootProfile.bootStarted();
                         boot(new BootContext() {
                             public ServiceTarget getServiceTarget() {
                                 return target;
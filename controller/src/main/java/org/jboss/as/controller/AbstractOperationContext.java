@@ -155,6 +155,8 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
     ModelNode initialResponse;
     /** Operation provided to addStep along with initialResponse */
     ModelNode initialOperation;
+    /** JFR event of the operation, if {@linkplain FlightRecorderEvents#isEnabled() enabled} */
+    ManagementOperationEvent operationEvent;
 
     /** Operations that were added by the controller, before execution started */
     private final List<ModelNode> controllerOperations = new ArrayList<ModelNode>(2);
@@ -225,6 +227,10 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
      */
     abstract ModelControllerImpl.ManagementModelImpl getManagementModel();
 
+    ModelControllerImpl getController() {
+        return controller;
+    }
+
     /**
      * Internal helper to read a resource from a given management model.
      *
@@ -453,6 +459,9 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
     ResultAction executeOperation() {
 
         assert isControllingThread();
+        if (FlightRecorderEvents.isEnabled()) {
+            operationEvent = ManagementOperationEvent.start();
+        }
         try {
             /** Execution has begun */
             executing = true;
@@ -485,6 +494,10 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
                     }
                 }
             }
+            if (operationEvent != null && initialOperation != null) {
+                operationEvent.complete(initialOperation.get(OP).asString(),
+                        PathAddress.pathAddress(initialOperation.get(OP_ADDR)).toCLIStyleString(), resultAction != ResultAction.KEEP);
+            }
         }
 
 
@@ -732,6 +745,9 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
                 }
                 // Proceed to the next stage
                 if (currentStage.hasNext()) {
+                    if (operationEvent != null) {
+                        operationEvent.stageCompleted(currentStage);
+                    }
                     currentStage = currentStage.next();
                     if (currentStage == Stage.VERIFY) {
                         // a change was made to the runtime. Thus, we must wait
@@ -1045,7 +1061,21 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
             try {
                 ClassLoader oldTccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(step.handler.getClass());
                 try {
-                    step.handler.execute(this, step.operation);
+                    final ManagementStepEvent stepEvent = operationEvent != null ? ManagementStepEvent.start() : null;
+                    try {
+                        if (BootProfile.isRecording() && isBooting()) {
+                            try (BootProfile.Measurement ignored = BootProfile.measure(BootProfile.Category.OPERATION,
+                                    step.address.toCLIStyleString() + ":" + step.operationId.name, currentStage.toString())) {
+                                step.handler.execute(this, step.operation);
+                            }
+                        } else {
+                            step.handler.execute(this, step.operation);
+                        }
+                    } finally {
+                        if (stepEvent != null) {
+                            stepEvent.complete(step.operationId.name, step.address, currentStage);
+                        }
+                    }
                     // AS7-6046
                     if (step.hasFailed()) {
                         logStepFailure(step, false);
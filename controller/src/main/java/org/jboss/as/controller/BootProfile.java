@@ -0,0 +1,261 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Opt-in profile of the boot of the process, recording the wall time, CPU time and memory allocated by each boot
+ * operation step, extension initialization and deployment unit processor.
+ * <p>
+ * Profiling is enabled by setting the {@value #PROPERTY} system property to {@code true}. The profile then records
+ * the boot, or the last reload, until the boot operations complete. Each {@link Measurement} is also emitted as a
+ * Java Flight Recorder event if JFR is available. When profiling is not enabled, {@link #measure} returns a shared
+ * no-op measurement, so instrumented code has next to no overhead.
+ * <p>
+ * The measurements of the same category, name and phase are aggregated, e.g. those of a deployment unit processor
+ * across all the deployments.
+ */
+public final class BootProfile {
+
+    /** The system property enabling boot profiling */
+    public static final String PROPERTY = "org.jboss.as.controller.boot_profile";
+
+    /** The categories of measurements */
+    public enum Category {
+        /** The execution of a step of a boot operation in a given stage */
+        OPERATION("operation"),
+        /** The initialization of an extension, or of its parsers */
+        EXTENSION("extension"),
+        /** The execution of a deployment unit processor in a given phase */
+        DEPLOYMENT_PROCESSOR("deployment-processor");
+
+        private final String label;
+
+        Category(final String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final boolean ENABLED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(PROPERTY, "false"));
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final Map<Key, Totals> TOTALS = new ConcurrentHashMap<>();
+
+    private static volatile boolean recording;
+    private static volatile boolean allocationSupported;
+    private static volatile boolean jfrAvailable;
+
+    private BootProfile() {
+    }
+
+    /**
+     * Gets whether measurements are currently recorded, i.e. whether profiling is enabled and the process is booting.
+     *
+     * @return {@code true} if measurements are recorded
+     */
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Starts a measurement, to {@linkplain Measurement#close() close} once the measured work completes, on the same
+     * thread.
+     *
+     * @param category the category of the measured work
+     * @param name the name of the measured work, e.g. the class name of a deployment unit processor
+     * @param phase the phase of the measured work, e.g. a deployment phase, or {@code null}
+     * @return the measurement. Will not be {@code null}
+     */
+    public static Measurement measure(final Category category, final String name, final String phase) {
+        return recording ? new Measurement(new Key(category, name, phase)) : Measurement.NONE;
+    }
+
+    /**
+     * Starts recording the boot of the process if profiling is enabled, discarding the profile of any previous boot.
+     */
+    static void bootStarted() {
+        if (ENABLED) {
+            start();
+        }
+    }
+
+    /**
+     * Stops recording the boot of the process.
+     */
+    static void bootFinished() {
+        if (recording) {
+            recording = false;
+            ControllerLogger.ROOT_LOGGER.debugf("Recorded the boot profile of %d boot operation steps, extensions and deployment unit processors", TOTALS.size());
+        }
+    }
+
+    static synchronized void start() {
+        TOTALS.clear();
+        if (THREADS.isThreadCpuTimeSupported() && !THREADS.isThreadCpuTimeEnabled()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+        allocationSupported = isAllocationSupported();
+        jfrAvailable = FlightRecorderEvents.isAvailable();
+        recording = true;
+    }
+
+    /**
+     * Gets the recorded profile, as a list of the totals of the measurements, the most expensive in wall time first.
+     *
+     * @param limit the maximum number of totals to return
+     * @return the profile. Will not be {@code null}
+     */
+    static ModelNode toModelNode(final int limit) {
+        final List<Map.Entry<Key, Totals>> entries = new ArrayList<>(TOTALS.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<Key, Totals> entry) -> entry.getValue().wallTime.sum()).reversed());
+        final ModelNode result = new ModelNode().setEmptyList();
+        for (int i = 0; i < entries.size() && i < limit; i++) {
+            final Key key = entries.get(i).getKey();
+            final Totals totals = entries.get(i).getValue();
+            final ModelNode entry = result.add();
+            entry.get("category").set(key.category.toString());
+            entry.get("name").set(key.name);
+            if (key.phase != null) {
+                entry.get("phase").set(key.phase);
+            }
+            entry.get("count").set(totals.count.sum());
+            entry.get("wall-time").set(totals.wallTime.sum());
+            if (THREADS.isCurrentThreadCpuTimeSupported()) {
+                entry.get("cpu-time").set(totals.cpuTime.sum());
+            }
+            if (allocationSupported) {
+                entry.get("allocated-bytes").set(totals.allocated.sum());
+            }
+        }
+        return result;
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        return allocationSupported ? ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static boolean isAllocationSupported() {
+        try {
+            return THREADS instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()
+                    && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemoryEnabled();
+        } catch (LinkageError e) {
+            // Not a HotSpot based JVM, or jdk.management is not visible
+            return false;
+        }
+    }
+
+    /**
+     * A measurement of some work, recorded when it is closed.
+     */
+    public static final class Measurement implements AutoCloseable {
+
+        private static final Measurement NONE = new Measurement(null);
+
+        private final Key key;
+        private final long wallStart;
+        private final long cpuStart;
+        private final long allocatedStart;
+        private final BootProfileEvent event;
+
+        private Measurement(final Key key) {
+            this.key = key;
+            if (key != null) {
+                this.event = jfrAvailable ? BootProfileEvent.start() : null;
+                this.allocatedStart = allocatedBytes();
+                this.cpuStart = cpuTime();
+                this.wallStart = System.nanoTime();
+            } else {
+                this.event = null;
+                this.allocatedStart = this.cpuStart = this.wallStart = 0;
+            }
+        }
+
+        /**
+         * Records the measurement.
+         */
+        @Override
+        public void close() {
+            if (key == null) {
+                return;
+            }
+            final long wallTime = System.nanoTime() - wallStart;
+            final long cpuTime = cpuStart < 0 ? -1 : cpuTime() - cpuStart;
+            final long allocated = allocatedStart < 0 ? -1 : allocatedBytes() - allocatedStart;
+            if (recording) {
+                final Totals totals = TOTALS.computeIfAbsent(key, k -> new Totals());
+                totals.count.increment();
+                totals.wallTime.add(wallTime);
+                if (cpuTime >= 0) {
+                    totals.cpuTime.add(cpuTime);
+                }
+                if (allocated >= 0) {
+                    totals.allocated.add(allocated);
+                }
+            }
+            if (event != null) {
+                event.commit(key.category.toString(), key.name, key.phase, cpuTime, allocated);
+            }
+        }
+    }
+
+    private static final class Key {
+        private final Category category;
+        private final String name;
+        private final String phase;
+
+        private Key(final Category category, final String name, final String phase) {
+            this.category = category;
+            this.name = name;
+            this.phase = phase;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return category == other.category && name.equals(other.name) && Objects.equals(phase, other.phase);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, name, phase);
+        }
+    }
+
+    private static final class Totals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder wallTime = new LongAdder();
+        private final LongAdder cpuTime = new LongAdder();
+        private final LongAdder allocated = new LongAdder();
+    }
+}
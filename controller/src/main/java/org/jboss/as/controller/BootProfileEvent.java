@@ -0,0 +1,59 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event for a {@link BootProfile.Measurement}. Only referenced once JFR is known to be
+ * {@linkplain FlightRecorderEvents#isAvailable() available}.
+ */
+@Name("org.wildfly.BootProfile")
+@Label("Boot Profile")
+@Category({"WildFly", "Boot"})
+@Description("Wall time, CPU time and memory allocated by a boot operation step, extension initialization or deployment unit processor")
+final class BootProfileEvent extends Event {
+
+    @Label("Category")
+    String category;
+
+    @Label("Name")
+    String name;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuTime;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+
+    static BootProfileEvent start() {
+        final BootProfileEvent event = new BootProfileEvent();
+        event.begin();
+        return event;
+    }
+
+    void commit(final String category, final String name, final String phase, final long cpuTime, final long allocated) {
+        if (shouldCommit()) {
+            this.category = category;
+            this.name = name;
+            this.phase = phase;
+            this.cpuTime = cpuTime;
+            this.allocated = allocated;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+
+import java.util.List;
+
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Handler for the "bulk-read" operation; i.e. one that executes independent read-only operations concurrently
+ * against the same version of the management model.
+ * <p>
+ * Unlike the steps of a "composite" operation, each of these operations executes in its own operation context, so the
+ * failure of one of them has no effect on the others, and never rolls back the "bulk-read" operation. The operations
+ * read the management model published when the "bulk-read" operation executes, so they do not see the changes made
+ * by other steps of an enclosing "composite" operation. For the same reason, a "bulk-read" operation fails if an
+ * enclosing operation holds the controller lock, as any of the operations needing the lock would wait forever for the
+ * enclosing operation to complete.
+ */
+public class BulkReadOperationHandler implements OperationStepHandler {
+
+    public static final BulkReadOperationHandler INSTANCE = new BulkReadOperationHandler();
+    public static final String NAME = ModelDescriptionConstants.BULK_READ;
+
+    private static final AttributeDefinition STEPS = new PrimitiveListAttributeDefinition.Builder(ModelDescriptionConstants.STEPS, ModelType.OBJECT)
+            .build();
+
+    public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(NAME, ControllerResolver.getResolver("root"))
+            .addParameter(STEPS)
+            .setReadOnly()
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .build();
+
+    private BulkReadOperationHandler() {
+    }
+
+    @Override
+    public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        STEPS.validateOperation(operation);
+        if (((AbstractOperationContext) context).lockStep != null) {
+            throw ControllerLogger.ROOT_LOGGER.bulkReadHoldingControllerLock();
+        }
+
+        final List<ModelNode> steps = operation.get(ModelDescriptionConstants.STEPS).asList();
+        if (operation.hasDefined(OPERATION_HEADERS)) {
+            // The operations execute on behalf of the same caller, e.g. with the same roles
+            final ModelNode headers = operation.get(OPERATION_HEADERS);
+            for (ModelNode step : steps) {
+                if (!step.hasDefined(OPERATION_HEADERS)) {
+                    step.get(OPERATION_HEADERS).set(headers);
+                }
+            }
+        }
+
+        final ModelControllerImpl controller = ((AbstractOperationContext) context).getController();
+        final ModelNode result = context.getResult().setEmptyList();
+        for (ModelNode response : controller.executeReadOnlyOperations(steps)) {
+            result.add(response);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import org.jboss.as.controller.client.OperationMessageHandler;
+
+/**
+ * An {@link OperationMessageHandler} which is given the {@link Cancellable handle} of the operation whose messages it
+ * handles, so it can cancel the operation if the messages can no longer be delivered to the caller.
+ */
+public interface CancellingOperationMessageHandler extends OperationMessageHandler {
+
+    /**
+     * Sets the handle of the operation, before the operation executes. Cancelling the handle has no effect once the
+     * operation completed.
+     *
+     * @param operation the handle of the operation. Cannot be {@code null}
+     */
+    void setOperation(Cancellable operation);
+}
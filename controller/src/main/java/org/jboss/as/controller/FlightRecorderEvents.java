@@ -0,0 +1,59 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+/**
+ * Switch for the Java Flight Recorder events of management operations, of their steps, of waits for the controller
+ * lock, of the start of the services they install and of deployment phases.
+ * <p>
+ * The events are disabled by default, in which case instrumented code only checks a volatile flag once per operation
+ * and no event is created. When enabled, e.g. through the core-management subsystem, the events are created and
+ * recorded by any running JFR recording enabling them.
+ */
+public final class FlightRecorderEvents {
+
+    private static volatile boolean enabled;
+    private static Boolean available;
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Gets whether the events are enabled.
+     *
+     * @return {@code true} if the events are enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the events. The events can only be enabled if JFR is {@linkplain #isAvailable() available}.
+     *
+     * @param enabled whether the events are enabled
+     */
+    public static void setEnabled(final boolean enabled) {
+        FlightRecorderEvents.enabled = enabled && isAvailable();
+    }
+
+    /**
+     * Gets whether JFR is available, i.e. whether JFR events can be created.
+     *
+     * @return {@code true} if JFR is available
+     */
+    public static synchronized boolean isAvailable() {
+        if (available == null) {
+            try {
+                Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+                available = Boolean.TRUE;
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Not provided by the JVM, or jdk.jfr is not visible
+                available = Boolean.FALSE;
+            }
+        }
+        return available;
+    }
+}
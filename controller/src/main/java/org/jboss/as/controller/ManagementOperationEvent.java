@@ -0,0 +1,92 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event for the execution of a management operation. Only created when
+ * {@linkplain FlightRecorderEvents#isEnabled() enabled}.
+ */
+@Name("org.wildfly.ManagementOperation")
+@Label("Management Operation")
+@Category({"WildFly", "Management"})
+@Description("Execution of a management operation, with the time spent in each stage and waiting for the controller lock")
+final class ManagementOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Address")
+    String address;
+
+    @Label("Rolled Back")
+    boolean rolledBack;
+
+    @Label("Model Stage Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long modelTime;
+
+    @Label("Runtime Stage Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long runtimeTime;
+
+    @Label("Verify Stage Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long verifyTime;
+
+    @Label("Lock Wait Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWaitTime;
+
+    private transient long stageStart;
+
+    static ManagementOperationEvent start() {
+        final ManagementOperationEvent event = new ManagementOperationEvent();
+        event.begin();
+        event.stageStart = System.nanoTime();
+        return event;
+    }
+
+    /**
+     * Records the end of a stage, and the start of the next one.
+     */
+    void stageCompleted(final OperationContext.Stage stage) {
+        final long now = System.nanoTime();
+        switch (stage) {
+            case MODEL:
+                modelTime += now - stageStart;
+                break;
+            case RUNTIME:
+                runtimeTime += now - stageStart;
+                break;
+            case VERIFY:
+                verifyTime += now - stageStart;
+                break;
+            default:
+                break;
+        }
+        stageStart = now;
+    }
+
+    void lockWaited(final long waitTime) {
+        lockWaitTime += waitTime;
+    }
+
+    void complete(final String operation, final String address, final boolean rolledBack) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.address = address;
+            this.rolledBack = rolledBack;
+            commit();
+        }
+    }
+}
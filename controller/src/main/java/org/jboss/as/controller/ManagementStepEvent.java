@@ -0,0 +1,47 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for the execution of a step of a management operation. Only created when
+ * {@linkplain FlightRecorderEvents#isEnabled() enabled}.
+ */
+@Name("org.wildfly.ManagementOperationStep")
+@Label("Management Operation Step")
+@Category({"WildFly", "Management"})
+@Description("Execution of the handler of a step of a management operation")
+final class ManagementStepEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Address")
+    String address;
+
+    @Label("Stage")
+    String stage;
+
+    static ManagementStepEvent start() {
+        final ManagementStepEvent event = new ManagementStepEvent();
+        event.begin();
+        return event;
+    }
+
+    void complete(final String operation, final PathAddress address, final OperationContext.Stage stage) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.address = address.toCLIStyleString();
+            this.stage = stage.toString();
+            commit();
+        }
+    }
+}
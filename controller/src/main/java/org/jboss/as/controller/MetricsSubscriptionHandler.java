@@ -0,0 +1,356 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static java.security.AccessController.doPrivileged;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.controller.client.MessageSeverity;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Handler for the "subscribe-metrics" operation, which samples a set of attributes periodically and pushes their
+ * changes to the caller as {@linkplain OperationContext#report(MessageSeverity, String) messages} of the operation,
+ * until the operation is cancelled or the requested number of samples is taken.
+ * <p>
+ * Each message is a compact JSON object whose keys are the positions of attributes in the "attributes" parameter,
+ * and whose values are the values of these attributes, or undefined if they could not be read. The messages of the
+ * first sample include all the attributes, those of the following samples only the attributes whose value changed.
+ * <p>
+ * The samples are taken by a {@link Subscription} scheduled on a dedicated pool of threads, on behalf of the caller of
+ * the operation. The operation only waits for the subscription to end, as the messages of an operation can only be
+ * delivered to the caller while it executes, and cancels it if interrupted. The number of concurrent subscriptions is
+ * limited.
+ */
+public class MetricsSubscriptionHandler implements OperationStepHandler {
+
+    public static final MetricsSubscriptionHandler INSTANCE = new MetricsSubscriptionHandler();
+    public static final String NAME = ModelDescriptionConstants.SUBSCRIBE_METRICS;
+
+    /** Maximum length of a message, so its modified UTF-8 encoding fits in the native protocol */
+    static final int MAX_MESSAGE_LENGTH = 16 * 1024;
+
+    /** Maximum number of samples of a subscription */
+    static final int MAX_SAMPLES = 86400;
+
+    private static final int DEFAULT_MAX_SUBSCRIPTIONS = 16;
+
+    private static final AttributeDefinition ATTRIBUTES = new PrimitiveListAttributeDefinition.Builder(ModelDescriptionConstants.ATTRIBUTES, ModelType.OBJECT)
+            .build();
+
+    private static final SimpleAttributeDefinition PERIOD = new SimpleAttributeDefinitionBuilder("period", ModelType.INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1000))
+            .setValidator(new IntRangeValidator(100, true))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
+    private static final SimpleAttributeDefinition SAMPLES = new SimpleAttributeDefinitionBuilder("samples", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, MAX_SAMPLES, false, true))
+            .build();
+
+    public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(NAME, ControllerResolver.getResolver("root"))
+            .addParameter(ATTRIBUTES)
+            .addParameter(PERIOD)
+            .addParameter(SAMPLES)
+            .setReplyType(ModelType.INT)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
+    private final int maxSubscriptions;
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    private MetricsSubscriptionHandler() {
+        this(getMaxSubscriptions());
+    }
+
+    MetricsSubscriptionHandler(final int maxSubscriptions) {
+        this.maxSubscriptions = maxSubscriptions;
+    }
+
+    @Override
+    public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        ATTRIBUTES.validateOperation(operation);
+        final long period = PERIOD.resolveModelAttribute(context, operation).asInt();
+        final int samples = SAMPLES.resolveModelAttribute(context, operation).asInt();
+
+        final List<ModelNode> reads = new ArrayList<>();
+        for (ModelNode attribute : operation.get(ModelDescriptionConstants.ATTRIBUTES).asList()) {
+            if (!attribute.hasDefined(ModelDescriptionConstants.NAME)) {
+                throw ControllerLogger.ROOT_LOGGER.required(ModelDescriptionConstants.NAME);
+            }
+            final ModelNode read = new ModelNode();
+            read.get(OP).set(READ_ATTRIBUTE_OPERATION);
+            read.get(OP_ADDR).set(PathAddress.pathAddress(attribute.get(ADDRESS)).toModelNode());
+            read.get(ModelDescriptionConstants.NAME).set(attribute.get(ModelDescriptionConstants.NAME));
+            if (operation.hasDefined(OPERATION_HEADERS)) {
+                // The reads execute on behalf of the same caller, e.g. with the same roles
+                read.get(OPERATION_HEADERS).set(operation.get(OPERATION_HEADERS));
+            }
+            reads.add(read);
+        }
+
+        final ModelControllerImpl controller = ((AbstractOperationContext) context).getController();
+        // The reads execute on another thread, so capture the caller of this one
+        final Caller caller = new Caller(SecurityActions.currentAccessAuditContext(), context.getSecurityIdentity());
+        final Subscription subscription = subscribe(controller, reads, caller, context, period, samples);
+        try {
+            subscription.await();
+        } catch (InterruptedException e) {
+            // Cancelled
+            Thread.currentThread().interrupt();
+        } finally {
+            subscription.cancel();
+        }
+        context.getResult().set(subscription.getSamplesTaken());
+    }
+
+    /**
+     * Starts sampling attributes.
+     *
+     * @param controller the controller reading the attributes
+     * @param reads the operations reading the attributes
+     * @param caller the caller on behalf of whom the attributes are read
+     * @param context the context of the operation, to which the changes are reported
+     * @param period the period between two samples, in milliseconds
+     * @param samples the number of samples to take
+     * @return the handle of the subscription
+     * @throws OperationFailedException if the maximum number of concurrent subscriptions is reached
+     */
+    Subscription subscribe(final ModelControllerImpl controller, final List<ModelNode> reads, final Caller caller,
+                           final OperationContext context, final long period, final int samples) throws OperationFailedException {
+        if (subscriptions.incrementAndGet() > maxSubscriptions) {
+            subscriptions.decrementAndGet();
+            throw ControllerLogger.ROOT_LOGGER.tooManyMetricsSubscriptions(maxSubscriptions);
+        }
+        final Subscription subscription = new Subscription(controller, reads, caller, context, samples);
+        subscription.start(period);
+        return subscription;
+    }
+
+    /**
+     * The access audit context and identity of the caller of the operation.
+     */
+    static final class Caller {
+        private final AccessAuditContext accessContext;
+        private final SecurityIdentity securityIdentity;
+
+        Caller(final AccessAuditContext accessContext, final SecurityIdentity securityIdentity) {
+            this.accessContext = accessContext;
+            this.securityIdentity = securityIdentity;
+        }
+    }
+
+    /**
+     * Handle of a subscription, sampling the attributes at a fixed rate until it takes the requested number of samples
+     * or is cancelled.
+     */
+    final class Subscription implements Runnable {
+
+        private final ModelControllerImpl controller;
+        private final List<ModelNode> reads;
+        private final Caller caller;
+        private final OperationContext context;
+        private final int samples;
+        private final ModelNode[] values;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final AtomicBoolean ended = new AtomicBoolean();
+        /** Held while sampling, so the operation can wait for a sample in progress once the subscription ended */
+        private final Lock sampling = new ReentrantLock();
+        /** Only accessed by the sampling task, which never runs concurrently */
+        private int taken;
+        private volatile int samplesTaken;
+        private volatile ScheduledFuture<?> future;
+
+        private Subscription(final ModelControllerImpl controller, final List<ModelNode> reads, final Caller caller,
+                             final OperationContext context, final int samples) {
+            this.controller = controller;
+            this.reads = reads;
+            this.caller = caller;
+            this.context = context;
+            this.samples = samples;
+            this.values = new ModelNode[reads.size()];
+        }
+
+        private void start(final long period) {
+            try {
+                future = Scheduler.INSTANCE.scheduleAtFixedRate(this, 0, period, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                end();
+                throw e;
+            }
+            if (ended.get()) {
+                // Ended before the future was known
+                future.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            sampling.lock();
+            try {
+                if (ended.get()) {
+                    return;
+                }
+                try {
+                    sample();
+                } catch (RuntimeException e) {
+                    ControllerLogger.MGMT_OP_LOGGER.debugf(e, "Failed sampling metrics");
+                    end();
+                    return;
+                }
+                samplesTaken = ++taken;
+                if (taken >= samples) {
+                    end();
+                }
+            } finally {
+                sampling.unlock();
+            }
+        }
+
+        private void sample() {
+            final List<ModelNode> responses = controller.executeReadOnlyOperations(reads, caller.accessContext, caller.securityIdentity);
+            final ModelNode delta = new ModelNode().setEmptyObject();
+            for (int i = 0; i < values.length; i++) {
+                final ModelNode response = responses.get(i);
+                final ModelNode value = SUCCESS.equals(response.get(OUTCOME).asString()) ? response.get(RESULT) : new ModelNode();
+                if (values[i] == null || !values[i].equals(value)) {
+                    values[i] = value;
+                    delta.get(Integer.toString(i)).set(value);
+                }
+            }
+            for (String message : toMessages(delta)) {
+                if (ended.get()) {
+                    // The operation may have returned, so the caller no longer gets its messages
+                    return;
+                }
+                context.report(MessageSeverity.INFO, message);
+            }
+        }
+
+        /**
+         * Waits for the subscription to end.
+         *
+         * @throws InterruptedException if interrupted while waiting
+         */
+        void await() throws InterruptedException {
+            done.await();
+        }
+
+        /**
+         * Cancels the subscription, if not already ended, and waits for a sample in progress to complete.
+         */
+        void cancel() {
+            end();
+            sampling.lock();
+            sampling.unlock();
+        }
+
+        /**
+         * @return the number of samples taken
+         */
+        int getSamplesTaken() {
+            return samplesTaken;
+        }
+
+        private void end() {
+            if (ended.compareAndSet(false, true)) {
+                final ScheduledFuture<?> future = this.future;
+                if (future != null) {
+                    future.cancel(false);
+                }
+                subscriptions.decrementAndGet();
+                done.countDown();
+            }
+        }
+    }
+
+    /**
+     * Encodes the changes of a sample into compact JSON messages, splitting them as needed to respect the
+     * {@linkplain #MAX_MESSAGE_LENGTH maximum length of a message}.
+     */
+    static List<String> toMessages(final ModelNode delta) {
+        final List<String> messages = new ArrayList<>();
+        if (delta.keys().isEmpty()) {
+            return messages;
+        }
+        final String message = delta.toJSONString(true);
+        if (message.length() <= MAX_MESSAGE_LENGTH || delta.keys().size() == 1) {
+            // A single attribute too long for a message cannot be split
+            messages.add(message);
+            return messages;
+        }
+        final List<Property> changes = delta.asPropertyList();
+        final int half = changes.size() / 2;
+        final ModelNode first = new ModelNode().setEmptyObject();
+        final ModelNode second = new ModelNode().setEmptyObject();
+        for (int i = 0; i < changes.size(); i++) {
+            (i < half ? first : second).get(changes.get(i).getName()).set(changes.get(i).getValue());
+        }
+        messages.addAll(toMessages(first));
+        messages.addAll(toMessages(second));
+        return messages;
+    }
+
+    private static int getMaxSubscriptions() {
+        try {
+            return Math.max(1, Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(
+                    "jboss.as.management.metrics.subscriptions.max", String.valueOf(DEFAULT_MAX_SUBSCRIPTIONS))));
+        } catch (NumberFormatException e) {
+            return DEFAULT_MAX_SUBSCRIPTIONS;
+        }
+    }
+
+    /**
+     * Lazily created pool of daemon threads sampling the attributes of the subscriptions.
+     */
+    private static final class Scheduler {
+        private static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            final ThreadGroup threadGroup = new ThreadGroup("metrics-subscription-threads");
+            final JBossThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                public JBossThreadFactory run() {
+                    return new JBossThreadFactory(threadGroup, Boolean.TRUE, null, "%G - %t", null, null);
+                }
+            });
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(2, threadFactory);
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
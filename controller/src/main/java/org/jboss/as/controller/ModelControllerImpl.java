@@ -7,6 +7,7 @@ package org.jboss.as.controller;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACTIVE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTACHED_STREAMS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANCELLED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CALLER_TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
@@ -42,12 +43,17 @@ import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
 
 import org.jboss.as.controller.OperationContext.RollbackHandler;
@@ -65,6 +71,7 @@ import org.jboss.as.controller.extension.MutableRootResourceRegistrationProvider
 import org.jboss.as.controller.extension.ParallelExtensionAddHandler;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.notification.NotificationSupport;
+import org.jboss.as.controller.operations.global.QueryIndex;
 import org.jboss.as.controller.operations.global.ReadResourceHandler;
 import org.jboss.as.controller.persistence.ConfigurationExtension;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
@@ -92,6 +99,8 @@ class ModelControllerImpl implements ModelController {
 
     private static final String INITIAL_BOOT_OPERATION = "initial-boot-operation";
     private static final String POST_EXTENSION_BOOT_OPERATION = "post-extension-boot-operation";
+    /** Maximum number of threads executing the operations of a bulk read */
+    private static final int BULK_READ_CONCURRENCY = Math.max(2, Runtime.getRuntime().availableProcessors());
     static final ModelNode EMPTY_ADDRESS = new ModelNode().setEmptyList();
 
     static {
@@ -106,6 +115,8 @@ class ModelControllerImpl implements ModelController {
     private final ModelControllerLock controllerLock = new ModelControllerLock();
     private final ContainerStateMonitor stateMonitor;
     private final AtomicReference<ManagementModelImpl> managementModel = new AtomicReference<>();
+    /** The index of the published model for the query operation, if enabled */
+    private volatile QueryIndex queryIndex = QueryIndex.create();
     private final ConfigurationPersister persister;
     private final ProcessType processType;
     private final RunningModeControl runningModeControl;
@@ -412,8 +423,15 @@ class ModelControllerImpl implements ModelController {
                     headers, handler, attachments, managementModel.get(), originalResultTxControl, processState, auditLogger,
                     bootingFlag.get(), forBoot, hostServerGroupTracker, accessContext, notificationSupport,
                     false, extraValidationStepHandler, partialModel, securityIdentitySupplier);
+            final QueryIndex currentQueryIndex = queryIndex;
+            if (currentQueryIndex != null) {
+                context.attach(QueryIndex.ATTACHMENT_KEY, currentQueryIndex);
+            }
             // Try again if the operation-id is already taken
             if(activeOperations.putIfAbsent(operationID, context) == null) {
+                if (handler instanceof CancellingOperationMessageHandler) {
+                    ((CancellingOperationMessageHandler) handler).setOperation(context.getCancellable());
+                }
                 //noinspection deprecation
                 CurrentOperationIdHolder.setCurrentOperationID(operationID);
                 boolean shouldUnlock = false;
@@ -469,6 +487,133 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
+    /**
+     * Executes independent read-only operations concurrently on behalf of the caller, each in its own context and
+     * against the same published model, so the failure of one does not affect the others.
+     *
+     * @param operations the operations. Cannot be {@code null}
+     * @return the responses to the operations, in the same order
+     */
+    List<ModelNode> executeReadOnlyOperations(final List<ModelNode> operations) {
+        return executeReadOnlyOperations(operations, SecurityActions.currentAccessAuditContext(), securityIdentitySupplier.get());
+    }
+
+    /**
+     * Executes independent read-only operations concurrently on behalf of the given caller, which may differ from
+     * the caller of the current thread, e.g. if the operations execute on a thread of a scheduler.
+     *
+     * @param operations the operations. Cannot be {@code null}
+     * @param accessContext the access audit context of the caller. May be {@code null}
+     * @param securityIdentity the identity of the caller. May be {@code null}
+     * @return the responses to the operations, in the same order
+     */
+    List<ModelNode> executeReadOnlyOperations(final List<ModelNode> operations, final AccessAuditContext accessContext,
+                                              final SecurityIdentity securityIdentity) {
+        final ManagementModelImpl model = managementModel.get();
+        final Supplier<SecurityIdentity> identitySupplier = () -> securityIdentity;
+        final int size = operations.size();
+        final AtomicReferenceArray<ModelNode> responses = new AtomicReferenceArray<>(size);
+        final AtomicInteger next = new AtomicInteger();
+        final Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < size; i = next.getAndIncrement()) {
+                responses.set(i, executeReadOnlyStep(operations.get(i), model, accessContext, identitySupplier));
+            }
+        };
+        // The calling thread executes operations as well, so they all complete even if the executor is busy
+        final int helpers = executorService == null ? 0 : Math.min(size, BULK_READ_CONCURRENCY) - 1;
+        final List<Future<?>> futures = new ArrayList<>(Math.max(helpers, 0));
+        for (int i = 0; i < helpers; i++) {
+            try {
+                futures.add(executorService.submit(worker));
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        try {
+            worker.run();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            next.set(size);
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+        final List<ModelNode> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ModelNode response = responses.get(i);
+            if (response == null) {
+                // Cancelled before its execution
+                response = new ModelNode();
+                response.get(OUTCOME).set(CANCELLED);
+            }
+            result.add(response);
+        }
+        return result;
+    }
+
+    private ModelNode executeReadOnlyStep(final ModelNode operation, final ManagementModelImpl model,
+                                          final AccessAuditContext accessContext, final Supplier<SecurityIdentity> identitySupplier) {
+        final ModelNode responseNode = validateOperation(operation);
+        if (responseNode.hasDefined(FAILURE_DESCRIPTION)) {
+            return responseNode;
+        }
+        final OperationHeaders headers;
+        try {
+            headers = OperationHeaders.fromOperation(operation);
+        } catch (OperationFailedException ofe) {
+            return OperationHeaders.fromFailure(ofe).getResponseNode();
+        }
+        if (!isReadOnlyEntry(operation)) {
+            responseNode.get(OUTCOME).set(FAILED);
+            responseNode.get(FAILURE_DESCRIPTION).set(ROOT_LOGGER.notReadOnlyOperation(operation.get(OP).asString(),
+                    PathAddress.pathAddress(operation.get(OP_ADDR)).toCLIStyleString()));
+            return responseNode;
+        }
+        for (;;) {
+            final Integer operationID = random.nextInt();
+            final OperationContextImpl context = new OperationContextImpl(operationID, operation.get(OP).asString(),
+                    operation.get(OP_ADDR), this, processType, runningModeControl.getRunningMode(),
+                    headers, OperationMessageHandler.DISCARD, null, model, null, processState, auditLogger,
+                    bootingFlag.get(), false, hostServerGroupTracker, accessContext, notificationSupport,
+                    false, extraValidationStepHandler, partialModelIndicator.isModelPartial(), identitySupplier);
+            // Try again if the operation-id is already taken
+            if (activeOperations.putIfAbsent(operationID, context) == null) {
+                // The calling thread also executes the bulk read operation itself
+                //noinspection deprecation
+                final Integer callerOperationID = CurrentOperationIdHolder.getCurrentOperationID();
+                //noinspection deprecation
+                CurrentOperationIdHolder.setCurrentOperationID(operationID);
+                try (context) {
+                    context.addStep(responseNode, operation, prepareStep, OperationContext.Stage.MODEL);
+                    context.executeOperation();
+                } finally {
+                    activeOperations.remove(operationID);
+                    //noinspection deprecation
+                    CurrentOperationIdHolder.setCurrentOperationID(callerOperationID);
+                }
+                return responseNode;
+            }
+        }
+    }
+
+    private boolean isReadOnlyEntry(final ModelNode operation) {
+        if (operation.hasDefined(STEPS)) {
+            return false;
+        }
+        final OperationEntry entry = resolveOperationHandler(PathAddress.pathAddress(operation.get(OP_ADDR)), operation.get(OP).asString());
+        return entry != null && entry.getType() != OperationEntry.EntryType.PRIVATE
+                && entry.getFlags().contains(OperationEntry.Flag.READ_ONLY);
+    }
+
     private static OperationResponse handleExternalRequestDuringBoot() {
         ModelNode result = new ModelNode();
         result.get(OUTCOME).set(FAILED);
@@ -699,6 +844,7 @@ class ModelControllerImpl implements ModelController {
         auditLogger.bootDone();
         bootingReadOnlyFlag.set(false);
         bootingFlag.set(false);
+        BootProfile.bootFinished();
     }
 
     /**
@@ -710,6 +856,7 @@ class ModelControllerImpl implements ModelController {
         auditLogger.bootDone();
         bootingReadOnlyFlag.set(readOnly);
         bootingFlag.set(false);
+        BootProfile.bootFinished();
     }
 
     /**
@@ -731,12 +878,14 @@ class ModelControllerImpl implements ModelController {
         return getClientFactory().createBootClient(executor);
     }
 
-    ConfigurationPersister.PersistenceResource writeModel(final ManagementModelImpl model, final Set<PathAddress> affectedAddresses,
+    ModelPersistenceResource writeModel(final ManagementModelImpl model, final Set<PathAddress> affectedAddresses,
                                                           final boolean resourceTreeModified, final boolean capabilityRegistryModified,
                                                           final boolean resourceRegistrationModified) throws ConfigurationPersistenceException {
         final ConfigurationPersister.PersistenceResource delegate;
         if (resourceTreeModified) {
             // Don't do an expensive Resource.Tools.readModel if the persister isn't going to use the result
+            // The resource tree is no longer modified from here on
+            Resource.Factory.completeCopyOnWrite(model.rootResource);
             if (persister.isPersisting()) {
                 ControllerLogger.MGMT_OP_LOGGER.tracef("persisting %s from %s", model.rootResource, model);
                 final ModelNode newModel = Resource.Tools.readModel(model.rootResource, model.resourceRegistration);
@@ -749,7 +898,9 @@ class ModelControllerImpl implements ModelController {
             ControllerLogger.MGMT_OP_LOGGER.tracef("persisting with no resource tree changes to %s", model);
             delegate = null;
         }
-        return new ConfigurationPersister.PersistenceResource() {
+        return new ModelPersistenceResource() {
+
+            private volatile ConfigurationPersister.PersistenceResource deferred;
 
             @Override
             public void commit() {
@@ -768,11 +919,24 @@ class ModelControllerImpl implements ModelController {
                 if (resourceTreeModified) {
                     model.publish();
                     if (delegate != null) {
-                        delegate.commit();
+                        if (delegate.isCommitDeferrable()) {
+                            deferred = delegate;
+                        } else {
+                            delegate.commit();
+                        }
                     }
                 }
             }
 
+            @Override
+            public void commitDeferred() {
+                final ConfigurationPersister.PersistenceResource toCommit = deferred;
+                if (toCommit != null) {
+                    deferred = null;
+                    toCommit.commit();
+                }
+            }
+
             @Override
             public void rollback() {
                 // Don't discard the model here; let that happen via finally block calls to MCI.discardModel
@@ -784,6 +948,19 @@ class ModelControllerImpl implements ModelController {
         };
     }
 
+    /**
+     * The {@link ConfigurationPersister.PersistenceResource} for a change to the model. If the persister allows it,
+     * flushing the change to permanent storage is left to {@link #commitDeferred()}, so it can happen once the
+     * controller lock has been released.
+     */
+    interface ModelPersistenceResource extends ConfigurationPersister.PersistenceResource {
+
+        /**
+         * Flushes the change to permanent storage, if {@link #commit()} was invoked and left that to this method.
+         */
+        void commitDeferred();
+    }
+
     void discardModel(final ManagementModelImpl model,
                       final boolean resourceTreeModified, final boolean capabilityRegistryModified,
                       final boolean resourceRegistrationModified) {
@@ -1271,7 +1448,9 @@ class ModelControllerImpl implements ModelController {
                 currentResource = rootResource;
                 currentCaps = capabilityRegistry;
             }
-            Resource clone = currentResource.clone();
+            // A published resource tree is never modified, so the clone can share its unmodified
+            // branches with it; otherwise we need a full copy
+            Resource clone = published ? Resource.Factory.copyOnWrite(currentResource) : currentResource.clone();
             ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps);
             ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, clone, result);
             return result;
@@ -1296,6 +1475,11 @@ class ModelControllerImpl implements ModelController {
             }
         }
         private void publish() {
+            Resource.Factory.completeCopyOnWrite(rootResource);
+            final QueryIndex currentQueryIndex = ModelControllerImpl.this.queryIndex;
+            if (currentQueryIndex != null) {
+                ModelControllerImpl.this.queryIndex = currentQueryIndex.update(rootResource, resourceRegistration);
+            }
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
@@ -0,0 +1,43 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for a wait of a management operation for the exclusive controller lock. Only created
+ * when {@linkplain FlightRecorderEvents#isEnabled() enabled}.
+ */
+@Name("org.wildfly.ModelControllerLock")
+@Label("Model Controller Lock Wait")
+@Category({"WildFly", "Management"})
+@Description("Wait of a management operation for the exclusive lock of the model controller")
+final class ModelControllerLockEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Address")
+    String address;
+
+    static ModelControllerLockEvent start() {
+        final ModelControllerLockEvent event = new ModelControllerLockEvent();
+        event.begin();
+        return event;
+    }
+
+    void complete(final String operation, final PathAddress address) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.address = address.toCLIStyleString();
+            commit();
+        }
+    }
+}
@@ -164,6 +164,8 @@ final class OperationContextImpl extends AbstractOperationContext {
     private volatile boolean affectsRuntime;
     /** The step that acquired the container monitor  */
     private Step containerMonitorStep;
+    /** The resource persisting the changes made by this operation, whose commit may be deferred until the controller lock is released */
+    private volatile ModelControllerImpl.ModelPersistenceResource persistenceResource;
     private boolean notifiedModificationBegun;
     private volatile Boolean requiresModelUpdateAuthorization;
     private volatile boolean readOnly = true;
@@ -232,6 +234,8 @@ final class OperationContextImpl extends AbstractOperationContext {
 
     @Override
     public void close() {
+        // In case the controller lock was not released via releaseModelControllerLock
+        commitDeferredPersistence();
         if (getProcessType().isServer()) {
             this.originalModel = this.managementModel = null;
             this.lockStep = this.containerMonitorStep = null;
@@ -545,11 +549,13 @@ final class OperationContextImpl extends AbstractOperationContext {
 
     @Override
     ConfigurationPersister.PersistenceResource createPersistenceResource() throws ConfigurationPersistenceException {
-        return
+        final ModelControllerImpl.ModelPersistenceResource result =
             (affectsResourceTree || affectsCapabilityRegistry || affectsResourceRegistration)
                 ? modelController.writeModel(managementModel, affectsModel.keySet(), affectsResourceTree,
                     affectsCapabilityRegistry, affectsResourceRegistration)
                 : null;
+        persistenceResource = result;
+        return result;
     }
 
     @Override
@@ -794,6 +800,13 @@ final class OperationContextImpl extends AbstractOperationContext {
         return activeOperationResource;
     }
 
+    /**
+     * @return the handle cancelling this operation, as the {@code cancel} operation of its active operation resource
+     */
+    Cancellable getCancellable() {
+        return activeOperationResource;
+    }
+
     private void takeWriteLock() {
         if (lockStep == null) {
             if (currentStage == Stage.DONE) {
@@ -802,6 +815,8 @@ final class OperationContextImpl extends AbstractOperationContext {
             ExecutionStatus originalStatus = executionStatus;
             try {
                 executionStatus = ExecutionStatus.AWAITING_OTHER_OPERATION;
+                final ModelControllerLockEvent lockEvent = operationEvent != null ? ModelControllerLockEvent.start() : null;
+                final long waitStart = operationEvent != null ? System.nanoTime() : 0;
                 // BES 2014/04/22 Ignore blocking timeout here. We risk some bug causing the
                 // lock to never be released. But we gain multiple ops being able to wait until they get
                 // a chance to run with no need to guess how long op 2 will take so we can
@@ -818,6 +833,10 @@ final class OperationContextImpl extends AbstractOperationContext {
 //                    }
 //                }
                 exclusiveStartTime = System.nanoTime();
+                if (lockEvent != null) {
+                    operationEvent.lockWaited(exclusiveStartTime - waitStart);
+                    lockEvent.complete(activeStep.operationId.name, activeStep.address);
+                }
                 recordWriteLock();
             } catch (InterruptedException e) {
                 cancelled = true;
@@ -956,7 +975,7 @@ final class OperationContextImpl extends AbstractOperationContext {
                     model.registerChild(entry.getPathElement(), entry);
                 }
             } else {
-                model = requireChild(model, element, address);
+                model = requireChildForRead(model, element, address);
             }
         }
         if(recursive) {
@@ -1004,7 +1023,7 @@ final class OperationContextImpl extends AbstractOperationContext {
             if (element.isMultiTarget()) {
                 resource = null;
             } else {
-                resource = resource.getChild(element);
+                resource = Resource.Factory.getChildForRead(resource, element);
             }
         }
 
@@ -1263,6 +1282,17 @@ final class OperationContextImpl extends AbstractOperationContext {
         modelController.releaseWriteLock(operationId);
         exclusiveStartTime = -1;
         lockStep = null;
+        // Now that other operations can proceed, flush our changes to permanent storage,
+        // allowing the persister to group them with the changes of those operations
+        commitDeferredPersistence();
+    }
+
+    private void commitDeferredPersistence() {
+        final ModelControllerImpl.ModelPersistenceResource resource = persistenceResource;
+        if (resource != null) {
+            persistenceResource = null;
+            resource.commitDeferred();
+        }
     }
 
     private void resetContainerStateChanges() {
@@ -1280,6 +1310,11 @@ final class OperationContextImpl extends AbstractOperationContext {
         return getMutableResourceRegistration(null);
     }
 
+    private static Resource requireChildForRead(final Resource resource, final PathElement childPath, final PathAddress fullAddress) {
+        final Resource child = Resource.Factory.getChildForRead(resource, childPath);
+        return child != null ? child : requireChild(resource, childPath, fullAddress);
+    }
+
     private static Resource requireChild(final Resource resource, final PathElement childPath, final PathAddress fullAddress) {
         if (resource.hasChild(childPath)) {
             return resource.requireChild(childPath);
@@ -1918,7 +1953,7 @@ final class OperationContextImpl extends AbstractOperationContext {
                     model.registerChild(entry.getPathElement(), entry);
                 }
             } else {
-                model = model.getChild(element);
+                model = Resource.Factory.getChildForRead(model, element);
                 if (model == null) {
                     return Resource.Factory.create();
                 }
@@ -2061,6 +2096,9 @@ final class OperationContextImpl extends AbstractOperationContext {
                     removalSteps.remove(sn);
                 }
 
+                if (operationEvent != null) {
+                    builder.addListener(ServiceStartEvent.listener());
+                }
                 ServiceController<T> retVal = builder.install();
                 step.serviceAdded(retVal);
                 return retVal;
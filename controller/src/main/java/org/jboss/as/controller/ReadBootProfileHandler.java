@@ -0,0 +1,44 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Handler for the "read-boot-profile" operation, which reads the {@link BootProfile} of the last boot of the process.
+ * The profile is empty unless boot profiling is enabled.
+ */
+public class ReadBootProfileHandler implements OperationStepHandler {
+
+    public static final ReadBootProfileHandler INSTANCE = new ReadBootProfileHandler();
+    public static final String NAME = ModelDescriptionConstants.READ_BOOT_PROFILE_OPERATION;
+
+    private static final SimpleAttributeDefinition LIMIT = new SimpleAttributeDefinitionBuilder("limit", ModelType.INT)
+            .setRequired(false)
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
+
+    public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(NAME, ControllerResolver.getResolver("root"))
+            .addParameter(LIMIT)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .build();
+
+    private ReadBootProfileHandler() {
+    }
+
+    @Override
+    public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final ModelNode limit = LIMIT.resolveModelAttribute(context, operation);
+        context.getResult().set(BootProfile.toModelNode(limit.isDefined() ? limit.asInt() : Integer.MAX_VALUE));
+    }
+}
@@ -19,6 +19,7 @@ import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.client.MessageSeverity;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.operations.global.QueryIndex;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
@@ -294,6 +295,10 @@ class ReadOnlyContext extends AbstractOperationContext {
         if (valueAttachments.containsKey(key)) {
             return key.cast(valueAttachments.get(key));
         }
+        if (key == QueryIndex.ATTACHMENT_KEY) {
+            // The model of this context is not necessarily the one of the primary context
+            return null;
+        }
         return primaryContext.getAttachment(key);
     }
 
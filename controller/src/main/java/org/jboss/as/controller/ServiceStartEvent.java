@@ -0,0 +1,60 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jboss.msc.service.LifecycleEvent;
+import org.jboss.msc.service.LifecycleListener;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Java Flight Recorder event for the start of a service installed by a management operation, lasting from its
+ * installation until it is up or failed. Only created when {@linkplain FlightRecorderEvents#isEnabled() enabled}.
+ */
+@Name("org.wildfly.ServiceStart")
+@Label("Service Start")
+@Category({"WildFly", "Services"})
+@Description("Start of a service installed by a management operation, from its installation until it is up or failed")
+final class ServiceStartEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * Creates a listener to add to the builder of a service, which records the start of the service.
+     */
+    static LifecycleListener listener() {
+        final ServiceStartEvent event = new ServiceStartEvent();
+        event.begin();
+        return new LifecycleListener() {
+            @Override
+            public void handleEvent(final ServiceController<?> controller, final LifecycleEvent lifecycleEvent) {
+                if (lifecycleEvent == LifecycleEvent.UP || lifecycleEvent == LifecycleEvent.FAILED) {
+                    if (event.shouldCommit()) {
+                        for (ServiceName name : controller.provides()) {
+                            event.service = name.getCanonicalName();
+                            break; // the first provided value identifies the service
+                        }
+                        event.failed = lifecycleEvent == LifecycleEvent.FAILED;
+                        event.commit();
+                    }
+                }
+                if (lifecycleEvent != LifecycleEvent.DOWN) {
+                    // Only the first start is recorded
+                    controller.removeListener(this);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.access.constraint;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Registry of the listeners to changes to the configuration of access constraints, such as the sensitivity of a
+ * classification or the hosts of a host scoped role, which are not made through the
+ * {@link org.jboss.as.controller.access.AuthorizerConfiguration}. An authorizer that retains decisions derived from
+ * that configuration registers a listener while it is in use.
+ */
+public final class ConstraintConfigurationListeners {
+
+    /**
+     * Listener to changes to the configuration of access constraints.
+     */
+    public interface Listener {
+
+        /**
+         * Notification that the configuration of an access constraint changed.
+         */
+        void constraintConfigurationChanged();
+    }
+
+    private static final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+
+    private ConstraintConfigurationListeners() {
+    }
+
+    /**
+     * Registers a listener.
+     *
+     * @param listener the listener. Cannot be {@code null}
+     */
+    public static void registerListener(Listener listener) {
+        assert listener != null : "listener is null";
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener. Cannot be {@code null}
+     */
+    public static void unregisterListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    static void configurationChanged() {
+        for (Listener listener : listeners) {
+            listener.constraintConfigurationChanged();
+        }
+    }
+}
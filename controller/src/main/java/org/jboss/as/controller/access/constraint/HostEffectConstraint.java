@@ -82,6 +82,7 @@ public class HostEffectConstraint extends AbstractConstraint implements Constrai
         assert !global : "constraint is global";
         assert readOnlyConstraint != null : "invalid cast";
         this.hostsHolder.specific = new LinkedHashSet<String>(allowed);
+        ConstraintConfigurationListeners.configurationChanged();
     }
 
     @Override
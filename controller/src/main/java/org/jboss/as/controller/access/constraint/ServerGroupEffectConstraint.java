@@ -118,6 +118,7 @@ public class ServerGroupEffectConstraint extends AbstractConstraint implements C
         assert !global : "constraint is global";
         assert readOnlyConstraint != null : "invalid cast";
         this.groupsHolder.specific = new LinkedHashSet<String>(allowed);
+        ConstraintConfigurationListeners.configurationChanged();
     }
 
     @Override
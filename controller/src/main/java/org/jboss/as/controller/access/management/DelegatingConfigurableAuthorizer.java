@@ -87,6 +87,26 @@ public final class DelegatingConfigurableAuthorizer implements JmxAuthorizer {
         return delegate.authorizeJmxOperation(identity, callEnvironment, action, target);
     }
 
+    /**
+     * Gets the number of authorizations the current delegate answered by a cached decision.
+     *
+     * @return the number of hits, which is {@code 0} if the delegate does not cache decisions
+     */
+    public long getDecisionCacheHitCount() {
+        Authorizer current = delegate;
+        return current instanceof StandardRBACAuthorizer ? ((StandardRBACAuthorizer) current).getDecisionCacheHitCount() : 0;
+    }
+
+    /**
+     * Gets the number of cacheable authorizations the current delegate did not answer by a cached decision.
+     *
+     * @return the number of misses, which is {@code 0} if the delegate does not cache decisions
+     */
+    public long getDecisionCacheMissCount() {
+        Authorizer current = delegate;
+        return current instanceof StandardRBACAuthorizer ? ((StandardRBACAuthorizer) current).getDecisionCacheMissCount() : 0;
+    }
+
     @Override
     public void setNonFacadeMBeansSensitive(boolean sensitive) {
         writableAuthorizerConfiguration.setNonFacadeMBeansSensitive(sensitive);
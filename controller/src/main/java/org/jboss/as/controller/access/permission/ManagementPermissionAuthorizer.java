@@ -61,8 +61,10 @@ public class ManagementPermissionAuthorizer implements Authorizer {
             return AuthorizationResult.PERMITTED;
         }
         PermissionCollection userPerms = permissionFactory.getUserPermissions(identity, callEnvironment, action, target);
-        PermissionCollection requiredPerms = permissionFactory.getRequiredPermissions(action, target);
-        return authorize(userPerms, requiredPerms);
+        if (userPerms == AllPermissionsCollection.INSTANCE) {
+            return AuthorizationResult.PERMITTED;
+        }
+        return authorize(userPerms, action, target);
     }
 
     @Override
@@ -75,8 +77,33 @@ public class ManagementPermissionAuthorizer implements Authorizer {
         if (userPerms == AllPermissionsCollection.INSTANCE) {
             return AuthorizationResult.PERMITTED;
         }
-        PermissionCollection requiredPerms = permissionFactory.getRequiredPermissions(action, target);
-        return authorize(userPerms, requiredPerms);
+        return authorize(userPerms, action, target);
+    }
+
+    /**
+     * Authorizes an action on an attribute given the permissions of the caller, which are not all permissions.
+     * Subclasses may override this to reuse earlier decisions.
+     *
+     * @param userPermissions the permissions of the caller
+     * @param action the action
+     * @param target the target attribute
+     * @return the authorization result
+     */
+    protected AuthorizationResult authorize(PermissionCollection userPermissions, Action action, TargetAttribute target) {
+        return authorize(userPermissions, permissionFactory.getRequiredPermissions(action, target));
+    }
+
+    /**
+     * Authorizes an action on a resource given the permissions of the caller, which are not all permissions.
+     * Subclasses may override this to reuse earlier decisions.
+     *
+     * @param userPermissions the permissions of the caller
+     * @param action the action
+     * @param target the target resource
+     * @return the authorization result
+     */
+    protected AuthorizationResult authorize(PermissionCollection userPermissions, Action action, TargetResource target) {
+        return authorize(userPermissions, permissionFactory.getRequiredPermissions(action, target));
     }
 
     private static boolean assertSameAddress(Action action, TargetResource target) {
@@ -0,0 +1,281 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.access.rbac;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
+
+import java.security.PermissionCollection;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
+import org.jboss.as.controller.access.AuthorizerConfiguration;
+import org.jboss.as.controller.access.CombinationPolicy;
+import org.jboss.as.controller.access.HostEffect;
+import org.jboss.as.controller.access.ServerGroupEffect;
+import org.jboss.as.controller.access.TargetAttribute;
+import org.jboss.as.controller.access.TargetResource;
+import org.jboss.as.controller.access.constraint.Constraint;
+import org.jboss.as.controller.access.constraint.ConstraintConfigurationListeners;
+import org.jboss.as.controller.access.constraint.SensitiveVaultExpressionConstraint;
+import org.jboss.as.controller.access.management.AccessConstraintDefinition;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A bounded cache of the results of the {@link StandardRBACAuthorizer}, which spares read-heavy workloads, such as
+ * a recursive read of a large model, the computation of the required permissions of every resource and attribute.
+ * <p>
+ * A result is keyed by the permissions of the caller, which the {@link DefaultPermissionFactory} maintains per set of
+ * mapped roles, the permission combination policy, the action effects and access constraints of the action, the address of the registration of the
+ * target, the name of the target attribute and the value dependent constraints. The concrete address is used instead
+ * of the address of the registration below proxy registrations and in the management resources of the access control
+ * configuration, whose constraints depend on it. Targets scoped to specific hosts or server groups are not cached.
+ * <p>
+ * The cached results are discarded when the configuration of access constraints or the scoped roles change, which the
+ * cache is notified of as a listener, registered by its authorizer. Once full, the least recently used result is
+ * evicted.
+ */
+public final class AuthorizationDecisionCache implements ConstraintConfigurationListeners.Listener, AuthorizerConfiguration.ScopedRoleListener {
+
+    /** Name of the system property that sets the maximum number of cached decisions. {@code 0} disables the cache */
+    public static final String MAX_SIZE_PROPERTY = "org.jboss.as.controller.access.decision_cache_size";
+
+    static final int DEFAULT_MAX_SIZE = 4096;
+
+    private static final PathElement MANAGEMENT_ELEMENT = PathElement.pathElement(CORE_SERVICE, MANAGEMENT);
+    private static final Constraint[] NO_CONSTRAINTS = new Constraint[0];
+
+    /** Guarded by this - the cached results, in access order */
+    private final Map<Key, AuthorizationResult> results;
+    /** Guarded by this - the number of times the cached results were discarded */
+    private long generation;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    AuthorizationDecisionCache(final int maxSize) {
+        this.results = new LinkedHashMap<Key, AuthorizationResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, AuthorizationResult> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache of the size configured with the {@link #MAX_SIZE_PROPERTY} system property.
+     *
+     * @return the cache, or {@code null} if decisions are not to be cached
+     */
+    static AuthorizationDecisionCache create() {
+        int maxSize;
+        try {
+            maxSize = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_SIZE_PROPERTY, String.valueOf(DEFAULT_MAX_SIZE)));
+        } catch (NumberFormatException e) {
+            maxSize = DEFAULT_MAX_SIZE;
+        }
+        return maxSize > 0 ? new AuthorizationDecisionCache(maxSize) : null;
+    }
+
+    /**
+     * Discards the cached results, following a change to the access control configuration. A result being computed
+     * meanwhile is not cached.
+     */
+    synchronized void invalidate() {
+        generation++;
+        results.clear();
+    }
+
+    @Override
+    public void constraintConfigurationChanged() {
+        invalidate();
+    }
+
+    @Override
+    public void scopedRoleAdded(AuthorizerConfiguration.ScopedRole added) {
+        invalidate();
+    }
+
+    @Override
+    public void scopedRoleRemoved(AuthorizerConfiguration.ScopedRole removed) {
+        invalidate();
+    }
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return the number of cached results
+     */
+    synchronized int size() {
+        return results.size();
+    }
+
+    /**
+     * Gets the number of authorizations answered by a cached decision.
+     *
+     * @return the number of hits
+     */
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of cacheable authorizations that were not answered by a cached decision.
+     *
+     * @return the number of misses
+     */
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    AuthorizationResult authorize(PermissionCollection userPermissions, CombinationPolicy combinationPolicy, Action action,
+                                  TargetAttribute target, Supplier<AuthorizationResult> authorizer) {
+        TargetResource resource = target.getTargetResource();
+        if (!isCacheable(resource, target.getHostEffect(), target.getServerGroupEffect())) {
+            return authorizer.get();
+        }
+        Set<Action.ActionEffect> effects = action.getActionEffects();
+        Constraint[] valueConstraints = new Constraint[effects.size()];
+        int i = 0;
+        for (Action.ActionEffect effect : effects) {
+            valueConstraints[i++] = SensitiveVaultExpressionConstraint.FACTORY.getRequiredConstraint(effect, action, target);
+        }
+        return authorize(new Key(userPermissions, combinationPolicy, effects, action.getAccessConstraints(),
+                getAddress(resource), target.getAttributeName(), target.getAccessConstraints(), valueConstraints), authorizer);
+    }
+
+    AuthorizationResult authorize(PermissionCollection userPermissions, CombinationPolicy combinationPolicy, Action action,
+                                  TargetResource target, Supplier<AuthorizationResult> authorizer) {
+        if (!isCacheable(target, target.getHostEffect(), target.getServerGroupEffect())) {
+            return authorizer.get();
+        }
+        Set<Action.ActionEffect> effects = action.getActionEffects();
+        Constraint[] valueConstraints = NO_CONSTRAINTS;
+        if (effects.contains(Action.ActionEffect.WRITE_CONFIG) || effects.contains(Action.ActionEffect.WRITE_RUNTIME)) {
+            valueConstraints = new Constraint[effects.size()];
+            int i = 0;
+            for (Action.ActionEffect effect : effects) {
+                valueConstraints[i++] = SensitiveVaultExpressionConstraint.FACTORY.getRequiredConstraint(effect, action, target);
+            }
+        }
+        return authorize(new Key(userPermissions, combinationPolicy, effects, action.getAccessConstraints(),
+                getAddress(target), null, null, valueConstraints), authorizer);
+    }
+
+    private AuthorizationResult authorize(Key key, Supplier<AuthorizationResult> authorizer) {
+        final long current;
+        synchronized (this) {
+            AuthorizationResult result = results.get(key);
+            if (result != null) {
+                hits.increment();
+                return result;
+            }
+            current = generation;
+        }
+        misses.increment();
+        AuthorizationResult result = authorizer.get();
+        final ModelNode explanation = result.getExplanation();
+        if (explanation != null) {
+            // The result is shared by the callers it is returned to
+            explanation.protect();
+        }
+        synchronized (this) {
+            if (current == generation) {
+                results.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isCacheable(TargetResource target, HostEffect hostEffect, ServerGroupEffect serverGroupEffect) {
+        return target.getResourceRegistration() != null
+                && (hostEffect == null || hostEffect.isHostEffectGlobal())
+                && (serverGroupEffect == null || serverGroupEffect.isServerGroupEffectGlobal());
+    }
+
+    private static PathAddress getAddress(TargetResource target) {
+        PathAddress address = target.getResourceAddress();
+        ImmutableManagementResourceRegistration registration = target.getResourceRegistration();
+        if (registration.isRemote()) {
+            // A proxy registration covers any address below it
+            return address;
+        }
+        for (PathElement element : address) {
+            if (MANAGEMENT_ELEMENT.equals(element)) {
+                return address;
+            }
+        }
+        return registration.getPathAddress();
+    }
+
+    private static final class Key {
+        private final PermissionCollection userPermissions;
+        private final CombinationPolicy combinationPolicy;
+        private final Set<Action.ActionEffect> effects;
+        private final List<AccessConstraintDefinition> actionConstraints;
+        private final PathAddress address;
+        private final String attribute;
+        private final List<AccessConstraintDefinition> attributeConstraints;
+        private final Constraint[] valueConstraints;
+        private final int hash;
+
+        private Key(PermissionCollection userPermissions, CombinationPolicy combinationPolicy, Set<Action.ActionEffect> effects,
+                    List<AccessConstraintDefinition> actionConstraints, PathAddress address, String attribute,
+                    List<AccessConstraintDefinition> attributeConstraints, Constraint[] valueConstraints) {
+            this.userPermissions = userPermissions;
+            this.combinationPolicy = combinationPolicy;
+            this.effects = effects;
+            this.actionConstraints = actionConstraints;
+            this.address = address;
+            this.attribute = attribute;
+            this.attributeConstraints = attributeConstraints;
+            this.valueConstraints = valueConstraints;
+            int result = System.identityHashCode(userPermissions);
+            result = 31 * result + combinationPolicy.hashCode();
+            result = 31 * result + effects.hashCode();
+            result = 31 * result + address.hashCode();
+            result = 31 * result + Objects.hashCode(attribute);
+            result = 31 * result + Arrays.hashCode(valueConstraints);
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash
+                    && userPermissions == other.userPermissions
+                    && combinationPolicy == other.combinationPolicy
+                    && effects.equals(other.effects)
+                    && address.equals(other.address)
+                    && Objects.equals(attribute, other.attribute)
+                    && Arrays.equals(valueConstraints, other.valueConstraints)
+                    && actionConstraints.equals(other.actionConstraints)
+                    && Objects.equals(attributeConstraints, other.attributeConstraints);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -5,6 +5,7 @@
 
 package org.jboss.as.controller.access.rbac;
 
+import java.security.PermissionCollection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -13,8 +14,13 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
 import org.jboss.as.controller.access.AuthorizerConfiguration;
 import org.jboss.as.controller.access.Environment;
+import org.jboss.as.controller.access.TargetAttribute;
+import org.jboss.as.controller.access.TargetResource;
+import org.jboss.as.controller.access.constraint.ConstraintConfigurationListeners;
 import org.jboss.as.controller.access.permission.ManagementPermissionAuthorizer;
 import org.wildfly.security.auth.server.SecurityIdentity;
 
@@ -61,21 +67,28 @@ public final class StandardRBACAuthorizer extends ManagementPermissionAuthorizer
         final RunAsRoleMapper runAsRoleMapper = new RunAsRoleMapper(roleMapper);
         final DefaultPermissionFactory permissionFactory = new DefaultPermissionFactory(
                 runAsRoleMapper, configuration);
-        return new StandardRBACAuthorizer(configuration, permissionFactory, runAsRoleMapper);
+        return new StandardRBACAuthorizer(configuration, permissionFactory, runAsRoleMapper, AuthorizationDecisionCache.create());
     }
 
     private final AuthorizerConfiguration configuration;
     private final DefaultPermissionFactory permissionFactory;
     private final RoleMapper roleMapper;
+    private final AuthorizationDecisionCache decisionCache;
     private final Map<String, String> mappedToOfficialForm = Collections.synchronizedMap(new HashMap<String, String>());
 
     private StandardRBACAuthorizer(final AuthorizerConfiguration configuration,
-                                   final DefaultPermissionFactory permissionFactory, final RoleMapper roleMapper) {
+                                   final DefaultPermissionFactory permissionFactory, final RoleMapper roleMapper,
+                                   final AuthorizationDecisionCache decisionCache) {
         super(permissionFactory);
         this.configuration = configuration;
         this.permissionFactory = permissionFactory;
         configuration.registerScopedRoleListener(permissionFactory);
         this.roleMapper = roleMapper;
+        this.decisionCache = decisionCache;
+        if (decisionCache != null) {
+            configuration.registerScopedRoleListener(decisionCache);
+            ConstraintConfigurationListeners.registerListener(decisionCache);
+        }
         for (StandardRole std : StandardRole.values()) {
             mappedToOfficialForm.put(std.toString(), std.getFormalName());
         }
@@ -122,12 +135,52 @@ public final class StandardRBACAuthorizer extends ManagementPermissionAuthorizer
         return official;
     }
 
+    @Override
+    protected AuthorizationResult authorize(PermissionCollection userPermissions, Action action, TargetAttribute target) {
+        if (decisionCache == null) {
+            return super.authorize(userPermissions, action, target);
+        }
+        return decisionCache.authorize(userPermissions, configuration.getPermissionCombinationPolicy(), action, target,
+                () -> super.authorize(userPermissions, action, target));
+    }
+
+    @Override
+    protected AuthorizationResult authorize(PermissionCollection userPermissions, Action action, TargetResource target) {
+        if (decisionCache == null) {
+            return super.authorize(userPermissions, action, target);
+        }
+        return decisionCache.authorize(userPermissions, configuration.getPermissionCombinationPolicy(), action, target,
+                () -> super.authorize(userPermissions, action, target));
+    }
+
     @Override
     public AuthorizerDescription getDescription() {
         return AUTHORIZER_DESCRIPTION;
     }
 
+    /**
+     * Gets the number of authorizations answered by a cached decision.
+     *
+     * @return the number of hits, which is {@code 0} if decisions are not cached
+     */
+    public long getDecisionCacheHitCount() {
+        return decisionCache == null ? 0 : decisionCache.getHitCount();
+    }
+
+    /**
+     * Gets the number of cacheable authorizations that were not answered by a cached decision.
+     *
+     * @return the number of misses, which is {@code 0} if decisions are not cached
+     */
+    public long getDecisionCacheMissCount() {
+        return decisionCache == null ? 0 : decisionCache.getMissCount();
+    }
+
     public void shutdown() {
         configuration.unregisterScopedRoleListener(permissionFactory);
+        if (decisionCache != null) {
+            configuration.unregisterScopedRoleListener(decisionCache);
+            ConstraintConfigurationListeners.unregisterListener(decisionCache);
+        }
     }
 }
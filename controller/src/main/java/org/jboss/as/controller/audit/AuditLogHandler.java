@@ -15,7 +15,10 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 
 /**
- *  All methods on this class should be called with {@link ManagedAuditLoggerImpl}'s lock taken.
+ *  All methods on this class should be called with {@link ManagedAuditLoggerImpl}'s lock taken, except
+ *  {@link #writeLogItems(List)} which is called by the {@link AuditLogQueue} writer. The handler's own lock is held
+ *  while writing and stopping it so that the writer does not write while the handler is being stopped. Once stopped
+ *  for good, the items still queued for the handler are dropped rather than written, which would reopen it.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  */
@@ -25,13 +28,15 @@ abstract class AuditLogHandler {
     private volatile int maxFailureCount = 10;
 
     /** The number of consecutive failures writing to the log */
-    private int failureCount;
+    private volatile int failureCount;
 
 
     protected final String name;
     private volatile String formatterName;
     private final Set<PathAddress> references = new HashSet<PathAddress>();
     private AuditLogItemFormatter formatter;
+    /** Guarded by this - whether the handler was removed or is no longer referenced */
+    private boolean stopped;
 
     AuditLogHandler(String name, String formatterName, int maxFailureCount){
         this.name = name;
@@ -59,7 +64,7 @@ abstract class AuditLogHandler {
         this.formatterName = formatterName;
     }
 
-    void writeLogItem(AuditLogItem item) {
+    synchronized void writeLogItem(AuditLogItem item) {
         FailureCountHandler fch = getFailureCountHandler();
         try {
             initialize();
@@ -71,11 +76,55 @@ abstract class AuditLogHandler {
         }
     }
 
-    void recycle() {
+    /**
+     * Formats an item to be written later by {@link #writeLogItems(List)}.
+     *
+     * @param item the log item
+     * @return the formatted item, or {@code null} if it could not be formatted
+     */
+    String formatLogItem(AuditLogItem item) {
+        try {
+            return item.format(formatter);
+        } catch (Throwable t) {
+            synchronized (this) {
+                getFailureCountHandler().failure(t);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Writes a batch of formatted items, in order.
+     *
+     * @param formattedItems the formatted items
+     */
+    synchronized void writeLogItems(List<String> formattedItems) {
+        if (stopped) {
+            return;
+        }
+        FailureCountHandler fch = getFailureCountHandler();
+        try {
+            initialize();
+            writeLogItemBatch(formattedItems);
+            fch.success();
+        } catch (Throwable t) {
+            fch.failure(t);
+        }
+    }
+
+    synchronized void recycle() {
         this.failureCount = 0;
         stop();
     }
 
+    /**
+     * Stops the handler, once it has written the batch of items it may be writing.
+     */
+    synchronized void shutdown() {
+        stopped = true;
+        stop();
+    }
+
     boolean isActive() {
         return !hasTooManyFailures();
     }
@@ -88,13 +137,15 @@ abstract class AuditLogHandler {
         return maxFailureCount > 0 && failureCount >= maxFailureCount;
     }
 
-    void addReference(PathAddress address){
+    synchronized void addReference(PathAddress address){
         references.add(address);
+        stopped = false;
     }
 
-    void removeReference(PathAddress address){
+    synchronized void removeReference(PathAddress address){
         references.remove(address);
         if (references.isEmpty()){
+            stopped = true;
             stop();
         }
     }
@@ -116,6 +167,12 @@ abstract class AuditLogHandler {
     abstract void stop();
     abstract void writeLogItem(String formattedItem) throws IOException;
 
+    void writeLogItemBatch(List<String> formattedItems) throws IOException {
+        for (String formattedItem : formattedItems) {
+            writeLogItem(formattedItem);
+        }
+    }
+
     List<ModelNode> listLastEntries() {
         return Collections.emptyList();
     }
@@ -0,0 +1,280 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+
+/**
+ * Bounded ring buffer of formatted audit log records, written to their handlers in batches by a single writer thread,
+ * so that management operations and JMX calls do not wait for the handlers' I/O.
+ * <p>
+ * Records are written in the order they were queued, which guarantees the order of the items written by each handler.
+ * The items of a batch are grouped by handler, and each handler writes its items of the batch in one go.
+ * <p>
+ * Records are only queued once the operation they audit has completed, so a full queue cannot fail that operation.
+ * The {@link ManagedAuditLogger.OverflowPolicy} only chooses between waiting for room and dropping a record.
+ */
+final class AuditLogQueue {
+
+    /** Maximum number of records written by the handlers in one go */
+    static final int MAX_BATCH_SIZE = 64;
+
+    /** How long pending records are given to be written when the process exits */
+    private static final long SHUTDOWN_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * The formatted items of a log item, one per handler it is written to.
+     */
+    static final class Record {
+        private final AuditLogHandler[] handlers;
+        private final String[] formattedItems;
+        private int size;
+
+        Record(int handlers) {
+            this.handlers = new AuditLogHandler[handlers];
+            this.formattedItems = new String[handlers];
+        }
+
+        void add(AuditLogHandler handler, String formattedItem) {
+            handlers[size] = handler;
+            formattedItems[size++] = formattedItem;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    private final ManagedAuditLogger.OverflowPolicy overflowPolicy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final LongAdder dropped = new LongAdder();
+
+    /** Guarded by lock - the ring buffer */
+    private final Record[] records;
+    /** Guarded by lock - the index of the oldest record */
+    private int head;
+    /** Guarded by lock - the number of queued records */
+    private int count;
+    /** Guarded by lock - whether the writer is writing a batch */
+    private boolean writing;
+    /** Guarded by lock - the writer thread, started with the first record */
+    private Thread writer;
+    /** Guarded by lock - the hook writing the pending records when the process exits */
+    private Thread shutdownHook;
+    /** Guarded by lock - whether the writer is to stop once the queued records are written */
+    private boolean closed;
+    /** Guarded by lock - whether records were dropped since the queue was last empty */
+    private boolean overflowing;
+
+    AuditLogQueue(int size, ManagedAuditLogger.OverflowPolicy overflowPolicy) {
+        assert size > 0 : "size is not positive";
+        this.records = new Record[size];
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    int getSize() {
+        return records.length;
+    }
+
+    ManagedAuditLogger.OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Queues a record, applying the overflow policy if the queue is full.
+     *
+     * @param record the record
+     * @throws InterruptedException if interrupted while waiting for room in the queue
+     */
+    void add(Record record) throws InterruptedException {
+        lock.lock();
+        try {
+            if (count == records.length) {
+                switch (overflowPolicy) {
+                    case BLOCK:
+                        while (count == records.length) {
+                            notFull.await();
+                        }
+                        break;
+                    case DROP_OLDEST:
+                        records[head] = null;
+                        head = (head + 1) % records.length;
+                        count--;
+                        recordDropped();
+                        break;
+                    case DROP_NEWEST:
+                        recordDropped();
+                        return;
+                }
+            }
+            records[(head + count) % records.length] = record;
+            count++;
+            if (writer == null) {
+                startWriter();
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Call with lock taken */
+    private void recordDropped() {
+        dropped.increment();
+        if (!overflowing) {
+            // Only once until the writer catches up
+            overflowing = true;
+            ControllerLogger.MGMT_OP_LOGGER.auditLogRecordsDropped(records.length);
+        }
+    }
+
+    /**
+     * Gets the number of records waiting to be written.
+     *
+     * @return the number of queued records
+     */
+    int getDepth() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of records discarded or rejected because the queue was full.
+     *
+     * @return the number of dropped records
+     */
+    long getDroppedRecords() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits for the queued records to be written.
+     *
+     * @param timeout the maximum time to wait, in milliseconds
+     * @return {@code true} if all the queued records were written
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean flush(long timeout) throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeout);
+        lock.lock();
+        try {
+            while (count > 0 || writing) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the queued records to be written, then stops the writer. The queue must not be used afterwards.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void close() throws InterruptedException {
+        final boolean flushed = flush(SHUTDOWN_TIMEOUT);
+        lock.lock();
+        try {
+            if (!flushed) {
+                // Give up on the records still queued, e.g. for a handler which hangs
+                while (count > 0) {
+                    records[head] = null;
+                    head = (head + 1) % records.length;
+                    count--;
+                    dropped.increment();
+                }
+            }
+            closed = true;
+            notEmpty.signalAll();
+            if (shutdownHook != null) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (IllegalStateException e) {
+                    // Already exiting
+                }
+                shutdownHook = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Call with lock taken */
+    private void startWriter() {
+        writer = new Thread(this::writeRecords, "Management Audit Log Writer");
+        writer.setDaemon(true);
+        writer.start();
+        shutdownHook = new Thread(() -> {
+            try {
+                flush(SHUTDOWN_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "Management Audit Log Shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    private void writeRecords() {
+        final List<Record> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        for (;;) {
+            lock.lock();
+            try {
+                writing = false;
+                notFull.signalAll();
+                while (count == 0) {
+                    overflowing = false;
+                    if (closed) {
+                        return;
+                    }
+                    notEmpty.awaitUninterruptibly();
+                }
+                while (count > 0 && batch.size() < MAX_BATCH_SIZE) {
+                    batch.add(records[head]);
+                    records[head] = null;
+                    head = (head + 1) % records.length;
+                    count--;
+                }
+                writing = true;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private static void write(List<Record> batch) {
+        final Map<AuditLogHandler, List<String>> itemsByHandler = new LinkedHashMap<>();
+        for (Record record : batch) {
+            for (int i = 0; i < record.size; i++) {
+                itemsByHandler.computeIfAbsent(record.handlers[i], handler -> new ArrayList<>(batch.size())).add(record.formattedItems[i]);
+            }
+        }
+        for (Map.Entry<AuditLogHandler, List<String>> entry : itemsByHandler.entrySet()) {
+            entry.getKey().writeLogItems(entry.getValue());
+        }
+    }
+}
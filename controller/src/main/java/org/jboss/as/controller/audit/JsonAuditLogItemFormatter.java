@@ -4,6 +4,10 @@
  */
 package org.jboss.as.controller.audit;
 
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.List;
+
 import org.jboss.as.controller.OperationContext.ResultAction;
 import org.jboss.as.controller.audit.AuditLogItem.JmxAccessAuditLogItem;
 import org.jboss.as.controller.audit.AuditLogItem.ModelControllerAuditLogItem;
@@ -11,15 +15,15 @@ import org.jboss.dmr.ModelNode;
 
 /**
  * All methods on this class should be called with {@link ManagedAuditLoggerImpl}'s lock taken.
+ * <p>
+ * Records are written as JSON directly to a buffer reused for every record, rather than first being converted to a
+ * {@link ModelNode}.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  */
 public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
 
-    private static final ModelNode UNDEFINED = new ModelNode();
-    static {
-        UNDEFINED.protect();
-    }
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
     public static final String TYPE = "type";
     public static final String READ_ONLY = "r/o";
     public static final String BOOTING = "booting";
@@ -39,6 +43,16 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
     private volatile boolean escapeNewLine;
     private volatile boolean escapeControlCharacters;
 
+    // Reused for every record, see the class javadoc
+    private final StringBuilder buffer = new StringBuilder(512);
+    private final StringBuilder escaped = new StringBuilder(512);
+    private final NodeWriter nodeWriter = new NodeWriter();
+    private final PrintWriter nodePrintWriter = new PrintWriter(nodeWriter);
+    private boolean compact;
+    private int fields;
+    private int listElements;
+    private boolean multiLineList;
+
     public JsonAuditLogItemFormatter(String name, boolean includeDate, String dateSeparator, String dateFormat,
             boolean compactJson, boolean escapeNewLine, boolean escapeControlCharacters) {
         super(name, includeDate, dateSeparator, dateFormat);
@@ -70,13 +84,13 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
             return formattedString;
         }
 
-        ModelNode formatted = new ModelNode();
-        formatted.get(TYPE).set(TYPE_CORE);
-        addCommonFields(item, formatted);
-        formatted.get(SUCCESS).set(item.getResultAction() == ResultAction.KEEP);
-        formatted.get(OPERATIONS).set(item.getOperations());
+        startRecord(item, TYPE_CORE);
+        writeName(SUCCESS);
+        buffer.append(item.getResultAction() == ResultAction.KEEP);
+        writeName(OPERATIONS);
+        writeNodes(item.getOperations());
 
-        return cacheString(createRecordText(item, formatted));
+        return cacheString(endRecord());
     }
 
     @Override
@@ -85,51 +99,196 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
         if (formattedString != null) {
             return formattedString;
         }
-        ModelNode formatted = new ModelNode();
-        formatted.get(TYPE).set(TYPE_JMX);
-        addCommonFields(item, formatted);
 
-        formatted.get(METHOD_NAME).set(item.getMethodName());
+        startRecord(item, TYPE_JMX);
+        writeName(METHOD_NAME);
+        writeString(item.getMethodName());
 
-        formatted.get(METHOD_SIGNATURE);
-        for (String sig : item.getMethodSignature()) {
-            formatted.get(METHOD_SIGNATURE).add(sig);
+        writeName(METHOD_SIGNATURE);
+        final String[] signature = item.getMethodSignature();
+        startList(signature.length);
+        for (String sig : signature) {
+            writeListElement(sig);
         }
+        endList(signature.length);
 
-        formatted.get(METHOD_PARAMETERS);
+        writeName(METHOD_PARAMETERS);
+        int params = 0;
+        for (Object param : item.getMethodParams()) {
+            params += param != null && param.getClass().isArray() ? ((Object[]) param).length : 1;
+        }
+        startList(params);
         for (Object param : item.getMethodParams()) {
             if (param != null && param.getClass().isArray()) {
                 Object[] arrayParams = (Object[]) param;
                 for (Object arrayParam : arrayParams) {
-                    formatted.get(METHOD_PARAMETERS).add(arrayParam == null ? UNDEFINED : new ModelNode(arrayParam.toString()));
+                    writeListElement(arrayParam == null ? null : arrayParam.toString());
                 }
             } else {
-                formatted.get(METHOD_PARAMETERS).add(param == null ? UNDEFINED : new ModelNode(param.toString()));
+                writeListElement(param == null ? null : param.toString());
             }
         }
+        endList(params);
 
         final Throwable throwable = item.getError();
         if (throwable != null) {
             //TODO include stack trace?
-            formatted.get(ERROR).set(throwable.getMessage());
+            writeName(ERROR);
+            writeString(throwable.getMessage());
         }
 
-        return cacheString(createRecordText(item, formatted));
+        return cacheString(endRecord());
+    }
+
+    // The record is written in the format of ModelNode.toJSONString(), in which lists and objects with more than one
+    // element span several lines unless compact
+
+    private void startRecord(AuditLogItem item, String type) {
+        buffer.setLength(0);
+        compact = compactJson;
+        fields = 0;
+        appendDate(buffer, item);
+        buffer.append('{');
+        writeName(TYPE);
+        writeString(type);
+        writeName(READ_ONLY);
+        buffer.append(item.isReadOnly());
+        writeName(BOOTING);
+        buffer.append(item.isBooting());
+        writeName(AS_VERSION);
+        writeString(item.getAsVersion());
+        writeName(USER_ID);
+        writeString(item.getUserId());
+        writeName(DOMAIN_UUID);
+        writeString(item.getDomainUUID());
+        writeName(ACCESS_MECHANISM);
+        writeString(item.getAccessMechanism() == null ? null : item.getAccessMechanism().toString());
+        writeName(REMOTE_ADDRESS);
+        writeString(item.getRemoteAddress() == null ? null : item.getRemoteAddress().toString());
     }
 
-    private String createRecordText(AuditLogItem item, ModelNode formatted) {
-        StringBuilder sb = new StringBuilder();
+    private String endRecord() {
+        buffer.append(compact ? "}" : "\n}");
+        return createRecordText(buffer);
+    }
 
-        appendDate(sb, item);
+    private void writeName(String name) {
+        if (fields++ > 0) {
+            buffer.append(compact ? ", " : ",\n    ");
+        } else if (!compact) {
+            buffer.append("\n    ");
+        }
+        buffer.append('"').append(name).append("\" : ");
+    }
 
-        sb.append(formatted.toJSONString(compactJson));
+    private void startList(int size) {
+        if (size > 0) {
+            buffer.append('[');
+        } else {
+            // Nothing added to the list, which is undefined
+            buffer.append("null");
+        }
+        listElements = 0;
+        multiLineList = !compact && size > 1;
+    }
 
-        String formattedString;
+    private void writeListElement(String value) {
+        if (listElements++ > 0) {
+            buffer.append(multiLineList ? ",\n        " : ",");
+        } else if (multiLineList) {
+            buffer.append("\n        ");
+        }
+        writeString(value);
+    }
+
+    private void endList(int size) {
+        if (size > 0) {
+            buffer.append(multiLineList ? "\n    ]" : "]");
+        }
+    }
+
+    private void writeNodes(List<ModelNode> nodes) {
+        final boolean multiLine = !compact && nodes.size() > 1;
+        buffer.append('[');
+        if (multiLine) {
+            buffer.append("\n        ");
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i > 0) {
+                buffer.append(multiLine ? ",\n        " : ",");
+            }
+            if (compact) {
+                // The streaming writer of compact JSON omits the spaces toJSONString(true) writes
+                buffer.append(nodes.get(i).toJSONString(true));
+            } else {
+                // The node is written as if nested in the record
+                nodeWriter.indent = multiLine ? 2 : 1;
+                nodes.get(i).writeJSONString(nodePrintWriter, false);
+                nodePrintWriter.flush();
+            }
+        }
+        if (multiLine) {
+            buffer.append("\n    ");
+        }
+        buffer.append(']');
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            buffer.append("null");
+            return;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    buffer.append("\\\"");
+                    break;
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\b':
+                    buffer.append("\\b");
+                    break;
+                case '\f':
+                    buffer.append("\\f");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                default:
+                    if (c < 32) {
+                        buffer.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0x0F]);
+                    } else {
+                        buffer.append(c);
+                    }
+            }
+        }
+        buffer.append('"');
+    }
+
+    private String createRecordText(StringBuilder sb) {
         if (escapeNewLine && !escapeControlCharacters) {
             //Escape all instances of "\n" with "#012"
-            formattedString = sb.toString().replace("\n", "#012");
+            escaped.setLength(0);
+            for (int i = 0 ; i < sb.length() ; i++) {
+                char c = sb.charAt(i);
+                if (c == '\n') {
+                    escaped.append("#012");
+                } else {
+                    escaped.append(c);
+                }
+            }
+            return escaped.toString();
         } else if (escapeControlCharacters) {
-            StringBuilder escaped = new StringBuilder();
+            escaped.setLength(0);
             for (int i = 0 ; i < sb.length() ; i++) {
                 char c = sb.charAt(i);
                 if (c >= 0 && c < 32) {
@@ -143,33 +302,48 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
                     escaped.append(c);
                 }
             }
-            formattedString = escaped.toString();
-        } else {
-            formattedString = sb.toString();
+            return escaped.toString();
         }
-
-        return formattedString;
+        return sb.toString();
     }
 
-    private void addCommonFields(AuditLogItem item, ModelNode formatted) {
-        formatted.get(READ_ONLY).set(item.isReadOnly());
-        formatted.get(BOOTING).set(item.isBooting());
-        formatted.get(AS_VERSION).set(item.getAsVersion());
-        formatted.get(USER_ID);
-        if (item.getUserId() != null) {
-            formatted.get(USER_ID).set(item.getUserId());
+    /**
+     * Writes the JSON representation of a {@link ModelNode} to the buffer, indenting its lines as if it were nested
+     * in the record.
+     */
+    private final class NodeWriter extends Writer {
+        private int indent;
+
+        @Override
+        public void write(int c) {
+            buffer.append((char) c);
+            if (c == '\n') {
+                for (int i = 0; i < indent; i++) {
+                    buffer.append("    ");
+                }
+            }
         }
-        formatted.get(DOMAIN_UUID);
-        if (item.getDomainUUID() != null) {
-            formatted.get(DOMAIN_UUID).set(item.getDomainUUID());
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(str.charAt(i));
+            }
         }
-        formatted.get(ACCESS_MECHANISM);
-        if (item.getAccessMechanism() != null) {
-            formatted.get(ACCESS_MECHANISM).set(item.getAccessMechanism().toString());
+
+        @Override
+        public void flush() {
         }
-        formatted.get(REMOTE_ADDRESS);
-        if (item.getRemoteAddress() != null) {
-            formatted.get(REMOTE_ADDRESS).set(item.getRemoteAddress().toString());
+
+        @Override
+        public void close() {
         }
     }
 
@@ -8,6 +8,7 @@ package org.jboss.as.controller.audit;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.audit.SyslogAuditLogHandler.Facility;
 import org.jboss.dmr.ModelNode;
@@ -181,6 +182,55 @@ public interface ManagedAuditLogger extends AuditLogger {
         return Collections.emptyList();
     }
 
+    /**
+     * Configures the queue of the audit log records written asynchronously, shared by this logger and its
+     * {@linkplain #createNewConfiguration(boolean) new configurations}. The records queued so far are written before
+     * the new configuration applies.
+     *
+     * @param size the maximum number of records waiting to be written, or {@code 0} to write them synchronously
+     * @param overflowPolicy what to do with a record when the queue is full
+     */
+    default void setQueue(int size, OverflowPolicy overflowPolicy) {
+    }
+
+    /**
+     * Gets the maximum number of audit log records waiting to be written by the handlers.
+     *
+     * @return the size of the queue, or {@code 0} if the records are written synchronously
+     */
+    default int getQueueSize() {
+        return 0;
+    }
+
+    /**
+     * Gets what is done with an audit log record when the queue of the records waiting to be written is full.
+     *
+     * @return the overflow policy
+     */
+    default OverflowPolicy getQueueOverflowPolicy() {
+        return OverflowPolicy.BLOCK;
+    }
+
+    /**
+     * Gets the number of audit log records waiting to be written by the handlers, if the records are written
+     * asynchronously.
+     *
+     * @return the number of queued records
+     */
+    default int getQueueDepth() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of audit log records which were dropped because too many records were waiting to be written by
+     * the handlers, if the records are written asynchronously.
+     *
+     * @return the number of dropped records
+     */
+    default long getDroppedRecords() {
+        return 0;
+    }
+
     /**
      * Callback for the controller to call before the controller is booted
      */
@@ -264,4 +314,32 @@ public interface ManagedAuditLogger extends AuditLogger {
         void applyChanges();
 
     }
+
+    /**
+     * What is done with an audit log record written asynchronously when too many records are waiting to be written.
+     */
+    enum OverflowPolicy {
+        /** Wait for the queued records to be written until there is room for the record */
+        BLOCK,
+        /** Discard the oldest queued record to make room for the record */
+        DROP_OLDEST,
+        /** Discard the record */
+        DROP_NEWEST;
+
+        /**
+         * Gets the policy of a name, e.g. {@code drop-oldest}.
+         *
+         * @param name the name
+         * @return the policy
+         * @throws IllegalArgumentException if there is no such policy
+         */
+        public static OverflowPolicy forName(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ENGLISH).replace('-', '_'));
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ENGLISH).replace('_', '-');
+        }
+    }
 }
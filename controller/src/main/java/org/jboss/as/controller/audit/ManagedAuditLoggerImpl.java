@@ -6,6 +6,7 @@
 package org.jboss.as.controller.audit;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -240,12 +241,32 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
 
     /** protected by config's audit lock */
     private void writeLogItem(AuditLogItem item) throws IOException{
+        final AuditLogQueue queue = config.getQueue();
         Set<String> formatterNames = new HashSet<String>();
         try {
-            for (AuditLogHandler handler : config.getHandlersForLogging()) {
-                formatterNames.add(handler.getFormatterName());
-                handler.writeLogItem(item);
+            if (queue == null) {
+                for (AuditLogHandler handler : config.getHandlersForLogging()) {
+                    formatterNames.add(handler.getFormatterName());
+                    handler.writeLogItem(item);
+                }
+            } else {
+                // Only format the item here, the handlers write it from the queue
+                final List<AuditLogHandler> handlers = config.getHandlersForLogging();
+                final AuditLogQueue.Record record = new AuditLogQueue.Record(handlers.size());
+                for (AuditLogHandler handler : handlers) {
+                    formatterNames.add(handler.getFormatterName());
+                    final String formattedItem = handler.formatLogItem(item);
+                    if (formattedItem != null) {
+                        record.add(handler, formattedItem);
+                    }
+                }
+                if (!record.isEmpty()) {
+                    queue.add(record);
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
         } finally {
             for (String formatterName : formatterNames) {
                 config.getFormatter(formatterName).clear();
@@ -499,6 +520,38 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         }
     }
 
+    @Override
+    public void setQueue(int size, OverflowPolicy overflowPolicy) {
+        config.lock();
+        try {
+            config.setQueue(size, overflowPolicy);
+        } finally {
+            config.unlock();
+        }
+    }
+
+    @Override
+    public int getQueueSize() {
+        final AuditLogQueue queue = config.getQueue();
+        return queue == null ? 0 : queue.getSize();
+    }
+
+    @Override
+    public OverflowPolicy getQueueOverflowPolicy() {
+        return config.getQueueOverflowPolicy();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        final AuditLogQueue queue = config.getQueue();
+        return queue == null ? 0 : queue.getDepth();
+    }
+
+    @Override
+    public long getDroppedRecords() {
+        return config.getDroppedRecords();
+    }
+
     @Override
     public void updateInMemoryHandlerMaxHistory(String name, int maxHistory) {
         config.lock();
@@ -573,6 +626,22 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             return sharedConfiguration.getAsVersion();
         }
 
+        AuditLogQueue getQueue() {
+            return sharedConfiguration.getQueue();
+        }
+
+        void setQueue(int size, OverflowPolicy overflowPolicy) {
+            sharedConfiguration.setQueue(size, overflowPolicy);
+        }
+
+        OverflowPolicy getQueueOverflowPolicy() {
+            return sharedConfiguration.getQueueOverflowPolicy();
+        }
+
+        long getDroppedRecords() {
+            return sharedConfiguration.getDroppedRecords();
+        }
+
         boolean isServer() {
             return sharedConfiguration.isServer();
         }
@@ -722,6 +791,12 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         private final Lock auditLock = new ReentrantLock(true);
         private final String asVersion;
         private final boolean server;
+        /** Written with auditLock taken - the queue of the records written asynchronously, or {@code null} if they are written synchronously */
+        private volatile AuditLogQueue queue;
+        /** Written with auditLock taken - the configured overflow policy, also when the records are written synchronously */
+        private volatile OverflowPolicy queueOverflowPolicy = OverflowPolicy.BLOCK;
+        /** Written with auditLock taken - the number of records dropped by the previous queues */
+        private volatile long previouslyDroppedRecords;
 
         /** Guarded by auditLock - the formatters configured in the global json-formatters section */
         private final Map<String, AuditLogItemFormatter> formatters = new HashMap<String, AuditLogItemFormatter>();
@@ -755,6 +830,39 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             return asVersion;
         }
 
+        AuditLogQueue getQueue() {
+            return queue;
+        }
+
+        /** Call with auditLock taken */
+        void setQueue(int size, OverflowPolicy overflowPolicy) {
+            final AuditLogQueue current = queue;
+            if (current == null ? size <= 0 : current.getSize() == size && current.getOverflowPolicy() == overflowPolicy) {
+                queueOverflowPolicy = overflowPolicy;
+                return;
+            }
+            if (current != null) {
+                // Write the records already queued first, to keep the order of the records
+                try {
+                    current.close();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                previouslyDroppedRecords += current.getDroppedRecords();
+            }
+            queueOverflowPolicy = overflowPolicy;
+            queue = size > 0 ? new AuditLogQueue(size, overflowPolicy) : null;
+        }
+
+        OverflowPolicy getQueueOverflowPolicy() {
+            return queueOverflowPolicy;
+        }
+
+        long getDroppedRecords() {
+            final AuditLogQueue current = queue;
+            return previouslyDroppedRecords + (current == null ? 0 : current.getDroppedRecords());
+        }
+
         boolean isServer() {
             return server;
         }
@@ -920,7 +1028,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
                 for (String name : removedHandlers) {
                     AuditLogHandler handler = config.removeConfiguredHandler(name);
                     if (handler != null){
-                        handler.stop();
+                        handler.shutdown();
                     }
                 }
             }
@@ -928,7 +1036,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
                 for (AuditLogHandler handler : replacedHandlers.values()) {
                     AuditLogHandler existing = config.removeConfiguredHandler(handler.getName());
                     if (existing != null) {
-                        existing.stop();
+                        existing.shutdown();
                         // Update the references for the replaced one
                         for (PathAddress referenceAddress : existing.getReferences()) {
                             if (removedReferences != null && !removedReferences.contains(referenceAddress)) {
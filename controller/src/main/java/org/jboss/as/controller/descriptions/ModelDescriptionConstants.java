@@ -73,6 +73,7 @@ public class ModelDescriptionConstants {
     public static final String BOOT_ERRORS = "boot-errors";
     public static final String BOOT_COMPLETE_NOTIFICATION = "boot-complete";
     public static final String BROWSE_CONTENT = "browse-content";
+    public static final String BULK_READ = "bulk-read";
     public static final String BYTES = "bytes";
     public static final String CALLER_THREAD = "caller-thread";
     public static final String CALLER_TYPE = "caller-type";
@@ -271,6 +272,7 @@ public class ModelDescriptionConstants {
     public static final String LEVEL = "level";
     public static final String LDAP = "ldap";
     public static final String LDAP_CONNECTION = "ldap-connection";
+    public static final String LIMIT = "limit";
     public static final String LIST_SNAPSHOTS_OPERATION = "list-snapshots";
     public static final String LIST_MODULES = "list-modules";
     public static final String LOCAL = "local";
@@ -330,6 +332,7 @@ public class ModelDescriptionConstants {
     public static final String NOTIFICATION_TYPE = "notification-type";
     public static final String NOTIFICATIONS = "notifications";
     public static final String NO_SERVICES = "no-services";
+    public static final String OFFSET = "offset";
     /** Use this as the standard operation name field in the operation *request* ModelNode */
     public static final String OP = "operation";
     /** Use this standard operation address field in the operation *request* ModelNode */
@@ -390,6 +393,7 @@ public class ModelDescriptionConstants {
     public static final String READ_ATTRIBUTE_OPERATION = "read-attribute";
     public static final String READ_ATTRIBUTE_GROUP_OPERATION = "read-attribute-group";
     public static final String READ_ATTRIBUTE_GROUP_NAMES_OPERATION = "read-attribute-group-names";
+    public static final String READ_BOOT_PROFILE_OPERATION = "read-boot-profile";
     public static final String READ_CHILDREN_NAMES_OPERATION = "read-children-names";
     public static final String READ_CHILDREN_TYPES_OPERATION = "read-children-types";
     public static final String READ_CHILDREN_RESOURCES_OPERATION = "read-children-resources";
@@ -535,6 +539,7 @@ public class ModelDescriptionConstants {
     /** The key for {@link org.jboss.as.controller.registry.AttributeAccess.Storage} fields. */
     public static final String STORAGE = "storage";
     public static final String SUBDEPLOYMENT = "subdeployment";
+    public static final String SUBSCRIBE_METRICS = "subscribe-metrics";
     public static final String SUBSYSTEM = "subsystem";
     public static final String SUCCESS = "success";
     public static final String SUFFIX = "suffix";
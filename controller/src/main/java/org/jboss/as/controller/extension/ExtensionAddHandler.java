@@ -8,6 +8,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD
 
 import java.util.Iterator;
 
+import org.jboss.as.controller.BootProfile;
 import org.jboss.as.controller.Extension;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -121,7 +122,9 @@ public class ExtensionAddHandler implements OperationStepHandler {
                             // now that we know the registry was unaware of the module
                             unknownModule = true;
                         }
-                        extension.initialize(extensionRegistry.getExtensionContext(module, rootRegistration, extensionRegistryType));
+                        try (BootProfile.Measurement ignored = BootProfile.measure(BootProfile.Category.EXTENSION, module, "initialize")) {
+                            extension.initialize(extensionRegistry.getExtensionContext(module, rootRegistration, extensionRegistryType));
+                        }
                     } finally {
                         WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(oldTccl);
                     }
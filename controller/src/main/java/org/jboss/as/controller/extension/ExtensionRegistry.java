@@ -24,6 +24,7 @@ import java.util.regex.Pattern;
 import javax.xml.namespace.QName;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.BootProfile;
 import org.jboss.as.controller.Extension;
 import org.jboss.as.controller.CapabilityReferenceRecorder;
 import org.jboss.as.controller.ExtensionContext;
@@ -346,7 +347,9 @@ public final class ExtensionRegistry implements FeatureRegistry {
      */
     public void initializeParsers(final Extension extension, final String moduleName, final XMLMapper xmlMapper) {
         ExtensionParsingContextImpl parsingContext = new ExtensionParsingContextImpl(moduleName, xmlMapper);
-        extension.initializeParsers(parsingContext);
+        try (BootProfile.Measurement ignored = BootProfile.measure(BootProfile.Category.EXTENSION, moduleName, "initialize-parsers")) {
+            extension.initializeParsers(parsingContext);
+        }
         parsingContext.attemptCurrentParserInitialization();
     }
 
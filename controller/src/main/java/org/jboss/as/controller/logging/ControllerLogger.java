@@ -3752,4 +3752,17 @@ public interface ControllerLogger extends BasicLogger {
 
     @Message(id = 504, value = "The operation %s is not defined for resource %s.")
     UnsupportedOperationException missingOperationForResource(String op, String address);
+
+    @Message(id = 505, value = "Operation %s of resource %s is not a read-only operation and cannot be part of a bulk read.")
+    String notReadOnlyOperation(String op, String address);
+
+    @LogMessage(level = WARN)
+    @Message(id = 506, value = "Management audit log records are being dropped as %d records are already waiting to be written")
+    void auditLogRecordsDropped(int size);
+
+    @Message(id = 508, value = "The maximum number of concurrent metrics subscriptions (%d) is reached")
+    OperationFailedException tooManyMetricsSubscriptions(int max);
+
+    @Message(id = 509, value = "A bulk read cannot be executed by an operation holding the controller lock; execute the reads as steps of the operation instead")
+    OperationFailedException bulkReadHoldingControllerLock();
 }
@@ -216,6 +216,7 @@ public class GlobalOperationHandlers {
                 final FilteredData localFilteredData = filteredData == null ? new FilteredData(PathAddress.EMPTY_ADDRESS) : filteredData;
                 // The final result should be a list of executed operations
                 final ModelNode result = context.getResult().setEmptyList();
+                final ModelNode targetOperation = getTargetOperation(operation);
 
                 // Trick the context to give us the model-root
                 final OperationStepHandler delegateStepHandler = new OperationStepHandler() {
@@ -227,11 +228,11 @@ public class GlobalOperationHandlers {
                 final ModelNode fakeOperationResponse = new ModelNode();
                 context.addStep(fakeOperationResponse, FAKE_OPERATION.clone(),
                         registryOnly ?
-                            new RegistrationAddressResolver(operation, result, delegateStepHandler) :
-                            new ModelAddressResolver(operation, result, localFilteredData, delegateStepHandler, predicate),
+                            new RegistrationAddressResolver(targetOperation, result, delegateStepHandler) :
+                            new ModelAddressResolver(targetOperation, result, localFilteredData, delegateStepHandler, predicate, this),
                         OperationContext.Stage.MODEL, true
                 );
-                context.completeStep(new MultiTargetResultHandler(fakeOperationResponse, localFilteredData, result));
+                context.completeStep(new MultiTargetResultHandler(fakeOperationResponse, localFilteredData, result, this));
             } else {
                 doExecute(context, operation, filteredData, ignoreMissingResource);
             }
@@ -252,16 +253,54 @@ public class GlobalOperationHandlers {
          */
         abstract void doExecute(OperationContext context, ModelNode operation, FilteredData filteredData, boolean ignoreMissingResource) throws OperationFailedException;
 
+        /**
+         * Gets the operation to execute against each of the resolved targets of an operation addressed to multiple
+         * targets.
+         *
+         * @param operation the original operation
+         * @return the operation to execute against the targets
+         */
+        ModelNode getTargetOperation(ModelNode operation) {
+            return operation;
+        }
+
+        /**
+         * Gets the names of the children of the given type that, while they are targets of an operation addressed to
+         * multiple targets, are known not to produce a result, so the operation need not be executed against them.
+         * Only called for the last element of the address of the operation.
+         *
+         * @param context the operation context
+         * @param operation the operation to execute against the targets
+         * @param parent the address of the parent of the children
+         * @param childType the type of the children
+         * @return the names of the excluded children. Will not be {@code null}
+         */
+        Set<String> getExcludedTargets(OperationContext context, ModelNode operation, PathAddress parent, String childType) {
+            return Collections.emptySet();
+        }
+
+        /**
+         * Amends the list of the results of an operation addressed to multiple targets, once it completed successfully.
+         *
+         * @param operation the original operation
+         * @param result the list of the results of the targets
+         */
+        void amendMultiTargetResult(ModelNode operation, ModelNode result) {
+        }
+
         private static class MultiTargetResultHandler implements OperationContext.ResultHandler {
 
             private final FilteredData localFilteredData;
             private final ModelNode result;
             private final ModelNode fakeOperationResponse;
+            private final AbstractMultiTargetHandler multiTargetHandler;
 
-            public MultiTargetResultHandler(ModelNode fakeOperationResponse, FilteredData localFilteredData, ModelNode result) {
+            public MultiTargetResultHandler(ModelNode fakeOperationResponse, FilteredData localFilteredData, ModelNode result,
+                                            AbstractMultiTargetHandler multiTargetHandler) {
                 this.localFilteredData = localFilteredData;
                 this.result = result;
                 this.fakeOperationResponse = fakeOperationResponse;
+                this.multiTargetHandler = multiTargetHandler;
             }
 
             @Override
@@ -299,6 +338,8 @@ public class GlobalOperationHandlers {
                     } else if (failures.size() > 1) {
                         context.getFailureDescription().set(ControllerLogger.ROOT_LOGGER.wildcardOperationFailedAtMultipleAddresses(op, failures.keySet()));
                     }
+                } else if (resultAction == OperationContext.ResultAction.KEEP && result.getType() == ModelType.LIST) {
+                    multiTargetHandler.amendMultiTargetResult(operation, result);
                 }
             }
         }
@@ -314,7 +355,7 @@ public class GlobalOperationHandlers {
                 || !item.hasDefined(OP_ADDR);
 
 
-        private final ModelNode operation;
+        protected final ModelNode operation;
         private final ModelNode result;
         private final FilteredData filteredData;
         private final FilterPredicate predicate;
@@ -380,9 +421,23 @@ public class GlobalOperationHandlers {
          */
         protected void safeExecute(final PathAddress base, final PathAddress remaining, final OperationContext context,
                 final ImmutableManagementResourceRegistration registration, boolean ignoreMissing) {
+            safeExecute(base, remaining, context, registration, ignoreMissing, false);
+        }
+
+        /**
+         * Like {@link #safeExecute(PathAddress, PathAddress, OperationContext, ImmutableManagementResourceRegistration, boolean)},
+         * but only authorizes the {@code base} address if {@code authorizeOnly} is {@code true}, so that the
+         * restrictions of a target that is known not to produce a result are still reported.
+         */
+        protected void safeExecute(final PathAddress base, final PathAddress remaining, final OperationContext context,
+                final ImmutableManagementResourceRegistration registration, boolean ignoreMissing, boolean authorizeOnly) {
             try {
                 ControllerLogger.MGMT_OP_LOGGER.tracef("safeExecute for %s, remaining is %s", base, remaining);
-                execute(base, remaining, context, registration, ignoreMissing);
+                if (authorizeOnly) {
+                    authorize(context, base, operation);
+                } else {
+                    execute(base, remaining, context, registration, ignoreMissing);
+                }
             } catch (UnauthorizedException e) {
                 // equivalent to the resource not existing
                 // Just report the failure to the filter and complete normally
@@ -671,8 +726,13 @@ public class GlobalOperationHandlers {
     }
 
     private static final class ModelAddressResolver extends AbstractAddressResolver {
-        public ModelAddressResolver(ModelNode operation, ModelNode result, FilteredData filteredData, OperationStepHandler delegate, FilterPredicate predicate) {
+
+        private final AbstractMultiTargetHandler multiTargetHandler;
+
+        public ModelAddressResolver(ModelNode operation, ModelNode result, FilteredData filteredData, OperationStepHandler delegate,
+                                    FilterPredicate predicate, AbstractMultiTargetHandler multiTargetHandler) {
             super(operation, result, delegate, filteredData, predicate);
+            this.multiTargetHandler = multiTargetHandler;
         }
 
         protected void executeMultiTargetChildren(PathAddress base, PathElement currentElement, PathAddress newRemaining, OperationContext context, ImmutableManagementResourceRegistration registration, boolean ignoreMissing) {
@@ -690,6 +750,8 @@ public class GlobalOperationHandlers {
                 if (children.isEmpty()) {
                     continue;
                 }
+                final Set<String> excluded = newRemaining.size() == 0
+                        ? multiTargetHandler.getExcludedTargets(context, operation, base, key) : Collections.emptySet();
                 if (currentElement.isWildcard()) {
                     for (final String child : children) {
                         final PathElement e = PathElement.pathElement(key, child);
@@ -697,7 +759,7 @@ public class GlobalOperationHandlers {
                         // Either require the child or a remote target
                         final ImmutableManagementResourceRegistration nr = context.getResourceRegistration().getSubModel(next);
                         if (resource.hasChild(e) || (nr != null && nr.isRemote())) {
-                            safeExecute(next, newRemaining, context, nr, true);
+                            safeExecute(next, newRemaining, context, nr, true, excluded.contains(child));
                         }
                     }
                 } else {
@@ -712,7 +774,7 @@ public class GlobalOperationHandlers {
                             // Either require the child or a remote target
                             final ImmutableManagementResourceRegistration nr = context.getResourceRegistration().getSubModel(next);
                             if (resource.hasChild(e) || (nr != null && nr.isRemote())) {
-                                safeExecute(next, newRemaining, context, nr, ignore);
+                                safeExecute(next, newRemaining, context, nr, ignore, excluded.contains(segment));
                             }
                         }
                     }
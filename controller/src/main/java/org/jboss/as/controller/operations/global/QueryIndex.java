@@ -0,0 +1,209 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.operations.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * An index of the values of a configured set of attributes of the resources of a published management model, which
+ * spares the {@link QueryOperationHandler query} operation executing against the resources that cannot match its filter.
+ * <p>
+ * Only the configuration attributes that read-resource reads straight from the model are indexed, with their default
+ * value if undefined. Runtime and proxy resources are not indexed. The index is updated on each publication of the
+ * model, and as the unchanged resources of the model are shared by consecutive publications, only the parts of the
+ * index reflecting changed resources are built again. An index is immutable once created.
+ */
+public final class QueryIndex {
+
+    /** Name of the system property listing the names of the attributes to index, separated by commas. No index is maintained if not set */
+    public static final String ATTRIBUTES_PROPERTY = "org.jboss.as.controller.query_index_attributes";
+
+    /** Key under which the index of the published model is attached to the context of an operation */
+    public static final OperationContext.AttachmentKey<QueryIndex> ATTACHMENT_KEY = OperationContext.AttachmentKey.create(QueryIndex.class);
+
+    /** Only the resources created by {@link Resource.Factory} are copied on write, so known to be unchanged when shared */
+    private static final Class<?> COPY_ON_WRITE_TYPE = Resource.Factory.create().getClass();
+
+    private final Set<String> attributes;
+    private final Node root;
+
+    private QueryIndex(Set<String> attributes, Node root) {
+        this.attributes = attributes;
+        this.root = root;
+    }
+
+    /**
+     * Creates an empty index of the attributes configured with the {@link #ATTRIBUTES_PROPERTY} system property.
+     *
+     * @return the index, or {@code null} if no attributes are to be indexed
+     */
+    public static QueryIndex create() {
+        String value = WildFlySecurityManager.getPropertyPrivileged(ATTRIBUTES_PROPERTY, null);
+        if (value == null) {
+            return null;
+        }
+        Set<String> attributes = new HashSet<>();
+        for (String attribute : value.split(",")) {
+            attribute = attribute.trim();
+            if (!attribute.isEmpty()) {
+                attributes.add(attribute);
+            }
+        }
+        return attributes.isEmpty() ? null : new QueryIndex(Collections.unmodifiableSet(attributes), null);
+    }
+
+    /**
+     * Creates the index of a newly published model, reusing the parts of this index reflecting resources that did
+     * not change.
+     *
+     * @param rootResource the root resource of the published model. Cannot be {@code null}
+     * @param rootRegistration the root resource registration. Cannot be {@code null}
+     * @return the index of the published model
+     */
+    public QueryIndex update(Resource rootResource, ImmutableManagementResourceRegistration rootRegistration) {
+        return new QueryIndex(attributes, update(root, rootResource, rootRegistration));
+    }
+
+    /**
+     * Gets the names of the indexed children of the given type of the resource at the given address whose value of
+     * the given attribute does not match. Children whose value of the attribute is not indexed are not included.
+     *
+     * @param parent the address of the parent of the children
+     * @param childType the type of the children
+     * @param attribute the name of the attribute
+     * @param matches the test of the value of the attribute
+     * @return the names of the children that do not match. Will not be {@code null}
+     */
+    Set<String> getNonMatching(PathAddress parent, String childType, String attribute, Predicate<ModelNode> matches) {
+        Node node = root;
+        for (PathElement element : parent) {
+            Map<String, Node> children = node == null ? null : node.children.get(element.getKey());
+            node = children == null ? null : children.get(element.getValue());
+        }
+        if (node == null) {
+            return Collections.emptySet();
+        }
+        Map<ModelNode, Set<String>> groups = node.getGroups(childType).get(attribute);
+        if (groups == null) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<ModelNode, Set<String>> group : groups.entrySet()) {
+            if (!matches.test(group.getKey())) {
+                result.addAll(group.getValue());
+            }
+        }
+        return result;
+    }
+
+    private Node update(Node previous, Resource resource, ImmutableManagementResourceRegistration registration) {
+        if (previous != null && previous.resource == resource && resource.getClass() == COPY_ON_WRITE_TYPE) {
+            return previous;
+        }
+        final Map<String, Map<String, Node>> children = new HashMap<>();
+        for (String type : resource.getChildTypes()) {
+            final Map<String, Node> previousChildren = previous == null ? null : previous.children.get(type);
+            final Map<String, Node> typeChildren = new HashMap<>();
+            for (String name : resource.getChildrenNames(type)) {
+                final PathElement element = PathElement.pathElement(type, name);
+                final Resource child = resource.getChild(element);
+                final ImmutableManagementResourceRegistration childRegistration = registration.getSubModel(PathAddress.pathAddress(element));
+                if (child != null && childRegistration != null && isIndexed(child, childRegistration)) {
+                    typeChildren.put(name, update(previousChildren == null ? null : previousChildren.get(name), child, childRegistration));
+                }
+            }
+            if (!typeChildren.isEmpty()) {
+                children.put(type, typeChildren);
+            }
+        }
+        return new Node(resource, getValues(resource.getModel(), registration), children);
+    }
+
+    private Map<String, ModelNode> getValues(ModelNode model, ImmutableManagementResourceRegistration registration) {
+        final OperationStepHandler readResourceHandler = registration.getOperationHandler(PathAddress.EMPTY_ADDRESS, READ_RESOURCE_OPERATION);
+        if (readResourceHandler != null && readResourceHandler.getClass() != ReadResourceHandler.class) {
+            return Collections.emptyMap();
+        }
+        final Map<String, ModelNode> values = new HashMap<>();
+        for (String attribute : attributes) {
+            final AttributeAccess access = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attribute);
+            if (access == null || access.getStorageType() != AttributeAccess.Storage.CONFIGURATION
+                    || access.getFlags().contains(AttributeAccess.Flag.ALIAS) || access.getAttributeDefinition() == null
+                    || !ReadResourceHandler.isReadableInStep(registration, access)) {
+                continue;
+            }
+            // What read-resource, including defaults, reads
+            final AttributeDefinition definition = access.getAttributeDefinition();
+            if (model.hasDefined(attribute)) {
+                values.put(attribute, model.get(attribute).clone());
+            } else if (definition.getDefaultValue() != null) {
+                values.put(attribute, definition.getDefaultValue());
+            } else {
+                values.put(attribute, new ModelNode());
+            }
+        }
+        return values;
+    }
+
+    private static boolean isIndexed(Resource resource, ImmutableManagementResourceRegistration registration) {
+        return !resource.isRuntime() && !resource.isProxy()
+                && !registration.isRuntimeOnly() && !registration.isRemote() && !registration.isAlias();
+    }
+
+    private static final class Node {
+        private final Resource resource;
+        private final Map<String, ModelNode> values;
+        private final Map<String, Map<String, Node>> children;
+        /** The names of the children by type, attribute name and value, grouped when first queried */
+        private final ConcurrentMap<String, Map<String, Map<ModelNode, Set<String>>>> groups = new ConcurrentHashMap<>();
+
+        private Node(Resource resource, Map<String, ModelNode> values, Map<String, Map<String, Node>> children) {
+            this.resource = resource;
+            this.values = values;
+            this.children = children;
+        }
+
+        private Map<String, Map<ModelNode, Set<String>>> getGroups(String childType) {
+            return groups.computeIfAbsent(childType, this::group);
+        }
+
+        private Map<String, Map<ModelNode, Set<String>>> group(String childType) {
+            final Map<String, Node> typeChildren = children.get(childType);
+            if (typeChildren == null) {
+                return Collections.emptyMap();
+            }
+            final Map<String, Map<ModelNode, Set<String>>> result = new HashMap<>();
+            for (Map.Entry<String, Node> child : typeChildren.entrySet()) {
+                for (Map.Entry<String, ModelNode> value : child.getValue().values.entrySet()) {
+                    result.computeIfAbsent(value.getKey(), k -> new HashMap<>())
+                            .computeIfAbsent(value.getValue(), k -> new HashSet<>())
+                            .add(child.getKey());
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -8,6 +8,8 @@ package org.jboss.as.controller.operations.global;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LIMIT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OFFSET;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATOR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
@@ -15,7 +17,10 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RES
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ExpressionResolver;
@@ -34,6 +39,7 @@ import org.jboss.as.controller.descriptions.common.ControllerResolver;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.transform.OperationResultTransformer;
@@ -71,11 +77,23 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
             .setRequired(false)
             .build();
 
+    private static final AttributeDefinition LIMIT_ATT = new SimpleAttributeDefinitionBuilder(LIMIT, ModelType.INT)
+            .setRequired(false)
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
+
+    private static final AttributeDefinition OFFSET_ATT = new SimpleAttributeDefinitionBuilder(OFFSET, ModelType.INT)
+            .setRequired(false)
+            .setValidator(new IntRangeValidator(0, true))
+            .build();
+
 
     public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.QUERY, ControllerResolver.getResolver("global"))
             .addParameter(SELECT_ATT)
             .addParameter(WHERE_ATT)
-                    //.addParameter(OPERATOR_ATT) // TODO for now it's implicitly Operator.AND
+            .addParameter(OPERATOR_ATT)
+            .addParameter(LIMIT_ATT)
+            .addParameter(OFFSET_ATT)
             .setReplyType(ModelType.LIST).setReplyValueType(ModelType.OBJECT)
             .setReadOnly()
             .build();
@@ -84,6 +102,13 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
         super(null, true, item -> !item.hasDefined(RESULT));
     }
 
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        LIMIT_ATT.validateOperation(operation);
+        OFFSET_ATT.validateOperation(operation);
+        super.execute(context, operation);
+    }
+
     @Override
     void doExecute(final OperationContext parentContext, ModelNode operation, FilteredData filteredData, boolean ignoreMissingResources) throws OperationFailedException {
 
@@ -112,6 +137,87 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
 
     }
 
+    @Override
+    ModelNode getTargetOperation(ModelNode operation) {
+        if (!operation.has(LIMIT) && !operation.has(OFFSET)) {
+            return operation;
+        }
+        // The results are paged once all targets, remote ones included, executed
+        final ModelNode targetOperation = operation.clone();
+        targetOperation.remove(LIMIT);
+        targetOperation.remove(OFFSET);
+        return targetOperation;
+    }
+
+    @Override
+    Set<String> getExcludedTargets(OperationContext context, ModelNode operation, PathAddress parent, String childType) {
+        final QueryIndex index = context.getAttachment(QueryIndex.ATTACHMENT_KEY);
+        // The index reflects the published model, not one modified by the current operation
+        if (index == null || context.isModelAffected()) {
+            return Collections.emptySet();
+        }
+        final ModelNode where;
+        final Operator operator;
+        try {
+            where = WHERE_ATT.validateOperation(operation);
+            operator = Operator.valueOf(OPERATOR_ATT.resolveModelAttribute(context, operation).asString());
+        } catch (OperationFailedException e) {
+            // Will be reported by the targets
+            return Collections.emptySet();
+        }
+        if (!where.isDefined()) {
+            return Collections.emptySet();
+        }
+        Set<String> result = null;
+        for (Property property : where.asPropertyList()) {
+            final String filterName = property.getName();
+            final ModelNode filterValue = property.getValue();
+            Set<String> nonMatching;
+            if (FilterReduceHandler.isUndefinedFilter(filterValue)) {
+                // Attributes filtered from the result by access control read as undefined, which the index does not know
+                nonMatching = Collections.emptySet();
+            } else {
+                nonMatching = index.getNonMatching(parent, childType, filterName, value -> {
+                    try {
+                        return FilterReduceHandler.isEqual(value, filterValue);
+                    } catch (IllegalArgumentException e) {
+                        // Let the target report the failure
+                        return true;
+                    }
+                });
+            }
+            if (operator == Operator.AND) {
+                // Not matching any of the filters excludes a target
+                if (result == null) {
+                    result = new HashSet<>();
+                }
+                result.addAll(nonMatching);
+            } else if (result == null) {
+                result = new HashSet<>(nonMatching);
+            } else {
+                // Only not matching all of the filters excludes a target
+                result.retainAll(nonMatching);
+            }
+        }
+        return result == null ? Collections.emptySet() : result;
+    }
+
+    @Override
+    void amendMultiTargetResult(ModelNode operation, ModelNode result) {
+        final int offset = operation.hasDefined(OFFSET) ? operation.get(OFFSET).asInt() : 0;
+        final int limit = operation.hasDefined(LIMIT) ? operation.get(LIMIT).asInt() : Integer.MAX_VALUE;
+        final int size = result.asInt();
+        if (offset == 0 && limit >= size) {
+            return;
+        }
+        final ModelNode page = new ModelNode().setEmptyList();
+        final List<ModelNode> items = result.asList();
+        for (int i = offset; i < size && i - offset < limit; i++) {
+            page.add(items.get(i));
+        }
+        result.set(page);
+    }
+
     static class FilterReduceHandler implements OperationStepHandler {
 
         private static final String UNDEFINED = "undefined";
@@ -183,41 +289,16 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
                 final String filterName = property.getName();
                 final ModelNode filterValue = property.getValue();
 
-                boolean isEqual = false;
-
-                if(!filterValue.isDefined() || filterValue.asString().equals(UNDEFINED))  {
-                    // query for undefined attributes
-                    isEqual = !resource.get(filterName).isDefined();
-                }  else {
-
-                    final ModelType targetValueType = resource.get(filterName).getType();
-
-                    try {
-                        // query for attribute values (throws exception when types don't match)
-                        switch (targetValueType) {
-                            case BOOLEAN:
-                                isEqual = filterValue.asBoolean() == resource.get(filterName).asBoolean();
-                                break;
-                            case LONG:
-                                isEqual = filterValue.asLong() == resource.get(filterName).asLong();
-                                break;
-                            case INT:
-                                isEqual = filterValue.asInt() == resource.get(filterName).asInt();
-                                break;
-                            case DOUBLE:
-                                isEqual = filterValue.asDouble() == resource.get(filterName).asDouble();
-                                break;
-                            default:
-                                isEqual = filterValue.equals(resource.get(filterName));
-                        }
-                    } catch (IllegalArgumentException e) {
-                        throw ControllerLogger.MGMT_OP_LOGGER.selectFailedCouldNotConvertAttributeToType(filterName, targetValueType);
-                    }
-
+                final ModelNode targetValue = resource.get(filterName);
+                final boolean isEqual;
+                try {
+                    isEqual = isEqual(targetValue, filterValue);
+                } catch (IllegalArgumentException e) {
+                    throw ControllerLogger.MGMT_OP_LOGGER.selectFailedCouldNotConvertAttributeToType(filterName, targetValue.getType());
                 }
 
                 if(isEqual) {
-                    matches.add(resource.get(filterName).equals(filterValue));
+                    matches.add(true);
                 }
 
             }
@@ -250,6 +331,35 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
             return isMatching;
         }
 
+        static boolean isUndefinedFilter(final ModelNode filterValue) {
+            return !filterValue.isDefined() || filterValue.asString().equals(UNDEFINED);
+        }
+
+        /**
+         * Gets whether the value of an attribute matches the value it is filtered by.
+         *
+         * @throws IllegalArgumentException if the filter value cannot be converted to the type of the attribute value
+         */
+        static boolean isEqual(final ModelNode targetValue, final ModelNode filterValue) {
+            if (isUndefinedFilter(filterValue)) {
+                // query for undefined attributes
+                return !targetValue.isDefined();
+            }
+            // query for attribute values (throws exception when types don't match)
+            switch (targetValue.getType()) {
+                case BOOLEAN:
+                    return filterValue.asBoolean() == targetValue.asBoolean();
+                case LONG:
+                    return filterValue.asLong() == targetValue.asLong();
+                case INT:
+                    return filterValue.asInt() == targetValue.asInt();
+                case DOUBLE:
+                    return filterValue.asDouble() == targetValue.asDouble();
+                default:
+                    return filterValue.equals(targetValue);
+            }
+        }
+
         private static ModelNode reduce(final ModelNode payload, final ModelNode attributes) throws OperationFailedException {
 
             ModelNode outcome = new ModelNode();
@@ -90,6 +90,9 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
         final ReadChildrenResourcesAssemblyHandler assemblyHandler = new ReadChildrenResourcesAssemblyHandler(resources, filteredData, address, childType);
         context.addStep(assemblyHandler, OperationContext.Stage.MODEL, true);
 
+        // Which child registrations can be read without a step per resource
+        final Map<ImmutableManagementResourceRegistration, Boolean> readable = new HashMap<>();
+
         for (final String key : childNames) {
             final PathElement childPath = PathElement.pathElement(childType, key);
             final PathAddress childAddress = PathAddress.EMPTY_ADDRESS.append(PathElement.pathElement(childType, key));
@@ -105,10 +108,13 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
                 // not an override
                 overrideHandler = null;
             }
-            OperationStepHandler rrHandler = new ReadResourceHandler(filteredData, overrideHandler, false);
+            ReadResourceHandler rrHandler = new ReadResourceHandler(filteredData, overrideHandler, false);
             final ModelNode rrRsp = new ModelNode();
             resources.put(childPath, rrRsp);
-            context.addStep(rrRsp, readResOp, rrHandler, OperationContext.Stage.MODEL, true);
+            if (overrideHandler != null
+                    || !rrHandler.readChildResource(context, readResOp, childAddress, registry.getSubModel(childAddress), readable, rrRsp)) {
+                context.addStep(rrRsp, readResOp, rrHandler, OperationContext.Stage.MODEL, true);
+            }
         }
     }
 
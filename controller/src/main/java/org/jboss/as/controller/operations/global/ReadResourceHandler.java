@@ -32,6 +32,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import org.jboss.as.controller.AttributeDefinition;
@@ -60,7 +61,6 @@ import org.jboss.as.controller.registry.PlaceholderResource;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
-import org.jboss.dmr.Property;
 
 /**
  * {@link org.jboss.as.controller.OperationStepHandler} reading a part of the model. The result will only contain the current attributes of a node by default,
@@ -177,31 +177,8 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 
         validator.validate(operation);
 
-        final String opName = operation.require(OP).asString();
         final PathAddress address = context.getCurrentAddress();
-        // WFCORE-76
-        final boolean recursive = GlobalOperationHandlers.getRecursive(context, operation);
         final boolean queryRuntime = operation.get(ModelDescriptionConstants.INCLUDE_RUNTIME).asBoolean(false);
-        final boolean proxies = operation.get(ModelDescriptionConstants.PROXIES).asBoolean(false);
-        final boolean aliases = operation.get(ModelDescriptionConstants.INCLUDE_ALIASES).asBoolean(false);
-        final boolean defaults = operation.get(ModelDescriptionConstants.INCLUDE_DEFAULTS).asBoolean(true);
-        final boolean includeUndefinedMetricValues = operation.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).asBoolean(false);
-        final boolean attributesOnly = operation.get(ModelDescriptionConstants.ATTRIBUTES_ONLY).asBoolean(false);
-        final boolean resolve = RESOLVE.resolveModelAttribute(context, operation).asBoolean();
-
-        // Child types with no actual children
-        final Set<String> nonExistentChildTypes = new HashSet<String>();
-        // Children names read directly from the model where we didn't call read-resource to gather data
-        // We wouldn't call read-resource if the recursive=false
-        final Map<String, ModelNode> directChildren = new HashMap<String, ModelNode>();
-        // Attributes of AccessType.METRIC
-        final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> metrics = queryRuntime
-                ? new HashMap<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse>()
-                : Collections.<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse>emptyMap();
-        // Non-AccessType.METRIC attributes
-        final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> otherAttributes = new HashMap<>();
-        // Child resources recursively read
-        final Map<PathElement, ModelNode> childResources = recursive ? new LinkedHashMap<PathElement, ModelNode>() : Collections.<PathElement, ModelNode>emptyMap();
 
         // If we were not configured with a FilteredData, we are handling the top
         // resource being read, otherwise we are a child resource
@@ -215,14 +192,107 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
         // in reverse order of how they should execute, as that is the way adding a Stage.IMMEDIATE step works
 
         // Last to execute is the handler that assembles the overall response from the pieces created by all the other steps
-        final ReadResourceAssemblyHandler assemblyHandler = new ReadResourceAssemblyHandler(address, metrics,
-                otherAttributes, directChildren, childResources, nonExistentChildTypes, reportFilteredData, localFilteredData, ignoreMissingResource);
+        final ReadResourceAssemblyHandler assemblyHandler = new ReadResourceAssemblyHandler(address,
+                GlobalOperationHandlers.getRecursive(context, operation), queryRuntime, reportFilteredData, localFilteredData, ignoreMissingResource);
         context.addStep(assemblyHandler, queryRuntime ? OperationContext.Stage.VERIFY : OperationContext.Stage.MODEL, true);
         final ImmutableManagementResourceRegistration registry = context.getResourceRegistration();
 
         // Get the model for this resource.
         final Resource resource = nullSafeReadResource(context, registry);
 
+        readResource(context, operation, PathAddress.EMPTY_ADDRESS, registry, resource, assemblyHandler, new HashMap<>());
+    }
+
+    /**
+     * Reads a child resource in the current step instead of in a step of its own, if it and all of its children
+     * that are to be read can be read that way. That is the case if their content is all in the model, so if
+     * no proxies, aliases, read handlers or overrides of the read-resource or read-attribute handlers are involved.
+     * A recursive read of a large model then walks the resources and their registrations in a single pass,
+     * authorizing and assembling each resource as it is reached, instead of adding several steps per resource.
+     *
+     * @param context the context of the current step
+     * @param operation the read-resource operation for the child resource
+     * @param relativeAddress the address of the child resource relative to that of the current step
+     * @param registry the registration of the child resource
+     * @param readable the cache of which registrations can be read in the current step
+     * @param response node to store the read-resource response for the child resource in
+     * @return {@code true} if the child resource was read, {@code false} if it requires a step of its own
+     */
+    boolean readChildResource(OperationContext context, ModelNode operation, PathAddress relativeAddress,
+                              ImmutableManagementResourceRegistration registry,
+                              Map<ImmutableManagementResourceRegistration, Boolean> readable, ModelNode response) throws OperationFailedException {
+        final boolean queryRuntime = operation.get(ModelDescriptionConstants.INCLUDE_RUNTIME).asBoolean(false);
+        final boolean proxies = operation.get(ModelDescriptionConstants.PROXIES).asBoolean(false);
+        final boolean aliases = operation.get(ModelDescriptionConstants.INCLUDE_ALIASES).asBoolean(false);
+        if (registry == null || RESOLVE.resolveModelAttribute(context, operation).asBoolean()
+                || !isReadableInStep(registry, queryRuntime, proxies, aliases, readable)) {
+            return false;
+        }
+
+        // Mirror what doExecute does when this is executed as a step of its own
+        final FilteredData filteredData = getFilteredData();
+        final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
+        final ModelNode result = response.get(RESULT);
+        final Resource resource;
+        try {
+            resource = context.readResource(relativeAddress, false);
+        } catch (ResourceNotAddressableException rnae) {
+            filteredData.addAccessRestrictedResource(address);
+            return true;
+        } catch (Resource.NoSuchResourceException nsre) {
+            AuthorizationResult.Decision decision = context.authorize(operation, EnumSet.of(Action.ActionEffect.ADDRESS)).getDecision();
+            if (decision == AuthorizationResult.Decision.DENY) {
+                filteredData.addAccessRestrictedResource(address);
+            }
+            return true;
+        } catch (UnauthorizedException ue) {
+            filteredData.addReadRestrictedResource(address);
+            return true;
+        }
+
+        final ReadResourceAssemblyHandler assemblyHandler = new ReadResourceAssemblyHandler(address,
+                GlobalOperationHandlers.getRecursive(context, operation), queryRuntime, false, filteredData, true);
+        readResource(context, operation, relativeAddress, registry, resource, assemblyHandler, readable);
+        if (!assemblyHandler.assemble(context, () -> result)) {
+            result.set(new ModelNode());
+        }
+        return true;
+    }
+
+    /**
+     * Gathers the children and attributes of a resource for the given assembly handler. Those that can be read in
+     * the current step are read straight away, the others are read by steps added for them.
+     */
+    private void readResource(OperationContext context, ModelNode operation, PathAddress relativeAddress,
+                              ImmutableManagementResourceRegistration registry, Resource resource,
+                              ReadResourceAssemblyHandler assemblyHandler,
+                              Map<ImmutableManagementResourceRegistration, Boolean> readable) throws OperationFailedException {
+
+        final String opName = operation.require(OP).asString();
+        final PathAddress address = assemblyHandler.address;
+        // WFCORE-76
+        final boolean recursive = assemblyHandler.recursive;
+        final boolean queryRuntime = operation.get(ModelDescriptionConstants.INCLUDE_RUNTIME).asBoolean(false);
+        final boolean proxies = operation.get(ModelDescriptionConstants.PROXIES).asBoolean(false);
+        final boolean aliases = operation.get(ModelDescriptionConstants.INCLUDE_ALIASES).asBoolean(false);
+        final boolean defaults = operation.get(ModelDescriptionConstants.INCLUDE_DEFAULTS).asBoolean(true);
+        final boolean includeUndefinedMetricValues = operation.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).asBoolean(false);
+        final boolean attributesOnly = operation.get(ModelDescriptionConstants.ATTRIBUTES_ONLY).asBoolean(false);
+        final boolean resolve = RESOLVE.resolveModelAttribute(context, operation).asBoolean();
+
+        // Child types with no actual children
+        final Set<String> nonExistentChildTypes = assemblyHandler.nonExistentChildTypes;
+        // Children names read directly from the model where we didn't call read-resource to gather data
+        // We wouldn't call read-resource if the recursive=false
+        final Map<String, Map<String, ModelNode>> directChildren = assemblyHandler.directChildren;
+        // Attributes of AccessType.METRIC
+        final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> metrics = assemblyHandler.metrics;
+        // Non-AccessType.METRIC attributes
+        final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> otherAttributes = assemblyHandler.otherAttributes;
+        // Child resources recursively read
+        final Map<PathElement, ModelNode> childResources = assemblyHandler.childResources;
+        final FilteredData localFilteredData = assemblyHandler.filteredData;
+
         final Map<String, Set<String>> childrenByType = registry != null ? GlobalOperationHandlers.getChildAddresses(context, address, registry, resource, null) : Collections.<String, Set<String>>emptyMap();
         if (!attributesOnly) {
             // Next, process child resources
@@ -251,9 +321,7 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                         boolean getChild = false;
                         if (childReg != null) {
                             // Decide if we want to invoke on this child resource
-                            boolean proxy = childReg.isRemote();
-                            boolean runtimeResource = childReg.isRuntimeOnly();
-                            getChild = !runtimeResource || (queryRuntime && !proxy) || (proxies && proxy);
+                            getChild = isRead(childReg, queryRuntime, proxies, true);
                             if (!aliases && childReg.isAlias()) {
                                 nonExistentChildTypes.remove(childType);
                                 getChild = false;
@@ -279,9 +347,11 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                                 // not an override
                                 overrideHandler = null;
                             }
-                            OperationStepHandler rrHandler = new ReadResourceHandler(localFilteredData, overrideHandler, resolvable);
+                            ReadResourceHandler rrHandler = new ReadResourceHandler(localFilteredData, overrideHandler, resolvable);
 
-                            context.addStep(rrRsp, rrOp, rrHandler, OperationContext.Stage.MODEL, true);
+                            if (overrideHandler != null || !rrHandler.readChildResource(context, rrOp, relativeAddress.append(childPE), childReg, readable, rrRsp)) {
+                                context.addStep(rrRsp, rrOp, rrHandler, OperationContext.Stage.MODEL, true);
+                            }
                         }
                     } else {
                         // Non-recursive. Just output the names of the children
@@ -290,17 +360,16 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                         if (ar.getDecision() == AuthorizationResult.Decision.DENY) {
                             localFilteredData.addAccessRestrictedResource(absoluteChildAddr);
                         } else {
-                            ModelNode childMap = directChildren.get(childType);
+                            Map<String, ModelNode> childMap = directChildren.get(childType);
                             if (childMap == null) {
                                 nonExistentChildTypes.remove(childType);
-                                childMap = new ModelNode();
-                                childMap.setEmptyObject();
+                                childMap = new LinkedHashMap<>();
                                 directChildren.put(childType, childMap);
                             }
                             // In case of runtime resources adds '=> undefined' if there's no include-runtime parameter,
                             // in read-resource operation, otherwise adds '{"child" => undefined}'
                             if (queryRuntime || (childReg != null && (!childReg.isRuntimeOnly() || childReg.isRemote()))) {
-                                childMap.get(child);
+                                childMap.put(child, new ModelNode());
                             }
                         }
                     }
@@ -310,20 +379,118 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 
         // Handle registered attributes
         final Set<String> attributeNames = registry != null ? registry.getAttributeNames(PathAddress.EMPTY_ADDRESS) : Collections.<String>emptySet();
+        ModelNode attributeOperation = null;
         for (final String attributeName : attributeNames) {
 
             final AttributeAccess access = registry.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
-            if ((aliases || !access.getFlags().contains(AttributeAccess.Flag.ALIAS))
-                    && (queryRuntime || access.getStorageType() == AttributeAccess.Storage.CONFIGURATION)) {
+            if (isRead(access, queryRuntime, aliases)) {
 
                 Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> responseMap = access.getAccessType() == AttributeAccess.AccessType.METRIC ? metrics : otherAttributes;
 
                 AttributeDefinition ad = access.getAttributeDefinition();
                 AttributeDefinition.NameAndGroup nag = ad == null ? new AttributeDefinition.NameAndGroup(attributeName) : new AttributeDefinition.NameAndGroup(ad);
-                addReadAttributeStep(context, address, defaults, resolve, includeUndefinedMetricValues, localFilteredData, registry, nag, responseMap);
+                if (!resolve && ad != null && isReadableInStep(registry, access)) {
+                    if (attributeOperation == null) {
+                        attributeOperation = Util.getReadAttributeOperation(address, attributeName);
+                    }
+                    readAttribute(context, attributeOperation, address, defaults, localFilteredData, resource.getModel(), ad, nag, responseMap);
+                } else {
+                    addReadAttributeStep(context, address, defaults, resolve, includeUndefinedMetricValues, localFilteredData, registry, nag, responseMap);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets whether a child resource with the given registration is read by a recursive read-resource, aliases aside.
+     */
+    private static boolean isRead(final ImmutableManagementResourceRegistration registry, final boolean queryRuntime,
+                                  final boolean proxies, final boolean aliases) {
+        boolean proxy = registry.isRemote();
+        boolean runtimeResource = registry.isRuntimeOnly();
+        return (!runtimeResource || (queryRuntime && !proxy) || (proxies && proxy)) && (aliases || !registry.isAlias());
+    }
+
+    private static boolean isRead(final AttributeAccess access, final boolean queryRuntime, final boolean aliases) {
+        return (aliases || !access.getFlags().contains(AttributeAccess.Flag.ALIAS))
+                && (queryRuntime || access.getStorageType() == AttributeAccess.Storage.CONFIGURATION);
+    }
 
+    /**
+     * Gets whether resources with the given registration, and all of their children that are to be read, can be read
+     * in a single step. The outcome only depends on the registrations, so it is cached for the whole read.
+     */
+    private static boolean isReadableInStep(final ImmutableManagementResourceRegistration registry, final boolean queryRuntime,
+                                            final boolean proxies, final boolean aliases,
+                                            final Map<ImmutableManagementResourceRegistration, Boolean> readable) {
+        Boolean result = readable.get(registry);
+        if (result == null) {
+            result = isReadableInStep(registry, queryRuntime, aliases);
+            if (result) {
+                for (PathElement path : registry.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+                    ImmutableManagementResourceRegistration childReg = registry.getSubModel(PathAddress.pathAddress(path));
+                    if (childReg != null && isRead(childReg, queryRuntime, proxies, aliases)
+                            && !isReadableInStep(childReg, queryRuntime, proxies, aliases, readable)) {
+                        result = false;
+                        break;
+                    }
+                }
             }
+            readable.put(registry, result);
         }
+        return result;
+    }
+
+    private static boolean isReadableInStep(final ImmutableManagementResourceRegistration registry, final boolean queryRuntime, final boolean aliases) {
+        if (registry.isRemote() || registry.isAlias()) {
+            return false;
+        }
+        OperationStepHandler readResourceHandler = registry.getOperationHandler(PathAddress.EMPTY_ADDRESS, READ_RESOURCE_OPERATION);
+        if (readResourceHandler != null && readResourceHandler.getClass() != ReadResourceHandler.class) {
+            return false;
+        }
+        for (String attributeName : registry.getAttributeNames(PathAddress.EMPTY_ADDRESS)) {
+            AttributeAccess access = registry.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
+            if (isRead(access, queryRuntime, aliases) && (access.getAttributeDefinition() == null || !isReadableInStep(registry, access))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets whether the given attribute is read from the model by the standard read-attribute handler, in which
+     * case there is no need for a step to read it.
+     */
+    static boolean isReadableInStep(final ImmutableManagementResourceRegistration registry, final AttributeAccess access) {
+        if (access.getReadHandler() != null) {
+            return false;
+        }
+        OperationStepHandler readAttributeHandler = registry.getOperationHandler(PathAddress.EMPTY_ADDRESS, READ_ATTRIBUTE_OPERATION);
+        return readAttributeHandler == null || readAttributeHandler == ReadAttributeHandler.INSTANCE || readAttributeHandler == ReadAttributeHandler.RESOLVE_INSTANCE;
+    }
+
+    /**
+     * Reads an attribute from the model, the way {@link ReadAttributeHandler} would.
+     */
+    private static void readAttribute(OperationContext context, ModelNode attributeOperation, PathAddress address, boolean defaults,
+                                      FilteredData localFilteredData, ModelNode model, AttributeDefinition attribute,
+                                      AttributeDefinition.NameAndGroup attributeKey,
+                                      Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> responseMap) {
+        final String attributeName = attribute.getName();
+        final ModelNode attrResponse = new ModelNode();
+        final ModelNode value = attrResponse.get(RESULT);
+        if (model.hasDefined(attributeName)) {
+            value.set(model.get(attributeName));
+        } else if (defaults && attribute.getDefaultValue() != null) {
+            value.set(attribute.getDefaultValue());
+        }
+        attributeOperation.get(ModelDescriptionConstants.NAME).set(attributeName);
+        if (context.authorize(attributeOperation, attributeName, value).getDecision() == AuthorizationResult.Decision.DENY) {
+            localFilteredData.addReadRestrictedAttribute(address, attributeName);
+            value.set(new ModelNode());
+        }
+        responseMap.put(attributeKey, new GlobalOperationHandlers.AvailableResponse(attrResponse));
     }
 
     private boolean isSingletonResource(final ImmutableManagementResourceRegistration registry, final String key) {
@@ -420,52 +587,52 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
     private static class ReadResourceAssemblyHandler implements OperationStepHandler {
 
         private final PathAddress address;
-        private final Map<String, ModelNode> directChildren;
+        private final boolean recursive;
+        private final Map<String, Map<String, ModelNode>> directChildren = new HashMap<>();
         private final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> metrics;
-        private final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> otherAttributes;
+        private final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> otherAttributes = new HashMap<>();
         private final Map<PathElement, ModelNode> childResources;
-        private final Set<String> nonExistentChildTypes;
+        private final Set<String> nonExistentChildTypes = new HashSet<>();
         private final boolean reportFilteredData;
         private final FilteredData filteredData;
         private final boolean ignoreMissingResource;
 
         /**
          * Creates a ReadResourceAssemblyHandler that will assemble the response using the contents
-         * of the given maps.
-         *  @param address          address of the resource
-         * @param metrics          map of attributes of AccessType.METRIC. Keys are the attribute names, values are the full
-         *                         read-attribute response from invoking the attribute's read handler. Will not be {@code null}
-         * @param otherAttributes  map of attributes not of AccessType.METRIC that have a read handler registered. Keys
-*                         are the attribute names, values are the full read-attribute response from invoking the
-*                         attribute's read handler. Will not be {@code null}
-         * @param directChildren   Children names read directly from the parent resource where we didn't call read-resource
-*                         to gather data. We wouldn't call read-resource if the recursive=false
-         * @param childResources   read-resource response from child resources, where the key is the PathAddress
-*                         relative to the address of the operation this handler is handling and the
-*                         value is the full read-resource response. Will not be {@code null}
-         * @param nonExistentChildTypes names of child types where no data is available
+         * of its maps, which are filled in by {@link #readResource} and the steps it adds. These are:
+         * <ul>
+         *     <li>metrics: attributes of AccessType.METRIC. Keys are the attribute names, values are the full
+         *     read-attribute response from invoking the attribute's read handler</li>
+         *     <li>otherAttributes: attributes not of AccessType.METRIC. Keys are the attribute names, values are the
+         *     full read-attribute response</li>
+         *     <li>directChildren: children names read directly from the parent resource where we didn't call
+         *     read-resource to gather data. We wouldn't call read-resource if the recursive=false</li>
+         *     <li>childResources: read-resource response from child resources, where the key is the PathAddress
+         *     relative to the address of the operation this handler is handling and the value is the full
+         *     read-resource response</li>
+         *     <li>nonExistentChildTypes: names of child types where no data is available</li>
+         * </ul>
+         *
+         * @param address          address of the resource
+         * @param recursive        {@code true} if child resources are read
+         * @param queryRuntime     {@code true} if runtime attributes are read
+         * @param reportFilteredData {@code true} if filtered data is to be reported in the response headers
          * @param filteredData     information about resources and attributes that were filtered
-         * @param reportFilteredData {@code }
          * @param ignoreMissingResource {@code true} if we should ignore occasions when the targeted resource
          *                                          does not exist; {@code false} if we should throw
          *                                          {@link org.jboss.as.controller.registry.Resource.NoSuchResourceException}
          *                                          in such cases
          */
         private ReadResourceAssemblyHandler(final PathAddress address,
-                                            final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> metrics,
-                                            final Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> otherAttributes,
-                                            final Map<String, ModelNode> directChildren,
-                                            final Map<PathElement, ModelNode> childResources,
-                                            final Set<String> nonExistentChildTypes,
+                                            final boolean recursive,
+                                            final boolean queryRuntime,
                                             final boolean reportFilteredData,
                                             final FilteredData filteredData,
                                             final boolean ignoreMissingResource) {
             this.address = address;
-            this.metrics = metrics;
-            this.otherAttributes = otherAttributes;
-            this.directChildren = directChildren;
-            this.childResources = childResources;
-            this.nonExistentChildTypes = nonExistentChildTypes;
+            this.recursive = recursive;
+            this.metrics = queryRuntime ? new HashMap<>() : Collections.emptyMap();
+            this.childResources = recursive ? new LinkedHashMap<>() : Collections.emptyMap();
             this.reportFilteredData = reportFilteredData;
             this.filteredData = filteredData;
             this.ignoreMissingResource = ignoreMissingResource;
@@ -473,16 +640,30 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 
         @Override
         public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (!assemble(context, context::getResult)) {
+                handleMissingResource(context);
+            }
+        }
+
+        /**
+         * Assembles the response.
+         *
+         * @param context the operation context
+         * @param resultNode provides the node to store the assembled resource in
+         * @return {@code false} if the resource has disappeared, {@code true} otherwise
+         */
+        private boolean assemble(OperationContext context, Supplier<ModelNode> resultNode) {
 
             Map<AttributeDefinition.NameAndGroup, ModelNode> sortedAttributes = new TreeMap<>();
-            Map<String, ModelNode> sortedChildren = new TreeMap<String, ModelNode>();
+            // Children by type, where the children of a type without any are null. The values are the nodes of the
+            // responses, which are only copied once, into the result
+            Map<String, Map<String, ModelNode>> sortedChildren = new TreeMap<>();
             boolean failed = false;
             for (Map.Entry<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> entry : otherAttributes.entrySet()) {
                 GlobalOperationHandlers.AvailableResponse ar = entry.getValue();
                 if (ar.unavailable) {
                     // Our target resource has disappeared
-                    handleMissingResource(context);
-                    return;
+                    return false;
                 }
                 ModelNode value = ar.response;
                 if (!value.has(FAILURE_DESCRIPTION)) {
@@ -507,12 +688,7 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                     if (!value.has(FAILURE_DESCRIPTION)) {
                         addWarning(value, context);
                         if (value.hasDefined(RESULT)) {
-                            ModelNode childTypeNode = sortedChildren.get(path.getKey());
-                            if (childTypeNode == null) {
-                                childTypeNode = new ModelNode();
-                                sortedChildren.put(path.getKey(), childTypeNode);
-                            }
-                            childTypeNode.get(path.getValue()).set(value.get(RESULT));
+                            sortedChildren.computeIfAbsent(path.getKey(), type -> new LinkedHashMap<>()).put(path.getValue(), value.get(RESULT));
                         } else {
                             // A child did not produce a response. We don't know if the definition
                             // of our resource indicates the child that has disappeared must be
@@ -524,8 +700,7 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                                 try {
                                     context.readResourceFromRoot(address, false);
                                 } catch (Resource.NoSuchResourceException e) {
-                                    handleMissingResource(context);
-                                    return;
+                                    return false;
                                 }
                             } // else there's no result because it was just filtered
                         }
@@ -538,13 +713,13 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
             // Allow prompt gc
             childResources.clear();
             if (!failed) {
-                for (Map.Entry<String, ModelNode> directChild : directChildren.entrySet()) {
+                for (Map.Entry<String, Map<String, ModelNode>> directChild : directChildren.entrySet()) {
                     sortedChildren.put(directChild.getKey(), directChild.getValue());
                 }
                 // Allow prompt gc
                 directChildren.clear();
                 for (String nonExistentChildType : nonExistentChildTypes) {
-                    sortedChildren.put(nonExistentChildType, new ModelNode());
+                    sortedChildren.put(nonExistentChildType, null);
                 }
                 // Allow prompt gc
                 nonExistentChildTypes.clear();
@@ -552,8 +727,7 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                     GlobalOperationHandlers.AvailableResponse ar = metric.getValue();
                     if (ar.unavailable) {
                         // Our target resource has disappeared
-                        handleMissingResource(context);
-                        return;
+                        return false;
                     }
                     ModelNode value = ar.response;
                     if (!value.has(FAILURE_DESCRIPTION)) {
@@ -565,7 +739,7 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                 // Allow prompt gc
                 metrics.clear();
 
-                final ModelNode result = context.getResult();
+                final ModelNode result = resultNode.get();
                 result.setEmptyObject();
                 for (Map.Entry<AttributeDefinition.NameAndGroup, ModelNode> entry : sortedAttributes.entrySet()) {
                     result.get(entry.getKey().getName()).set(entry.getValue());
@@ -575,22 +749,19 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 
                 // We make a copy of the ModelNode tree here, so use an iterator and remove promptly
                 // to reduce peak memory use ASAP in large reads
-                for (Iterator<Map.Entry<String, ModelNode>> iter = sortedChildren.entrySet().iterator(); iter.hasNext();) {
-                    Map.Entry<String, ModelNode> entry = iter.next();
+                for (Iterator<Map.Entry<String, Map<String, ModelNode>>> iter = sortedChildren.entrySet().iterator(); iter.hasNext();) {
+                    Map.Entry<String, Map<String, ModelNode>> entry = iter.next();
                     String type = entry.getKey();
-                    ModelNode value = entry.getValue();
+                    Map<String, ModelNode> children = entry.getValue();
                     iter.remove();
-                    if (!entry.getValue().isDefined()) {
-                        result.get(type).set(value);
-                    } else {
-                        ModelNode childTypeNode = new ModelNode();
-                        for (Property property : value.asPropertyList()) {
-                            PathElement pe = PathElement.pathElement(type, property.getName());
+                    ModelNode childTypeNode = result.get(type);
+                    if (children != null) {
+                        for (Map.Entry<String, ModelNode> child : children.entrySet()) {
+                            PathElement pe = PathElement.pathElement(type, child.getKey());
                             if (!filteredData.isFilteredResource(address, pe)) {
-                                childTypeNode.get(property.getName()).set(property.getValue());
+                                childTypeNode.get(child.getKey()).set(child.getValue());
                             }
                         }
-                        result.get(type).set(childTypeNode);
                     }
                 }
                 // Allow prompt gc
@@ -600,6 +771,7 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                     context.getResponseHeaders().get(ACCESS_CONTROL).set(filteredData.toModelNode());
                 }
             }
+            return true;
         }
 
         private void addWarning(ModelNode value, OperationContext context) {
@@ -123,6 +123,7 @@ public enum Attribute {
     NAME("name"),
     NATIVE("native"),
     ORGANIZATION("organization"),
+    OVERFLOW_POLICY("overflow-policy"),
     PARSE_ROLES_FROM_DN("parse-group-name-from-dn"),
     PASSWORD("password"),
     PATH("path"),
@@ -138,6 +139,7 @@ public enum Attribute {
     PROFILE("profile"),
     PROTOCOL("protocol"),
     PROVIDER("provider"),
+    QUEUE_SIZE("queue-size"),
     REALM("realm"),
     RECONNECT_TIMEOUT("reconnect-timeout"),
     RECURSIVE("recursive"),
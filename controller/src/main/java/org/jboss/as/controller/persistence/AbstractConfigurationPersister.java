@@ -11,15 +11,18 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamWriter;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementWriter;
 import org.jboss.staxmapper.XMLMapper;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Abstract superclass for {@link ExtensibleConfigurationPersister} implementations.
@@ -28,8 +31,17 @@ import org.jboss.staxmapper.XMLMapper;
  */
 public abstract class AbstractConfigurationPersister implements ExtensibleConfigurationPersister {
 
+    private static final String INCREMENTAL_PERSISTENCE_PROPERTY = "jboss.config.incremental-persistence";
+    private static final String GROUP_COMMIT_WINDOW_PROPERTY = "jboss.config.group-commit-window";
+    private static final String GROUP_COMMIT_MAX_BATCH_PROPERTY = "jboss.config.group-commit-max-batch";
+    private static final int GROUP_COMMIT_MAX_BATCH = 64;
+
     private final XMLElementWriter<ModelMarshallingContext> rootDeparser;
     private final ConcurrentHashMap<String, Supplier<XMLElementWriter<SubsystemMarshallingContext>>> subsystemWriterSuppliers = new ConcurrentHashMap<>();
+    /** Cache of marshalled subsystems, if incremental persistence is enabled */
+    private final SubsystemXmlCache subsystemXmlCache;
+    /** Groups the commits of stored models, if a group commit window is configured */
+    private final GroupCommitter groupCommitter;
 
     /**
      * Construct a new instance.
@@ -38,27 +50,87 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
      */
     public AbstractConfigurationPersister(final XMLElementWriter<ModelMarshallingContext> rootDeparser) {
         this.rootDeparser = rootDeparser;
+        this.subsystemXmlCache = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(INCREMENTAL_PERSISTENCE_PROPERTY, "false"))
+                ? new SubsystemXmlCache() : null;
+        final int groupCommitWindow = getInteger(GROUP_COMMIT_WINDOW_PROPERTY, 0);
+        this.groupCommitter = groupCommitWindow > 0
+                ? new GroupCommitter(groupCommitWindow, Math.max(1, getInteger(GROUP_COMMIT_MAX_BATCH_PROPERTY, GROUP_COMMIT_MAX_BATCH)))
+                : null;
+    }
+
+    /**
+     * Gets the object grouping the commits of the models stored by this persister. Group commit is enabled by setting
+     * the {@code jboss.config.group-commit-window} system property to the number of milliseconds a group is held open
+     * for further commits; the {@code jboss.config.group-commit-max-batch} system property sets the number of pending
+     * commits at which a group is written without waiting for the window to elapse. The group committer reports the
+     * number of coalesced commits and the commit latency.
+     *
+     * @return the group committer, or {@code null} if group commit is not enabled
+     */
+    public GroupCommitter getGroupCommitter() {
+        return groupCommitter;
+    }
+
+    private static int getInteger(final String name, final int defaultValue) {
+        final String val = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        try {
+            return val == null ? defaultValue : Integer.parseInt(val);
+        } catch (NumberFormatException ignored) {
+            return defaultValue;
+        }
     }
 
     @Override
     public void registerSubsystemWriter(String name, Supplier<XMLElementWriter<SubsystemMarshallingContext>> writer) {
         subsystemWriterSuppliers.putIfAbsent(name, writer);
+        if (subsystemXmlCache != null) {
+            subsystemXmlCache.invalidate(name);
+        }
     }
 
     @Override
     public void unregisterSubsystemWriter(String name) {
         subsystemWriterSuppliers.remove(name);
+        if (subsystemXmlCache != null) {
+            subsystemXmlCache.invalidate(name);
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void marshallAsXml(final ModelNode model, final OutputStream output) throws ConfigurationPersistenceException {
+        marshallAsXml(model, output, null, null);
+    }
+
+    /**
+     * Marshal the given model to the given output stream as part of storing a change to the model. If incremental
+     * persistence is enabled via the {@code jboss.config.incremental-persistence} system property, subsystems not
+     * affected by the change are written from the XML cached when the model was last stored.
+     *
+     * @param model the model
+     * @param output the output stream
+     * @param affectedAddresses the addresses of the resources affected by the change, or {@code null} if unknown
+     * @throws ConfigurationPersistenceException if marshalling fails
+     */
+    protected void marshallAsXml(final ModelNode model, final OutputStream output, final Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
+        if (subsystemXmlCache == null) {
+            marshallAsXml(model, output);
+        } else {
+            marshallAsXml(model, output, affectedAddresses, subsystemXmlCache);
+        }
+    }
+
+    private void marshallAsXml(final ModelNode model, final OutputStream output, final Set<PathAddress> affectedAddresses,
+                               final SubsystemXmlCache cache) throws ConfigurationPersistenceException {
+        final SubsystemXmlCache.Marshalling marshalling = cache == null ? null : cache.startMarshalling(affectedAddresses);
         final XMLMapper mapper = XMLMapper.Factory.create();
         final Map<String, XMLElementWriter<SubsystemMarshallingContext>> localSubsystemWriters = new HashMap<>();
         try {
             XMLStreamWriter streamWriter = null;
             try {
-                streamWriter = new UTF8XmlStringWriterDelegate(XMLOutputFactory.newInstance().createXMLStreamWriter(output, StandardCharsets.UTF_8.name()));
+                streamWriter = marshalling == null
+                        ? new UTF8XmlStringWriterDelegate(XMLOutputFactory.newInstance().createXMLStreamWriter(output, StandardCharsets.UTF_8.name()))
+                        : marshalling.createStreamWriter(output);
                 final ModelMarshallingContext extensibleModel = new ModelMarshallingContext() {
 
                     @Override
@@ -74,6 +146,9 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
                             Supplier<XMLElementWriter<SubsystemMarshallingContext>> supplier = subsystemWriterSuppliers.get(extensionName);
                             if (supplier != null) {
                                 result = supplier.get();
+                                if (marshalling != null) {
+                                    result = marshalling.wrap(extensionName, result);
+                                }
                                 localSubsystemWriters.put(extensionName, result);
                             }
                         }
@@ -82,6 +157,9 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
                 };
                 mapper.deparseDocument(rootDeparser, extensibleModel, streamWriter);
                 streamWriter.close();
+                if (marshalling != null) {
+                    marshalling.complete();
+                }
             } finally {
                 safeClose(streamWriter);
             }
@@ -9,7 +9,9 @@ import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Set;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
@@ -20,13 +22,31 @@ import org.xnio.IoUtils;
  */
 public abstract class AbstractFilePersistenceResource implements ConfigurationPersister.PersistenceResource {
     private volatile ExposedByteArrayOutputStream marshalled;
+    private final GroupCommitter groupCommitter;
+    private final long sequence;
 
     protected AbstractFilePersistenceResource(final ModelNode model, final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
+        this(model, persister, null);
+    }
+
+    /**
+     * Creates a new instance, marshalling the given model.
+     *
+     * @param model the model to persist
+     * @param persister the persister to use to marshal the model
+     * @param affectedAddresses the addresses of the resources affected by the change being persisted,
+     *                          or {@code null} if unknown
+     * @throws ConfigurationPersistenceException if marshalling fails
+     */
+    protected AbstractFilePersistenceResource(final ModelNode model, final AbstractConfigurationPersister persister,
+                                              final Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
+        groupCommitter = persister.getGroupCommitter();
+        sequence = groupCommitter == null ? 0 : groupCommitter.nextSequence();
         marshalled = new ExposedByteArrayOutputStream(1024 * 8);
         try {
             try {
                 BufferedOutputStream output = new BufferedOutputStream(marshalled);
-                persister.marshallAsXml(model, output);
+                persister.marshallAsXml(model, output, affectedAddresses);
                 output.close();
                 marshalled.close();
             } finally {
@@ -42,6 +62,20 @@ public abstract class AbstractFilePersistenceResource implements ConfigurationPe
         if (marshalled == null) {
             throw ControllerLogger.ROOT_LOGGER.rollbackAlreadyInvoked();
         }
+        if (groupCommitter != null) {
+            groupCommitter.commit(this);
+        } else {
+            write();
+        }
+    }
+
+    @Override
+    public boolean isCommitDeferrable() {
+        return groupCommitter != null;
+    }
+
+    /** Writes the marshalled model to permanent storage. */
+    void write() {
         try(InputStream in = getMarshalledInputStream()) {
             doCommit(in);
         } catch (IOException ioex) {
@@ -49,6 +83,11 @@ public abstract class AbstractFilePersistenceResource implements ConfigurationPe
         }
     }
 
+    /** Gets the order in which this resource was stored relative to others stored by the same persister. */
+    long getSequence() {
+        return sequence;
+    }
+
     @Override
     public void rollback() {
         marshalled = null;
@@ -35,6 +35,20 @@ public interface ConfigurationPersister {
          * Discard the changes.
          */
         void rollback();
+
+        /**
+         * Gets whether {@link #commit()} can be invoked after the caller has released the lock that serializes
+         * changes to the model, allowing the commits of successive changes to overlap. Implementations returning
+         * {@code true} must ensure that what remains in permanent storage is the most recently stored model, whatever
+         * order the commits are invoked in.
+         * <p>
+         * The default implementation always returns {@code false}
+         *
+         * @return {@code true} if the commit can be deferred until after the lock is released
+         */
+        default boolean isCommitDeferrable() {
+            return false;
+        }
     }
 
     /**
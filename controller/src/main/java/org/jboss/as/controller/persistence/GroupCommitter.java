@@ -0,0 +1,212 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Groups the commits of {@link AbstractFilePersistenceResource}s stored by the same persister, so that changes
+ * committed within a bounded window are flushed to permanent storage with a single write.
+ * <p>
+ * Each stored model contains all the changes stored before it, so only the most recently stored model of a group
+ * needs to be written. The first committer to find no write in progress leads the group: it waits for the window
+ * to elapse, or for the maximum number of commits to be pending, and then writes the latest pending model on behalf
+ * of the whole group. A call to {@link #commit(AbstractFilePersistenceResource)} does not return until a model at
+ * least as recent as the committed one has been written.
+ */
+public final class GroupCommitter {
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // Guarded by lock
+    private Batch open = new Batch();
+    private long writtenSequence;
+    private boolean writing;
+
+    private final AtomicLong commitCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong totalCommitLatency = new AtomicLong();
+    private final AtomicLong maxCommitLatency = new AtomicLong();
+
+    /**
+     * The commits grouped in a single write.
+     */
+    private static final class Batch {
+        // Guarded by the lock of the committer
+        /** The most recently stored resource of the batch */
+        private AbstractFilePersistenceResource latest;
+        private int size;
+        /** Why writing the batch failed, if it did */
+        private Throwable failure;
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param window the time a group is held open for more commits, in milliseconds
+     * @param maxBatchSize the number of pending commits at which a group is written without waiting for the window
+     *                     to elapse
+     */
+    GroupCommitter(long window, int maxBatchSize) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(window);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Gets the sequence number of a newly stored model. Models are stored while holding the lock that serializes
+     * changes to the model, so the sequence reflects the order of the changes.
+     *
+     * @return the sequence number
+     */
+    long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * Commits the given resource, waiting until its model, or a more recent one, has been written. If writing the
+     * group the resource belongs to fails, the failure is thrown to each commit of the group.
+     *
+     * @param resource the resource to commit
+     */
+    void commit(AbstractFilePersistenceResource resource) {
+        final long start = System.nanoTime();
+        try {
+            doCommit(resource);
+        } finally {
+            final long latency = System.nanoTime() - start;
+            commitCount.incrementAndGet();
+            totalCommitLatency.addAndGet(latency);
+            maxCommitLatency.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    private void doCommit(AbstractFilePersistenceResource resource) {
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            if (writtenSequence >= resource.getSequence()) {
+                // A more recent model was already written
+                return;
+            }
+            final Batch batch = open;
+            if (batch.latest == null || resource.getSequence() > batch.latest.getSequence()) {
+                batch.latest = resource;
+            }
+            batch.size++;
+            changed.signalAll();
+            while (writtenSequence < resource.getSequence()) {
+                if (batch.failure != null) {
+                    throwFailure(batch.failure);
+                }
+                if (writing) {
+                    changed.awaitUninterruptibly();
+                    continue;
+                }
+                // Our batch is still open, as it would otherwise have been either written or failed
+                writing = true;
+                long remaining = windowNanos;
+                while (batch.size < maxBatchSize && remaining > 0) {
+                    try {
+                        remaining = changed.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        // Write what we have; the change must not be lost
+                        interrupted = true;
+                        break;
+                    }
+                }
+                open = new Batch();
+                lock.unlock();
+                Throwable failure = null;
+                try {
+                    batch.latest.write();
+                    MGMT_OP_LOGGER.tracef("Wrote configuration change %d on behalf of %d commits", batch.latest.getSequence(), batch.size);
+                } catch (RuntimeException | Error e) {
+                    failure = e;
+                } finally {
+                    lock.lock();
+                    writeCount.incrementAndGet();
+                    if (failure == null) {
+                        writtenSequence = Math.max(writtenSequence, batch.latest.getSequence());
+                    } else {
+                        batch.failure = failure;
+                    }
+                    writing = false;
+                    changed.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of committed changes, including those whose write failed.
+     *
+     * @return the number of commits
+     */
+    public long getCommitCount() {
+        return commitCount.get();
+    }
+
+    /**
+     * Gets the number of writes to permanent storage performed on behalf of the committed changes.
+     *
+     * @return the number of writes
+     */
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Gets the number of committed changes that did not need a write of their own, because they were written
+     * as part of a group.
+     *
+     * @return the number of coalesced commits
+     */
+    public long getCoalescedCount() {
+        return Math.max(0, commitCount.get() - writeCount.get());
+    }
+
+    /**
+     * Gets the average time a commit took to return, including the time spent waiting for its group to be written.
+     *
+     * @param unit the time unit of the result
+     * @return the average commit latency, or {@code 0} if nothing has been committed
+     */
+    public long getAverageCommitLatency(TimeUnit unit) {
+        final long count = commitCount.get();
+        return count == 0 ? 0 : unit.convert(totalCommitLatency.get() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the longest time a commit took to return.
+     *
+     * @param unit the time unit of the result
+     * @return the maximum commit latency
+     */
+    public long getMaxCommitLatency(TimeUnit unit) {
+        return unit.convert(maxCommitLatency.get(), TimeUnit.NANOSECONDS);
+    }
+
+    private static void throwFailure(Throwable failure) {
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw (RuntimeException) failure;
+    }
+}
@@ -0,0 +1,546 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementWriter;
+
+/**
+ * Cache of the marshalled XML of subsystems, used to avoid running a subsystem's {@link XMLElementWriter} again
+ * when persisting a change that did not affect the subsystem.
+ * <p>
+ * What gets cached are the bytes the subsystem writer produced, captured from a copy of the calls it made to the
+ * underlying {@link XMLStreamWriter} of the document. Whitespace written by the formatting writer before the first
+ * element of the subsystem is not captured. To reuse cached bytes, the formatting writer is asked to write an empty
+ * element in place of the subsystem, so it indents it and updates its own state as it would for the subsystem, and
+ * the cached bytes are written to the output instead of that element. The enclosing document writer resets the
+ * default namespace after each subsystem, so each subsystem is written starting from the same writer state.
+ */
+final class SubsystemXmlCache {
+
+    /** Name of the empty element standing for the cached XML of a subsystem. Never written to the output. */
+    private static final String CACHED_SUBSYSTEM = "cached-subsystem";
+
+    /** Cached XML by subsystem name. A domain can have more than one entry per name, one per distinct model. */
+    private volatile Map<String, List<CachedXml>> cache = Collections.emptyMap();
+
+    /**
+     * Starts a marshalling of a model.
+     *
+     * @param affectedAddresses the addresses affected by the change being persisted, or {@code null} if unknown
+     * @return the marshalling. Will not be {@code null}
+     */
+    Marshalling startMarshalling(Set<PathAddress> affectedAddresses) {
+        return new Marshalling(getAffectedSubsystems(affectedAddresses));
+    }
+
+    /**
+     * Discards the cached XML of the given subsystem, e.g. because its writer changed.
+     *
+     * @param subsystemName the name of the subsystem
+     */
+    synchronized void invalidate(String subsystemName) {
+        if (cache.containsKey(subsystemName)) {
+            Map<String, List<CachedXml>> updated = new HashMap<>(cache);
+            updated.remove(subsystemName);
+            cache = updated;
+        }
+    }
+
+    private synchronized void update(Map<String, List<CachedXml>> used) {
+        cache = used;
+    }
+
+    /**
+     * Gets the names of the subsystems affected by a change.
+     *
+     * @param affectedAddresses the affected addresses, or {@code null} if unknown
+     * @return the names of the affected subsystems, or {@code null} if all subsystems should be considered affected
+     */
+    private static Set<String> getAffectedSubsystems(Set<PathAddress> affectedAddresses) {
+        if (affectedAddresses == null) {
+            return null;
+        }
+        Set<String> result = new HashSet<>();
+        for (PathAddress address : affectedAddresses) {
+            for (PathElement element : address) {
+                if (SUBSYSTEM.equals(element.getKey())) {
+                    result.add(element.getValue());
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A single marshalling of a model. Subsystems whose model is unaffected and equal to one already marshalled are
+     * written from the cached XML; the others are written by their writer and captured. Once the document is complete,
+     * {@link #complete()} replaces the cache contents with the XML used by this marshalling.
+     */
+    final class Marshalling {
+
+        private final Set<String> affectedSubsystems;
+        private final Map<String, List<CachedXml>> used = new HashMap<>();
+        private final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+        private CachingStreamWriter streamWriter;
+
+        private Marshalling(Set<String> affectedSubsystems) {
+            this.affectedSubsystems = affectedSubsystems;
+        }
+
+        /**
+         * Creates the writer of the document.
+         *
+         * @param output the stream the document is written to
+         * @return the writer. Will not be {@code null}
+         * @throws XMLStreamException if the writer cannot be created
+         */
+        XMLStreamWriter createStreamWriter(OutputStream output) throws XMLStreamException {
+            XMLStreamWriter delegate = new UTF8XmlStringWriterDelegate(outputFactory.createXMLStreamWriter(output, StandardCharsets.UTF_8.name()));
+            streamWriter = new CachingStreamWriter(delegate, output);
+            return streamWriter;
+        }
+
+        XMLElementWriter<SubsystemMarshallingContext> wrap(String subsystemName, XMLElementWriter<SubsystemMarshallingContext> writer) {
+            return (formattingWriter, context) -> {
+                final ModelNode model = context.getModelNode();
+                CachedXml cached = affectedSubsystems == null || affectedSubsystems.contains(subsystemName)
+                        ? null : find(subsystemName, model);
+                if (cached == null) {
+                    // Setting the current default namespace has no effect but to have the formatting writer
+                    // write any element start it holds, which must not be captured
+                    formattingWriter.setDefaultNamespace(formattingWriter.getNamespaceContext().getNamespaceURI(XMLConstants.DEFAULT_NS_PREFIX));
+                    ByteArrayOutputStream captured = new ByteArrayOutputStream();
+                    streamWriter.startCapture(outputFactory.createXMLStreamWriter(captured, StandardCharsets.UTF_8.name()));
+                    writer.writeContent(formattingWriter, context);
+                    if (streamWriter.endCapture()) {
+                        cached = new CachedXml(model.clone(), captured.toByteArray());
+                    }
+                } else if (cached.xml.length > 0) {
+                    streamWriter.splice(cached.xml);
+                    formattingWriter.writeEmptyElement(CACHED_SUBSYSTEM);
+                }
+                if (cached != null) {
+                    used.computeIfAbsent(subsystemName, k -> new ArrayList<>(1)).add(cached);
+                }
+            };
+        }
+
+        void complete() {
+            update(used);
+        }
+
+        private CachedXml find(String subsystemName, ModelNode model) {
+            List<CachedXml> candidates = cache.get(subsystemName);
+            if (candidates != null) {
+                for (CachedXml candidate : candidates) {
+                    if (candidate.model.equals(model)) {
+                        return candidate;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /** The XML written for a given model of a subsystem. */
+    private static final class CachedXml {
+
+        private final ModelNode model;
+        private final byte[] xml;
+
+        private CachedXml(ModelNode model, byte[] xml) {
+            this.model = model;
+            this.xml = xml;
+        }
+    }
+
+    /**
+     * Writer of the document sitting below the formatting writer. While a subsystem is captured, the calls it gets are
+     * also made to a writer of the captured bytes; when a splice is pending, the next empty element is replaced by the
+     * bytes to splice.
+     */
+    private static final class CachingStreamWriter implements XMLStreamWriter {
+
+        private final XMLStreamWriter delegate;
+        private final OutputStream output;
+        /** The writer of the captured bytes, or {@code null} if not capturing */
+        private XMLStreamWriter capture;
+        /** Whether the first element of the captured subsystem was written */
+        private boolean captureStarted;
+        /** Whether the captured bytes cannot be reused */
+        private boolean captureFailed;
+        private byte[] splice;
+
+        private CachingStreamWriter(XMLStreamWriter delegate, OutputStream output) {
+            this.delegate = delegate;
+            this.output = output;
+        }
+
+        void startCapture(XMLStreamWriter capture) {
+            this.capture = capture;
+            this.captureStarted = false;
+            this.captureFailed = false;
+        }
+
+        /**
+         * Ends the capture of a subsystem.
+         *
+         * @return {@code true} if the captured bytes can be reused
+         * @throws XMLStreamException if the captured bytes cannot be written
+         */
+        boolean endCapture() throws XMLStreamException {
+            XMLStreamWriter capture = this.capture;
+            this.capture = null;
+            if (captureFailed) {
+                return false;
+            }
+            // Closes an empty element left open by the writer
+            capture.writeEndDocument();
+            capture.close();
+            return true;
+        }
+
+        void splice(byte[] xml) {
+            this.splice = xml;
+        }
+
+        /**
+         * Gets the writer of the captured bytes for an element.
+         *
+         * @return the writer, or {@code null} if not capturing
+         */
+        private XMLStreamWriter captureElement() {
+            if (capture != null && !captureFailed) {
+                captureStarted = true;
+                return capture;
+            }
+            return null;
+        }
+
+        /**
+         * Gets the writer of the captured bytes for content other than an element. Whitespace before the first element
+         * is written by the formatting writer and is not captured; any other content before the first element means
+         * the captured bytes cannot be reused.
+         *
+         * @param whitespace {@code true} if the content is whitespace
+         * @return the writer, or {@code null} if not capturing or if the content is not captured
+         */
+        private XMLStreamWriter captureContent(boolean whitespace) {
+            if (capture == null || captureFailed) {
+                return null;
+            }
+            if (!captureStarted) {
+                captureFailed = !whitespace;
+                return null;
+            }
+            return capture;
+        }
+
+        private XMLStreamWriter captureState() {
+            return capture != null && !captureFailed ? capture : null;
+        }
+
+        private boolean writeSplice() throws XMLStreamException {
+            byte[] xml = splice;
+            if (xml == null) {
+                return false;
+            }
+            splice = null;
+            delegate.flush();
+            try {
+                output.write(xml);
+            } catch (IOException e) {
+                throw new XMLStreamException(e);
+            }
+            return true;
+        }
+
+        @Override
+        public void writeStartElement(String localName) throws XMLStreamException {
+            delegate.writeStartElement(localName);
+            XMLStreamWriter capture = captureElement();
+            if (capture != null) {
+                capture.writeStartElement(localName);
+            }
+        }
+
+        @Override
+        public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+            delegate.writeStartElement(namespaceURI, localName);
+            XMLStreamWriter capture = captureElement();
+            if (capture != null) {
+                capture.writeStartElement(namespaceURI, localName);
+            }
+        }
+
+        @Override
+        public void writeStartElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+            delegate.writeStartElement(prefix, localName, namespaceURI);
+            XMLStreamWriter capture = captureElement();
+            if (capture != null) {
+                capture.writeStartElement(prefix, localName, namespaceURI);
+            }
+        }
+
+        @Override
+        public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+            if (writeSplice()) {
+                return;
+            }
+            delegate.writeEmptyElement(namespaceURI, localName);
+            XMLStreamWriter capture = captureElement();
+            if (capture != null) {
+                capture.writeEmptyElement(namespaceURI, localName);
+            }
+        }
+
+        @Override
+        public void writeEmptyElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+            if (writeSplice()) {
+                return;
+            }
+            delegate.writeEmptyElement(prefix, localName, namespaceURI);
+            XMLStreamWriter capture = captureElement();
+            if (capture != null) {
+                capture.writeEmptyElement(prefix, localName, namespaceURI);
+            }
+        }
+
+        @Override
+        public void writeEmptyElement(String localName) throws XMLStreamException {
+            if (writeSplice()) {
+                return;
+            }
+            delegate.writeEmptyElement(localName);
+            XMLStreamWriter capture = captureElement();
+            if (capture != null) {
+                capture.writeEmptyElement(localName);
+            }
+        }
+
+        @Override
+        public void writeEndElement() throws XMLStreamException {
+            delegate.writeEndElement();
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeEndElement();
+            }
+        }
+
+        @Override
+        public void writeEndDocument() throws XMLStreamException {
+            delegate.writeEndDocument();
+        }
+
+        @Override
+        public void close() throws XMLStreamException {
+            delegate.close();
+        }
+
+        @Override
+        public void flush() throws XMLStreamException {
+            delegate.flush();
+        }
+
+        @Override
+        public void writeAttribute(String localName, String value) throws XMLStreamException {
+            delegate.writeAttribute(localName, value);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeAttribute(localName, value);
+            }
+        }
+
+        @Override
+        public void writeAttribute(String prefix, String namespaceURI, String localName, String value) throws XMLStreamException {
+            delegate.writeAttribute(prefix, namespaceURI, localName, value);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeAttribute(prefix, namespaceURI, localName, value);
+            }
+        }
+
+        @Override
+        public void writeAttribute(String namespaceURI, String localName, String value) throws XMLStreamException {
+            delegate.writeAttribute(namespaceURI, localName, value);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeAttribute(namespaceURI, localName, value);
+            }
+        }
+
+        @Override
+        public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+            delegate.writeNamespace(prefix, namespaceURI);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeNamespace(prefix, namespaceURI);
+            }
+        }
+
+        @Override
+        public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+            delegate.writeDefaultNamespace(namespaceURI);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeDefaultNamespace(namespaceURI);
+            }
+        }
+
+        @Override
+        public void writeComment(String data) throws XMLStreamException {
+            delegate.writeComment(data);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeComment(data);
+            }
+        }
+
+        @Override
+        public void writeProcessingInstruction(String target) throws XMLStreamException {
+            delegate.writeProcessingInstruction(target);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeProcessingInstruction(target);
+            }
+        }
+
+        @Override
+        public void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+            delegate.writeProcessingInstruction(target, data);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeProcessingInstruction(target, data);
+            }
+        }
+
+        @Override
+        public void writeCData(String data) throws XMLStreamException {
+            delegate.writeCData(data);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeCData(data);
+            }
+        }
+
+        @Override
+        public void writeDTD(String dtd) throws XMLStreamException {
+            delegate.writeDTD(dtd);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeDTD(dtd);
+            }
+        }
+
+        @Override
+        public void writeEntityRef(String name) throws XMLStreamException {
+            delegate.writeEntityRef(name);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeEntityRef(name);
+            }
+        }
+
+        @Override
+        public void writeStartDocument() throws XMLStreamException {
+            delegate.writeStartDocument();
+        }
+
+        @Override
+        public void writeStartDocument(String version) throws XMLStreamException {
+            delegate.writeStartDocument(version);
+        }
+
+        @Override
+        public void writeStartDocument(String encoding, String version) throws XMLStreamException {
+            delegate.writeStartDocument(encoding, version);
+        }
+
+        @Override
+        public void writeCharacters(String text) throws XMLStreamException {
+            delegate.writeCharacters(text);
+            XMLStreamWriter capture = captureContent(text.isBlank());
+            if (capture != null) {
+                capture.writeCharacters(text);
+            }
+        }
+
+        @Override
+        public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+            delegate.writeCharacters(text, start, len);
+            XMLStreamWriter capture = captureContent(false);
+            if (capture != null) {
+                capture.writeCharacters(text, start, len);
+            }
+        }
+
+        @Override
+        public String getPrefix(String uri) throws XMLStreamException {
+            return delegate.getPrefix(uri);
+        }
+
+        @Override
+        public void setPrefix(String prefix, String uri) throws XMLStreamException {
+            delegate.setPrefix(prefix, uri);
+            XMLStreamWriter capture = captureState();
+            if (capture != null) {
+                capture.setPrefix(prefix, uri);
+            }
+        }
+
+        @Override
+        public void setDefaultNamespace(String uri) throws XMLStreamException {
+            delegate.setDefaultNamespace(uri);
+            XMLStreamWriter capture = captureState();
+            if (capture != null) {
+                capture.setDefaultNamespace(uri);
+            }
+        }
+
+        @Override
+        public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+            delegate.setNamespaceContext(context);
+            XMLStreamWriter capture = captureState();
+            if (capture != null) {
+                capture.setNamespaceContext(context);
+            }
+        }
+
+        @Override
+        public NamespaceContext getNamespaceContext() {
+            return delegate.getNamespaceContext();
+        }
+
+        @Override
+        public Object getProperty(String name) throws IllegalArgumentException {
+            return delegate.getProperty(name);
+        }
+    }
+}
@@ -84,7 +84,7 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
     /** {@inheritDoc} */
     @Override
     public PersistenceResource store(final ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
-        return new FilePersistenceResource(model, fileName, this);
+        return new FilePersistenceResource(model, fileName, this, affectedAddresses);
     }
 
     /** {@inheritDoc} */
@@ -83,6 +83,25 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         return provider.get(address.getValue());
     }
 
+    /**
+     * Gets a child in order to read it. Unlike {@link #getChild(PathElement)}, a child still shared with the resource
+     * this one was {@link Resource.Factory#copyOnWrite(Resource) copied} from is returned as is, so it must not be
+     * modified.
+     *
+     * @param address the path of the child
+     * @return the child, or {@code null} if there is none
+     */
+    Resource getChildForRead(final PathElement address) {
+        final ResourceProvider provider = getProvider(address.getKey());
+        if(provider == null) {
+            return null;
+        }
+        if (provider instanceof DefaultResourceProvider) {
+            return ((DefaultResourceProvider) provider).getForRead(address.getValue());
+        }
+        return provider.get(address.getValue());
+    }
+
     @Override
     public boolean hasChild(final PathElement address) {
         final ResourceProvider provider = getProvider(address.getKey());
@@ -244,13 +263,87 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Registers copies of this resource's providers with the given copy. Children of the default providers are
+     * shared with this resource rather than cloned, and only get copied once accessed through the copy while
+     * {@code session} is active. Other providers are {@link ResourceProvider#clone() cloned}.
+     *
+     * @param copy the copy of this resource
+     * @param session the copy-on-write session the copy belongs to
+     */
+    void copyProvidersOnWrite(AbstractModelResource copy, CopyOnWriteSession session) {
+        synchronized (children) {
+            for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
+                final ResourceProvider provider = entry.getValue();
+                copy.registerResourceProvider(entry.getKey(), provider instanceof DefaultResourceProvider
+                        ? ((DefaultResourceProvider) provider).copyOnWrite(session)
+                        : provider.clone());
+            }
+        }
+    }
+
+    /**
+     * Tracks whether the resources of a tree created by {@link Resource.Factory#copyOnWrite(Resource)} may
+     * still be modified. While active, children still shared with the original tree are copied before being
+     * handed out, so only the resources between the root and the accessed ones get copied. Once complete,
+     * the tree is no longer modified and shared children are handed out as they are.
+     */
+    static final class CopyOnWriteSession {
+
+        private volatile boolean active = true;
+
+        boolean isActive() {
+            return active;
+        }
+
+        void complete() {
+            active = false;
+        }
+    }
+
     private static class DefaultResourceProvider implements ResourceProvider {
 
         private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
+        /** The session that created this provider, if it is a copy-on-write copy. Guarded by {@code children} */
+        private CopyOnWriteSession session;
+        /** Names of children still shared with the provider this one was copied from. Guarded by {@code children} */
+        private Set<String> shared = Collections.emptySet();
 
         protected DefaultResourceProvider() {
         }
 
+        private DefaultResourceProvider copyOnWrite(CopyOnWriteSession session) {
+            final DefaultResourceProvider provider = new DefaultResourceProvider();
+            synchronized (children) {
+                provider.children.putAll(children);
+                provider.shared = new HashSet<String>(children.keySet());
+            }
+            provider.session = session;
+            return provider;
+        }
+
+        private Resource getForRead(String name) {
+            synchronized (children) {
+                return children.get(name);
+            }
+        }
+
+        /**
+         * Gets the child with the given name, first replacing it with a copy if it is still shared with the
+         * provider this one was copied from and the copy-on-write session is active.
+         */
+        private Resource getForWrite(String name) {
+            final Resource resource = children.get(name);
+            if (resource != null && !shared.isEmpty() && shared.remove(name) && session.isActive()) {
+                final Resource copy = resource instanceof BasicResource
+                        ? ((BasicResource) resource).copyOnWrite(session)
+                        : resource.clone();
+                children.put(name, copy);
+                return copy;
+            }
+            return resource;
+        }
+
         @Override
         public Set<String> children() {
             synchronized (children) {
@@ -268,7 +361,7 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource get(String name) {
             synchronized (children) {
-                return children.get(name);
+                return getForWrite(name);
             }
         }
 
@@ -321,6 +414,10 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource remove(String name) {
             synchronized (children) {
+                // The removed child is no longer part of this tree, so it does not need to be copied
+                if (!shared.isEmpty()) {
+                    shared.remove(name);
+                }
                 return children.remove(name);
             }
         }
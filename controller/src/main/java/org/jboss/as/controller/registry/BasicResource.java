@@ -22,6 +22,8 @@ class BasicResource extends AbstractModelResource implements Resource {
 
     /** The local model. */
     private final ModelNode model = new ModelNode();
+    /** The session tracking writes to this resource's tree, if this is the root of a copy-on-write copy */
+    private AbstractModelResource.CopyOnWriteSession copyOnWriteSession;
 
     protected BasicResource() {
         this(false);
@@ -60,17 +62,56 @@ class BasicResource extends AbstractModelResource implements Resource {
     @SuppressWarnings({"CloneDoesntCallSuperClone"})
     @Override
     public Resource clone() {
-        final BasicResource clone = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
+        final BasicResource clone = copyModel();
+        cloneProviders(clone);
+        return clone;
+    }
+
+    /**
+     * Creates a copy of this resource whose children are shared with this resource until they are accessed through
+     * the copy while the given session is active. This resource must not be modified afterwards.
+     *
+     * @param session the copy-on-write session
+     * @return the copy
+     */
+    BasicResource copyOnWrite(AbstractModelResource.CopyOnWriteSession session) {
+        final BasicResource copy = copyModel();
+        copyProvidersOnWrite(copy, session);
+        return copy;
+    }
+
+    /**
+     * Creates the root of a copy-on-write copy of this resource's tree.
+     *
+     * @return the copy
+     */
+    BasicResource copyOnWrite() {
+        final AbstractModelResource.CopyOnWriteSession session = new AbstractModelResource.CopyOnWriteSession();
+        final BasicResource copy = copyOnWrite(session);
+        copy.copyOnWriteSession = session;
+        return copy;
+    }
+
+    /**
+     * Ends the copy-on-write session if this resource is the root of a copy-on-write copy.
+     */
+    void completeCopyOnWrite() {
+        if (copyOnWriteSession != null) {
+            copyOnWriteSession.complete();
+        }
+    }
+
+    private BasicResource copyModel() {
+        final BasicResource copy = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
         for (;;) {
             try {
-                clone.writeModel(model);
+                copy.writeModel(model);
                 break;
             } catch (ConcurrentModificationException ignore) {
                 // TODO horrible hack :(
             }
         }
-        cloneProviders(clone);
-        return clone;
+        return copy;
     }
 
 }
@@ -240,6 +240,57 @@ public interface Resource extends Cloneable {
         public static Resource create(boolean runtimeOnly, Set<String> orderedChildTypes) {
             return new BasicResource(runtimeOnly, orderedChildTypes);
         }
+
+        /**
+         * Creates a copy of a resource tree that shares its children with the original until they are first
+         * accessed through the copy. Modifying the resource at a given address in the copy thus only copies the
+         * resources on the path from the root to that address, rather than the whole tree.
+         * <p>
+         * The original tree must not be modified once this method has been called. Once the copy is no longer
+         * going to be modified, {@link #completeCopyOnWrite(Resource)} must be called so that accessing it no
+         * longer copies shared children. Resources other than the ones created by this factory are
+         * {@link Resource#clone() cloned}.
+         *
+         * @param resource the root of the resource tree to copy. Cannot be {@code null}
+         *
+         * @return the copy
+         */
+        public static Resource copyOnWrite(Resource resource) {
+            if (resource instanceof BasicResource) {
+                return ((BasicResource) resource).copyOnWrite();
+            }
+            return resource.clone();
+        }
+
+        /**
+         * Gets a child of a resource in order to read it. For a resource of a copy created by
+         * {@link #copyOnWrite(Resource)}, a child still shared with the original tree is returned as is rather than
+         * copied, as {@link Resource#getChild(PathElement)} does while the copy may still be modified. The returned
+         * child must thus not be modified.
+         *
+         * @param resource the resource. Cannot be {@code null}
+         * @param element the path of the child. Cannot be {@code null}
+         *
+         * @return the child, or {@code null} if there is none
+         */
+        public static Resource getChildForRead(Resource resource, PathElement element) {
+            if (resource instanceof AbstractModelResource) {
+                return ((AbstractModelResource) resource).getChildForRead(element);
+            }
+            return resource.getChild(element);
+        }
+
+        /**
+         * Marks a copy created by {@link #copyOnWrite(Resource)} as no longer going to be modified, after
+         * which it can safely be shared with other threads. Has no effect on other resources.
+         *
+         * @param resource the root of the copy. Cannot be {@code null}
+         */
+        public static void completeCopyOnWrite(Resource resource) {
+            if (resource instanceof BasicResource) {
+                ((BasicResource) resource).completeCopyOnWrite();
+            }
+        }
     }
 
     class Tools {
@@ -19,6 +19,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUT
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELOAD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SHUTDOWN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSCRIBE_METRICS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYNC_REMOVED_FOR_READD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.USER;
@@ -215,7 +216,10 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
                 }
             } : ModelController.OperationTransactionControl.COMMIT;
 
-            final OperationMessageHandler messageHandlerProxy = OperationMessageHandler.DISCARD;
+            // Only push the messages of operations whose results are their messages, as older clients may not
+            // expect messages of other operations, e.g. those of the servers of a domain operation
+            final OperationMessageHandler messageHandlerProxy = SUBSCRIBE_METRICS.equals(operation.get(OP).asString())
+                    ? new OperationMessageHandlerProxy(context) : OperationMessageHandler.DISCARD;
             final OperationAttachmentsProxy attachmentsProxy = OperationAttachmentsProxy.create(operation, channelAssociation, batchId, attachmentsLength);
             try {
                 ROOT_LOGGER.tracef("Executing client request %d(%d)", batchId, header.getRequestId());
@@ -0,0 +1,61 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.remote;
+
+import java.io.IOException;
+
+import org.jboss.as.controller.client.MessageSeverity;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.impl.ModelControllerProtocol;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.protocol.StreamUtils;
+import org.jboss.as.protocol.mgmt.FlushableDataOutput;
+import org.jboss.as.protocol.mgmt.ManagementProtocol;
+import org.jboss.as.protocol.mgmt.ManagementRequestContext;
+import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
+
+/**
+ * {@link OperationMessageHandler} sending the messages of an operation to the remote client which requested it,
+ * whose {@code OperationMessageHandler} then handles them.
+ * <p>
+ * The client does not respond to these messages, so they are written straight to the channel rather than executed as
+ * requests, which would stay registered until the operation completes. If a message cannot be sent, e.g. as the client
+ * closed the connection, the following ones are discarded. Closing the connection cancels the operation anyway.
+ */
+class OperationMessageHandlerProxy implements OperationMessageHandler {
+
+    private final ManagementRequestContext<?> context;
+    private boolean failed;
+
+    OperationMessageHandlerProxy(final ManagementRequestContext<?> context) {
+        this.context = context;
+    }
+
+    @Override
+    public synchronized void handleReport(final MessageSeverity severity, final String message) {
+        if (failed) {
+            return;
+        }
+        final ManagementRequestHeader request = (ManagementRequestHeader) context.getRequestHeader();
+        final ManagementRequestHeader header = new ManagementRequestHeader(ManagementProtocol.VERSION,
+                request.getRequestId(), request.getBatchId(), ModelControllerProtocol.HANDLE_REPORT_REQUEST);
+        FlushableDataOutput output = null;
+        try {
+            output = context.writeMessage(header);
+            output.write(ModelControllerProtocol.PARAM_MESSAGE_SEVERITY);
+            output.writeUTF(severity.toString());
+            output.write(ModelControllerProtocol.PARAM_MESSAGE);
+            output.writeUTF(message);
+            output.writeByte(ManagementProtocol.REQUEST_END);
+            output.close();
+        } catch (IOException e) {
+            ControllerLogger.MGMT_OP_LOGGER.debugf(e, "Failed to send a message of operation %d", request.getBatchId());
+            failed = true;
+        } finally {
+            StreamUtils.safeClose(output);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.transform;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Bounded cache of transformation results, so that the model transformed for a target is reused for the other targets
+ * with the same versions and ignored configuration, e.g. when many hosts of the same version register with the
+ * domain controller at once.
+ * <p>
+ * The entries are bound to the revision of the model they were computed from. {@link #invalidate()} must be called
+ * whenever the model changes, so that results computed from a previous model are neither returned nor stored.
+ *
+ * @param <V> the type of the cached results
+ */
+public final class TransformationCache<V> {
+
+    /** The default maximum number of cached results */
+    public static final int DEFAULT_MAX_ENTRIES = 8;
+
+    /** Guarded by this - the cached results, in access order */
+    private final Map<Key, V> entries;
+    /** Guarded by this - the revision of the model */
+    private long revision;
+
+    public TransformationCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries the maximum number of cached results, the least recently used result being evicted
+     */
+    public TransformationCache(final int maxEntries) {
+        this.entries = new LinkedHashMap<Key, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Creates the key of the result of a transformation for a target, bound to the current revision of the model.
+     *
+     * @param target the transformation target
+     * @param ignoredConfiguration a description of the configuration ignored by the target, equal for targets ignoring
+     *                             the same resources. {@code null} if unknown
+     * @return the key, or {@code null} if the result of the transformation cannot be cached
+     */
+    public synchronized Key createKey(final TransformationTarget target, final ModelNode ignoredConfiguration) {
+        final Map<String, ModelVersion> subsystemVersions = target.getSubsystemVersions();
+        if (subsystemVersions == null || ignoredConfiguration == null) {
+            return null;
+        }
+        return new Key(target, subsystemVersions, ignoredConfiguration, revision);
+    }
+
+    /**
+     * Gets a cached result.
+     *
+     * @param key the key, may be {@code null}
+     * @return the result, or {@code null} if there is none
+     */
+    public synchronized V get(final Key key) {
+        return key == null || key.revision != revision ? null : entries.get(key);
+    }
+
+    /**
+     * Caches a result, unless the model changed since the key was created.
+     *
+     * @param key the key, may be {@code null} in which case the result is not cached
+     * @param value the result
+     */
+    public synchronized void put(final Key key, final V value) {
+        if (key != null && key.revision == revision) {
+            entries.put(key, value);
+        }
+    }
+
+    /**
+     * Discards the cached results, because the model changed.
+     */
+    public synchronized void invalidate() {
+        revision++;
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return the number of cached results
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Identifies the result of a transformation for targets of a version, with the same subsystem versions and ignoring
+     * the same configuration, computed from a revision of the model.
+     */
+    public static final class Key {
+        private final TransformationTarget.TransformationTargetType type;
+        private final ModelVersion version;
+        private final Map<String, ModelVersion> subsystemVersions;
+        private final ModelNode ignoredConfiguration;
+        private final long revision;
+        private final int hashCode;
+
+        private Key(final TransformationTarget target, final Map<String, ModelVersion> subsystemVersions,
+                    final ModelNode ignoredConfiguration, final long revision) {
+            this.type = target.getTargetType();
+            this.version = target.getVersion();
+            this.subsystemVersions = Collections.unmodifiableMap(new HashMap<>(subsystemVersions));
+            this.ignoredConfiguration = ignoredConfiguration.clone();
+            this.ignoredConfiguration.protect();
+            this.revision = revision;
+            int hash = type.hashCode();
+            hash = 31 * hash + version.hashCode();
+            hash = 31 * hash + this.subsystemVersions.hashCode();
+            hash = 31 * hash + this.ignoredConfiguration.hashCode();
+            this.hashCode = 31 * hash + Long.hashCode(revision);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return hashCode == other.hashCode && revision == other.revision && type == other.type
+                    && version.equals(other.version) && subsystemVersions.equals(other.subsystemVersions)
+                    && ignoredConfiguration.equals(other.ignoredConfiguration);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return "{type=" + type + ", version=" + version + ", subsystems=" + subsystemVersions + ", revision=" + revision + "}";
+        }
+    }
+}
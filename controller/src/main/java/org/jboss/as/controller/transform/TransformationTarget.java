@@ -6,6 +6,7 @@
 package org.jboss.as.controller.transform;
 
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathAddress;
@@ -32,6 +33,15 @@ public interface TransformationTarget {
      */
     ModelVersion getSubsystemVersion(String subsystemName);
 
+    /**
+     * Get the versions of the subsystems of this target.
+     *
+     * @return a copy of the versions keyed by subsystem name, or {@code null} if they are not known
+     */
+    default Map<String, ModelVersion> getSubsystemVersions() {
+        return null;
+    }
+
     /**
      * Get the transformer entry.
      * @param context TODO
@@ -110,6 +110,13 @@ public class TransformationTargetImpl implements TransformationTarget {
         return subsystemVersions.get(subsystemName);
     }
 
+    @Override
+    public Map<String, ModelVersion> getSubsystemVersions() {
+        synchronized (subsystemVersions) {
+            return new HashMap<>(subsystemVersions);
+        }
+    }
+
     @Override
     public ResourceTransformer resolveTransformer(ResourceTransformationContext context, final PathAddress address ) {
         if (ignoreResourceTransformation(context, address)) {
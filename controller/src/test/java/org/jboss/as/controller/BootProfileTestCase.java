@@ -0,0 +1,75 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of the boot profile and of the read-boot-profile operation.
+ */
+public class BootProfileTestCase extends AbstractControllerTestBase {
+
+    @After
+    public void stopRecording() {
+        BootProfile.bootFinished();
+    }
+
+    @Test
+    public void testProfile() throws Exception {
+        BootProfile.start();
+        assertTrue(BootProfile.isRecording());
+        for (int i = 0; i < 3; i++) {
+            try (BootProfile.Measurement ignored = BootProfile.measure(BootProfile.Category.DEPLOYMENT_PROCESSOR, "processor", "PARSE")) {
+                // Nothing to do
+            }
+        }
+        try (BootProfile.Measurement ignored = BootProfile.measure(BootProfile.Category.EXTENSION, "org.example", "initialize")) {
+            Thread.sleep(50);
+        }
+        BootProfile.bootFinished();
+        assertFalse(BootProfile.isRecording());
+        // Not recorded once boot finished
+        try (BootProfile.Measurement ignored = BootProfile.measure(BootProfile.Category.EXTENSION, "org.example.other", null)) {
+            // Nothing to do
+        }
+
+        List<ModelNode> profile = executeForResult(createOperation(ReadBootProfileHandler.NAME)).asList();
+        assertEquals(profile.toString(), 2, profile.size());
+        // The most expensive first
+        assertEquals("extension", profile.get(0).get("category").asString());
+        assertEquals("org.example", profile.get(0).get("name").asString());
+        assertEquals("initialize", profile.get(0).get("phase").asString());
+        assertEquals(1, profile.get(0).get("count").asLong());
+        assertTrue(profile.get(0).get("wall-time").asLong() >= 50_000_000L);
+        assertEquals("deployment-processor", profile.get(1).get("category").asString());
+        assertEquals(3, profile.get(1).get("count").asLong());
+
+        ModelNode op = createOperation(ReadBootProfileHandler.NAME);
+        op.get("limit").set(1);
+        profile = executeForResult(op).asList();
+        assertEquals(1, profile.size());
+        assertEquals("org.example", profile.get(0).get("name").asString());
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+        registration.registerOperationHandler(ReadBootProfileHandler.DEFINITION, ReadBootProfileHandler.INSTANCE);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of the Java Flight Recorder events of management operations.
+ */
+public class FlightRecorderEventsTestCase extends AbstractControllerTestBase {
+
+    private static final SimpleAttributeDefinition ATTRIBUTE = new SimpleAttributeDefinitionBuilder("attribute", ModelType.STRING, true).build();
+
+    @After
+    public void disableEvents() {
+        FlightRecorderEvents.setEnabled(false);
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        List<RecordedEvent> events = record();
+        assertTrue(events.toString(), events.isEmpty());
+    }
+
+    @Test
+    public void testEnabled() throws Exception {
+        assumeTrue(FlightRecorderEvents.isAvailable());
+        FlightRecorderEvents.setEnabled(true);
+        assertTrue(FlightRecorderEvents.isEnabled());
+
+        List<RecordedEvent> events = record();
+        List<RecordedEvent> operations = events("org.wildfly.ManagementOperation", events);
+        assertEquals(events.toString(), 1, operations.size());
+        assertEquals(WRITE_ATTRIBUTE_OPERATION, operations.get(0).getString("operation"));
+        assertEquals("/", operations.get(0).getString("address"));
+        assertFalse(operations.get(0).getBoolean("rolledBack"));
+        List<RecordedEvent> steps = events("org.wildfly.ManagementOperationStep", events);
+        assertFalse(events.toString(), steps.isEmpty());
+        assertTrue(steps.stream().anyMatch(step -> OperationContext.Stage.MODEL.toString().equals(step.getString("stage"))));
+        assertEquals(events.toString(), 1, events("org.wildfly.ModelControllerLock", events).size());
+    }
+
+    private List<RecordedEvent> record() throws Exception {
+        Path file = Files.createTempFile("management", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("org.wildfly.ManagementOperation").withThreshold(Duration.ZERO);
+                recording.enable("org.wildfly.ManagementOperationStep").withThreshold(Duration.ZERO);
+                recording.enable("org.wildfly.ModelControllerLock").withThreshold(Duration.ZERO);
+                recording.start();
+                ModelNode op = createOperation(WRITE_ATTRIBUTE_OPERATION);
+                op.get(NAME).set(ATTRIBUTE.getName());
+                op.get(VALUE).set("value");
+                executeCheckNoFailure(op);
+                recording.stop();
+                recording.dump(file);
+            }
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> events(String name, List<RecordedEvent> events) {
+        return events.stream().filter(event -> name.equals(event.getEventType().getName())).collect(Collectors.toList());
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+        registration.registerReadWriteAttribute(ATTRIBUTE, null, ModelOnlyWriteAttributeHandler.INSTANCE);
+    }
+}
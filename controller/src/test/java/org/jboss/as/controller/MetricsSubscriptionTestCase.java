@@ -0,0 +1,303 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANCELLED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.security.PrivilegedAction;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.Environment;
+import org.jboss.as.controller.access.JmxAction;
+import org.jboss.as.controller.access.JmxTarget;
+import org.jboss.as.controller.access.TargetAttribute;
+import org.jboss.as.controller.access.TargetResource;
+import org.jboss.as.controller.access.constraint.SensitivityClassification;
+import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.access.rbac.RoleMapper;
+import org.jboss.as.controller.access.rbac.StandardRBACAuthorizer;
+import org.jboss.as.controller.access.rbac.StandardRole;
+import org.jboss.as.controller.client.MessageSeverity;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+import org.wildfly.security.auth.server.SecurityDomain;
+import org.wildfly.security.auth.server.SecurityIdentity;
+
+/**
+ * Tests of the subscribe-metrics operation.
+ */
+public class MetricsSubscriptionTestCase extends AbstractControllerTestBase {
+
+    private static final SimpleAttributeDefinition COUNTER = new SimpleAttributeDefinitionBuilder("counter", ModelType.INT)
+            .setStorageRuntime()
+            .build();
+    private static final SimpleAttributeDefinition CONSTANT = new SimpleAttributeDefinitionBuilder("constant", ModelType.STRING, true).build();
+    private static final SimpleAttributeDefinition SECRET = new SimpleAttributeDefinitionBuilder("secret", ModelType.STRING, true)
+            .setAccessConstraints(new SensitiveTargetAccessConstraintDefinition(
+                    new SensitivityClassification("test", "metrics-secret", false, true, true)))
+            .build();
+    private static final String MONITOR = "monitor";
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Test
+    public void testDeltas() throws Exception {
+        ModelNode op = createOperation(MetricsSubscriptionHandler.NAME);
+        op.get(ATTRIBUTES).add(attribute(COUNTER.getName(), "child", "one"));
+        op.get(ATTRIBUTES).add(attribute(CONSTANT.getName(), "child", "one"));
+        op.get(ATTRIBUTES).add(attribute(CONSTANT.getName(), "child", "missing"));
+        op.get("period").set(100);
+        op.get("samples").set(3);
+
+        BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        OperationResponse response = getController().execute(new OperationBuilder(op).build(),
+                (severity, message) -> {
+                    if (message.startsWith("{")) {
+                        messages.add(message);
+                    }
+                }, ModelController.OperationTransactionControl.COMMIT);
+        assertEquals(response.getResponseNode().toString(), SUCCESS, response.getResponseNode().get(OUTCOME).asString());
+        assertEquals(3, response.getResponseNode().get(RESULT).asInt());
+
+        ModelNode first = ModelNode.fromJSONString(messages.poll());
+        assertEquals(3, first.keys().size());
+        assertEquals(1, first.get("0").asInt());
+        assertEquals("value", first.get("1").asString());
+        assertFalse(first.get("2").isDefined());
+        // Only the counter changes
+        for (int i = 2; i <= 3; i++) {
+            ModelNode delta = ModelNode.fromJSONString(messages.poll());
+            assertEquals(1, delta.keys().size());
+            assertEquals(i, delta.get("0").asInt());
+        }
+        assertTrue(messages.isEmpty());
+    }
+
+    @Test
+    public void testCancellation() throws Exception {
+        ModelNode op = createOperation(MetricsSubscriptionHandler.NAME);
+        op.get(ATTRIBUTES).add(attribute(COUNTER.getName(), "child", "one"));
+        op.get("period").set(100);
+        op.get("samples").set(MetricsSubscriptionHandler.MAX_SAMPLES);
+
+        BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        Thread subscriber = subscribe(op, messages);
+        assertNotNull(messages.poll(10, TimeUnit.SECONDS));
+        assertNotNull(messages.poll(10, TimeUnit.SECONDS));
+        subscriber.interrupt();
+        subscriber.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(subscriber.isAlive());
+        // No message is reported once the operation returned
+        messages.clear();
+        assertNull(messages.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testCancelledByMessageHandler() throws Exception {
+        ModelNode op = createOperation(MetricsSubscriptionHandler.NAME);
+        op.get(ATTRIBUTES).add(attribute(COUNTER.getName(), "child", "one"));
+        op.get("period").set(100);
+        op.get("samples").set(MetricsSubscriptionHandler.MAX_SAMPLES);
+
+        // A handler which can no longer deliver the messages cancels the operation
+        AtomicInteger reported = new AtomicInteger();
+        OperationResponse response = getController().execute(new OperationBuilder(op).build(), new CancellingOperationMessageHandler() {
+            private Cancellable operation;
+
+            @Override
+            public void setOperation(Cancellable operation) {
+                this.operation = operation;
+            }
+
+            @Override
+            public void handleReport(MessageSeverity severity, String message) {
+                if (message.startsWith("{") && reported.incrementAndGet() == 2) {
+                    operation.cancel();
+                }
+            }
+        }, ModelController.OperationTransactionControl.COMMIT);
+        assertEquals(response.getResponseNode().toString(), CANCELLED, response.getResponseNode().get(OUTCOME).asString());
+        assertEquals(2, reported.get());
+        assertFalse(Thread.interrupted());
+    }
+
+    @Test
+    public void testMaximumSubscriptions() throws Exception {
+        // The handler registered on the child resource allows a single subscription
+        ModelNode op = createOperation(MetricsSubscriptionHandler.NAME, "child", "one");
+        op.get(ATTRIBUTES).add(attribute(COUNTER.getName(), "child", "one"));
+        op.get("period").set(100);
+        op.get("samples").set(MetricsSubscriptionHandler.MAX_SAMPLES);
+
+        BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        Thread subscriber = subscribe(op, messages);
+        assertNotNull(messages.poll(10, TimeUnit.SECONDS));
+
+        ModelNode second = op.clone();
+        second.get("samples").set(1);
+        ModelNode failure = executeCheckForFailure(second);
+        assertTrue(failure.toString(), failure.get(FAILURE_DESCRIPTION).asString().contains("WFLYCTL0508"));
+
+        subscriber.interrupt();
+        subscriber.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(subscriber.isAlive());
+        // The subscription ended, so another one can start
+        assertEquals(1, executeForResult(second).asInt());
+    }
+
+    @Test
+    public void testRestrictedCaller() throws Exception {
+        ModelNode op = createOperation(MetricsSubscriptionHandler.NAME);
+        op.get(ATTRIBUTES).add(attribute(CONSTANT.getName(), "child", "one"));
+        op.get(ATTRIBUTES).add(attribute(SECRET.getName(), "child", "one"));
+        op.get("period").set(100);
+        op.get("samples").set(1);
+
+        // The samples are read on behalf of the monitor, not of the anonymous superuser of the sampling thread
+        SecurityIdentity identity = SecurityDomain.builder().build().createAdHocIdentity(MONITOR);
+        BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        OperationResponse response = AccessAuditContext.doAs(identity, null, (PrivilegedAction<OperationResponse>) () ->
+                getController().execute(new OperationBuilder(op).build(), (severity, message) -> messages.add(message),
+                        ModelController.OperationTransactionControl.COMMIT));
+        assertEquals(response.getResponseNode().toString(), SUCCESS, response.getResponseNode().get(OUTCOME).asString());
+
+        ModelNode sample = ModelNode.fromJSONString(messages.poll());
+        assertEquals("value", sample.get("0").asString());
+        assertFalse(sample.get("1").isDefined());
+    }
+
+    @Test
+    public void testSamplesRequired() throws Exception {
+        ModelNode op = createOperation(MetricsSubscriptionHandler.NAME);
+        op.get(ATTRIBUTES).add(attribute(COUNTER.getName(), "child", "one"));
+        executeCheckForFailure(op);
+        op.get("samples").set(MetricsSubscriptionHandler.MAX_SAMPLES + 1);
+        executeCheckForFailure(op);
+    }
+
+    @Test
+    public void testSplitMessages() {
+        ModelNode delta = new ModelNode();
+        String value = "x".repeat(MetricsSubscriptionHandler.MAX_MESSAGE_LENGTH / 3);
+        for (int i = 0; i < 10; i++) {
+            delta.get(Integer.toString(i)).set(value);
+        }
+        List<String> messages = MetricsSubscriptionHandler.toMessages(delta);
+        assertTrue(messages.size() > 1);
+        ModelNode merged = new ModelNode().setEmptyObject();
+        for (String message : messages) {
+            assertTrue(message.length() <= MetricsSubscriptionHandler.MAX_MESSAGE_LENGTH);
+            ModelNode.fromJSONString(message).asPropertyList().forEach(p -> merged.get(p.getName()).set(p.getValue()));
+        }
+        assertEquals(delta, merged);
+        assertTrue(MetricsSubscriptionHandler.toMessages(new ModelNode().setEmptyObject()).isEmpty());
+    }
+
+    private Thread subscribe(ModelNode op, BlockingQueue<String> messages) {
+        Thread subscriber = new Thread(() -> getController().execute(new OperationBuilder(op).build(),
+                (severity, message) -> messages.add(message), ModelController.OperationTransactionControl.COMMIT));
+        subscriber.start();
+        return subscriber;
+    }
+
+    private static ModelNode attribute(String name, String type, String value) {
+        ModelNode attribute = new ModelNode();
+        attribute.get(ADDRESS).set(PathAddress.pathAddress(type, value).toModelNode());
+        attribute.get(NAME).set(name);
+        return attribute;
+    }
+
+    @Override
+    protected ModelControllerService createModelControllerService(ProcessType processType) {
+        return new ModelControllerService(processType) {
+            {
+                authorizer.setDelegate(StandardRBACAuthorizer.create(authorizer.getWritableAuthorizerConfiguration(), new TestRoleMapper()));
+            }
+        };
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+        registration.registerOperationHandler(MetricsSubscriptionHandler.DEFINITION, MetricsSubscriptionHandler.INSTANCE);
+
+        ManagementResourceRegistration childRegistration = registration.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement("child"), NonResolvingResourceDescriptionResolver.INSTANCE));
+        childRegistration.registerReadOnlyAttribute(CONSTANT, null);
+        childRegistration.registerReadOnlyAttribute(SECRET, null);
+        childRegistration.registerOperationHandler(MetricsSubscriptionHandler.DEFINITION, new MetricsSubscriptionHandler(1));
+        childRegistration.registerMetric(COUNTER, (context, operation) -> context.getResult().set(counter.incrementAndGet()));
+
+        Resource child = Resource.Factory.create();
+        child.getModel().get(CONSTANT.getName()).set("value");
+        child.getModel().get(SECRET.getName()).set("secret");
+        managementModel.getRootResource().registerChild(PathElement.pathElement("child", "one"), child);
+    }
+
+    /**
+     * Maps the monitor to the Monitor role, and any other caller to the SuperUser role.
+     */
+    private static final class TestRoleMapper implements RoleMapper {
+
+        private static Set<String> mapRoles(SecurityIdentity identity) {
+            StandardRole role = MONITOR.equals(identity.getPrincipal().getName()) ? StandardRole.MONITOR : StandardRole.SUPERUSER;
+            return Collections.singleton(role.name());
+        }
+
+        @Override
+        public Set<String> mapRoles(SecurityIdentity identity, Environment callEnvironment, Action action, TargetAttribute attribute) {
+            return mapRoles(identity);
+        }
+
+        @Override
+        public Set<String> mapRoles(SecurityIdentity identity, Environment callEnvironment, Action action, TargetResource resource) {
+            return mapRoles(identity);
+        }
+
+        @Override
+        public Set<String> mapRoles(SecurityIdentity identity, Environment callEnvironment, JmxAction action, JmxTarget target) {
+            return mapRoles(identity);
+        }
+
+        @Override
+        public Set<String> mapRoles(SecurityIdentity identity, Environment callEnvironment, Set<String> operationHeaderRoles) {
+            return mapRoles(identity);
+        }
+
+        @Override
+        public boolean canRunAs(Set<String> mappedRoles, String runAsRole) {
+            return false;
+        }
+    }
+}
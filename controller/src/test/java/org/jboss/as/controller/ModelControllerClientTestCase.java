@@ -6,6 +6,7 @@ package org.jboss.as.controller;
 
 import static java.security.AccessController.doPrivileged;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataOutput;
@@ -217,6 +218,42 @@ public class ModelControllerClientTestCase {
         }
     }
 
+    @Test
+    public void testMetricsSubscriptionMessages() throws Exception {
+        MockModelController controller = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                this.operation = operation;
+                handler.handleReport(MessageSeverity.INFO, "{\"0\":1}");
+                handler.handleReport(MessageSeverity.INFO, "{\"0\":2}");
+                ModelNode result = new ModelNode();
+                result.get("outcome").set("success");
+                return result;
+            }
+        };
+
+        final ModelControllerClient client = setupTestClient(controller);
+        try {
+            ModelNode operation = new ModelNode();
+            operation.get("operation").set(MetricsSubscriptionHandler.NAME);
+            operation.get("address").setEmptyList();
+
+            final BlockingQueue<String> messages = new LinkedBlockingQueue<String>();
+            ModelNode result = client.execute(operation, (severity, message) -> messages.add(message));
+            assertEquals("success", result.get("outcome").asString());
+            assertEquals("{\"0\":1}", messages.poll(10, TimeUnit.SECONDS));
+            assertEquals("{\"0\":2}", messages.poll(10, TimeUnit.SECONDS));
+
+            // The messages of other operations are not sent to the client
+            operation.get("operation").set("fake");
+            result = client.execute(operation, (severity, message) -> messages.add(message));
+            assertEquals("success", result.get("outcome").asString());
+            assertNull(messages.poll(100, TimeUnit.MILLISECONDS));
+        } finally {
+            IoUtils.safeClose(client);
+        }
+    }
+
     @Test @Ignore("WFCORE-1125")
     public void testAsynchronousOperationWithMessageHandler() throws Exception {
         final CountDownLatch executeLatch = new CountDownLatch(1);
@@ -0,0 +1,219 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.access.rbac;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.security.PermissionCollection;
+import java.security.Permissions;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
+import org.jboss.as.controller.access.CombinationPolicy;
+import org.jboss.as.controller.access.Environment;
+import org.jboss.as.controller.access.JmxAction;
+import org.jboss.as.controller.access.JmxTarget;
+import org.jboss.as.controller.access.TargetAttribute;
+import org.jboss.as.controller.access.TargetResource;
+import org.jboss.as.controller.access.constraint.SensitivityClassification;
+import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.access.management.WritableAuthorizerConfiguration;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.security.auth.server.SecurityDomain;
+import org.wildfly.security.auth.server.SecurityIdentity;
+
+/**
+ * Tests of the caching of the decisions of the {@link StandardRBACAuthorizer}.
+ */
+public class AuthorizationDecisionCacheTestCase {
+
+    private static final Set<Action.ActionEffect> READ = EnumSet.of(Action.ActionEffect.ADDRESS, Action.ActionEffect.READ_CONFIG);
+
+    private static final SensitiveTargetAccessConstraintDefinition SENSITIVE_CONSTRAINT
+            = new SensitiveTargetAccessConstraintDefinition(new SensitivityClassification("test", "cached", false, true, true));
+
+    private ManagementResourceRegistration childRegistration;
+    private SecurityIdentity identity;
+    private Environment environment;
+    private WritableAuthorizerConfiguration configuration;
+    private StandardRBACAuthorizer authorizer;
+
+    @Before
+    public void setUp() {
+        ManagementResourceRegistration root = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER)
+                .createRegistration(new SimpleResourceDefinition(null, NonResolvingResourceDescriptionResolver.INSTANCE));
+        childRegistration = root.registerSubModel(new SimpleResourceDefinition(
+                new SimpleResourceDefinition.Parameters(PathElement.pathElement("child"), NonResolvingResourceDescriptionResolver.INSTANCE)
+                        .setAccessConstraints(SENSITIVE_CONSTRAINT)));
+
+        identity = SecurityDomain.builder().build().getAnonymousSecurityIdentity();
+        ControlledProcessState processState = new ControlledProcessState(false);
+        processState.setRunning();
+        environment = new Environment(processState, ProcessType.EMBEDDED_SERVER);
+        configuration = new WritableAuthorizerConfiguration(StandardRBACAuthorizer.AUTHORIZER_DESCRIPTION);
+        authorizer = StandardRBACAuthorizer.create(configuration, new TestRoleMapper(StandardRole.MONITOR));
+    }
+
+    @After
+    public void tearDown() {
+        authorizer.shutdown();
+    }
+
+    @Test
+    public void testDecisionIsReusedForAllResourcesOfRegistration() {
+        AuthorizationResult first = authorizeResource("a");
+        assertEquals(AuthorizationResult.Decision.DENY, first.getDecision());
+        AuthorizationResult result = authorizeResource("b");
+        // The cached result keeps the explanation of the denial
+        assertSame(first, result);
+        assertEquals(new ModelNode(ControllerLogger.ROOT_LOGGER.permissionDenied()), result.getExplanation());
+        assertTrue(result.getExplanation().isProtected());
+        assertEquals(1L, authorizer.getDecisionCacheHitCount());
+        assertEquals(1L, authorizer.getDecisionCacheMissCount());
+
+        // Attributes are cached separately from their resource, and each other
+        assertEquals(AuthorizationResult.Decision.DENY, authorizeAttribute("a", "x").getDecision());
+        assertEquals(AuthorizationResult.Decision.DENY, authorizeAttribute("b", "x").getDecision());
+        assertEquals(AuthorizationResult.Decision.DENY, authorizeAttribute("b", "y").getDecision());
+        assertEquals(2L, authorizer.getDecisionCacheHitCount());
+        assertEquals(3L, authorizer.getDecisionCacheMissCount());
+    }
+
+    @Test
+    public void testSensitivityChangeInvalidatesDecisions() {
+        assertEquals(AuthorizationResult.Decision.DENY, authorizeResource("a").getDecision());
+        assertEquals(AuthorizationResult.Decision.DENY, authorizeResource("a").getDecision());
+
+        SENSITIVE_CONSTRAINT.getSensitivity().setConfiguredRequiresReadPermission(false);
+        try {
+            assertEquals(AuthorizationResult.Decision.PERMIT, authorizeResource("a").getDecision());
+            assertEquals(AuthorizationResult.Decision.PERMIT, authorizeResource("a").getDecision());
+            assertEquals(2L, authorizer.getDecisionCacheHitCount());
+            assertEquals(2L, authorizer.getDecisionCacheMissCount());
+        } finally {
+            SENSITIVE_CONSTRAINT.getSensitivity().setConfiguredRequiresReadPermission(null);
+        }
+        assertEquals(AuthorizationResult.Decision.DENY, authorizeResource("a").getDecision());
+    }
+
+    @Test
+    public void testCombinationPolicyIsPartOfKey() {
+        authorizeResource("a");
+        configuration.setPermissionCombinationPolicy(CombinationPolicy.REJECTING);
+        authorizeResource("a");
+        assertEquals(0L, authorizer.getDecisionCacheHitCount());
+        assertEquals(2L, authorizer.getDecisionCacheMissCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultIsEvicted() {
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(2);
+        PermissionCollection permissions = new Permissions();
+        AtomicInteger computed = new AtomicInteger();
+        Supplier<AuthorizationResult> computation = () -> {
+            computed.incrementAndGet();
+            return AuthorizationResult.PERMITTED;
+        };
+        authorizeAttribute(cache, permissions, "x", computation);
+        authorizeAttribute(cache, permissions, "y", computation);
+        authorizeAttribute(cache, permissions, "x", computation);
+        authorizeAttribute(cache, permissions, "z", computation);
+        assertEquals(3, computed.get());
+        assertEquals(2, cache.size());
+
+        // y was the least recently used
+        authorizeAttribute(cache, permissions, "x", computation);
+        assertEquals(3, computed.get());
+        authorizeAttribute(cache, permissions, "y", computation);
+        assertEquals(4, computed.get());
+    }
+
+    @Test
+    public void testSuperUserIsNotCached() {
+        authorizer.shutdown();
+        authorizer = StandardRBACAuthorizer.create(new WritableAuthorizerConfiguration(StandardRBACAuthorizer.AUTHORIZER_DESCRIPTION),
+                new TestRoleMapper(StandardRole.SUPERUSER));
+        assertEquals(AuthorizationResult.Decision.PERMIT, authorizeResource("a").getDecision());
+        assertEquals(AuthorizationResult.Decision.PERMIT, authorizeAttribute("a", "x").getDecision());
+        assertEquals(0L, authorizer.getDecisionCacheHitCount());
+        assertEquals(0L, authorizer.getDecisionCacheMissCount());
+    }
+
+    private AuthorizationResult authorizeResource(String child) {
+        PathAddress address = PathAddress.pathAddress("child", child);
+        Action action = new Action(Util.createEmptyOperation(READ_RESOURCE_OPERATION, address), null, READ);
+        return authorizer.authorize(identity, environment, action, TargetResource.forStandalone(address, childRegistration, null));
+    }
+
+    private AuthorizationResult authorizeAttribute(String child, String attribute) {
+        PathAddress address = PathAddress.pathAddress("child", child);
+        Action action = new Action(Util.createEmptyOperation(READ_ATTRIBUTE_OPERATION, address), null, READ);
+        TargetResource resource = TargetResource.forStandalone(address, childRegistration, null);
+        return authorizer.authorize(identity, environment, action, new TargetAttribute(attribute, null, new ModelNode(), resource));
+    }
+
+    private void authorizeAttribute(AuthorizationDecisionCache cache, PermissionCollection permissions, String attribute,
+                                    Supplier<AuthorizationResult> computation) {
+        PathAddress address = PathAddress.pathAddress("child", "a");
+        Action action = new Action(Util.createEmptyOperation(READ_ATTRIBUTE_OPERATION, address), null, READ);
+        TargetResource resource = TargetResource.forStandalone(address, childRegistration, null);
+        cache.authorize(permissions, CombinationPolicy.PERMISSIVE, action, new TargetAttribute(attribute, null, new ModelNode(), resource), computation);
+    }
+
+    private static final class TestRoleMapper implements RoleMapper {
+        private final Set<String> roles;
+
+        private TestRoleMapper(StandardRole role) {
+            this.roles = Collections.singleton(role.name());
+        }
+
+        @Override
+        public Set<String> mapRoles(SecurityIdentity identity, Environment callEnvironment, Action action, TargetAttribute attribute) {
+            return roles;
+        }
+
+        @Override
+        public Set<String> mapRoles(SecurityIdentity identity, Environment callEnvironment, Action action, TargetResource resource) {
+            return roles;
+        }
+
+        @Override
+        public Set<String> mapRoles(SecurityIdentity identity, Environment callEnvironment, JmxAction action, JmxTarget target) {
+            return roles;
+        }
+
+        @Override
+        public Set<String> mapRoles(SecurityIdentity identity, Environment callEnvironment, Set<String> operationHeaderRoles) {
+            return roles;
+        }
+
+        @Override
+        public boolean canRunAs(Set<String> mappedRoles, String runAsRole) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.PathAddress;
+import org.junit.Test;
+
+/**
+ * Tests of the queue of the audit log records written asynchronously.
+ */
+public class AuditLogQueueUnitTestCase {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    @Test
+    public void testOrderAndBatches() throws Exception {
+        AuditLogQueue queue = new AuditLogQueue(16, ManagedAuditLogger.OverflowPolicy.BLOCK);
+        BlockingHandler one = new BlockingHandler("one");
+        BlockingHandler two = new BlockingHandler("two");
+
+        queue.add(record("1", one, two));
+        assertTrue(one.started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        for (int i = 2; i <= 5; i++) {
+            queue.add(i % 2 == 0 ? record(String.valueOf(i), one, two) : record(String.valueOf(i), two));
+        }
+        assertEquals(4, queue.getDepth());
+        one.release.countDown();
+        two.release.countDown();
+        assertTrue(queue.flush(TIMEOUT));
+        assertEquals(0, queue.getDepth());
+
+        // The records queued while the first was written are written in one batch per handler
+        assertEquals(Arrays.asList(Collections.singletonList("one-1"), Arrays.asList("one-2", "one-4")), one.batches);
+        assertEquals(Arrays.asList(Collections.singletonList("two-1"), Arrays.asList("two-2", "two-3", "two-4", "two-5")), two.batches);
+        assertEquals(0, queue.getDroppedRecords());
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        AuditLogQueue queue = new AuditLogQueue(2, ManagedAuditLogger.OverflowPolicy.DROP_OLDEST);
+        BlockingHandler handler = new BlockingHandler("handler");
+
+        queue.add(record("1", handler));
+        assertTrue(handler.started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        for (int i = 2; i <= 5; i++) {
+            queue.add(record(String.valueOf(i), handler));
+        }
+        assertEquals(2, queue.getDepth());
+        assertEquals(2, queue.getDroppedRecords());
+        handler.release.countDown();
+        assertTrue(queue.flush(TIMEOUT));
+
+        assertEquals(Arrays.asList(Collections.singletonList("handler-1"), Arrays.asList("handler-4", "handler-5")), handler.batches);
+    }
+
+    @Test
+    public void testDropNewest() throws Exception {
+        AuditLogQueue queue = new AuditLogQueue(1, ManagedAuditLogger.OverflowPolicy.DROP_NEWEST);
+        BlockingHandler handler = new BlockingHandler("handler");
+
+        queue.add(record("1", handler));
+        assertTrue(handler.started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        queue.add(record("2", handler));
+        queue.add(record("3", handler));
+        assertEquals(1, queue.getDepth());
+        assertEquals(1, queue.getDroppedRecords());
+        handler.release.countDown();
+        assertTrue(queue.flush(TIMEOUT));
+
+        assertEquals(Arrays.asList(Collections.singletonList("handler-1"), Collections.singletonList("handler-2")), handler.batches);
+    }
+
+    @Test
+    public void testStoppedHandler() throws Exception {
+        AuditLogQueue queue = new AuditLogQueue(16, ManagedAuditLogger.OverflowPolicy.BLOCK);
+        BlockingHandler stopped = new BlockingHandler("stopped");
+        BlockingHandler removed = new BlockingHandler("removed");
+        BlockingHandler active = new BlockingHandler("active");
+        PathAddress reference = PathAddress.pathAddress("handler", "stopped");
+        stopped.addReference(reference);
+        stopped.release.countDown();
+        removed.release.countDown();
+
+        queue.add(record("1", active));
+        assertTrue(active.started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        queue.add(record("2", active, stopped, removed));
+        // Stopped while the item is queued
+        stopped.removeReference(reference);
+        removed.shutdown();
+        active.release.countDown();
+        assertTrue(queue.flush(TIMEOUT));
+
+        assertTrue(stopped.batches.isEmpty());
+        assertTrue(removed.batches.isEmpty());
+        assertEquals(Arrays.asList(Collections.singletonList("active-1"), Collections.singletonList("active-2")), active.batches);
+        assertEquals(1, stopped.stops.get());
+        assertEquals(1, removed.stops.get());
+
+        // Referenced again
+        stopped.addReference(reference);
+        queue.add(record("3", stopped));
+        assertTrue(queue.flush(TIMEOUT));
+        assertEquals(Collections.singletonList(Collections.singletonList("stopped-3")), stopped.batches);
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        AuditLogQueue queue = new AuditLogQueue(16, ManagedAuditLogger.OverflowPolicy.BLOCK);
+        BlockingHandler handler = new BlockingHandler("handler");
+
+        queue.add(record("1", handler));
+        assertTrue(handler.started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        queue.add(record("2", handler));
+        handler.release.countDown();
+        queue.close();
+
+        // The queued records are written before the queue is closed
+        assertEquals(0, queue.getDepth());
+        assertEquals(Arrays.asList(Collections.singletonList("handler-1"), Collections.singletonList("handler-2")), handler.batches);
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        AuditLogQueue queue = new AuditLogQueue(1, ManagedAuditLogger.OverflowPolicy.BLOCK);
+        BlockingHandler handler = new BlockingHandler("handler");
+
+        queue.add(record("1", handler));
+        assertTrue(handler.started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        queue.add(record("2", handler));
+        CountDownLatch added = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                queue.add(record("3", handler));
+                added.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        assertFalse(added.await(100, TimeUnit.MILLISECONDS));
+        assertFalse(queue.flush(0));
+        handler.release.countDown();
+        assertTrue(added.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertTrue(queue.flush(TIMEOUT));
+        thread.join();
+
+        List<String> items = new ArrayList<>();
+        handler.batches.forEach(items::addAll);
+        assertEquals(Arrays.asList("handler-1", "handler-2", "handler-3"), items);
+        assertEquals(0, queue.getDroppedRecords());
+    }
+
+    private static AuditLogQueue.Record record(String item, AuditLogHandler... handlers) {
+        AuditLogQueue.Record record = new AuditLogQueue.Record(handlers.length);
+        for (AuditLogHandler handler : handlers) {
+            record.add(handler, handler.getName() + "-" + item);
+        }
+        return record;
+    }
+
+    /**
+     * Handler recording the batches it writes, which waits to be released before writing its first batch.
+     */
+    private static class BlockingHandler extends AuditLogHandler {
+        private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger stops = new AtomicInteger();
+
+        BlockingHandler(String name) {
+            super(name, "formatter", 0);
+        }
+
+        @Override
+        boolean isDifferent(AuditLogHandler other) {
+            return other != this;
+        }
+
+        @Override
+        void initialize() {
+        }
+
+        @Override
+        void stop() {
+            stops.incrementAndGet();
+        }
+
+        @Override
+        void writeLogItem(String formattedItem) {
+            writeLogItemBatch(Collections.singletonList(formattedItem));
+        }
+
+        @Override
+        void writeLogItemBatch(List<String> formattedItems) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(new ArrayList<>(formattedItems));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.audit;
+
+import static org.jboss.as.controller.audit.AuditLogItemFormatter.TYPE_CORE;
+import static org.jboss.as.controller.audit.AuditLogItemFormatter.TYPE_JMX;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.ACCESS_MECHANISM;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.AS_VERSION;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.BOOTING;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.DOMAIN_UUID;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.ERROR;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.METHOD_NAME;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.METHOD_PARAMETERS;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.METHOD_SIGNATURE;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.OPERATIONS;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.READ_ONLY;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.REMOTE_ADDRESS;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.SUCCESS;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.TYPE;
+import static org.jboss.as.controller.audit.JsonAuditLogItemFormatter.USER_ID;
+import static org.junit.Assert.assertEquals;
+
+import java.net.InetAddress;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.controller.OperationContext.ResultAction;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.core.security.AccessMechanism;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Test;
+
+/**
+ * Tests that the JSON audit log formatter formats records as the {@link ModelNode} JSON representation of their fields.
+ */
+public class JsonAuditLogItemFormatterUnitTestCase {
+
+    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    private static final String TEXT = "quote \" backslash \\ slash / tab \t new line \n return \r control \u0001\u001f del \u007f unicode é ";
+
+    @Test
+    public void testModelControllerItems() throws Exception {
+        ModelNode write = Util.getWriteAttributeOperation(PathAddress.pathAddress("subsystem", "test"), "attribute", TEXT);
+        ModelNode add = Util.createAddOperation(PathAddress.pathAddress("subsystem", "test").append("child", "one"));
+        add.get("expression").set(new ValueExpression("${test:default}"));
+        add.get("list").add(1).add(2L).add(true);
+        add.get("empty-list").setEmptyList();
+        add.get("object").get("key").set(TEXT);
+        add.get("bytes").set(new byte[] {1, 2, 3});
+        add.get("undefined");
+        ModelNode remove = Util.createRemoveOperation(PathAddress.EMPTY_ADDRESS);
+
+        List<List<ModelNode>> operations = Arrays.asList(Collections.emptyList(), Collections.singletonList(add),
+                Arrays.asList(write, add), Arrays.asList(write, add, remove));
+        for (List<ModelNode> ops : operations) {
+            assertFormatted(AuditLogItem.createModelControllerItem("1.0", false, true, ResultAction.KEEP, "user", "uuid",
+                    AccessMechanism.NATIVE, InetAddress.getLoopbackAddress(), null, ops));
+            assertFormatted(AuditLogItem.createModelControllerItem(TEXT, true, false, ResultAction.ROLLBACK, null, null,
+                    null, null, null, ops));
+        }
+    }
+
+    @Test
+    public void testJmxItems() throws Exception {
+        String[][] signatures = {{}, {"java.lang.String"}, {"java.lang.String", TEXT}};
+        Object[][] parameters = {{}, {TEXT}, {null}, {"one", 2, null}, {new Object[] {"one", null}}, {new Object[0], "two"}};
+        Throwable[] errors = {null, new IllegalStateException(TEXT)};
+        for (String[] signature : signatures) {
+            for (Object[] params : parameters) {
+                for (Throwable error : errors) {
+                    assertFormatted(AuditLogItem.createMethodAccessItem("1.0", true, false, "user", null,
+                            AccessMechanism.JMX, InetAddress.getLoopbackAddress(), "getAttribute", signature, params, error));
+                }
+            }
+        }
+    }
+
+    private static void assertFormatted(AuditLogItem item) {
+        for (boolean includeDate : new boolean[] {false, true}) {
+            for (boolean compact : new boolean[] {false, true}) {
+                for (boolean escapeNewLine : new boolean[] {false, true}) {
+                    for (boolean escapeControlCharacters : new boolean[] {false, true}) {
+                        JsonAuditLogItemFormatter formatter = new JsonAuditLogItemFormatter("test", includeDate, " - ", DATE_FORMAT,
+                                compact, escapeNewLine, escapeControlCharacters);
+                        String expected = format(item, includeDate, compact, escapeNewLine, escapeControlCharacters);
+                        assertEquals(expected, item.format(formatter));
+                        // The buffer is reused for the next record
+                        formatter.clear();
+                        assertEquals(expected, item.format(formatter));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Formats a record by converting it to a {@link ModelNode}, as the formatter used to.
+     */
+    private static String format(AuditLogItem item, boolean includeDate, boolean compact, boolean escapeNewLine, boolean escapeControlCharacters) {
+        ModelNode formatted = new ModelNode();
+        if (item instanceof AuditLogItem.ModelControllerAuditLogItem) {
+            AuditLogItem.ModelControllerAuditLogItem coreItem = (AuditLogItem.ModelControllerAuditLogItem) item;
+            formatted.get(TYPE).set(TYPE_CORE);
+            addCommonFields(item, formatted);
+            formatted.get(SUCCESS).set(coreItem.getResultAction() == ResultAction.KEEP);
+            formatted.get(OPERATIONS).set(coreItem.getOperations());
+        } else {
+            AuditLogItem.JmxAccessAuditLogItem jmxItem = (AuditLogItem.JmxAccessAuditLogItem) item;
+            formatted.get(TYPE).set(TYPE_JMX);
+            addCommonFields(item, formatted);
+            formatted.get(METHOD_NAME).set(jmxItem.getMethodName());
+            formatted.get(METHOD_SIGNATURE);
+            for (String sig : jmxItem.getMethodSignature()) {
+                formatted.get(METHOD_SIGNATURE).add(sig);
+            }
+            formatted.get(METHOD_PARAMETERS);
+            List<Object> params = new ArrayList<>();
+            for (Object param : jmxItem.getMethodParams()) {
+                if (param != null && param.getClass().isArray()) {
+                    params.addAll(Arrays.asList((Object[]) param));
+                } else {
+                    params.add(param);
+                }
+            }
+            for (Object param : params) {
+                formatted.get(METHOD_PARAMETERS).add(param == null ? new ModelNode() : new ModelNode(param.toString()));
+            }
+            if (jmxItem.getError() != null) {
+                formatted.get(ERROR).set(jmxItem.getError().getMessage());
+            }
+        }
+
+        String text = (includeDate ? new SimpleDateFormat(DATE_FORMAT).format(item.getDate()) + " - " : "") + formatted.toJSONString(compact);
+        if (escapeNewLine && !escapeControlCharacters) {
+            return text.replace("\n", "#012");
+        } else if (escapeControlCharacters) {
+            StringBuilder escaped = new StringBuilder();
+            for (char c : text.toCharArray()) {
+                if (c < 32) {
+                    escaped.append('#').append(String.format("%03o", (int) c));
+                } else {
+                    escaped.append(c);
+                }
+            }
+            return escaped.toString();
+        }
+        return text;
+    }
+
+    private static void addCommonFields(AuditLogItem item, ModelNode formatted) {
+        formatted.get(READ_ONLY).set(item.isReadOnly());
+        formatted.get(BOOTING).set(item.isBooting());
+        formatted.get(AS_VERSION).set(item.getAsVersion());
+        formatted.get(USER_ID);
+        if (item.getUserId() != null) {
+            formatted.get(USER_ID).set(item.getUserId());
+        }
+        formatted.get(DOMAIN_UUID);
+        if (item.getDomainUUID() != null) {
+            formatted.get(DOMAIN_UUID).set(item.getDomainUUID());
+        }
+        formatted.get(ACCESS_MECHANISM);
+        if (item.getAccessMechanism() != null) {
+            formatted.get(ACCESS_MECHANISM).set(item.getAccessMechanism().toString());
+        }
+        formatted.get(REMOTE_ADDRESS);
+        if (item.getRemoteAddress() != null) {
+            formatted.get(REMOTE_ADDRESS).set(item.getRemoteAddress().toString());
+        }
+    }
+}
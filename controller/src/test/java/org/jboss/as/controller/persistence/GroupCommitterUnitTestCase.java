@@ -0,0 +1,171 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.persistence;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.persistence.ConfigurationPersister.PersistenceResource;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the group commit of models stored by an {@link AbstractConfigurationPersister}.
+ */
+public class GroupCommitterUnitTestCase {
+
+    private static final String WINDOW_PROPERTY = "jboss.config.group-commit-window";
+    private static final String MAX_BATCH_PROPERTY = "jboss.config.group-commit-max-batch";
+    private static final int COMMITS = 8;
+
+    private File file;
+    private TestConfigurationPersister persister;
+
+    @Before
+    public void setup() throws Exception {
+        System.setProperty(WINDOW_PROPERTY, "10000");
+        System.setProperty(MAX_BATCH_PROPERTY, String.valueOf(COMMITS));
+        file = File.createTempFile("group-commit", ".xml");
+        persister = new TestConfigurationPersister() {
+            @Override
+            PersistenceResource create(ModelNode model) throws ConfigurationPersistenceException {
+                return new FilePersistenceResource(model, file, this);
+            }
+        };
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(WINDOW_PROPERTY);
+        System.clearProperty(MAX_BATCH_PROPERTY);
+        file.delete();
+    }
+
+    @Test
+    public void testConcurrentCommitsAreGrouped() throws Exception {
+        Assert.assertNotNull(persister.getGroupCommitter());
+        final List<PersistenceResource> resources = new ArrayList<>();
+        for (int i = 0; i < COMMITS; i++) {
+            PersistenceResource resource = persister.store(new ModelNode(i), null);
+            Assert.assertTrue(resource.isCommitDeferrable());
+            resources.add(resource);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(COMMITS);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (PersistenceResource resource : resources) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    resource.commit();
+                    return null;
+                }));
+            }
+            latch.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // The group is written as soon as all the commits are pending, without waiting for the window
+        GroupCommitter committer = persister.getGroupCommitter();
+        Assert.assertEquals(COMMITS, committer.getCommitCount());
+        Assert.assertTrue(committer.getWriteCount() < COMMITS);
+        Assert.assertEquals(COMMITS - committer.getWriteCount(), committer.getCoalescedCount());
+        Assert.assertTrue(committer.getMaxCommitLatency(TimeUnit.NANOSECONDS) > 0);
+        Assert.assertTrue(committer.getAverageCommitLatency(TimeUnit.NANOSECONDS) <= committer.getMaxCommitLatency(TimeUnit.NANOSECONDS));
+        Assert.assertEquals(new ModelNode(COMMITS - 1).asString(), read());
+    }
+
+    @Test
+    public void testOlderCommitDoesNotOverwriteNewer() throws Exception {
+        System.setProperty(MAX_BATCH_PROPERTY, "1");
+        persister = new TestConfigurationPersister() {
+            @Override
+            PersistenceResource create(ModelNode model) throws ConfigurationPersistenceException {
+                return new FilePersistenceResource(model, file, this);
+            }
+        };
+        PersistenceResource older = persister.store(new ModelNode("older"), null);
+        PersistenceResource newer = persister.store(new ModelNode("newer"), null);
+
+        newer.commit();
+        older.commit();
+
+        Assert.assertEquals(new ModelNode("newer").asString(), read());
+        Assert.assertEquals(2, persister.getGroupCommitter().getCommitCount());
+        Assert.assertEquals(1, persister.getGroupCommitter().getWriteCount());
+        Assert.assertEquals(1, persister.getGroupCommitter().getCoalescedCount());
+    }
+
+    @Test
+    public void testFailureIsReportedToTheWholeGroup() throws Exception {
+        System.setProperty(MAX_BATCH_PROPERTY, "2");
+        final IllegalStateException failure = new IllegalStateException();
+        persister = new TestConfigurationPersister() {
+            @Override
+            PersistenceResource create(ModelNode model) throws ConfigurationPersistenceException {
+                if (model.asString().equals("broken")) {
+                    return new AbstractFilePersistenceResource(model, this) {
+                        @Override
+                        protected void doCommit(InputStream marshalled) {
+                            throw failure;
+                        }
+                    };
+                }
+                return new FilePersistenceResource(model, file, this);
+            }
+        };
+        final List<PersistenceResource> resources = new ArrayList<>();
+        resources.add(persister.store(new ModelNode("first"), null));
+        resources.add(persister.store(new ModelNode("broken"), null));
+
+        ExecutorService executor = Executors.newFixedThreadPool(resources.size());
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (PersistenceResource resource : resources) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    resource.commit();
+                    return null;
+                }));
+            }
+            latch.countDown();
+            // Both commits are grouped in the failed write of the most recent model
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                    Assert.fail("The failure was not reported");
+                } catch (ExecutionException e) {
+                    Assert.assertSame(failure, e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, persister.getGroupCommitter().getWriteCount());
+    }
+
+    private String read() throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the incremental marshalling of subsystems by {@link AbstractConfigurationPersister}.
+ */
+public class SubsystemXmlCacheUnitTestCase {
+
+    private static final String PROPERTY = "jboss.config.incremental-persistence";
+    private static final PathAddress FOO = PathAddress.pathAddress(PathElement.pathElement(SUBSYSTEM, "foo"));
+
+    private final AtomicInteger fooWrites = new AtomicInteger();
+    private final AtomicInteger barWrites = new AtomicInteger();
+    private TestPersister persister;
+
+    @Before
+    public void setup() {
+        System.setProperty(PROPERTY, "true");
+        persister = new TestPersister();
+        persister.registerSubsystemWriter("foo", () -> new CountingWriter("urn:foo:1.0", fooWrites));
+        persister.registerSubsystemWriter("bar", () -> new CountingWriter("urn:bar:1.0", barWrites));
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(PROPERTY);
+    }
+
+    @Test
+    public void testUnaffectedSubsystemIsReplayed() throws Exception {
+        ModelNode model = createModel("a", "b");
+        String first = marshal(model, null);
+        Assert.assertEquals(1, fooWrites.get());
+        Assert.assertEquals(1, barWrites.get());
+
+        model.get(SUBSYSTEM, "foo", "value").set("changed");
+        String second = marshal(model, Collections.singleton(FOO));
+        Assert.assertEquals(2, fooWrites.get());
+        Assert.assertEquals(1, barWrites.get());
+
+        Assert.assertEquals(first.replace("value=\"a\"", "value=\"changed\""), second);
+    }
+
+    @Test
+    public void testChangedModelIsNotReplayed() throws Exception {
+        ModelNode model = createModel("a", "b");
+        marshal(model, null);
+
+        // A change that is not reported as affecting the subsystem still gets marshalled
+        model.get(SUBSYSTEM, "bar", "value").set("changed");
+        String xml = marshal(model, Collections.singleton(FOO));
+        Assert.assertEquals(2, barWrites.get());
+        Assert.assertTrue(xml, xml.contains("value=\"changed\""));
+    }
+
+    @Test
+    public void testRegisteringWriterInvalidatesCache() throws Exception {
+        ModelNode model = createModel("a", "b");
+        marshal(model, null);
+        persister.unregisterSubsystemWriter("bar");
+        persister.registerSubsystemWriter("bar", () -> new CountingWriter("urn:bar:2.0", barWrites));
+        String xml = marshal(model, Collections.singleton(FOO));
+        Assert.assertEquals(2, barWrites.get());
+        Assert.assertTrue(xml, xml.contains("urn:bar:2.0"));
+    }
+
+    @Test
+    public void testContentBeforeSubsystemIsNotCached() throws Exception {
+        AtomicInteger commentedWrites = new AtomicInteger();
+        persister.unregisterSubsystemWriter("bar");
+        persister.registerSubsystemWriter("bar", () -> (writer, context) -> {
+            commentedWrites.incrementAndGet();
+            writer.writeComment("bar");
+            new CountingWriter("urn:bar:1.0", barWrites).writeContent(writer, context);
+        });
+        ModelNode model = createModel("a", "b");
+        String first = marshal(model, null);
+        String second = marshal(model, Collections.singleton(FOO));
+        Assert.assertEquals(2, commentedWrites.get());
+        Assert.assertEquals(first, second);
+    }
+
+    private String marshal(ModelNode model, Set<PathAddress> affectedAddresses) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output, affectedAddresses);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ModelNode createModel(String foo, String bar) {
+        ModelNode model = new ModelNode();
+        model.get(SUBSYSTEM, "foo", "value").set(foo);
+        model.get(SUBSYSTEM, "bar", "value").set(bar);
+        return model;
+    }
+
+    private static class CountingWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+        private final String namespace;
+        private final AtomicInteger count;
+
+        private CountingWriter(String namespace, AtomicInteger count) {
+            this.namespace = namespace;
+            this.count = count;
+        }
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
+            count.incrementAndGet();
+            context.startSubsystemElement(namespace, false);
+            writer.writeAttribute("value", context.getModelNode().get("value").asString());
+            writer.writeEmptyElement("child");
+            writer.writeEndElement();
+        }
+    }
+
+    private static class TestPersister extends AbstractConfigurationPersister {
+
+        TestPersister() {
+            super((writer, context) -> {
+                writer.writeStartDocument();
+                writer.writeStartElement("root");
+                ModelNode model = context.getModelNode();
+                for (String name : model.get(SUBSYSTEM).keys()) {
+                    XMLElementWriter<SubsystemMarshallingContext> subsystemWriter = context.getSubsystemWriter(name);
+                    String defaultNamespace = writer.getNamespaceContext().getNamespaceURI("");
+                    subsystemWriter.writeContent(writer, new SubsystemMarshallingContext(model.get(SUBSYSTEM, name), writer));
+                    writer.setDefaultNamespace(defaultNamespace);
+                }
+                writer.writeEndElement();
+                writer.writeEndDocument();
+            });
+        }
+
+        @Override
+        public PersistenceResource store(ModelNode model, Set<PathAddress> affectedAddresses) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ModelNode> load() {
+            return Collections.emptyList();
+        }
+    }
+}
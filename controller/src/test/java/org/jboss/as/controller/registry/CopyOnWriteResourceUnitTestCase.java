@@ -0,0 +1,106 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link Resource.Factory#copyOnWrite(Resource)}.
+ */
+public class CopyOnWriteResourceUnitTestCase {
+
+    private static final PathElement CHILD_A = PathElement.pathElement("child", "a");
+    private static final PathElement CHILD_B = PathElement.pathElement("child", "b");
+    private static final PathElement GRANDCHILD = PathElement.pathElement("grandchild", "x");
+
+    private Resource original;
+
+    @Before
+    public void setup() {
+        original = Resource.Factory.create();
+        original.getModel().get("attr").set("root");
+        Resource a = Resource.Factory.create();
+        a.getModel().get("attr").set("a");
+        Resource grandchild = Resource.Factory.create();
+        grandchild.getModel().get("attr").set("x");
+        a.registerChild(GRANDCHILD, grandchild);
+        original.registerChild(CHILD_A, a);
+        Resource b = Resource.Factory.create();
+        b.getModel().get("attr").set("b");
+        original.registerChild(CHILD_B, b);
+    }
+
+    @Test
+    public void testOnlyAccessedPathIsCopied() {
+        Resource originalB = original.getChild(CHILD_B);
+        Resource originalGrandchild = original.navigate(PathAddress.pathAddress(CHILD_A, GRANDCHILD));
+
+        Resource copy = Resource.Factory.copyOnWrite(original);
+        Resource grandchild = copy.navigate(PathAddress.pathAddress(CHILD_A, GRANDCHILD));
+        grandchild.getModel().get("attr").set("changed");
+        Resource.Factory.completeCopyOnWrite(copy);
+
+        assertNotSame(originalGrandchild, grandchild);
+        assertEquals("x", originalGrandchild.getModel().get("attr").asString());
+        assertEquals("changed", copy.navigate(PathAddress.pathAddress(CHILD_A, GRANDCHILD)).getModel().get("attr").asString());
+        // The untouched branch is shared
+        assertSame(originalB, copy.getChild(CHILD_B));
+    }
+
+    @Test
+    public void testModificationsAreIsolated() {
+        Resource copy = Resource.Factory.copyOnWrite(original);
+        copy.removeChild(CHILD_B);
+        copy.requireChild(CHILD_A).registerChild(PathElement.pathElement("grandchild", "y"), Resource.Factory.create());
+        copy.getModel().get("attr").set("changed");
+        Resource.Factory.completeCopyOnWrite(copy);
+
+        assertTrue(original.hasChild(CHILD_B));
+        assertFalse(copy.hasChild(CHILD_B));
+        assertEquals(1, original.requireChild(CHILD_A).getChildrenNames("grandchild").size());
+        assertEquals(2, copy.requireChild(CHILD_A).getChildrenNames("grandchild").size());
+        assertEquals("root", original.getModel().get("attr").asString());
+        assertEquals("changed", copy.getModel().get("attr").asString());
+    }
+
+    @Test
+    public void testReadsAndRemovalsDoNotCopy() {
+        Resource originalA = original.getChild(CHILD_A);
+        Resource originalB = original.getChild(CHILD_B);
+
+        Resource copy = Resource.Factory.copyOnWrite(original);
+        assertSame(originalA, Resource.Factory.getChildForRead(copy, CHILD_A));
+        assertSame(originalA.getChild(GRANDCHILD),
+                Resource.Factory.getChildForRead(Resource.Factory.getChildForRead(copy, CHILD_A), GRANDCHILD));
+        assertSame(originalB, copy.removeChild(CHILD_B));
+        Resource.Factory.completeCopyOnWrite(copy);
+
+        assertSame(originalA, copy.getChild(CHILD_A));
+        assertTrue(original.hasChild(CHILD_B));
+        assertFalse(copy.hasChild(CHILD_B));
+    }
+
+    @Test
+    public void testCompletedCopyDoesNotCopyOnAccess() {
+        Resource copy = Resource.Factory.copyOnWrite(original);
+        Resource.Factory.completeCopyOnWrite(copy);
+        assertSame(original.getChild(CHILD_A), copy.getChild(CHILD_A));
+
+        // A copy of the completed copy again shares its children until they are accessed
+        Resource second = Resource.Factory.copyOnWrite(copy);
+        assertNotSame(copy.getChild(CHILD_A), second.getChild(CHILD_A));
+        assertEquals(Resource.Tools.readModel(original), Resource.Tools.readModel(second));
+    }
+}
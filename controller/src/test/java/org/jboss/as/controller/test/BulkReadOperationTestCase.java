@@ -0,0 +1,195 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.test;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BulkReadOperationHandler;
+import org.jboss.as.controller.CompositeOperationHandler;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of the bulk-read operation.
+ */
+public class BulkReadOperationTestCase extends AbstractControllerTestBase {
+
+    private static final int CHILDREN = 50;
+
+    private static final SimpleAttributeDefinition ATTR = new SimpleAttributeDefinitionBuilder("attr", ModelType.STRING, true).build();
+    private static final SimpleAttributeDefinition RENDEZVOUS = new SimpleAttributeDefinitionBuilder("rendezvous", ModelType.BOOLEAN, true).build();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch rendezvous = new CountDownLatch(2);
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    protected ModelControllerService createModelControllerService(ProcessType processType) {
+        return new ModelControllerService(processType, new RunningModeControl(RunningMode.NORMAL), () -> executor);
+    }
+
+    @Test
+    public void testResultsInOrder() throws Exception {
+        ModelNode op = createOperation(BulkReadOperationHandler.NAME);
+        for (int i = 0; i < CHILDREN; i++) {
+            ModelNode step = createOperation(READ_ATTRIBUTE_OPERATION, "child", "c" + i);
+            step.get(NAME).set(ATTR.getName());
+            op.get(STEPS).add(step);
+        }
+        List<ModelNode> responses = executeForResult(op).asList();
+        assertEquals(CHILDREN, responses.size());
+        for (int i = 0; i < CHILDREN; i++) {
+            assertEquals(responses.get(i).toString(), SUCCESS, responses.get(i).get(OUTCOME).asString());
+            assertEquals("value" + i, responses.get(i).get(RESULT).asString());
+        }
+    }
+
+    @Test
+    public void testFailuresIsolated() throws Exception {
+        ModelNode op = createOperation(BulkReadOperationHandler.NAME);
+        op.get(STEPS).add(createOperation(READ_RESOURCE_OPERATION, "child", "c1"));
+        op.get(STEPS).add(createOperation(READ_RESOURCE_OPERATION, "child", "missing"));
+        ModelNode write = createOperation(WRITE_ATTRIBUTE_OPERATION, "child", "c2");
+        write.get(NAME).set(ATTR.getName());
+        write.get(VALUE).set("changed");
+        op.get(STEPS).add(write);
+        op.get(STEPS).add(createOperation(READ_RESOURCE_OPERATION, "child", "c3"));
+
+        List<ModelNode> responses = executeForResult(op).asList();
+        assertEquals(4, responses.size());
+        assertEquals(SUCCESS, responses.get(0).get(OUTCOME).asString());
+        assertEquals("value1", responses.get(0).get(RESULT, ATTR.getName()).asString());
+        assertEquals(FAILED, responses.get(1).get(OUTCOME).asString());
+        assertTrue(responses.get(1).hasDefined(FAILURE_DESCRIPTION));
+        assertEquals(FAILED, responses.get(2).get(OUTCOME).asString());
+        assertTrue(responses.get(2).get(FAILURE_DESCRIPTION).asString(), responses.get(2).get(FAILURE_DESCRIPTION).asString().contains("WFLYCTL0505"));
+        assertEquals(SUCCESS, responses.get(3).get(OUTCOME).asString());
+        assertEquals("value3", responses.get(3).get(RESULT, ATTR.getName()).asString());
+
+        // The write operation was not executed
+        ModelNode read = createOperation(READ_ATTRIBUTE_OPERATION, "child", "c2");
+        read.get(NAME).set(ATTR.getName());
+        assertEquals("value2", executeForResult(read).asString());
+    }
+
+    @Test
+    public void testConcurrentExecution() throws Exception {
+        ModelNode op = createOperation(BulkReadOperationHandler.NAME);
+        for (int i = 0; i < 2; i++) {
+            ModelNode step = createOperation(READ_ATTRIBUTE_OPERATION, "child", "c" + i);
+            step.get(NAME).set(RENDEZVOUS.getName());
+            op.get(STEPS).add(step);
+        }
+        // Each read waits for the other one, so both must execute at the same time
+        for (ModelNode response : executeForResult(op).asList()) {
+            assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+            assertTrue(response.get(RESULT).asBoolean());
+        }
+    }
+
+    @Test
+    public void testInComposite() throws Exception {
+        ModelNode bulkRead = createOperation(BulkReadOperationHandler.NAME);
+        ModelNode step = createOperation(READ_ATTRIBUTE_OPERATION, "child", "c1");
+        step.get(NAME).set(ATTR.getName());
+        bulkRead.get(STEPS).add(step);
+        ModelNode read = createOperation(READ_ATTRIBUTE_OPERATION, "child", "c0");
+        read.get(NAME).set(ATTR.getName());
+        ModelNode composite = createOperation(COMPOSITE);
+        composite.get(STEPS).add(read);
+        composite.get(STEPS).add(bulkRead);
+
+        ModelNode response = executeForResult(composite).get("step-2", RESULT).get(0);
+        assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+        assertEquals("value1", response.get(RESULT).asString());
+    }
+
+    @Test
+    public void testRejectedWhenHoldingControllerLock() throws Exception {
+        ModelNode bulkRead = createOperation(BulkReadOperationHandler.NAME);
+        ModelNode step = createOperation(READ_ATTRIBUTE_OPERATION, "child", "c1");
+        step.get(NAME).set(ATTR.getName());
+        bulkRead.get(STEPS).add(step);
+        ModelNode write = createOperation(WRITE_ATTRIBUTE_OPERATION, "child", "c1");
+        write.get(NAME).set(ATTR.getName());
+        write.get(VALUE).set("changed");
+        // The write takes the controller lock, so nested reads could wait for it forever
+        ModelNode composite = createOperation(COMPOSITE);
+        composite.get(STEPS).add(write);
+        composite.get(STEPS).add(bulkRead);
+
+        ModelNode response = executeCheckForFailure(composite);
+        assertTrue(response.toString(), response.get(FAILURE_DESCRIPTION).asString().contains("WFLYCTL0509"));
+        ModelNode read = createOperation(READ_ATTRIBUTE_OPERATION, "child", "c1");
+        read.get(NAME).set(ATTR.getName());
+        assertEquals("value1", executeForResult(read).asString());
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+        registration.registerOperationHandler(CompositeOperationHandler.DEFINITION, CompositeOperationHandler.INSTANCE);
+        registration.registerOperationHandler(BulkReadOperationHandler.DEFINITION, BulkReadOperationHandler.INSTANCE);
+
+        ManagementResourceRegistration childRegistration = registration.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement("child"), NonResolvingResourceDescriptionResolver.INSTANCE));
+        childRegistration.registerReadWriteAttribute(ATTR, null, ModelOnlyWriteAttributeHandler.INSTANCE);
+        childRegistration.registerReadOnlyAttribute(RENDEZVOUS, (context, operation) -> {
+            rendezvous.countDown();
+            try {
+                context.getResult().set(rendezvous.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Resource root = managementModel.getRootResource();
+        for (int i = 0; i < CHILDREN; i++) {
+            Resource child = Resource.Factory.create();
+            child.getModel().get(ATTR.getName()).set("value" + i);
+            root.registerChild(PathElement.pathElement("child", "c" + i), child);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.test;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LIMIT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OFFSET;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATOR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.QUERY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SELECT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WHERE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.operations.global.QueryIndex;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests of the query operation against multiple targets, with the color and size attributes of the targets indexed.
+ */
+public class QueryOperationTestCase extends AbstractControllerTestBase {
+
+    private static final int ITEMS = 20;
+
+    private static final SimpleAttributeDefinition COLOR = new SimpleAttributeDefinitionBuilder("color", ModelType.STRING, true).build();
+    private static final SimpleAttributeDefinition SIZE = new SimpleAttributeDefinitionBuilder("size", ModelType.INT, true)
+            .setDefaultValue(new ModelNode(5))
+            .build();
+    private static final SimpleAttributeDefinition READS = new SimpleAttributeDefinitionBuilder("reads", ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    private static final AtomicInteger reads = new AtomicInteger();
+
+    @BeforeClass
+    public static void enableIndex() {
+        System.setProperty(QueryIndex.ATTRIBUTES_PROPERTY, "color, size");
+    }
+
+    @AfterClass
+    public static void disableIndex() {
+        System.clearProperty(QueryIndex.ATTRIBUTES_PROPERTY);
+    }
+
+    @Before
+    public void resetReads() {
+        reads.set(0);
+    }
+
+    @Test
+    public void testAndOperator() throws Exception {
+        ModelNode op = createQuery();
+        op.get(WHERE, COLOR.getName()).set("red");
+        op.get(WHERE, SIZE.getName()).set(8);
+        assertEquals(names(8), names(executeForResult(op)));
+        // Only the matching item was read
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void testOrOperator() throws Exception {
+        ModelNode op = createQuery();
+        op.get(WHERE, COLOR.getName()).set("red");
+        // Compared as the type of the attribute
+        op.get(WHERE, SIZE.getName()).set("5");
+        op.get(OPERATOR).set("OR");
+        op.get(SELECT).add(SIZE.getName());
+        Set<String> expected = new TreeSet<>();
+        for (int i = 0; i < ITEMS; i++) {
+            if (i % 4 == 0 || i % 2 == 1) {
+                expected.add("i" + i);
+            }
+        }
+        assertEquals(expected, names(executeForResult(op)));
+        assertEquals(expected.size(), reads.get());
+    }
+
+    @Test
+    public void testUndefinedFilter() throws Exception {
+        ModelNode op = createQuery();
+        op.get(WHERE, COLOR.getName()).set("undefined");
+        op.get(SELECT).add(SIZE.getName());
+        ModelNode result = executeForResult(op);
+        assertEquals(names(3, 7, 11, 15, 19), names(result));
+        assertEquals(new ModelNode(5), result.get(0).get(RESULT, SIZE.getName()));
+    }
+
+    @Test
+    public void testPaging() throws Exception {
+        ModelNode op = createQuery();
+        op.get(WHERE, COLOR.getName()).set("blue");
+        List<ModelNode> all = executeForResult(op).asList();
+        assertEquals(10, all.size());
+
+        op.get(OFFSET).set(1);
+        op.get(LIMIT).set(3);
+        assertEquals(all.subList(1, 4), executeForResult(op).asList());
+
+        op.get(OFFSET).set(9);
+        assertEquals(all.subList(9, 10), executeForResult(op).asList());
+
+        op.get(OFFSET).set(10);
+        assertEquals(0, executeForResult(op).asInt());
+
+        op.get(LIMIT).set(0);
+        executeForFailure(op);
+    }
+
+    @Test
+    public void testIndexFollowsWrites() throws Exception {
+        ModelNode write = createOperation(WRITE_ATTRIBUTE_OPERATION, "item", "i2");
+        write.get(NAME).set(COLOR.getName());
+        write.get(VALUE).set("red");
+        executeForResult(write);
+
+        ModelNode op = createQuery();
+        op.get(WHERE, COLOR.getName()).set("red");
+        assertEquals(names(0, 2, 4, 8, 12, 16), names(executeForResult(op)));
+        assertEquals(6, reads.get());
+    }
+
+    private ModelNode createQuery() {
+        ModelNode op = createOperation(QUERY, "item", "*");
+        op.get(SELECT).add(COLOR.getName());
+        return op;
+    }
+
+    private static Set<String> names(int... items) {
+        Set<String> names = new TreeSet<>();
+        for (int i : items) {
+            names.add("i" + i);
+        }
+        return names;
+    }
+
+    private static Set<String> names(ModelNode result) {
+        List<String> names = new ArrayList<>();
+        for (ModelNode item : result.asList()) {
+            names.add(PathAddress.pathAddress(item.get(OP_ADDR)).getLastElement().getValue());
+        }
+        Set<String> unique = new TreeSet<>(names);
+        assertEquals(names.size(), unique.size());
+        return unique;
+    }
+
+    @Override
+    protected void addBootOperations(List<ModelNode> bootOperations) {
+        // Every fourth item is red, and every fourth has no color, the other ones are blue. Even items have a size
+        for (int i = 0; i < ITEMS; i++) {
+            ModelNode add = createOperation(ADD, "item", "i" + i);
+            if (i % 4 == 0) {
+                add.get(COLOR.getName()).set("red");
+            } else if (i % 4 != 3) {
+                add.get(COLOR.getName()).set("blue");
+            }
+            if (i % 2 == 0) {
+                add.get(SIZE.getName()).set(i);
+            }
+            bootOperations.add(add);
+        }
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+
+        registration.registerSubModel(new SimpleResourceDefinition(
+                new SimpleResourceDefinition.Parameters(PathElement.pathElement("item"), NonResolvingResourceDescriptionResolver.INSTANCE)
+                        .setAddHandler(ModelOnlyAddStepHandler.INSTANCE)) {
+            @Override
+            public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+                resourceRegistration.registerReadWriteAttribute(COLOR, null, ModelOnlyWriteAttributeHandler.INSTANCE);
+                resourceRegistration.registerReadOnlyAttribute(SIZE, null);
+                resourceRegistration.registerReadOnlyAttribute(READS, (context, operation) -> context.getResult().set(reads.incrementAndGet()));
+            }
+        });
+    }
+}
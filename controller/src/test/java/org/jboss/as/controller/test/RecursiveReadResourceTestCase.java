@@ -0,0 +1,148 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.test;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE_DEPTH;
+import static org.junit.Assert.assertEquals;
+
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Tests recursive reads of a large model, most of which is read in a single pass, while a part of it requires
+ * a step per resource as an attribute has a read handler.
+ */
+public class RecursiveReadResourceTestCase extends AbstractControllerTestBase {
+
+    private static final int BRANCHES = 100;
+    private static final int LEAVES = 20;
+    private static final int DYNAMIC = 5;
+
+    private static final SimpleAttributeDefinition NAME = new SimpleAttributeDefinitionBuilder("name", ModelType.STRING, true).build();
+    private static final SimpleAttributeDefinition SIZE = new SimpleAttributeDefinitionBuilder("size", ModelType.INT, true)
+            .setDefaultValue(new ModelNode(5))
+            .build();
+    private static final SimpleAttributeDefinition VALUE = new SimpleAttributeDefinitionBuilder("value", ModelType.STRING, true).build();
+    private static final SimpleAttributeDefinition FLAG = new SimpleAttributeDefinitionBuilder("flag", ModelType.BOOLEAN, true)
+            .setDefaultValue(ModelNode.TRUE)
+            .build();
+    private static final SimpleAttributeDefinition COMPUTED = new SimpleAttributeDefinitionBuilder("computed", ModelType.STRING, true).build();
+
+    @Test
+    public void testRecursiveRead() throws Exception {
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION);
+        op.get(RECURSIVE).set(true);
+        assertEquals(expectedModel(true, true), executeForResult(op));
+    }
+
+    @Test
+    public void testRecursiveReadWithoutDefaults() throws Exception {
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION);
+        op.get(RECURSIVE).set(true);
+        op.get(INCLUDE_DEFAULTS).set(false);
+        assertEquals(expectedModel(false, true), executeForResult(op));
+    }
+
+    @Test
+    public void testRecursiveDepth() throws Exception {
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION);
+        op.get(RECURSIVE_DEPTH).set(1);
+        assertEquals(expectedModel(true, false), executeForResult(op));
+    }
+
+    @Test
+    public void testReadChildrenResources() throws Exception {
+        ModelNode op = createOperation(READ_CHILDREN_RESOURCES_OPERATION);
+        op.get(CHILD_TYPE).set("branch");
+        op.get(RECURSIVE).set(true);
+        assertEquals(expectedModel(true, true).get("branch"), executeForResult(op));
+
+        op.get(CHILD_TYPE).set("dynamic");
+        assertEquals(expectedModel(true, true).get("dynamic"), executeForResult(op));
+    }
+
+    @Test
+    public void testReadSubtree() throws Exception {
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION, "branch", "b7");
+        op.get(RECURSIVE).set(true);
+        assertEquals(expectedModel(true, true).get("branch", "b7"), executeForResult(op));
+    }
+
+    private static ModelNode expectedModel(boolean defaults, boolean leaves) {
+        final ModelNode model = new ModelNode();
+        for (int i = 0; i < BRANCHES; i++) {
+            final ModelNode branch = model.get("branch", "b" + i);
+            branch.get(NAME.getName()).set("branch " + i);
+            if (i % 2 == 0) {
+                branch.get(SIZE.getName()).set(i);
+            } else if (defaults) {
+                branch.get(SIZE.getName()).set(SIZE.getDefaultValue());
+            } else {
+                branch.get(SIZE.getName());
+            }
+            for (int j = 0; j < LEAVES; j++) {
+                final ModelNode leaf = branch.get("leaf", "l" + j);
+                if (leaves) {
+                    leaf.get(FLAG.getName()).set(defaults ? FLAG.getDefaultValue() : new ModelNode());
+                    leaf.get(VALUE.getName()).set(i + "-" + j);
+                }
+            }
+        }
+        for (int i = 0; i < DYNAMIC; i++) {
+            model.get("dynamic", "d" + i, COMPUTED.getName()).set("computed d" + i);
+        }
+        return model;
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+
+        ManagementResourceRegistration branchRegistration = registration.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement("branch"), NonResolvingResourceDescriptionResolver.INSTANCE));
+        branchRegistration.registerReadOnlyAttribute(NAME, null);
+        branchRegistration.registerReadOnlyAttribute(SIZE, null);
+        ManagementResourceRegistration leafRegistration = branchRegistration.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement("leaf"), NonResolvingResourceDescriptionResolver.INSTANCE));
+        leafRegistration.registerReadOnlyAttribute(VALUE, null);
+        leafRegistration.registerReadOnlyAttribute(FLAG, null);
+        ManagementResourceRegistration dynamicRegistration = registration.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement("dynamic"), NonResolvingResourceDescriptionResolver.INSTANCE));
+        dynamicRegistration.registerReadOnlyAttribute(COMPUTED, (context, operation) -> context.getResult().set("computed " + context.getCurrentAddressValue()));
+
+        Resource root = managementModel.getRootResource();
+        for (int i = 0; i < BRANCHES; i++) {
+            Resource branch = Resource.Factory.create();
+            branch.getModel().get(NAME.getName()).set("branch " + i);
+            if (i % 2 == 0) {
+                branch.getModel().get(SIZE.getName()).set(i);
+            }
+            for (int j = 0; j < LEAVES; j++) {
+                Resource leaf = Resource.Factory.create();
+                leaf.getModel().get(VALUE.getName()).set(i + "-" + j);
+                branch.registerChild(PathElement.pathElement("leaf", "l" + j), leaf);
+            }
+            root.registerChild(PathElement.pathElement("branch", "b" + i), branch);
+        }
+        for (int i = 0; i < DYNAMIC; i++) {
+            root.registerChild(PathElement.pathElement("dynamic", "d" + i), Resource.Factory.create());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the cache of transformation results.
+ */
+public class TransformationCacheTestCase {
+
+    private static final ModelNode IGNORED = new ModelNode().add("profile");
+
+    @Test
+    public void testKeys() {
+        TransformationCache<String> cache = new TransformationCache<>();
+        TransformationCache.Key key = cache.createKey(target("one", 17, 1), IGNORED);
+        cache.put(key, "result");
+
+        // Same versions and ignored configuration, whatever the host
+        assertEquals(key, cache.createKey(target("two", 17, 1), IGNORED.clone()));
+        assertEquals("result", cache.get(cache.createKey(target("two", 17, 1), IGNORED)));
+
+        assertNotEquals(key, cache.createKey(target("one", 16, 1), IGNORED));
+        assertNotEquals(key, cache.createKey(target("one", 17, 2), IGNORED));
+        assertNotEquals(key, cache.createKey(target("one", 17, 1), new ModelNode().add("server-group")));
+        assertNull(cache.get(cache.createKey(target("one", 16, 1), IGNORED)));
+
+        // Results cannot be cached without the subsystem versions or the ignored configuration
+        assertNull(cache.createKey(target("one", 17, 1), null));
+        assertNull(cache.createKey(new DelegatingTransformationTarget(target("one", 17, 1)), IGNORED));
+    }
+
+    @Test
+    public void testInvalidate() {
+        TransformationCache<String> cache = new TransformationCache<>();
+        TransformationCache.Key stale = cache.createKey(target("one", 17, 1), IGNORED);
+        cache.put(stale, "stale");
+        TransformationCache.Key computing = cache.createKey(target("two", 17, 2), IGNORED);
+
+        cache.invalidate();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(stale));
+        // A result computed from the previous model is not cached
+        cache.put(computing, "stale");
+        assertEquals(0, cache.size());
+
+        TransformationCache.Key key = cache.createKey(target("one", 17, 1), IGNORED);
+        assertNotEquals(stale, key);
+        cache.put(key, "result");
+        assertEquals("result", cache.get(key));
+        assertNull(cache.get(stale));
+    }
+
+    @Test
+    public void testEviction() {
+        TransformationCache<String> cache = new TransformationCache<>(2);
+        TransformationCache.Key one = cache.createKey(target("one", 15, 0), IGNORED);
+        TransformationCache.Key two = cache.createKey(target("two", 16, 0), IGNORED);
+        TransformationCache.Key three = cache.createKey(target("three", 17, 0), IGNORED);
+        cache.put(one, "one");
+        cache.put(two, "two");
+        assertEquals("one", cache.get(one));
+        cache.put(three, "three");
+
+        // The least recently used result is evicted
+        assertEquals(2, cache.size());
+        assertEquals("one", cache.get(one));
+        assertNull(cache.get(two));
+        assertEquals("three", cache.get(three));
+    }
+
+    private static TransformationTarget target(String hostName, int major, int subsystemMajor) {
+        Map<PathAddress, ModelVersion> subsystems = Collections.singletonMap(
+                PathAddress.pathAddress(PathElement.pathElement("subsystem", "test")), ModelVersion.create(subsystemMajor));
+        return TransformationTargetImpl.create(hostName, TransformerRegistry.Factory.create(), ModelVersion.create(major),
+                subsystems, TransformationTarget.TransformationTargetType.HOST);
+    }
+
+    /**
+     * Target not exposing the versions of its subsystems.
+     */
+    private static class DelegatingTransformationTarget implements TransformationTarget {
+        private final TransformationTarget delegate;
+
+        DelegatingTransformationTarget(TransformationTarget delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ModelVersion getVersion() {
+            return delegate.getVersion();
+        }
+
+        @Override
+        public ModelVersion getSubsystemVersion(String subsystemName) {
+            return delegate.getSubsystemVersion(subsystemName);
+        }
+
+        @Override
+        public TransformerEntry getTransformerEntry(TransformationContext context, PathAddress address) {
+            return delegate.getTransformerEntry(context, address);
+        }
+
+        @Override
+        public List<PathAddressTransformer> getPathTransformation(PathAddress address) {
+            return delegate.getPathTransformation(address);
+        }
+
+        @Override
+        public ResourceTransformer resolveTransformer(ResourceTransformationContext context, PathAddress address) {
+            return delegate.resolveTransformer(context, address);
+        }
+
+        @Override
+        public OperationTransformer resolveTransformer(TransformationContext context, PathAddress address, String operationName) {
+            return delegate.resolveTransformer(context, address, operationName);
+        }
+
+        @Override
+        public void addSubsystemVersion(String subsystemName, int majorVersion, int minorVersion) {
+            delegate.addSubsystemVersion(subsystemName, majorVersion, minorVersion);
+        }
+
+        @Override
+        public void addSubsystemVersion(String subsystemName, ModelVersion version) {
+            delegate.addSubsystemVersion(subsystemName, version);
+        }
+
+        @Override
+        public TransformationTargetType getTargetType() {
+            return delegate.getTargetType();
+        }
+
+        @Override
+        public String getHostName() {
+            return delegate.getHostName();
+        }
+
+        @Override
+        public boolean isIgnoredResourceListAvailableAtRegistration() {
+            return delegate.isIgnoredResourceListAvailableAtRegistration();
+        }
+
+        @Override
+        public boolean isIgnoreUnaffectedConfig() {
+            return delegate.isIgnoreUnaffectedConfig();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.core.management;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
+import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+
+/**
+ * Registers the transformers of the core management subsystem.
+ */
+public class CoreManagementExtensionTransformerRegistration implements ExtensionTransformerRegistration {
+
+    private static final ModelVersion VERSION_1_0_0 = ModelVersion.create(1, 0, 0);
+
+    @Override
+    public String getSubsystemName() {
+        return CoreManagementExtension.SUBSYSTEM_NAME;
+    }
+
+    @Override
+    public void registerTransformers(SubsystemTransformerRegistration subsystemRegistration) {
+        ResourceTransformationDescriptionBuilder builder = ResourceTransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        // The flight recorder events only help diagnose a process, which runs the same without them
+        builder.discardChildResource(FlightRecorderResourceDefinition.PATH);
+        TransformationDescription.Tools.register(builder.build(), subsystemRegistration, VERSION_1_0_0);
+    }
+}
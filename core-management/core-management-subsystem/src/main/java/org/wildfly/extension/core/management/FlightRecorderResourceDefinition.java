@@ -0,0 +1,92 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.core.management;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.FlightRecorderEvents;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.extension.core.management.logging.CoreManagementLogger;
+
+/**
+ * Resource enabling the Java Flight Recorder events of management operations, of their steps, of waits for the
+ * controller lock, of the start of the services they install and of deployment phases.
+ */
+public class FlightRecorderResourceDefinition extends PersistentResourceDefinition {
+
+    static final String FLIGHT_RECORDER = "flight-recorder";
+    public static final PathElement PATH = PathElement.pathElement(SERVICE, FLIGHT_RECORDER);
+    public static final FlightRecorderResourceDefinition INSTANCE = new FlightRecorderResourceDefinition();
+
+    private FlightRecorderResourceDefinition() {
+        super(new SimpleResourceDefinition.Parameters(PATH, CoreManagementExtension.getResourceDescriptionResolver(FLIGHT_RECORDER))
+                .setAddHandler(new FlightRecorderAddHandler())
+                .setRemoveHandler(new FlightRecorderRemoveHandler()));
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return Collections.emptyList();
+    }
+
+    private static class FlightRecorderAddHandler extends AbstractAddStepHandler {
+
+        @Override
+        protected void populateModel(OperationContext context, ModelNode operation, Resource resource) throws OperationFailedException {
+            // Defined so that the resource is persisted without any attribute
+            resource.getModel().setEmptyObject();
+        }
+
+        @Override
+        protected void performRuntime(OperationContext context, ModelNode operation, Resource resource) throws OperationFailedException {
+            super.performRuntime(context, operation, resource);
+            if (!FlightRecorderEvents.isAvailable()) {
+                CoreManagementLogger.ROOT_LOGGER.flightRecorderNotAvailable();
+            }
+            FlightRecorderEvents.setEnabled(true);
+        }
+
+        @Override
+        protected void rollbackRuntime(OperationContext context, ModelNode operation, Resource resource) {
+            FlightRecorderEvents.setEnabled(false);
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return context.isDefaultRequiresRuntime();
+        }
+    }
+
+    private static class FlightRecorderRemoveHandler extends AbstractRemoveStepHandler {
+
+        @Override
+        protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+            super.performRuntime(context, operation, model);
+            FlightRecorderEvents.setEnabled(false);
+        }
+
+        @Override
+        protected void recoverServices(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+            FlightRecorderEvents.setEnabled(true);
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return context.isDefaultRequiresRuntime();
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package org.wildfly.extension.core.management.logging;
 
 import static org.jboss.logging.Logger.Level.ERROR;
+import static org.jboss.logging.Logger.Level.WARN;
 
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.logging.BasicLogger;
@@ -53,4 +54,8 @@ public interface CoreManagementLogger extends BasicLogger {
 
     @Message(id = 8, value = "Error to instantiate instance of class %s from module %s")
     OperationFailedException errorToInstantiateClassInstanceFromModule(String className, String moduleID);
+
+    @LogMessage(level = WARN)
+    @Message(id = 9, value = "Java Flight Recorder is not available, the flight recorder events of management operations will not be recorded")
+    void flightRecorderNotAvailable();
 }
@@ -11,6 +11,7 @@ import org.jboss.as.controller.ProcessType;
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.junit.Test;
 
 /**
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2016 Red Hat Inc.
@@ -23,7 +24,13 @@ public class CoreManagementSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("core-management-subsystem-1_0.xml");
+        return readResource("core-management-subsystem-1_1.xml");
+    }
+
+    @Test
+    public void testSubsystem_1_0() throws Exception {
+        // Marshalled with the current namespace, so the XML is not compared
+        standardSubsystemTest("core-management-subsystem-1_0.xml", false);
     }
 
     @Override
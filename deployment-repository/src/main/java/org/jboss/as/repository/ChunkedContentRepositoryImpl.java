@@ -0,0 +1,351 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import static org.jboss.as.repository.PathUtil.deleteSilentlyRecursively;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.wildfly.common.Assert;
+
+/**
+ * {@link ContentRepository} storing content as deduplicated chunks.
+ * <p>
+ * Content added as a stream is split into chunks at boundaries determined by the content itself, using a rolling
+ * hash, so that a local change to the content only changes the chunks around it. Each chunk is stored once, under
+ * its own SHA-1, in a chunk store next to the repository root. The content itself is represented in its usual hash
+ * directory by a manifest listing its chunks, so adding content that is almost identical to existing content only
+ * writes the chunks that changed. The repository never holds a full copy of such content: it is reassembled into the
+ * temporary directory when accessed, into a copy deleted once the access completes, except for the file backing the
+ * {@link VirtualFile} returned by {@link #getContent(byte[])}, which is deleted when the content is removed.
+ * <p>
+ * The hash of the content is the SHA-1 of the whole content, exactly as for {@link ContentRepositoryImpl}, and
+ * obsolete content is marked and removed the same way. Chunks no longer listed by any manifest are removed when
+ * obsolete content is cleaned. Directory and exploded content is stored as by {@link ContentRepositoryImpl}.
+ */
+class ChunkedContentRepositoryImpl extends ContentRepositoryImpl {
+
+    static final String MANIFEST = "content.chunks";
+    static final String CHUNKS_SUFFIX = "-chunks";
+    static final String REASSEMBLED_DIR = "chunked-content";
+
+    private static final int MIN_CHUNK_SIZE = 16 * 1024;
+    private static final int MAX_CHUNK_SIZE = 256 * 1024;
+    /** Averages chunks of about 64 KiB on top of the minimum size. Uses the high bits, which depend on the most bytes. */
+    private static final long BOUNDARY_MASK = 0xFFFFL << 48;
+    /** Random values for the gear rolling hash. Fixed, as the boundaries of stored chunks must not change. */
+    private static final long[] GEAR = new SplittableRandom(0x5745_4C44_4659L).longs(256).toArray();
+
+    private final Path chunksRoot;
+    private final Path tmpRoot;
+    /** Held for reading while adding or reassembling content, and for writing while removing chunks no manifest refers to */
+    private final ReadWriteLock chunksLock = new ReentrantReadWriteLock();
+    /** The copies of chunked content reassembled for the access the current thread is performing, by hash */
+    private final ThreadLocal<Map<String, Path>> accessCopies = new ThreadLocal<>();
+
+    ChunkedContentRepositoryImpl(final File repoRoot, final File tmpRoot, long obsolescenceTimeout, long lockTimeout) {
+        super(repoRoot, tmpRoot, obsolescenceTimeout, lockTimeout);
+        this.chunksRoot = repoRoot.toPath().resolveSibling(repoRoot.getName() + CHUNKS_SUFFIX);
+        this.tmpRoot = tmpRoot.toPath();
+        validateDir(chunksRoot);
+    }
+
+    @Override
+    public byte[] addContent(InputStream stream) throws IOException {
+        if (stream == null) {
+            return super.addContent(null);
+        }
+        chunksLock.readLock().lock();
+        try {
+            final MessageDigest contentDigest = createMessageDigest();
+            final MessageDigest chunkDigest = createMessageDigest();
+            final ByteArrayOutputStream manifest = new ByteArrayOutputStream();
+            final DataOutputStream manifestOutput = new DataOutputStream(manifest);
+            final byte[] chunk = new byte[MAX_CHUNK_SIZE];
+            final byte[] bytes = new byte[8192];
+            int chunkLength = 0;
+            long hash = 0;
+            int read;
+            try (InputStream in = new BufferedInputStream(stream)) {
+                while ((read = in.read(bytes)) > -1) {
+                    contentDigest.update(bytes, 0, read);
+                    for (int i = 0; i < read; i++) {
+                        chunk[chunkLength++] = bytes[i];
+                        hash = (hash << 1) + GEAR[bytes[i] & 0xFF];
+                        if ((chunkLength >= MIN_CHUNK_SIZE && (hash & BOUNDARY_MASK) == 0) || chunkLength == MAX_CHUNK_SIZE) {
+                            storeChunk(chunkDigest, chunk, chunkLength, manifestOutput);
+                            chunkLength = 0;
+                            hash = 0;
+                        }
+                    }
+                }
+            }
+            if (chunkLength > 0) {
+                storeChunk(chunkDigest, chunk, chunkLength, manifestOutput);
+            }
+            final byte[] sha1Bytes = contentDigest.digest();
+            if (hasContent(sha1Bytes)) {
+                DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content was already present in repository at location %s",
+                        getManifestFile(sha1Bytes, false).toAbsolutePath().toString());
+            } else {
+                final Path manifestFile = getManifestFile(sha1Bytes, true);
+                writeAtomically(manifestFile, manifest.toByteArray());
+                DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(manifestFile.toAbsolutePath().toString());
+            }
+            return sha1Bytes;
+        } finally {
+            chunksLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean hasContent(byte[] hash) {
+        return Files.exists(getManifestFile(hash, false)) || super.hasContent(hash);
+    }
+
+    @Override
+    public VirtualFile getContent(byte[] hash) {
+        Assert.checkNotNullParam("hash", hash);
+        if (!Files.exists(getManifestFile(hash, false))) {
+            return super.getContent(hash);
+        }
+        final Path file = tmpRoot.resolve(REASSEMBLED_DIR).resolve(HashUtil.bytesToHexString(hash)).resolve(CONTENT);
+        if (!Files.exists(file)) {
+            try {
+                Files.createDirectories(file.getParent());
+                reassemble(hash, file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return VFS.getChild(file.toUri());
+    }
+
+    @Override
+    public void removeContent(ContentReference reference) {
+        super.removeContent(reference);
+        if (HashUtil.isEachHexHashInTable(reference.getHexHash()) && !Files.exists(getManifestFile(reference.getHash(), false))) {
+            deleteSilentlyRecursively(tmpRoot.resolve(REASSEMBLED_DIR).resolve(reference.getHexHash()));
+        }
+    }
+
+    @Override
+    public byte[] explodeContent(byte[] deploymentHash) throws ExplodedContentException {
+        return accessContent(deploymentHash, () -> super.explodeContent(deploymentHash));
+    }
+
+    @Override
+    public TypedInputStream readContent(byte[] deploymentHash, String path) throws ExplodedContentException {
+        return accessContent(deploymentHash, () -> super.readContent(deploymentHash, path));
+    }
+
+    @Override
+    public List<ContentRepositoryElement> listContent(byte[] deploymentHash, String path, ContentFilter filter) throws ExplodedContentException {
+        return accessContent(deploymentHash, () -> super.listContent(deploymentHash, path, filter));
+    }
+
+    @Override
+    protected Path getDeploymentContentFile(byte[] deploymentHash, boolean validate) {
+        final Map<String, Path> copies = accessCopies.get();
+        if (copies != null) {
+            final Path copy = copies.get(HashUtil.bytesToHexString(deploymentHash));
+            if (copy != null) {
+                return copy;
+            }
+        }
+        return super.getDeploymentContentFile(deploymentHash, validate);
+    }
+
+    @Override
+    public Map<String, Set<String>> cleanObsoleteContent() {
+        final Map<String, Set<String>> result = super.cleanObsoleteContent();
+        // Chunks can only become unreferenced once content was marked as obsolete
+        if (isNotEmpty(result.get(MARKED_CONTENT)) || isNotEmpty(result.get(DELETED_CONTENT))) {
+            removeUnreferencedChunks();
+        }
+        return result;
+    }
+
+    private void storeChunk(MessageDigest digest, byte[] chunk, int length, DataOutputStream manifest) throws IOException {
+        digest.update(chunk, 0, length);
+        final byte[] chunkHash = digest.digest();
+        final Path chunkFile = getChunkFile(chunkHash, true);
+        if (!Files.exists(chunkFile)) {
+            final Path tmp = Files.createTempFile(chunkFile.getParent(), CONTENT, ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    out.write(chunk, 0, length);
+                }
+                Files.move(tmp, chunkFile);
+            } catch (FileAlreadyExistsException e) {
+                // Stored concurrently by another addition of the same chunk
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+        manifest.write(chunkHash);
+        manifest.writeInt(length);
+    }
+
+    /**
+     * Performs an access to content needing its content file. If the content is stored as chunks, the access is
+     * performed on a copy reassembled for it, and deleted once it completes.
+     */
+    private <T> T accessContent(byte[] hash, ContentAccess<T> access) throws ExplodedContentException {
+        if (!Files.exists(getManifestFile(hash, false))) {
+            return access.access();
+        }
+        final String hexHash = HashUtil.bytesToHexString(hash);
+        Path dir = null;
+        final Map<String, Path> previous = accessCopies.get();
+        try {
+            dir = Files.createTempDirectory(tmpRoot, hexHash);
+            final Path copy = dir.resolve(CONTENT);
+            reassemble(hash, copy);
+            final Map<String, Path> copies = previous == null ? new HashMap<>() : new HashMap<>(previous);
+            copies.put(hexHash, copy);
+            accessCopies.set(copies);
+            return access.access();
+        } catch (IOException e) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.warn(e);
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.errorAccessingDeployment(e);
+        } finally {
+            if (previous == null) {
+                accessCopies.remove();
+            } else {
+                accessCopies.set(previous);
+            }
+            deleteSilentlyRecursively(dir);
+        }
+    }
+
+    /**
+     * Reassembles content stored as chunks into the given file. The chunks cannot be removed meanwhile.
+     */
+    private void reassemble(byte[] hash, Path target) throws IOException {
+        chunksLock.readLock().lock();
+        try {
+            final Path tmp = Files.createTempFile(target.getParent(), CONTENT, ".tmp");
+            try {
+                try (DataInputStream manifest = new DataInputStream(new BufferedInputStream(Files.newInputStream(getManifestFile(hash, false))));
+                     OutputStream out = Files.newOutputStream(tmp)) {
+                    final byte[] chunkHash = new byte[20];
+                    while (manifest.read(chunkHash, 0, 1) > 0) {
+                        manifest.readFully(chunkHash, 1, chunkHash.length - 1);
+                        final int length = manifest.readInt();
+                        final Path chunkFile = getChunkFile(chunkHash, false);
+                        if (Files.size(chunkFile) != length) {
+                            throw new IOException(chunkFile.toString());
+                        }
+                        Files.copy(chunkFile, out);
+                    }
+                }
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } finally {
+            chunksLock.readLock().unlock();
+        }
+    }
+
+    /** Removes the chunks that are not listed by the manifest of any content in the repository. */
+    private void removeUnreferencedChunks() {
+        chunksLock.writeLock().lock();
+        try {
+            final Set<String> referenced = new HashSet<>();
+            final List<Path> manifests = new ArrayList<>();
+            try (Stream<Path> files = Files.find(getRepoRoot(), 3, (path, attributes) -> MANIFEST.equals(path.getFileName().toString()))) {
+                files.forEach(manifests::add);
+            }
+            for (Path manifestFile : manifests) {
+                try (DataInputStream manifest = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestFile)))) {
+                    final byte[] chunkHash = new byte[20];
+                    while (manifest.read(chunkHash, 0, 1) > 0) {
+                        manifest.readFully(chunkHash, 1, chunkHash.length - 1);
+                        manifest.readInt();
+                        referenced.add(HashUtil.bytesToHexString(chunkHash));
+                    }
+                }
+            }
+            try (Stream<Path> files = Files.find(chunksRoot, 2, (path, attributes) -> attributes.isRegularFile())) {
+                files.forEach(chunkFile -> {
+                    final String hash = chunkFile.getParent().getFileName().toString() + chunkFile.getFileName().toString();
+                    if (!referenced.contains(hash)) {
+                        deleteSilentlyRecursively(chunkFile);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(e, chunksRoot.toString());
+        } finally {
+            chunksLock.writeLock().unlock();
+        }
+    }
+
+    Path getChunksRoot() {
+        return chunksRoot;
+    }
+
+    private Path getManifestFile(byte[] hash, boolean validate) {
+        return getDeploymentHashDir(hash, validate).resolve(MANIFEST);
+    }
+
+    private Path getChunkFile(byte[] chunkHash, boolean validate) {
+        final String sha1 = HashUtil.bytesToHexString(chunkHash);
+        final Path dir = chunksRoot.resolve(sha1.substring(0, 2));
+        if (validate) {
+            validateDir(dir);
+        }
+        return dir.resolve(sha1.substring(2));
+    }
+
+    private static boolean isNotEmpty(Set<String> contents) {
+        return contents != null && !contents.isEmpty();
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        final Path tmp = Files.createTempFile(file.getParent(), CONTENT, ".tmp");
+        try {
+            Files.write(tmp, content);
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * An access to content.
+     */
+    private interface ContentAccess<T> {
+        T access() throws ExplodedContentException;
+    }
+}
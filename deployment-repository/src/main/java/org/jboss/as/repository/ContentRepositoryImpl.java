@@ -12,15 +12,18 @@ import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.security.DigestOutputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
@@ -38,6 +41,7 @@ import static org.jboss.as.repository.PathUtil.unzip;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import org.wildfly.common.Assert;
@@ -53,9 +57,12 @@ public class ContentRepositoryImpl implements ContentRepository {
     private final File repoRoot;
     private final File tmpRoot;
     protected final AtomicReference<MessageDigest> messageDigestRef;
-    private final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<>();
-    private final Map<String, ReentrantLock> lockedContents = new HashMap<>();
-    private final Map<String, Long> obsoleteContents = new HashMap<>();
+    /** Number of locks guarding the references to content, each guarding the references to a subset of the hashes */
+    private static final int REFERENCE_LOCK_STRIPES = 64;
+    private final Map<String, Set<ContentReference>> contentHashReferences = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> lockedContents = new ConcurrentHashMap<>();
+    private final Map<String, Long> obsoleteContents = new ConcurrentHashMap<>();
+    private final Object[] referenceLocks = new Object[REFERENCE_LOCK_STRIPES];
     private final long obsolescenceTimeout;
     private final long lockTimeout;
     private volatile boolean readWrite = false;
@@ -70,6 +77,17 @@ public class ContentRepositoryImpl implements ContentRepository {
         this.obsolescenceTimeout = obsolescenceTimeout;
         this.lockTimeout = lockTimeout;
         this.messageDigestRef = new AtomicReference<>(createMessageDigest());
+        for (int i = 0; i < referenceLocks.length; i++) {
+            referenceLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Gets the lock guarding the references to the content with the given hash, and the obsolescence of that content.
+     * Changes to the references to unrelated content are thus not blocked by the removal of content.
+     */
+    private Object getReferenceLock(String hexHash) {
+        return referenceLocks[(hexHash.hashCode() & Integer.MAX_VALUE) % referenceLocks.length];
     }
 
     private void checkDirectory(final File directory) {
@@ -99,17 +117,23 @@ public class ContentRepositoryImpl implements ContentRepository {
         byte[] sha1Bytes;
         Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
         if (stream != null) {
-            try (OutputStream fos = Files.newOutputStream(tmp);
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE);
                  MessageDigestHandle digestHandle = new MessageDigestHandle()) {
-                DigestOutputStream dos = new DigestOutputStream(fos, digestHandle.getMessageDigest());
-                BufferedInputStream bis = new BufferedInputStream(stream);
-                byte[] bytes = new byte[8192];
-                int read;
-                while ((read = bis.read(bytes)) > -1) {
-                    dos.write(bytes, 0, read);
+                final MessageDigest digest = digestHandle.getMessageDigest();
+                // Read file streams through their channel, without copying through intermediate buffers.
+                // The channel is not closed, as closing it would close the caller's stream.
+                final ReadableByteChannel in = stream instanceof FileInputStream
+                        ? ((FileInputStream) stream).getChannel() : Channels.newChannel(stream);
+                final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                while (in.read(buffer) > -1) {
+                    buffer.flip();
+                    digest.update(buffer.array(), buffer.arrayOffset(), buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
                 }
-                fos.flush();
-                sha1Bytes = dos.getMessageDigest().digest();
+                sha1Bytes = digest.digest();
             }
         } else {//create a directory instead
             Files.delete(tmp);
@@ -138,8 +162,8 @@ public class ContentRepositoryImpl implements ContentRepository {
         if(!this.readWrite) {
             return;
         }
-        synchronized (contentHashReferences) {
-            Set<ContentReference> references = contentHashReferences.computeIfAbsent(reference.getHexHash(), k -> new HashSet<>());
+        synchronized (getReferenceLock(reference.getHexHash())) {
+            Set<ContentReference> references = contentHashReferences.computeIfAbsent(reference.getHexHash(), k -> ConcurrentHashMap.newKeySet());
             references.add(reference);
         }
     }
@@ -246,7 +270,7 @@ public class ContentRepositoryImpl implements ContentRepository {
         if(!this.readWrite) {
             return;
         }
-        synchronized (contentHashReferences) {
+        synchronized (getReferenceLock(reference.getHexHash())) {
             final Set<ContentReference> references = contentHashReferences.get(reference.getHexHash());
             if (references != null) {
                 references.remove(reference);
@@ -312,12 +336,13 @@ public class ContentRepositoryImpl implements ContentRepository {
         Map<String, Set<String>> cleanedContents = new HashMap<>(2);
         cleanedContents.put(MARKED_CONTENT, new HashSet<>());
         cleanedContents.put(DELETED_CONTENT, new HashSet<>());
-        synchronized (contentHashReferences) {
-            DeploymentRepositoryLogger.ROOT_LOGGER.debug("Current content hash references are "+contentHashReferences);
-            for (ContentReference fsContent : listLocalContents()) {
-                if (!readWrite) {
-                    return Collections.emptyMap();
-                }
+        DeploymentRepositoryLogger.ROOT_LOGGER.debug("Current content hash references are "+contentHashReferences);
+        // Each content is checked while holding only the lock for its own references
+        for (ContentReference fsContent : listLocalContents()) {
+            if (!readWrite) {
+                return Collections.emptyMap();
+            }
+            synchronized (getReferenceLock(fsContent.getHexHash())) {
                 if (!contentHashReferences.containsKey(fsContent.getHexHash())) { //We have no reference to this content
                     if (markAsObsolete(fsContent)) {
                         cleanedContents.get(DELETED_CONTENT).add(fsContent.getContentIdentifier());
@@ -489,26 +514,30 @@ public class ContentRepositoryImpl implements ContentRepository {
 
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     private boolean lock(byte[] hash) throws InterruptedException {
-        String hashHex = HashUtil.bytesToHexString(hash);
-        synchronized(lockedContents) {
-            if(!lockedContents.containsKey(hashHex)) {
-                lockedContents.put(hashHex, new ReentrantLock());
+        final String hashHex = HashUtil.bytesToHexString(hash);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lockTimeout);
+        for (;;) {
+            final ReentrantLock lock = lockedContents.computeIfAbsent(hashHex, k -> new ReentrantLock());
+            if (!lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+            // unlock() may have discarded this lock before we acquired it; if so try again with the current one
+            if (lockedContents.computeIfPresent(hashHex, (k, current) -> current) == lock) {
+                return true;
             }
-            return lockedContents.get(hashHex).tryLock(lockTimeout, TimeUnit.MILLISECONDS);
+            lock.unlock();
         }
     }
 
     private void unlock(byte[] hash) {
-        String hashHex = HashUtil.bytesToHexString(hash);
-        synchronized (lockedContents) {
-            if (lockedContents.containsKey(hashHex)) {
-                ReentrantLock lock = lockedContents.get(hashHex);
-                if (lock.isHeldByCurrentThread()) {
-                    lock.unlock();
-                    if (!Files.exists(getDeploymentContentFile(hash))) {
-                        lockedContents.remove(hashHex);
-                    }
-                }
+        final String hashHex = HashUtil.bytesToHexString(hash);
+        final ReentrantLock lock = lockedContents.get(hashHex);
+        if (lock != null && lock.isHeldByCurrentThread()) {
+            lock.unlock();
+            if (!Files.exists(getDeploymentContentFile(hash))) {
+                // Only discard the lock if nobody else holds or awaits it
+                lockedContents.computeIfPresent(hashHex,
+                        (k, current) -> current == lock && !current.isLocked() && !current.hasQueuedThreads() ? null : current);
             }
         }
     }
@@ -667,7 +696,7 @@ public class ContentRepositoryImpl implements ContentRepository {
         }
     }
 
-    private static MessageDigest createMessageDigest() {
+    static MessageDigest createMessageDigest() {
         try {
             return MessageDigest.getInstance("SHA-1");
         } catch (NoSuchAlgorithmException e) {
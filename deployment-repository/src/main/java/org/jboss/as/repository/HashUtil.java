@@ -4,19 +4,24 @@
  */
 package org.jboss.as.repository;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.SequenceInputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
 
@@ -30,6 +35,12 @@ class HashUtil {
     private HashUtil() {
     }
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** Number of files read ahead of the digest when hashing a directory */
+    private static final int READ_AHEAD_COUNT = 16;
+    /** Files larger than this are not read ahead, but streamed into the digest */
+    private static final int READ_AHEAD_MAX_SIZE = 1024 * 1024;
+
     private static char[] table = {
             '0', '1', '2', '3', '4', '5', '6', '7',
             '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
@@ -91,36 +102,114 @@ class HashUtil {
 
     /**
      * Hashes a path, if the path points to a directory then hashes the contents recursively.
+     * <p>
+     * The hash is computed over the name of each file and directory followed by the content of each file, walking
+     * directories in sorted order. While the digest consumes the files in that order, the content of the next small
+     * files is read ahead in parallel, so hashing a large tree does not wait on the reading of each file in turn.
+     *
      * @param messageDigest the digest used to hash.
      * @param path the file/directory we want to hash.
      * @return the resulting hash.
      * @throws IOException
      */
     public static byte[] hashPath(MessageDigest messageDigest, Path path) throws IOException {
-        try (InputStream in = getRecursiveContentStream(path)) {
-            return hashContent(messageDigest, in);
+        final List<HashedPath> paths = new ArrayList<>();
+        collectHashedPaths(path, paths);
+        messageDigest.reset();
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        int readAhead = 0;
+        try {
+            for (int i = 0; i < paths.size(); i++) {
+                // Keep up to READ_AHEAD_COUNT of the following small files being read
+                for (; readAhead < paths.size() && readAhead <= i + READ_AHEAD_COUNT; readAhead++) {
+                    final HashedPath next = paths.get(readAhead);
+                    if (readAhead > i && next.file != null && next.size <= READ_AHEAD_MAX_SIZE) {
+                        next.content = ReadAheadPool.POOL.submit(() -> Files.readAllBytes(next.file));
+                    }
+                }
+                final HashedPath current = paths.get(i);
+                messageDigest.update(current.name);
+                if (current.content != null) {
+                    messageDigest.update(getReadAheadContent(current));
+                } else if (current.file != null) {
+                    try (FileChannel channel = FileChannel.open(current.file)) {
+                        while (channel.read(buffer) > -1) {
+                            buffer.flip();
+                            messageDigest.update(buffer);
+                            buffer.clear();
+                        }
+                    }
+                }
+            }
+        } finally {
+            for (int i = 0; i < readAhead; i++) {
+                final Future<byte[]> content = paths.get(i).content;
+                if (content != null) {
+                    content.cancel(false);
+                }
+            }
         }
+        return messageDigest.digest();
     }
 
-    private static InputStream getRecursiveContentStream(Path path) {
-        if (Files.isRegularFile(path)) {
-            try {
-                return new SequenceInputStream(new ByteArrayInputStream(path.getFileName().toString().getBytes(StandardCharsets.UTF_8)), Files.newInputStream(path));
+    /** Lists the given path, and the contents of the given path if it is a directory, in the order they are hashed. */
+    private static void collectHashedPaths(Path path, List<HashedPath> paths) {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException ex) {
+            // Not hashed, same as any path that is neither a file nor a directory
+            return;
+        }
+        final byte[] name = path.getFileName().toString().getBytes(StandardCharsets.UTF_8);
+        if (attributes.isRegularFile()) {
+            paths.add(new HashedPath(name, path, attributes.size()));
+        } else if (attributes.isDirectory()) {
+            paths.add(new HashedPath(name, null, 0));
+            final List<Path> children;
+            try (Stream<Path> list = Files.list(path)) {
+                children = list.sorted().collect(Collectors.toList());
             } catch (IOException ex) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(ex, path);
             }
-        } else if (Files.isDirectory(path)) {
-            try {
-                final List<InputStream> v = new ArrayList<>();
-                v.add(new ByteArrayInputStream(path.getFileName().toString().getBytes(StandardCharsets.UTF_8)));
-                try(Stream<Path> paths = Files.list(path)) {
-                   paths.sorted((Path path1, Path path2) -> path1.compareTo(path2)).map(p -> getRecursiveContentStream(p)).forEach(p -> v.add(p));
-                }
-                return new SequenceInputStream(Collections.enumeration(v));
-            } catch (IOException ex) {
-                throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(ex, path);
+            for (Path child : children) {
+                collectHashedPaths(child, paths);
+            }
+        }
+    }
+
+    private static byte[] getReadAheadContent(HashedPath hashedPath) throws IOException {
+        try {
+            return hashedPath.content.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(hashedPath.file.toString());
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(cause, hashedPath.file);
             }
+            throw new IllegalStateException(cause);
         }
-        return InputStream.nullInputStream();
+    }
+
+    /** A path included in a hash. */
+    private static final class HashedPath {
+        private final byte[] name;
+        /** The path if it is a regular file, or {@code null} if it is a directory */
+        private final Path file;
+        private final long size;
+        private Future<byte[]> content;
+
+        private HashedPath(byte[] name, Path file, long size) {
+            this.name = name;
+            this.file = file;
+            this.size = size;
+        }
+    }
+
+    /** Lazily creates the pool reading files ahead of the digest. */
+    private static final class ReadAheadPool {
+        private static final ForkJoinPool POOL = new ForkJoinPool(Math.min(4, Runtime.getRuntime().availableProcessors()));
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ChunkedContentRepositoryImpl}.
+ */
+public class ChunkedContentRepositoryTest {
+
+    private final File rootDir = new File("target", "chunked-repository");
+    private final File tmpRootDir = new File("target", "chunked-tmp");
+    private ChunkedContentRepositoryImpl repository;
+
+    @Before
+    public void createRepository() throws IOException {
+        destroyRepository();
+        rootDir.mkdirs();
+        tmpRootDir.mkdirs();
+        repository = new ChunkedContentRepositoryImpl(rootDir, tmpRootDir, 0L, ContentRepository.LOCK_TIMEOUT);
+        repository.readWrite();
+    }
+
+    @After
+    public void destroyRepository() throws IOException {
+        for (File dir : new File[] {rootDir, tmpRootDir, new File("target", rootDir.getName() + ChunkedContentRepositoryImpl.CHUNKS_SUFFIX)}) {
+            if (dir.exists()) {
+                deleteRecursively(dir.toPath());
+            }
+        }
+    }
+
+    @Test
+    public void testContentIsReassembled() throws Exception {
+        byte[] content = randomContent(1024 * 1024);
+        byte[] hash = repository.addContent(new ByteArrayInputStream(content));
+
+        assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(content), hash);
+        assertTrue(repository.hasContent(hash));
+        Path file = repository.getContent(hash).getPhysicalFile().toPath();
+        assertArrayEquals(content, Files.readAllBytes(file));
+        // The repository does not hold a full copy of the content
+        assertFalse(Files.exists(repository.getDeploymentContentFile(hash)));
+        assertTrue(file.toRealPath().startsWith(tmpRootDir.toPath().toRealPath()));
+    }
+
+    @Test
+    public void testReassembledCopyIsRemovedWithContent() throws Exception {
+        byte[] hash = repository.addContent(new ByteArrayInputStream(randomContent(256 * 1024)));
+        Path file = repository.getContent(hash).getPhysicalFile().toPath();
+        assertTrue(Files.exists(file));
+
+        repository.removeContent(new ContentReference(HashUtil.bytesToHexString(hash), hash));
+        assertFalse(repository.hasContent(hash));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testSimilarContentSharesChunks() throws Exception {
+        byte[] content = randomContent(4 * 1024 * 1024);
+        repository.addContent(new ByteArrayInputStream(content));
+        long chunks = countChunks();
+        assertTrue(chunks > 10);
+
+        content[content.length / 2]++;
+        byte[] hash = repository.addContent(new ByteArrayInputStream(content));
+        // Only the chunks around the modified byte are new
+        long added = countChunks() - chunks;
+        assertTrue(String.valueOf(added), added > 0 && added <= 3);
+        assertArrayEquals(content, Files.readAllBytes(repository.getContent(hash).getPhysicalFile().toPath()));
+    }
+
+    @Test
+    public void testUnreferencedChunksAreRemoved() throws Exception {
+        byte[] hash = repository.addContent(new ByteArrayInputStream(randomContent(512 * 1024)));
+        assertTrue(countChunks() > 0);
+
+        repository.cleanObsoleteContent(); // Marks the content as obsolete
+        Thread.sleep(10);
+        assertThat(repository.cleanObsoleteContent().get(ContentRepository.DELETED_CONTENT).size(), is(1));
+        assertFalse(repository.hasContent(hash));
+        assertThat(countChunks(), is(0L));
+    }
+
+    private long countChunks() throws IOException {
+        try (Stream<Path> files = Files.find(repository.getChunksRoot(), 2, (path, attributes) -> attributes.isRegularFile())) {
+            return files.count();
+        }
+    }
+
+    private static byte[] randomContent(int size) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+}
@@ -32,6 +32,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.hamcrest.CoreMatchers;
@@ -445,6 +448,42 @@ public class ContentRepositoryTest {
     /**
      * Test of removeContent method, of class ContentRepository.
      */
+    /**
+     * Test that content is only removed once all of its concurrently added references have been removed.
+     */
+    @Test
+    public void testConcurrentContentReferences() throws Exception {
+        byte[] hash;
+        try (InputStream stream = getResourceAsStream("testfile.xhtml")) {
+            hash = repository.addContent(stream);
+        }
+        final int count = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(count);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                final ContentReference reference = new ContentReference("reference" + i, hash);
+                futures.add(executor.submit(() -> repository.addContentReference(reference)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            futures.clear();
+            for (int i = 1; i < count; i++) {
+                final ContentReference reference = new ContentReference("reference" + i, hash);
+                futures.add(executor.submit(() -> repository.removeContent(reference)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(repository.hasContent(hash), is(true));
+        repository.removeContent(new ContentReference("reference0", hash));
+        assertThat(repository.hasContent(hash), is(false));
+    }
+
     @Test
     public void testRemoveContent() throws Exception {
         Path grandparent = rootDir.toPath().resolve(TESTFILE_HASH.substring(0, 2));
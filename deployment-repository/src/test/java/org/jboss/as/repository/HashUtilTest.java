@@ -0,0 +1,72 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link HashUtil}.
+ */
+public class HashUtilTest {
+
+    private final Path root = new File("target", "hash-util").toPath();
+
+    @Before
+    public void createTree() throws IOException {
+        deleteTree();
+        Random random = new Random(0);
+        for (int i = 0; i < 40; i++) {
+            Path dir = root.resolve("content").resolve("dir" + (i % 5));
+            Files.createDirectories(dir);
+            // Mostly small files, read ahead of the digest, and a few large ones, streamed into it
+            byte[] bytes = new byte[i % 10 == 0 ? 2 * 1024 * 1024 : random.nextInt(4096)];
+            random.nextBytes(bytes);
+            Files.write(dir.resolve("file" + i), bytes);
+        }
+    }
+
+    @After
+    public void deleteTree() throws IOException {
+        if (Files.exists(root)) {
+            deleteRecursively(root);
+        }
+    }
+
+    @Test
+    public void testHashPath() throws Exception {
+        Path content = root.resolve("content");
+        MessageDigest expected = MessageDigest.getInstance("SHA-1");
+        update(expected, content);
+        assertArrayEquals(expected.digest(), HashUtil.hashPath(MessageDigest.getInstance("SHA-1"), content));
+    }
+
+    /** Reference computation: names and file contents, walking directories in sorted order. */
+    private static void update(MessageDigest digest, Path path) throws IOException {
+        digest.update(path.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> children = Files.list(path)) {
+                for (Path child : (Iterable<Path>) children.sorted()::iterator) {
+                    update(digest, child);
+                }
+            }
+        } else {
+            digest.update(Files.readAllBytes(path));
+        }
+    }
+}
@@ -21,6 +21,9 @@ interface CommonAttributes {
     String SCANNER = "scanner";
     String SCAN_ENABLED = "scan-enabled";
     String SCAN_INTERVAL = "scan-interval";
+    String SCAN_MODE = "scan-mode";
+    String LAST_SCAN_DURATION = "last-scan-duration";
+    String LAST_EVENT_LAG = "last-event-lag";
     String RUNTIME_FAILURE_CAUSES_ROLLBACK = "runtime-failure-causes-rollback";
 
 }
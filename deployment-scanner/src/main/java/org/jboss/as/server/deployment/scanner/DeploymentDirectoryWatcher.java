@@ -0,0 +1,230 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Watches a deployment directory, and everything below it, for changes reported by the file system, and maintains an
+ * index of the timestamps of the deployment content found in it.
+ * <p>
+ * Computing the timestamp of exploded content requires a walk of all its files, which dominates the cost of a scan
+ * of a directory holding large exploded deployments. The index keeps the timestamp of content until an event is
+ * reported for it, or for anything below it, so that a scan only walks the content that changed. If events were
+ * lost, the whole index is discarded and the next scan reads everything again.
+ *
+ * @see FileSystemDeploymentService#setWatchMode(boolean)
+ */
+final class DeploymentDirectoryWatcher implements Closeable {
+
+    private final Path root;
+    private final Runnable changeListener;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    private final Map<Path, Long> timestamps = new ConcurrentHashMap<>();
+    /** Incremented whenever timestamps are invalidated, so that a timestamp computed meanwhile is not indexed */
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * Creates a watcher of the given directory. Events are not processed until the watcher is {@link #start() started}.
+     *
+     * @param root the directory to watch
+     * @param threadFactory the factory of the thread waiting for events
+     * @param changeListener invoked, from the thread waiting for events, after a batch of changes has been reported
+     * @throws IOException if the file system does not support watching the directory
+     */
+    DeploymentDirectoryWatcher(final Path root, final ThreadFactory threadFactory, final Runnable changeListener) throws IOException {
+        this.root = root;
+        this.changeListener = changeListener;
+        this.watchService = root.getFileSystem().newWatchService();
+        try {
+            registerTree(root);
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        this.thread = threadFactory.newThread(this::processEvents);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Gets the timestamp of the given deployment content from the index, computing and indexing it if needed.
+     *
+     * @param path the deployment content
+     * @param function computes the timestamp of the content when it is not indexed
+     * @return the timestamp
+     */
+    long getTimestamp(final Path path, final ToLongFunction<Path> function) {
+        final Long indexed = timestamps.get(path);
+        if (indexed != null) {
+            return indexed;
+        }
+        final long before = invalidations.get();
+        final long timestamp = function.applyAsLong(path);
+        if (invalidations.get() == before) {
+            timestamps.put(path, timestamp);
+        }
+        return timestamp;
+    }
+
+    /**
+     * Gets the number of times events were lost and the index discarded.
+     *
+     * @return the number of overflows
+     */
+    long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            ROOT_LOGGER.debugf(e, "Failed closing the watch service of %s", root);
+        }
+        directories.clear();
+        timestamps.clear();
+    }
+
+    private void processEvents() {
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean changed = false;
+            // Drain whatever else is pending, so that a burst of changes notifies the listener once
+            while (key != null) {
+                changed |= processEvents(key);
+                try {
+                    key = watchService.poll();
+                } catch (ClosedWatchServiceException e) {
+                    return;
+                }
+            }
+            if (changed && !closed) {
+                changeListener.run();
+            }
+        }
+    }
+
+    private boolean processEvents(final WatchKey key) {
+        final Path directory = directories.get(key);
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                overflow();
+                changed = true;
+            } else if (directory != null) {
+                final Path child = directory.resolve((Path) event.context());
+                if (isScannerMarker(child, event.kind())) {
+                    continue;
+                }
+                invalidate(child);
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                    try {
+                        registerTree(child);
+                    } catch (IOException e) {
+                        // Changes below the directory may go unnoticed, so treat it as lost events
+                        ROOT_LOGGER.debugf(e, "Failed watching %s", child);
+                        overflow();
+                    }
+                }
+                changed = true;
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+        return changed;
+    }
+
+    private void overflow() {
+        overflowCount.incrementAndGet();
+        invalidations.incrementAndGet();
+        timestamps.clear();
+        ROOT_LOGGER.tracef("File system events lost for %s, the next scan will read all content", root);
+        try {
+            // Directories created while events were lost are not watched yet
+            registerTree(root);
+        } catch (IOException e) {
+            ROOT_LOGGER.debugf(e, "Failed watching %s", root);
+        }
+    }
+
+    private void invalidate(final Path path) {
+        invalidations.incrementAndGet();
+        for (Path current = path; current != null && current.startsWith(root); current = current.getParent()) {
+            timestamps.remove(current);
+        }
+    }
+
+    private void registerTree(final Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                directories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                // Removed while walking the tree; its deletion is reported to its parent
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Whether an event concerns a marker the scanner puts down itself, which thus requires no scan. The removal of
+     * the markers reporting the outcome of a deployment is still reported, as users remove them to request an
+     * undeployment or a new deployment attempt.
+     */
+    private static boolean isScannerMarker(final Path path, final WatchEvent.Kind<?> kind) {
+        final String name = path.getFileName().toString();
+        if (name.endsWith(FileSystemDeploymentService.DEPLOYING)
+                || name.endsWith(FileSystemDeploymentService.UNDEPLOYING)
+                || name.endsWith(FileSystemDeploymentService.PENDING)) {
+            return true;
+        }
+        return kind != ENTRY_DELETE && (name.endsWith(FileSystemDeploymentService.DEPLOYED)
+                || name.endsWith(FileSystemDeploymentService.FAILED_DEPLOY)
+                || name.endsWith(FileSystemDeploymentService.UNDEPLOYED));
+    }
+}
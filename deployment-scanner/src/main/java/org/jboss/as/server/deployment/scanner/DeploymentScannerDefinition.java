@@ -11,6 +11,8 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.StringAllowedValuesValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathInfoHandler;
@@ -29,6 +31,11 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
             .addRequirements(PathManager.SERVICE_DESCRIPTOR.getName())
             .build();
 
+    /** Scan every scan-interval */
+    static final String POLL = "poll";
+    /** Scan when the file system reports a change */
+    static final String WATCH = "watch";
+
     private final PathManager pathManager;
 
     DeploymentScannerDefinition(final PathManager pathManager) {
@@ -107,7 +114,28 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setDefaultValue(ModelNode.FALSE)
                     .build();
 
-    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK};
+    protected static final SimpleAttributeDefinition SCAN_MODE =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.SCAN_MODE, ModelType.STRING, true)
+                    .setXmlName(CommonAttributes.SCAN_MODE)
+                    .setAllowExpression(true)
+                    .setDefaultValue(new ModelNode(POLL))
+                    .setAllowedValues(POLL, WATCH)
+                    .setValidator(new StringAllowedValuesValidator(POLL, WATCH))
+                    .build();
+
+    protected static final SimpleAttributeDefinition LAST_SCAN_DURATION =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.LAST_SCAN_DURATION, ModelType.LONG, true)
+                    .setStorageRuntime()
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .build();
+
+    protected static final SimpleAttributeDefinition LAST_EVENT_LAG =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.LAST_EVENT_LAG, ModelType.LONG, true)
+                    .setStorageRuntime()
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .build();
+
+    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,SCAN_MODE,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK};
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
@@ -117,11 +145,14 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
         UpdateScannerWriteAttributeHandler commonHandler = new UpdateScannerWriteAttributeHandler();
         resourceRegistration.registerReadWriteAttribute(SCAN_ENABLED, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(SCAN_INTERVAL, null, commonHandler);
+        resourceRegistration.registerReadWriteAttribute(SCAN_MODE, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_ZIPPED, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_EXPLODED, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_XML, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(DEPLOYMENT_TIMEOUT, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(RUNTIME_FAILURE_CAUSES_ROLLBACK, null, commonHandler);
+        resourceRegistration.registerMetric(LAST_SCAN_DURATION, DeploymentScannerMetricsHandler.INSTANCE);
+        resourceRegistration.registerMetric(LAST_EVENT_LAG, DeploymentScannerMetricsHandler.INSTANCE);
     }
 
     @Override
@@ -0,0 +1,54 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the metrics of a running {@link FileSystemDeploymentService}. Metrics are undefined while the scanner is
+ * not running, or until the scanner has recorded them.
+ */
+class DeploymentScannerMetricsHandler implements OperationStepHandler {
+
+    static final DeploymentScannerMetricsHandler INSTANCE = new DeploymentScannerMetricsHandler();
+
+    private DeploymentScannerMetricsHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                final String scannerName = context.getCurrentAddressValue();
+                final ServiceController<?> controller = context.getServiceRegistry(false).getService(DeploymentScannerService.getServiceName(scannerName));
+                if (controller != null && controller.getState() == ServiceController.State.UP) {
+                    final FileSystemDeploymentService scanner = (FileSystemDeploymentService) controller.getValue();
+                    final long value;
+                    switch (operation.require(NAME).asString()) {
+                        case CommonAttributes.LAST_SCAN_DURATION:
+                            value = scanner.getLastScanDuration();
+                            break;
+                        case CommonAttributes.LAST_EVENT_LAG:
+                            value = scanner.getLastEventLag();
+                            break;
+                        default:
+                            // Someone forgot something
+                            throw new IllegalStateException();
+                    }
+                    if (value >= 0) {
+                        context.getResult().set(value);
+                    }
+                }
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+}
@@ -49,6 +49,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private final PathAddress resourceAddress;
     private final long interval;
     private TimeUnit unit = TimeUnit.MILLISECONDS;
+    private final boolean watchMode;
     private final boolean enabled;
     private final boolean autoDeployZipped;
     private final boolean autoDeployExploded;
@@ -92,6 +93,32 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         return SCANNER_CAPABILITY.getCapabilityServiceName(repositoryName);
     }
 
+    /**
+     * Add the deployment scanner service to a batch, scanning every scan interval.
+     *
+     * @param context           context for the operation that is adding this service
+     * @param resourceAddress   the address of the resource that manages the service
+     * @param relativeTo        the relative to
+     * @param path              the path
+     * @param scanInterval      the scan interval
+     * @param unit              the unit of {@code scanInterval}
+     * @param autoDeployZip     whether zipped content should be auto-deployed
+     * @param autoDeployExploded whether exploded content should be auto-deployed
+     * @param autoDeployXml     whether xml content should be auto-deployed
+     * @param scanEnabled       scan enabled
+     * @param deploymentTimeout the deployment timeout
+     * @param rollbackOnRuntimeFailure rollback on runtime failures
+     * @param bootTimeService   the deployment scanner used in the boot time scan
+     * @param scheduledExecutorService executor to use for asynchronous tasks
+     */
+    public static void addService(final OperationContext context, final PathAddress resourceAddress, final String relativeTo, final String path,
+                                                                  final int scanInterval, TimeUnit unit, final boolean autoDeployZip,
+                                                                  final boolean autoDeployExploded, final boolean autoDeployXml, final boolean scanEnabled, final long deploymentTimeout, boolean rollbackOnRuntimeFailure,
+                                                                  final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService) {
+        addService(context, resourceAddress, relativeTo, path, scanInterval, unit, false, autoDeployZip, autoDeployExploded, autoDeployXml,
+                scanEnabled, deploymentTimeout, rollbackOnRuntimeFailure, bootTimeService, scheduledExecutorService);
+    }
+
     /**
      * Add the deployment scanner service to a batch.
      *
@@ -101,6 +128,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
      * @param path              the path
      * @param scanInterval      the scan interval
      * @param unit              the unit of {@code scanInterval}
+     * @param watchMode         whether the path is scanned when the file system reports a change
      * @param autoDeployZip     whether zipped content should be auto-deployed
      * @param autoDeployExploded whether exploded content should be auto-deployed
      * @param autoDeployXml     whether xml content should be auto-deployed
@@ -112,7 +140,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
      * @return the controller for the deployment scanner service
      */
     public static void addService(final OperationContext context, final PathAddress resourceAddress, final String relativeTo, final String path,
-                                                                  final int scanInterval, TimeUnit unit, final boolean autoDeployZip,
+                                                                  final int scanInterval, TimeUnit unit, final boolean watchMode, final boolean autoDeployZip,
                                                                   final boolean autoDeployExploded, final boolean autoDeployXml, final boolean scanEnabled, final long deploymentTimeout, boolean rollbackOnRuntimeFailure,
                                                                   final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService) {
         final RuntimeCapability<Void> capName =  SCANNER_CAPABILITY.fromBaseCapability(resourceAddress.getLastElement().getValue());
@@ -125,7 +153,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         sb.requires(org.jboss.as.server.deployment.Services.JBOSS_DEPLOYMENT_CHAINS);
         final DeploymentScannerService service = new DeploymentScannerService(
                 serviceConsumer, pathManager, notificationRegistry, clientFactory, processStateNotifier, scheduledExecutorService,
-                resourceAddress, relativeTo, path, scanInterval, unit, autoDeployZip,
+                resourceAddress, relativeTo, path, scanInterval, unit, watchMode, autoDeployZip,
                 autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, rollbackOnRuntimeFailure, bootTimeService);
         sb.setInstance(service);
         sb.install();
@@ -134,7 +162,8 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private DeploymentScannerService(final Consumer<DeploymentScanner> serviceConsumer, final Supplier<PathManager> pathManager,
                                      final Supplier<NotificationHandlerRegistry> notificationRegistry, final Supplier<ModelControllerClientFactory> clientFactory,
                                      final Supplier<ProcessStateNotifier> processStateNotifier, final ScheduledExecutorService scheduledExecutor,
-                                     final PathAddress resourceAddress, final String relativeTo, final String path, final int interval, final TimeUnit unit, final boolean autoDeployZipped,
+                                     final PathAddress resourceAddress, final String relativeTo, final String path, final int interval, final TimeUnit unit,
+                                     final boolean watchMode, final boolean autoDeployZipped,
                                      final boolean autoDeployExploded, final boolean autoDeployXml, final boolean enabled, final long deploymentTimeout,
                                      final boolean rollbackOnRuntimeFailure, final FileSystemDeploymentService bootTimeService) {
         this.serviceConsumer = serviceConsumer;
@@ -148,6 +177,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         this.path = path;
         this.interval = interval;
         this.unit = unit;
+        this.watchMode = watchMode;
         this.autoDeployZipped = autoDeployZipped;
         this.autoDeployExploded = autoDeployExploded;
         this.autoDeployXml = autoDeployXml;
@@ -186,6 +216,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
                         relativePath, factory, scheduledExecutor);
 
                 scanner.setScanInterval(unit.toMillis(interval));
+                scanner.setWatchMode(watchMode);
                 scanner.setAutoDeployExplodedContent(autoDeployExploded);
                 scanner.setAutoDeployZippedContent(autoDeployZipped);
                 scanner.setAutoDeployXMLContent(autoDeployXml);
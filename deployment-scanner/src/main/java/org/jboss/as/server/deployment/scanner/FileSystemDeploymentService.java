@@ -55,6 +55,8 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
@@ -110,6 +112,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * Delay, in milliseconds, between a change reported by the file system and the scan it triggers, so that the
+     * changes of a copy in progress are handled by a single scan
+     */
+    static final long WATCH_SCAN_DELAY = 200;
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -150,6 +158,17 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private volatile boolean deploymentDirAccessible = true;
     private volatile boolean lastScanSuccessful = true;
 
+    private volatile boolean watchMode;
+    /** Watcher of the deployment directory in watch mode. Only changed with the object monitor held */
+    private volatile DeploymentDirectoryWatcher watcher;
+    private ScheduledFuture<?> watchScanTask;
+    /** Whether a scan triggered by a change reported by the file system has been scheduled, but not started */
+    private final AtomicBoolean watchScanPending = new AtomicBoolean();
+    /** Time of the first change reported by the file system since the last scan started, or 0 */
+    private final AtomicLong firstPendingChange = new AtomicLong();
+    private volatile long lastScanDuration = -1;
+    private volatile long lastEventLag = -1;
+
     @SuppressWarnings("deprecation")
     private final DeploymentTransformer deploymentTransformer;
 
@@ -340,6 +359,38 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         startScan();
     }
 
+    @Override
+    public boolean isWatchMode() {
+        return watchMode;
+    }
+
+    @Override
+    public synchronized void setWatchMode(boolean watchMode) {
+        if (watchMode != this.watchMode) {
+            cancelScan();
+            this.watchMode = watchMode;
+            startScan();
+        }
+    }
+
+    /**
+     * Gets how long the last scan took.
+     *
+     * @return the duration of the last scan in milliseconds, or {@code -1} if no scan has completed
+     */
+    long getLastScanDuration() {
+        return lastScanDuration;
+    }
+
+    /**
+     * Gets how long the first change reported by the file system before the last scan waited for the scan to start.
+     *
+     * @return the lag in milliseconds, or {@code -1} if no scan was triggered by a change reported by the file system
+     */
+    long getLastEventLag() {
+        return lastEventLag;
+    }
+
     @Override
     public void setDeploymentTimeout(long deploymentTimeout) {
         this.deploymentTimeout = deploymentTimeout;
@@ -494,7 +545,15 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         if (acquireScanLock()) {
             boolean scheduleRescan = false;
             try {
+                // Changes reported from now on need another scan
+                watchScanPending.set(false);
+                final long start = System.nanoTime();
+                final long firstChange = firstPendingChange.getAndSet(0);
+                if (firstChange != 0) {
+                    lastEventLag = TimeUnit.NANOSECONDS.toMillis(start - firstChange);
+                }
                 scheduleRescan = scan(false, deploymentOperations);
+                lastScanDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
             } finally {
                 try {
                     if (scheduleRescan) {
@@ -655,7 +714,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             // Deal with any incomplete or non-scannable auto-deploy content
             ScanStatus status = handleAutoDeployFailures();
             if (status != ScanStatus.PROCEED) {
-                if (status == ScanStatus.RETRY && scanInterval > 1000) {
+                if (status == ScanStatus.RETRY && (scanInterval > 1000 || watchMode)) {
                     // schedule a non-repeating task to try again more quickly
                     scheduleRescan = true;
                 }
@@ -1149,11 +1208,19 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     }
 
     private long getDeploymentTimestamp(File deploymentFile) {
+        final DeploymentDirectoryWatcher watcher = this.watcher;
+        if (watcher != null) {
+            return watcher.getTimestamp(deploymentFile.toPath(), path -> readDeploymentTimestamp(path.toFile()));
+        }
+        return readDeploymentTimestamp(deploymentFile);
+    }
+
+    private long readDeploymentTimestamp(File deploymentFile) {
         if (deploymentFile.isDirectory()) {
             // Scan for most recent file
             long latest = deploymentFile.lastModified();
             for (File child : listDirectoryChildren(deploymentFile)) {
-                long childTimestamp = getDeploymentTimestamp(child);
+                long childTimestamp = readDeploymentTimestamp(child);
                 if (childTimestamp > latest) {
                     latest = childTimestamp;
                 }
@@ -1286,7 +1353,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private synchronized void startScan() {
         if (scanEnabled) {
-            if (scanInterval > 0) {
+            if (watchMode && startWatcher()) {
+                scanTask = scheduledExecutor.schedule(scanRunnable, 0, TimeUnit.MILLISECONDS);
+            } else if (scanInterval > 0) {
                 scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
             } else {
                 scanTask = scheduledExecutor.schedule(scanRunnable, scanInterval, TimeUnit.MILLISECONDS);
@@ -1294,6 +1363,44 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Invoke with the object monitor held
+     *
+     * @return {@code true} if the deployment directory is watched, {@code false} if it must be polled instead
+     */
+    private boolean startWatcher() {
+        if (watcher == null) {
+            try {
+                watcher = new DeploymentDirectoryWatcher(deploymentDir.toPath(), DeploymentScannerAdd.createScannerThreadFactory(),
+                        this::scheduleWatchScan);
+                watcher.start();
+            } catch (IOException | RuntimeException e) {
+                ROOT_LOGGER.cannotWatchDeploymentDir(e, deploymentDir.getAbsolutePath());
+                watcher = null;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Schedules a scan for changes reported by the file system, unless one is already pending */
+    private void scheduleWatchScan() {
+        firstPendingChange.compareAndSet(0, System.nanoTime());
+        if (watchScanPending.compareAndSet(false, true)) {
+            synchronized (this) {
+                if (scanEnabled && watcher != null) {
+                    try {
+                        watchScanTask = scheduledExecutor.schedule(scanRunnable, WATCH_SCAN_DELAY, TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // The scanner is being shut down
+                    }
+                } else {
+                    watchScanPending.set(false);
+                }
+            }
+        }
+    }
+
     /**
      * Invoke with the object monitor held
      */
@@ -1310,6 +1417,16 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             scanTask.cancel(true);
             scanTask = null;
         }
+        if (watchScanTask != null) {
+            watchScanTask.cancel(true);
+            watchScanTask = null;
+        }
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+        watchScanPending.set(false);
+        firstPendingChange.set(0);
     }
 
     private ModelNode getCompositeUpdate(final List<ModelNode> updates) {
@@ -37,6 +37,27 @@ public interface DeploymentScanner {
      */
     void setScanInterval(long scanInterval);
 
+    /**
+     * Gets whether the scanner scans when the file system reports a change in the scanned directory, rather than
+     * every scan interval.
+     *
+     * @return true if the scanned directory is watched for changes
+     */
+    default boolean isWatchMode() {
+        return false;
+    }
+
+    /**
+     * Sets whether the scanner scans when the file system reports a change in the scanned directory, rather than
+     * every scan interval. If the file system cannot report changes, the directory is scanned every scan interval.
+     * <p>
+     * The default implementation does not support watching, so the directory keeps being scanned every scan interval.
+     *
+     * @param watchMode true if the scanned directory should be watched for changes
+     */
+    default void setWatchMode(boolean watchMode) {
+    }
+
     /**
      * Start the scanner, if not already started, using a default {@link DeploymentOperations}.
      *
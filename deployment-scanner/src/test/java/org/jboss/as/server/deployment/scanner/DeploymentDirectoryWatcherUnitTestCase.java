@@ -0,0 +1,116 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentDirectoryWatcher}.
+ */
+public class DeploymentDirectoryWatcherUnitTestCase {
+
+    private static AutoDeployTestSupport testSupport;
+
+    private final Semaphore changes = new Semaphore(0);
+    private Path root;
+    private DeploymentDirectoryWatcher watcher;
+
+    @BeforeClass
+    public static void createTestSupport() throws Exception {
+        testSupport = new AutoDeployTestSupport(DeploymentDirectoryWatcherUnitTestCase.class.getSimpleName());
+    }
+
+    @AfterClass
+    public static void cleanup() throws Exception {
+        if (testSupport != null) {
+            testSupport.cleanupFiles();
+        }
+    }
+
+    @Before
+    public void setup() throws Exception {
+        root = Files.createTempDirectory(testSupport.getTempDir().toPath(), "watched");
+        Files.createDirectories(root.resolve("foo.war").resolve("WEB-INF"));
+        watcher = new DeploymentDirectoryWatcher(root, Executors.defaultThreadFactory(), changes::release);
+        watcher.start();
+    }
+
+    @After
+    public void tearDown() {
+        watcher.close();
+    }
+
+    @Test
+    public void testChangeIsReported() throws Exception {
+        Files.createFile(root.resolve("bar.war" + FileSystemDeploymentService.DO_DEPLOY));
+        awaitChange();
+    }
+
+    @Test
+    public void testChangeBelowNewDirectoryIsReported() throws Exception {
+        Path nested = Files.createDirectory(root.resolve("nested"));
+        awaitChange();
+        changes.drainPermits();
+        Files.createFile(nested.resolve("bar.war"));
+        awaitChange();
+    }
+
+    @Test
+    public void testTimestampIsIndexedUntilContentChanges() throws Exception {
+        final Path deployment = root.resolve("foo.war");
+        final AtomicInteger reads = new AtomicInteger();
+        assertEquals(1L, watcher.getTimestamp(deployment, path -> reads.incrementAndGet()));
+        assertEquals(1L, watcher.getTimestamp(deployment, path -> reads.incrementAndGet()));
+
+        // A change deep in exploded content invalidates the timestamp of the whole deployment
+        Files.createFile(deployment.resolve("WEB-INF").resolve("web.xml"));
+        awaitChange();
+        assertEquals(2L, watcher.getTimestamp(deployment, path -> reads.incrementAndGet()));
+    }
+
+    @Test
+    public void testScannerMarkersAreIgnored() throws Exception {
+        Files.createFile(root.resolve("foo.war" + FileSystemDeploymentService.DEPLOYING));
+        Files.createFile(root.resolve("foo.war" + FileSystemDeploymentService.PENDING));
+        Files.createFile(root.resolve("foo.war" + FileSystemDeploymentService.DEPLOYED));
+        Files.createFile(root.resolve("bar.war" + FileSystemDeploymentService.FAILED_DEPLOY));
+        Files.createFile(root.resolve("baz.war" + FileSystemDeploymentService.UNDEPLOYED));
+        File marker = root.resolve("foo.war" + FileSystemDeploymentService.DO_DEPLOY).toFile();
+        assertTrue(marker.createNewFile());
+        awaitChange();
+        // Only the .dodeploy marker was reported
+        assertFalse(changes.tryAcquire(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRemovedDeployedMarkerIsReported() throws Exception {
+        Path marker = Files.createFile(root.resolve("foo.war" + FileSystemDeploymentService.DEPLOYED));
+        assertFalse(changes.tryAcquire(500, TimeUnit.MILLISECONDS));
+        // Removing the marker requests the undeployment of the content
+        Files.delete(marker);
+        awaitChange();
+    }
+
+    private void awaitChange() throws InterruptedException {
+        // Some platforms only poll for changes, every few seconds
+        assertTrue(changes.tryAcquire(30, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the parsing of the scan mode of the 2.1 version of the deployment scanner subsystem.
+ */
+public class DeploymentScanner21ParsingTestCase extends AbstractSubsystemBaseTest {
+    private static final String SUBSYSTEM_XML =
+            "<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:2.1\">\n" +
+            "    <deployment-scanner name=\"watched\" path=\"deployments\" relative-to=\"jboss.server.base.dir\" " +
+                   "scan-enabled=\"false\" scan-interval=\"5000\" scan-mode=\"watch\"/>\n" +
+            "    <deployment-scanner name=\"polled\" path=\"polled\" relative-to=\"jboss.server.base.dir\" " +
+                   "scan-enabled=\"false\" scan-interval=\"5000\"/>\n" +
+            "</subsystem>";
+
+    public DeploymentScanner21ParsingTestCase() {
+        super(DeploymentScannerExtension.SUBSYSTEM_NAME, new DeploymentScannerExtension());
+    }
+
+    @Override
+    protected String getSubsystemXml() throws IOException {
+        return SUBSYSTEM_XML;
+    }
+
+    @Test
+    public void testScanMode() throws Exception {
+        KernelServices services = createKernelServicesBuilder(createAdditionalInitialization()).setSubsystemXml(SUBSYSTEM_XML).build();
+        try {
+            Assert.assertTrue(services.isSuccessfulBoot());
+            Assert.assertEquals(DeploymentScannerDefinition.WATCH, readScanMode(services, "watched"));
+            // Scanners without a scan mode poll the deployment directory
+            Assert.assertEquals(DeploymentScannerDefinition.POLL, readScanMode(services, "polled"));
+        } finally {
+            services.shutdown();
+        }
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testInvalidScanMode() throws Exception {
+        parse("<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:2.1\">\n" +
+              "    <deployment-scanner path=\"deployments\" relative-to=\"jboss.server.base.dir\" scan-mode=\"sometimes\"/>\n" +
+              "</subsystem>");
+    }
+
+    private static String readScanMode(KernelServices services, String scanner) {
+        PathAddress address = PathAddress.pathAddress(
+                PathElement.pathElement(SUBSYSTEM, DeploymentScannerExtension.SUBSYSTEM_NAME),
+                PathElement.pathElement(CommonAttributes.SCANNER, scanner));
+        ModelNode operation = Util.createEmptyOperation(READ_ATTRIBUTE_OPERATION, address);
+        operation.get(NAME).set(CommonAttributes.SCAN_MODE);
+        operation.get(INCLUDE_DEFAULTS).set(true);
+        ModelNode response = services.executeOperation(operation);
+        Assert.assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+        return response.get(RESULT).asString();
+    }
+}
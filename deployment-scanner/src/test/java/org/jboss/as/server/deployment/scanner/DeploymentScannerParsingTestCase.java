@@ -43,5 +43,11 @@ public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest
     protected String getSubsystemXml() throws IOException {
         return SUBSYSTEM_XML;
     }
+
+    @Override
+    protected String getComparisonXml() throws IOException {
+        // The subsystem is marshalled using the current namespace
+        return SUBSYSTEM_XML.replace(Namespace.DEPLOYMENT_SCANNER_2_0.getUriString(), Namespace.CURRENT.getUriString());
+    }
 }
 
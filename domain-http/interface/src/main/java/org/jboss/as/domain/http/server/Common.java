@@ -15,6 +15,8 @@ import java.nio.charset.StandardCharsets;
 import io.undertow.io.IoCallback;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.ResponseCodeHandler;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import org.jboss.dmr.ModelNode;
 
@@ -36,6 +38,7 @@ public class Common {
     static final String APPLICATION_JSON = "application/json";
     static final String TEXT_PLAIN = "text/plain";
     static final String TEXT_HTML = "text/html";
+    static final String TEXT_EVENT_STREAM = "text/event-stream";
     static final int ONE_WEEK = 7 * 24 * 60 * 60;
 
     static final String UTF_8 = "utf-8";
@@ -102,6 +105,81 @@ public class Common {
         exchange.getResponseSender().send(msgString, IoCallback.END_EXCHANGE);
     }
 
+    /**
+     * Gets whether the client accepts a {@link #APPLICATION_DMR_ENCODED} response, and does not prefer a JSON one. If
+     * both are accepted with the same quality, the one listed first is preferred.
+     *
+     * @param requestHeaders the headers of the request
+     * @return {@code true} if the response is to be DMR encoded
+     */
+    static boolean isDmrEncodedAccepted(HeaderMap requestHeaders) {
+        HeaderValues accept = requestHeaders.get(Headers.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        float dmrQuality = 0;
+        float jsonQuality = 0;
+        // Position in the header of the first media range with the highest quality of each type
+        int dmrIndex = -1;
+        int jsonIndex = -1;
+        int index = 0;
+        for (String value : accept) {
+            for (String mediaRange : value.split(",")) {
+                String[] parts = mediaRange.split(";");
+                String type = parts[0].trim();
+                float quality = getQuality(parts);
+                if (APPLICATION_DMR_ENCODED.equalsIgnoreCase(type) && (dmrIndex < 0 || quality > dmrQuality)) {
+                    dmrQuality = quality;
+                    dmrIndex = index;
+                } else if (APPLICATION_JSON.equalsIgnoreCase(type) && (jsonIndex < 0 || quality > jsonQuality)) {
+                    jsonQuality = quality;
+                    jsonIndex = index;
+                }
+                index++;
+            }
+        }
+        if (dmrQuality <= 0) {
+            return false;
+        }
+        return dmrQuality > jsonQuality || (dmrQuality == jsonQuality && dmrIndex < jsonIndex);
+    }
+
+    /**
+     * Gets whether the client accepts a {@link #TEXT_EVENT_STREAM} response.
+     *
+     * @param requestHeaders the headers of the request
+     * @return {@code true} if the messages of the operation can be sent as server-sent events
+     */
+    static boolean isEventStreamAccepted(HeaderMap requestHeaders) {
+        HeaderValues accept = requestHeaders.get(Headers.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        for (String value : accept) {
+            for (String mediaRange : value.split(",")) {
+                String[] parts = mediaRange.split(";");
+                if (TEXT_EVENT_STREAM.equalsIgnoreCase(parts[0].trim()) && getQuality(parts) > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static float getQuality(String[] mediaRangeParts) {
+        for (int i = 1; i < mediaRangeParts.length; i++) {
+            String parameter = mediaRangeParts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
     private static int getErrorResponseCode(String failureMsg) {
         // WFLY-2037. This is very hacky; better would be something like an internal failure-http-code that
         // is set on the response from the OperationFailedException and stripped from non-HTTP interfaces.
@@ -90,7 +90,8 @@ class DomainApiGenericOperationHandler implements HttpHandler {
 
         // Parse the form data
         final FormData data = parser.parseBlocking();
-        final OperationParameter.Builder operationParameterBuilder = new OperationParameter.Builder(false);
+        final OperationParameter.Builder operationParameterBuilder = new OperationParameter.Builder(false)
+                .encode(Common.isDmrEncodedAccepted(headers));
 
         // Process the operation
         final FormData.FormValue op = data.getFirst(OPERATION);
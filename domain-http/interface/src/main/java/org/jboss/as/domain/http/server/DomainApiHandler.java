@@ -118,7 +118,7 @@ class DomainApiHandler implements HttpHandler {
         final HeaderMap requestHeaders = exchange.getRequestHeaders();
         final boolean cachable;
         final boolean get = exchange.getRequestMethod().equals(Methods.GET);
-        final boolean encode = Common.APPLICATION_DMR_ENCODED.equals(requestHeaders.getFirst(Headers.ACCEPT))
+        final boolean encode = Common.isDmrEncodedAccepted(requestHeaders)
                 || Common.APPLICATION_DMR_ENCODED.equals(requestHeaders.getFirst(Headers.CONTENT_TYPE));
         final OperationParameter.Builder operationParameterBuilder = new OperationParameter.Builder(get).encode(encode);
         final int streamIndex = getStreamIndex(exchange, requestHeaders);
@@ -147,6 +147,11 @@ class DomainApiHandler implements HttpHandler {
             return;
         }
 
+        if (!get && !exchange.isInIoThread() && Common.isEventStreamAccepted(requestHeaders)) {
+            executeForEvents(exchange, dmr, encode);
+            return;
+        }
+
         final ResponseCallback callback = new ResponseCallback() {
             @Override
             void doSendResponse(final OperationResponse response) {
@@ -186,13 +191,7 @@ class DomainApiHandler implements HttpHandler {
                 : ModelController.OperationTransactionControl.COMMIT;
 
         try {
-            ModelNode headers = dmr.get(OPERATION_HEADERS);
-            headers.get(ACCESS_MECHANISM).set(AccessMechanism.HTTP.toString());
-            headers.get(CALLER_TYPE).set(USER);
-            // Don't allow a domain-uuid operation header from a user call
-            if (headers.hasDefined(DOMAIN_UUID)) {
-                headers.remove(DOMAIN_UUID);
-            }
+            setUserHeaders(dmr);
             response = modelController.execute(new OperationBuilder(dmr).build(), OperationMessageHandler.logging, control);
             if (cachable && streamIndex > -1) {
                 // Use the MD5 of the model nodes asString() method as ETag
@@ -216,6 +215,47 @@ class DomainApiHandler implements HttpHandler {
         callback.sendResponse(response);
     }
 
+    /**
+     * Executes an operation whose messages are streamed to the client as server-sent events while it executes, e.g.
+     * the samples of a metrics subscription.
+     */
+    private void executeForEvents(final HttpServerExchange exchange, final ModelNode dmr, final boolean encode) {
+        final ServerSentEventsMessageHandler events = new ServerSentEventsMessageHandler(exchange);
+        final OperationResponse response;
+        try {
+            setUserHeaders(dmr);
+            response = modelController.execute(new OperationBuilder(dmr).build(), events, ModelController.OperationTransactionControl.COMMIT);
+        } catch (Throwable t) {
+            ROOT_LOGGER.modelRequestError(t);
+            if (events.isStarted()) {
+                events.complete(new ModelNode(t.getLocalizedMessage()));
+            } else {
+                Common.sendError(exchange, encode, t.getLocalizedMessage());
+            }
+            return;
+        }
+        try {
+            final ModelNode responseNode = response.getResponseNode();
+            if (!events.isStarted() && responseNode.hasDefined(OUTCOME) && FAILED.equals(responseNode.get(OUTCOME).asString())) {
+                Common.sendError(exchange, encode, responseNode);
+            } else {
+                events.complete(responseNode);
+            }
+        } finally {
+            StreamUtils.safeClose(response);
+        }
+    }
+
+    private static void setUserHeaders(final ModelNode dmr) {
+        ModelNode headers = dmr.get(OPERATION_HEADERS);
+        headers.get(ACCESS_MECHANISM).set(AccessMechanism.HTTP.toString());
+        headers.get(CALLER_TYPE).set(USER);
+        // Don't allow a domain-uuid operation header from a user call
+        if (headers.hasDefined(DOMAIN_UUID)) {
+            headers.remove(DOMAIN_UUID);
+        }
+    }
+
     private GetOperation getOperation(HttpServerExchange exchange) {
         Map<String, Deque<String>> queryParameters = exchange.getQueryParameters();
 
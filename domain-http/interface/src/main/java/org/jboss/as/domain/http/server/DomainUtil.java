@@ -9,11 +9,14 @@ import static io.undertow.predicate.Predicates.path;
 import static io.undertow.predicate.Predicates.suffixes;
 import static io.undertow.util.Headers.HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
 
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Deque;
@@ -66,12 +69,58 @@ public class DomainUtil {
             // is not send as part of the response but expressed with the HTTP status code.
             response = response.get(RESULT);
         }
+        if (exchange.isInIoThread()) {
+            // Blocking writes are not allowed, so send the whole response at once
+            try {
+                byte[] data = getResponseBytes(response, operationParameter);
+                responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
+                exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            streamResponse(exchange, response, operationParameter);
+        }
+    }
+
+    /**
+     * Writes the response straight to the output stream of the exchange, rather than encoding it in memory first,
+     * which for a large response would hold several copies of it. The response is sent in chunks, compressed if the
+     * client accepts it.
+     */
+    private static void streamResponse(final HttpServerExchange exchange, final ModelNode response,
+                                       final OperationParameter operationParameter) {
+        exchange.startBlocking();
+        final OutputStream out = exchange.getOutputStream();
         try {
-            byte[] data = getResponseBytes(response, operationParameter);
-            responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
-            exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            writeResponse(out, response, operationParameter);
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            ROOT_LOGGER.debugf(e, "Failed writing the response to %s", exchange.getSourceAddress());
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+
+    /**
+     * Writes a response to a stream, as JSON or DMR base64 encoded.
+     *
+     * @param out the stream, which is flushed but not closed
+     * @param response the response
+     * @param operationParameter the parameters of the operation
+     * @throws IOException if writing the response failed
+     */
+    static void writeResponse(final OutputStream out, final ModelNode response,
+                              final OperationParameter operationParameter) throws IOException {
+        if (operationParameter.isEncode()) {
+            response.writeBase64(out);
+            out.flush();
+        } else {
+            final PrintWriter print = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            response.writeJSONString(print, !operationParameter.isPretty());
+            // PrintWriter does not throw, but records whether writing failed, flushing first
+            if (print.checkError()) {
+                throw new IOException("Failed writing the response");
+            }
         }
     }
 
@@ -153,16 +202,10 @@ public class DomainUtil {
     }
 
     private static byte[] getResponseBytes(final ModelNode modelNode, final OperationParameter operationParameter) throws IOException {
-        if (operationParameter.isEncode()) {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BufferedOutputStream out = new BufferedOutputStream(baos);
-            modelNode.writeBase64(out);
-            out.flush();
-            return baos.toByteArray();
-        } else {
-            String json = modelNode.toJSONString(!operationParameter.isPretty());
-            return json.getBytes(StandardCharsets.UTF_8);
-        }
+        // Same encoding as a streamed response
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeResponse(out, modelNode, operationParameter);
+        return out.toByteArray();
     }
 
     static void writeCacheHeaders(final HttpServerExchange exchange, final int status, final OperationParameter operationParameter) {
@@ -7,6 +7,7 @@ package org.jboss.as.domain.http.server;
 
 import java.util.concurrent.Executor;
 
+import io.undertow.server.ExchangeCompletionListener;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 
@@ -16,18 +17,58 @@ import io.undertow.server.HttpServerExchange;
 final class InExecutorHandler implements HttpHandler {
     private Executor executor;
     private HttpHandler next;
+    private final ManagementHttpRequestMetrics metrics;
 
     InExecutorHandler(Executor executor, HttpHandler next) {
+        this(executor, null, next);
+    }
+
+    InExecutorHandler(Executor executor, ManagementHttpRequestMetrics metrics, HttpHandler next) {
         this.executor = executor;
+        this.metrics = metrics;
         this.next = next;
     }
 
     @Override
     public void handleRequest(HttpServerExchange httpServerExchange) throws Exception {
-        httpServerExchange.dispatch(executor, next);
+        if (metrics == null) {
+            httpServerExchange.dispatch(executor, next);
+        } else {
+            TimedRequest request = new TimedRequest();
+            httpServerExchange.addExchangeCompleteListener(request);
+            httpServerExchange.dispatch(executor, request);
+        }
     }
 
     static HttpHandler wrap(Executor executor, HttpHandler next){
         return new InExecutorHandler(executor, next);
     }
+
+    static HttpHandler wrap(Executor executor, ManagementHttpRequestMetrics metrics, HttpHandler next) {
+        return new InExecutorHandler(executor, metrics, next);
+    }
+
+    /** Times a request from its dispatch to the executor until its completion. */
+    private final class TimedRequest implements HttpHandler, ExchangeCompletionListener {
+        private final long dispatched = System.nanoTime();
+        private volatile long started;
+
+        @Override
+        public void handleRequest(HttpServerExchange exchange) throws Exception {
+            started = System.nanoTime();
+            next.handleRequest(exchange);
+        }
+
+        @Override
+        public void exchangeEvent(HttpServerExchange exchange, NextListener nextListener) {
+            try {
+                long completed = System.nanoTime();
+                // A request never run by the executor was queued all along
+                long started = this.started;
+                metrics.requestCompleted((started == 0 ? completed : started) - dispatched, completed - dispatched);
+            } finally {
+                nextListener.proceed();
+            }
+        }
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.http.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the requests to the HTTP management API of a {@link ManagementHttpServer}.
+ * <p>
+ * The queue time of a request is the time it waited for a thread of the executor handling management requests, and its
+ * processing time the time from its dispatch to that executor until its response was completed, so including the
+ * queue time.
+ */
+public final class ManagementHttpRequestMetrics {
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder queueTime = new LongAdder();
+    private final LongAdder processingTime = new LongAdder();
+    private final AtomicLong maxQueueTime = new AtomicLong();
+    private final AtomicLong maxProcessingTime = new AtomicLong();
+
+    void requestCompleted(long queueNanos, long processingNanos) {
+        requestCount.increment();
+        queueTime.add(queueNanos);
+        processingTime.add(processingNanos);
+        maxQueueTime.accumulateAndGet(queueNanos, Math::max);
+        maxProcessingTime.accumulateAndGet(processingNanos, Math::max);
+    }
+
+    /**
+     * @return the number of completed requests
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return the total queue time of the completed requests, in milliseconds
+     */
+    public long getQueueTime() {
+        return TimeUnit.NANOSECONDS.toMillis(queueTime.sum());
+    }
+
+    /**
+     * @return the longest queue time of a completed request, in milliseconds
+     */
+    public long getMaxQueueTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueTime.get());
+    }
+
+    /**
+     * @return the total processing time of the completed requests, in milliseconds
+     */
+    public long getProcessingTime() {
+        return TimeUnit.NANOSECONDS.toMillis(processingTime.sum());
+    }
+
+    /**
+     * @return the longest processing time of a completed request, in milliseconds
+     */
+    public long getMaxProcessingTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxProcessingTime.get());
+    }
+}
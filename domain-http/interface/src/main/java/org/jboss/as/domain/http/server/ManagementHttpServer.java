@@ -55,12 +55,14 @@ import org.xnio.conduits.StreamSinkConduit;
 import org.xnio.ssl.SslConnection;
 import org.xnio.ssl.XnioSsl;
 
+import io.undertow.UndertowOptions;
 import io.undertow.protocols.ssl.UndertowXnioSsl;
 import io.undertow.security.handlers.AuthenticationCallHandler;
 import io.undertow.security.handlers.AuthenticationConstraintHandler;
 import io.undertow.security.handlers.SinglePortConfidentialityHandler;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.server.OpenListener;
 import io.undertow.server.handlers.BlockingHandler;
 import io.undertow.server.handlers.CanonicalPathHandler;
 import io.undertow.server.handlers.ChannelUpgradeHandler;
@@ -71,7 +73,10 @@ import io.undertow.server.handlers.cache.CacheHandler;
 import io.undertow.server.handlers.cache.DirectBufferCache;
 import io.undertow.server.handlers.error.SimpleErrorPageHandler;
 import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.server.protocol.http.AlpnOpenListener;
 import io.undertow.server.protocol.http.HttpOpenListener;
+import io.undertow.server.protocol.http2.Http2OpenListener;
+import io.undertow.server.protocol.http2.Http2UpgradeHandler;
 import io.undertow.util.Headers;
 import io.undertow.util.Methods;
 
@@ -100,7 +105,8 @@ public class ManagementHttpServer {
         RESERVED_CONTEXTS = Collections.unmodifiableSet(set);
     }
 
-    private final HttpOpenListener openListener;
+    private final OpenListener openListener;
+    private final OpenListener secureOpenListener;
     private final InetSocketAddress httpAddress;
     private final InetSocketAddress secureAddress;
     private final XnioWorker worker;
@@ -111,10 +117,13 @@ public class ManagementHttpServer {
     private final HttpAuthenticationFactory httpAuthenticationFactory;
     private final ExtensionHandlers extensionHandlers;
     private final Executor managementExecutor;
+    private final ManagementHttpRequestMetrics requestMetrics;
 
-    private ManagementHttpServer(HttpOpenListener openListener, Builder builder, SSLContext sslContext,
-                                 SslClientAuthMode sslClientAuthMode, ExtensionHandlers extensionExtensionHandlers) {
+    private ManagementHttpServer(OpenListener openListener, OpenListener secureOpenListener, Builder builder, SSLContext sslContext,
+                                 SslClientAuthMode sslClientAuthMode, ExtensionHandlers extensionExtensionHandlers,
+                                 ManagementHttpRequestMetrics requestMetrics) {
         this.openListener = openListener;
+        this.secureOpenListener = secureOpenListener;
         this.httpAddress = builder.bindAddress;
         this.secureAddress = builder.secureBindAddress;
         this.sslContext = sslContext;
@@ -123,6 +132,7 @@ public class ManagementHttpServer {
         this.httpAuthenticationFactory = builder.httpAuthenticationFactory;
         this.extensionHandlers = extensionExtensionHandlers;
         this.managementExecutor = builder.executor;
+        this.requestMetrics = requestMetrics;
     }
 
     public void start() {
@@ -131,8 +141,8 @@ public class ManagementHttpServer {
             OptionMap.Builder serverOptionsBuilder = OptionMap.builder()
                     .set(Options.TCP_NODELAY, true)
                     .set(Options.REUSE_ADDRESSES, true);
-            ChannelListener acceptListener = ChannelListeners.openListenerAdapter(openListener);
             if (httpAddress != null) {
+                ChannelListener acceptListener = ChannelListeners.openListenerAdapter(openListener);
                 normalServer = worker.createStreamConnectionServer(httpAddress, acceptListener, serverOptionsBuilder.getMap());
                 normalServer.resumeAccepts();
             }
@@ -142,6 +152,7 @@ public class ManagementHttpServer {
                 }
                 OptionMap secureOptions = serverOptionsBuilder.getMap();
                 XnioSsl xnioSsl = new UndertowXnioSsl(worker.getXnio(), secureOptions, sslContext);
+                ChannelListener acceptListener = ChannelListeners.openListenerAdapter(secureOpenListener);
                 secureServer = xnioSsl.createSslConnectionServer(worker, secureAddress, acceptListener, secureOptions);
                 secureServer.resumeAccepts();
             }
@@ -155,6 +166,15 @@ public class ManagementHttpServer {
         IoUtils.safeClose(secureServer);
     }
 
+    /**
+     * Gets the statistics of the requests handled by the HTTP management API.
+     *
+     * @return the statistics. Will not be {@code null}
+     */
+    public ManagementHttpRequestMetrics getRequestMetrics() {
+        return requestMetrics;
+    }
+
     public synchronized void addStaticContext(String contextName, ResourceManager resourceManager) {
         Assert.checkNotNullParam("contextName", contextName);
         Assert.checkNotNullParam("resourceManager", resourceManager);
@@ -235,7 +255,8 @@ public class ManagementHttpServer {
             }
         }
 
-        HttpOpenListener openListener = new HttpOpenListener(bufferPool);
+        OptionMap undertowOptions = builder.http2 ? OptionMap.create(UndertowOptions.ENABLE_HTTP2, true) : OptionMap.EMPTY;
+        HttpOpenListener openListener = new HttpOpenListener(bufferPool, undertowOptions);
 
         int secureRedirectPort = builder.secureBindAddress != null ? builder.secureBindAddress.getPort() : -1;
         // WFLY-2870 -- redirect not supported if bindAddress and secureBindAddress are using different InetAddress
@@ -245,8 +266,22 @@ public class ManagementHttpServer {
             secureRedirectPort = -1;
         }
 
-        final ExtensionHandlers extensionHandlers = setupOpenListener(openListener, secureRedirectPort, builder);
-        return new ManagementHttpServer(openListener, builder, sslContext, sslClientAuthMode, extensionHandlers);
+        final ManagementHttpRequestMetrics requestMetrics = new ManagementHttpRequestMetrics();
+        final ExtensionHandlers extensionHandlers = setupOpenListener(openListener, secureRedirectPort, builder, requestMetrics);
+        if (!builder.http2) {
+            return new ManagementHttpServer(openListener, openListener, builder, sslContext, sslClientAuthMode, extensionHandlers, requestMetrics);
+        }
+
+        // HTTP/2 is negotiated with ALPN over TLS, and with an upgrade of HTTP/1.1 (h2c) otherwise
+        HttpHandler rootHandler = openListener.getRootHandler();
+        HttpOpenListener secureHttpListener = new HttpOpenListener(bufferPool, undertowOptions);
+        secureHttpListener.setRootHandler(rootHandler);
+        Http2OpenListener http2Listener = new Http2OpenListener(bufferPool, undertowOptions);
+        http2Listener.setRootHandler(rootHandler);
+        AlpnOpenListener secureOpenListener = new AlpnOpenListener(bufferPool, undertowOptions, secureHttpListener);
+        secureOpenListener.addProtocol(Http2OpenListener.HTTP2, http2Listener, 10);
+        openListener.setRootHandler(new Http2UpgradeHandler(rootHandler));
+        return new ManagementHttpServer(openListener, secureOpenListener, builder, sslContext, sslClientAuthMode, extensionHandlers, requestMetrics);
     }
 
     private static Function<HttpServerExchange, Boolean> createReadyFunction(Builder builder) {
@@ -299,7 +334,8 @@ public class ManagementHttpServer {
         }
     }
 
-    private static ExtensionHandlers setupOpenListener(HttpOpenListener listener, int secureRedirectPort, Builder builder) {
+    private static ExtensionHandlers setupOpenListener(HttpOpenListener listener, int secureRedirectPort, Builder builder,
+                                                       ManagementHttpRequestMetrics requestMetrics) {
         CanonicalPathHandler canonicalPathHandler = new CanonicalPathHandler();
 
         ManagementHttpRequestHandler managementHttpRequestHandler = new ManagementHttpRequestHandler(builder.managementHttpRequestProcessor, canonicalPathHandler);
@@ -356,6 +392,7 @@ public class ManagementHttpServer {
         HttpHandler domainApiHandler = StreamReadLimitHandler.wrap(CorrelationHandler.wrap(
                 InExecutorHandler.wrap(
                     builder.executor,
+                    requestMetrics,
                     associateIdentity(new DomainApiCheckHandler(builder.modelController,
                         builder.allowedOrigins, builder.consoleAvailability))
                 )));
@@ -453,6 +490,7 @@ public class ManagementHttpServer {
         private Collection<String> allowedOrigins;
         private XnioWorker worker;
         private Executor executor;
+        private boolean http2;
         private Map<String, List<Header>> constantHeaders;
         private ConsoleAvailability consoleAvailability;
 
@@ -543,6 +581,17 @@ public class ManagementHttpServer {
             return this;
         }
 
+        /**
+         * Set whether HTTP/2 is supported, negotiated with ALPN by secure connections and with an upgrade of HTTP/1.1
+         * by the other ones.
+         */
+        public Builder setHttp2Enabled(boolean http2) {
+            assertNotBuilt();
+            this.http2 = http2;
+
+            return this;
+        }
+
         /**
          * Set a map of constant headers that should be set on each response by matching the path of the incoming request.
          *
@@ -0,0 +1,101 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import org.jboss.as.controller.Cancellable;
+import org.jboss.as.controller.CancellingOperationMessageHandler;
+import org.jboss.as.controller.client.MessageSeverity;
+import org.jboss.dmr.ModelNode;
+import org.xnio.IoUtils;
+
+/**
+ * {@link CancellingOperationMessageHandler} streaming the messages of an operation to the HTTP client as server-sent events,
+ * as soon as they are reported.
+ * <p>
+ * Messages which are JSON objects, e.g. the samples of a metrics subscription, are sent as unnamed events, other
+ * messages as {@code report} events. The response of the operation is sent as a final {@code result} event.
+ * If an event cannot be sent, e.g. as the client closed the connection, the operation is cancelled, unless it already
+ * completed. The messages may be reported by other threads.
+ */
+class ServerSentEventsMessageHandler implements CancellingOperationMessageHandler {
+
+    private final HttpServerExchange exchange;
+    private Cancellable operation = Cancellable.NULL;
+    private OutputStream out;
+    private boolean failed;
+
+    ServerSentEventsMessageHandler(final HttpServerExchange exchange) {
+        this.exchange = exchange;
+    }
+
+    @Override
+    public synchronized void setOperation(final Cancellable operation) {
+        this.operation = operation;
+    }
+
+    @Override
+    public synchronized void handleReport(final MessageSeverity severity, final String message) {
+        if (message.startsWith("{")) {
+            sendEvent(null, message);
+        } else {
+            sendEvent("report", message);
+        }
+    }
+
+    /**
+     * @return whether the response was started by sending an event
+     */
+    synchronized boolean isStarted() {
+        return out != null;
+    }
+
+    /**
+     * Sends the response of the operation and ends the exchange.
+     *
+     * @param response the response of the operation
+     */
+    synchronized void complete(final ModelNode response) {
+        sendEvent("result", response.toJSONString(true));
+        IoUtils.safeClose(out);
+    }
+
+    private void sendEvent(final String name, final String data) {
+        if (failed) {
+            return;
+        }
+        final StringBuilder event = new StringBuilder();
+        if (name != null) {
+            event.append("event: ").append(name).append('\n');
+        }
+        for (String line : data.split("\n", -1)) {
+            event.append("data: ").append(line).append('\n');
+        }
+        event.append('\n');
+        try {
+            if (out == null) {
+                exchange.setStatusCode(200);
+                exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, Common.TEXT_EVENT_STREAM + "; charset=" + Common.UTF_8);
+                exchange.getResponseHeaders().put(Headers.CACHE_CONTROL, "no-cache");
+                exchange.startBlocking();
+                out = exchange.getOutputStream();
+            }
+            out.write(event.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        } catch (IOException e) {
+            ROOT_LOGGER.debugf(e, "Failed sending an event to %s", exchange.getSourceAddress());
+            failed = true;
+            operation.cancel();
+        }
+    }
+}
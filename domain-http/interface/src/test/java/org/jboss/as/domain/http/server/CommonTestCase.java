@@ -0,0 +1,56 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import org.junit.Test;
+
+/**
+ * Tests of the negotiation of DMR encoded and event stream responses.
+ */
+public class CommonTestCase {
+
+    @Test
+    public void testDmrEncodedAccepted() {
+        assertTrue(Common.isDmrEncodedAccepted(accept("application/dmr-encoded")));
+        assertTrue(Common.isDmrEncodedAccepted(accept("text/html, application/dmr-encoded;q=0.5")));
+        assertTrue(Common.isDmrEncodedAccepted(accept("application/json;q=0.5, application/dmr-encoded")));
+        assertTrue(Common.isDmrEncodedAccepted(accept("application/dmr-encoded", "application/json")));
+        assertTrue(Common.isDmrEncodedAccepted(accept("application/dmr-encoded;q=0.8, application/json;q=0.8")));
+    }
+
+    @Test
+    public void testDmrEncodedNotAccepted() {
+        assertFalse(Common.isDmrEncodedAccepted(new HeaderMap()));
+        assertFalse(Common.isDmrEncodedAccepted(accept("*/*")));
+        assertFalse(Common.isDmrEncodedAccepted(accept("application/json")));
+        assertFalse(Common.isDmrEncodedAccepted(accept("application/dmr-encoded;q=0")));
+        assertFalse(Common.isDmrEncodedAccepted(accept("application/dmr-encoded;q=0.5, application/json")));
+        // With the same quality, the first listed type is preferred
+        assertFalse(Common.isDmrEncodedAccepted(accept("application/json", "application/dmr-encoded")));
+        assertFalse(Common.isDmrEncodedAccepted(accept("application/json;q=0.8, application/dmr-encoded;q=0.8")));
+    }
+
+    @Test
+    public void testEventStreamAccepted() {
+        assertTrue(Common.isEventStreamAccepted(accept("text/event-stream")));
+        assertTrue(Common.isEventStreamAccepted(accept("application/json, text/event-stream;q=0.5")));
+        assertFalse(Common.isEventStreamAccepted(new HeaderMap()));
+        assertFalse(Common.isEventStreamAccepted(accept("*/*")));
+        assertFalse(Common.isEventStreamAccepted(accept("text/event-stream;q=0")));
+    }
+
+    private static HeaderMap accept(String... values) {
+        HeaderMap headers = new HeaderMap();
+        for (String value : values) {
+            headers.add(Headers.ACCEPT, value);
+        }
+        return headers;
+    }
+}
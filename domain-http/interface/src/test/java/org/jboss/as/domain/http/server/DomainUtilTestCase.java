@@ -0,0 +1,59 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the responses streamed by {@link DomainUtil}.
+ */
+public class DomainUtilTestCase {
+
+    @Test
+    public void testJsonRoundTrip() throws IOException {
+        ModelNode response = createResponse();
+        for (boolean pretty : new boolean[] {false, true}) {
+            OperationParameter operationParameter = new OperationParameter.Builder(false).pretty(pretty).build();
+            byte[] streamed = stream(response, operationParameter);
+            assertEquals(response, ModelNode.fromJSONString(new String(streamed, StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    public void testDmrRoundTrip() throws IOException {
+        ModelNode response = createResponse();
+        OperationParameter operationParameter = new OperationParameter.Builder(false).encode(true).build();
+        byte[] streamed = stream(response, operationParameter);
+        assertEquals(response, ModelNode.fromBase64(new ByteArrayInputStream(streamed)));
+    }
+
+    private static byte[] stream(ModelNode response, OperationParameter operationParameter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DomainUtil.writeResponse(out, response, operationParameter);
+        return out.toByteArray();
+    }
+
+    private static ModelNode createResponse() {
+        ModelNode response = new ModelNode();
+        response.get("outcome").set("success");
+        ModelNode result = response.get("result");
+        // Large enough to exceed the buffers of the writers
+        for (int i = 0; i < 2000; i++) {
+            ModelNode resource = result.get("resource-" + i);
+            resource.get("name").set("résource \"" + i + "\"");
+            resource.get("enabled").set(i % 2 == 0);
+            resource.get("values").add(i).add("value-" + i);
+        }
+        return response;
+    }
+}
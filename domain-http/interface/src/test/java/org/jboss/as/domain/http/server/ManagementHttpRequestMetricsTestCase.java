@@ -0,0 +1,34 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of the statistics of the requests to the HTTP management API.
+ */
+public class ManagementHttpRequestMetricsTestCase {
+
+    @Test
+    public void testRequestCompleted() {
+        ManagementHttpRequestMetrics metrics = new ManagementHttpRequestMetrics();
+        assertEquals(0L, metrics.getRequestCount());
+        assertEquals(0L, metrics.getMaxProcessingTime());
+
+        metrics.requestCompleted(TimeUnit.MILLISECONDS.toNanos(2), TimeUnit.MILLISECONDS.toNanos(10));
+        metrics.requestCompleted(TimeUnit.MILLISECONDS.toNanos(5), TimeUnit.MILLISECONDS.toNanos(7));
+        metrics.requestCompleted(0, TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertEquals(3L, metrics.getRequestCount());
+        assertEquals(7L, metrics.getQueueTime());
+        assertEquals(5L, metrics.getMaxQueueTime());
+        assertEquals(20L, metrics.getProcessingTime());
+        assertEquals(10L, metrics.getMaxProcessingTime());
+    }
+}
@@ -81,6 +81,16 @@ public class AccessAuthorizationResourceDefinition extends SimpleResourceDefinit
             .setRuntimeServiceNotRequired()
             .build();
 
+    static final SimpleAttributeDefinition DECISION_CACHE_HIT_COUNT = new SimpleAttributeDefinitionBuilder("decision-cache-hit-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final SimpleAttributeDefinition DECISION_CACHE_MISS_COUNT = new SimpleAttributeDefinitionBuilder("decision-cache-miss-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
     public static final List<AttributeDefinition> CONFIG_ATTRIBUTES = Arrays.<AttributeDefinition>asList(PROVIDER, PERMISSION_COMBINATION_POLICY);
 
     public static AccessAuthorizationResourceDefinition forDomain(DelegatingConfigurableAuthorizer configurableAuthorizer) {
@@ -119,6 +129,10 @@ public class AccessAuthorizationResourceDefinition extends SimpleResourceDefinit
                 AccessAuthorizationRolesHandler.getStandardRolesHandler(authorizerConfiguration));
         resourceRegistration.registerReadOnlyAttribute(ALL_ROLE_NAMES,
                 AccessAuthorizationRolesHandler.getAllRolesHandler(authorizerConfiguration));
+        resourceRegistration.registerMetric(DECISION_CACHE_HIT_COUNT,
+                (context, operation) -> context.getResult().set(configurableAuthorizer.getDecisionCacheHitCount()));
+        resourceRegistration.registerMetric(DECISION_CACHE_MISS_COUNT,
+                (context, operation) -> context.getResult().set(configurableAuthorizer.getDecisionCacheMissCount()));
     }
 
     @Override
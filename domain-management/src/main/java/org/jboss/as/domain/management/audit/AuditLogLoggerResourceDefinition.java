@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
@@ -25,6 +26,8 @@ import org.jboss.as.controller.audit.AuditLogger;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.domain.management._private.DomainManagementResolver;
@@ -56,7 +59,29 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
             .setAllowExpression(true)
             .setDefaultValue(ModelNode.TRUE).build();
 
-    static final List<SimpleAttributeDefinition> ATTRIBUTE_DEFINITIONS = Arrays.asList(LOG_BOOT, LOG_READ_ONLY, ENABLED);
+    public static final SimpleAttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder("queue-size", ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.ZERO)
+            .setValidator(new IntRangeValidator(0, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition OVERFLOW_POLICY = new SimpleAttributeDefinitionBuilder("overflow-policy", ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(ManagedAuditLogger.OverflowPolicy.BLOCK.toString()))
+            .setValidator(EnumValidator.create(ManagedAuditLogger.OverflowPolicy.class))
+            .build();
+
+    static final List<SimpleAttributeDefinition> ATTRIBUTE_DEFINITIONS = Arrays.asList(LOG_BOOT, LOG_READ_ONLY, ENABLED, QUEUE_SIZE, OVERFLOW_POLICY);
+
+    public static final SimpleAttributeDefinition QUEUE_DEPTH = new SimpleAttributeDefinitionBuilder("queue-depth", ModelType.INT)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition DROPPED_RECORDS = new SimpleAttributeDefinitionBuilder("dropped-records", ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
 
     private final ManagedAuditLogger auditLogger;
 
@@ -83,6 +108,14 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
 
         resourceRegistration.registerReadWriteAttribute(LOG_READ_ONLY, null, new AuditLogReadOnlyWriteAttributeHandler(auditLogger));
         resourceRegistration.registerReadWriteAttribute(ENABLED, null, new AuditLogEnabledWriteAttributeHandler(auditLogger));
+        AuditLogQueueWriteAttributeHandler queueWriteHandler = new AuditLogQueueWriteAttributeHandler(auditLogger);
+        resourceRegistration.registerReadWriteAttribute(QUEUE_SIZE, null, queueWriteHandler);
+        resourceRegistration.registerReadWriteAttribute(OVERFLOW_POLICY, null, queueWriteHandler);
+
+        if (auditLogger != null) {
+            resourceRegistration.registerMetric(QUEUE_DEPTH, new AuditLogQueueMetricHandler(auditLogger));
+            resourceRegistration.registerMetric(DROPPED_RECORDS, new AuditLogQueueMetricHandler(auditLogger));
+        }
     }
 
     @Override
@@ -110,6 +143,12 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
         return addOp;
     }
 
+    private static void setQueue(OperationContext context, ModelNode model, ManagedAuditLogger auditLogger) throws OperationFailedException {
+        final int size = QUEUE_SIZE.resolveModelAttribute(context, model).asInt();
+        final String overflowPolicy = OVERFLOW_POLICY.resolveModelAttribute(context, model).asString();
+        auditLogger.setQueue(size, ManagedAuditLogger.OverflowPolicy.forName(overflowPolicy));
+    }
+
     private static class AuditLogLoggerAddHandler implements OperationStepHandler {
 
         private final ManagedAuditLogger auditLoggerProvider;
@@ -131,9 +170,12 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
                     @Override
                     public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
                         final boolean wasReadOnly = auditLoggerProvider.isLogReadOnly();
+                        final int oldQueueSize = auditLoggerProvider.getQueueSize();
+                        final ManagedAuditLogger.OverflowPolicy oldOverflowPolicy = auditLoggerProvider.getQueueOverflowPolicy();
 
                         auditLoggerProvider.setLogBoot(AuditLogLoggerResourceDefinition.LOG_BOOT.resolveModelAttribute(context, model).asBoolean());
                         auditLoggerProvider.setLogReadOnly(AuditLogLoggerResourceDefinition.LOG_READ_ONLY.resolveModelAttribute(context, model).asBoolean());
+                        setQueue(context, model, auditLoggerProvider);
                         boolean enabled = AuditLogLoggerResourceDefinition.ENABLED.resolveModelAttribute(context, model).asBoolean();
                         final AuditLogger.Status status = enabled ? AuditLogger.Status.LOGGING : AuditLogger.Status.DISABLED;
                         context.completeStep((OperationContext.ResultAction resultAction, OperationContext context1, ModelNode operation1) -> {
@@ -141,6 +183,7 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
                                 auditLoggerProvider.setLoggerStatus(status);
                             } else {
                                 auditLoggerProvider.setLogReadOnly(wasReadOnly);
+                                auditLoggerProvider.setQueue(oldQueueSize, oldOverflowPolicy);
                             }
                         });
                     }
@@ -190,6 +233,30 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    private static class AuditLogQueueMetricHandler extends AbstractRuntimeOnlyHandler {
+
+        private final ManagedAuditLogger auditLogger;
+
+        AuditLogQueueMetricHandler(ManagedAuditLogger auditLogger) {
+            this.auditLogger = auditLogger;
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return true;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            String attr = operation.require(ModelDescriptionConstants.NAME).asString();
+            if (attr.equals(QUEUE_DEPTH.getName())) {
+                context.getResult().set(auditLogger.getQueueDepth());
+            } else if (attr.equals(DROPPED_RECORDS.getName())) {
+                context.getResult().set(auditLogger.getDroppedRecords());
+            }
+        }
+    }
+
     private static class AuditLogEnabledWriteAttributeHandler extends AbstractWriteAttributeHandler<ManagedAuditLogger.Status> {
 
         private final ManagedAuditLogger auditLogger;
@@ -222,6 +289,37 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    private static class AuditLogQueueWriteAttributeHandler extends AbstractWriteAttributeHandler<Void> {
+
+        private final ManagedAuditLogger auditLogger;
+
+        AuditLogQueueWriteAttributeHandler(ManagedAuditLogger auditLogger) {
+            super(AuditLogLoggerResourceDefinition.QUEUE_SIZE, AuditLogLoggerResourceDefinition.OVERFLOW_POLICY);
+            this.auditLogger = auditLogger;
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return auditLogger != null;
+        }
+
+        @Override
+        protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName,
+                                               ModelNode resolvedValue, ModelNode currentValue,
+                                               HandbackHolder<Void> handbackHolder) throws OperationFailedException {
+            setQueue(context, context.readResource(PathAddress.EMPTY_ADDRESS).getModel(), auditLogger);
+            return false;
+        }
+
+        @Override
+        protected void revertUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName,
+                                             ModelNode valueToRestore, ModelNode valueToRevert, Void handback) throws OperationFailedException {
+            final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel().clone();
+            model.get(attributeName).set(valueToRestore);
+            setQueue(context, model, auditLogger);
+        }
+    }
+
     private static class AuditLogReadOnlyWriteAttributeHandler extends AbstractWriteAttributeHandler<Boolean> {
 
         private final ManagedAuditLogger auditLogger;
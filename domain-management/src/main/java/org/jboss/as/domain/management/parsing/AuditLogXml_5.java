@@ -601,6 +601,20 @@ final class AuditLogXml_5 implements AuditLogXml {
                     AuditLogLoggerResourceDefinition.ENABLED.parseAndSetParameter(value, add, reader);
                     break;
                 }
+                case QUEUE_SIZE: {
+                    if (expectedNs.getMajorVersion() < 20) {
+                        throw unexpectedAttribute(reader, i);
+                    }
+                    AuditLogLoggerResourceDefinition.QUEUE_SIZE.parseAndSetParameter(value, add, reader);
+                    break;
+                }
+                case OVERFLOW_POLICY: {
+                    if (expectedNs.getMajorVersion() < 20) {
+                        throw unexpectedAttribute(reader, i);
+                    }
+                    AuditLogLoggerResourceDefinition.OVERFLOW_POLICY.parseAndSetParameter(value, add, reader);
+                    break;
+                }
                 default: {
                     throw unexpectedAttribute(reader, i);
                 }
@@ -760,6 +774,8 @@ final class AuditLogXml_5 implements AuditLogXml {
             AuditLogLoggerResourceDefinition.LOG_BOOT.marshallAsAttribute(config, writer);
             AuditLogLoggerResourceDefinition.LOG_READ_ONLY.marshallAsAttribute(config, writer);
             AuditLogLoggerResourceDefinition.ENABLED.marshallAsAttribute(config, writer);
+            AuditLogLoggerResourceDefinition.QUEUE_SIZE.marshallAsAttribute(config, writer);
+            AuditLogLoggerResourceDefinition.OVERFLOW_POLICY.marshallAsAttribute(config, writer);
             if (config.hasDefined(ModelDescriptionConstants.HANDLER) && !config.get(ModelDescriptionConstants.HANDLER).keys().isEmpty()) {
                 writer.writeStartElement(Element.HANDLERS.getLocalName());
                 for (String name : config.get(ModelDescriptionConstants.HANDLER).keys()) {
@@ -13,6 +13,7 @@ import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathManagerService;
+import org.jboss.as.controller.transform.TransformationCache;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.host.controller.ignored.IgnoredDomainResourceRegistry;
 import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
@@ -153,6 +154,26 @@ public interface DomainController {
 
     ExtensionRegistry getExtensionRegistry();
 
+    /**
+     * Gets the cache of the domain model transformed and described for the slave host controllers registering with
+     * this domain controller, which is invalidated whenever the domain model changes.
+     *
+     * @return the cache, or {@code null} if the transformed domain model is not cached
+     */
+    default TransformationCache<ModelNode> getTransformedDomainModelCache() {
+        return null;
+    }
+
+    /**
+     * Gets the revisions of the domain model of this domain controller, used to only send the changed resources to
+     * the reconnecting slave host controllers.
+     *
+     * @return the history, or {@code null} if the changes of the domain model are not recorded
+     */
+    default DomainModelHistory getDomainModelHistory() {
+        return null;
+    }
+
     ImmutableCapabilityRegistry getCapabilityRegistry();
 
     ExpressionResolver getExpressionResolver();
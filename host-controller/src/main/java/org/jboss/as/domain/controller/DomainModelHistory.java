@@ -0,0 +1,134 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Revisions of the domain model of the domain controller, with the top level resources changed by the recent ones,
+ * so that a reconnecting host controller is only sent the resources changed since the revision it last applied.
+ * <p>
+ * A revision is only meaningful for the domain controller process which assigned it, so it is qualified by an epoch
+ * generated when this process started.
+ */
+public final class DomainModelHistory {
+
+    /** Key of the epoch of a revision */
+    public static final String EPOCH = "epoch";
+    /** Key of the number of a revision */
+    public static final String REVISION = "revision";
+
+    private static final int DEFAULT_SIZE = 1000;
+
+    private static final class Change {
+        private final long revision;
+        private final Set<PathAddress> resources;
+
+        private Change(long revision, Set<PathAddress> resources) {
+            this.revision = revision;
+            this.resources = resources;
+        }
+    }
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final int size;
+    /** Guarded by this - the changes of the recent revisions, the oldest first */
+    private final ArrayDeque<Change> changes = new ArrayDeque<>();
+    /** Guarded by this - the current revision */
+    private long revision;
+    /** Guarded by this - the latest revision whose changes were discarded */
+    private long discardedRevision;
+
+    public DomainModelHistory() {
+        this(getSize());
+    }
+
+    /**
+     * Creates a history.
+     *
+     * @param size the number of revisions whose changes are kept
+     */
+    public DomainModelHistory(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Records a new revision of the domain model.
+     *
+     * @param affectedAddresses the addresses of the changed resources, those of hosts being ignored
+     */
+    public synchronized void record(Set<PathAddress> affectedAddresses) {
+        final Set<PathAddress> resources = new HashSet<>();
+        for (PathAddress address : affectedAddresses) {
+            if (address.size() == 0) {
+                resources.add(PathAddress.EMPTY_ADDRESS);
+            } else if (!HOST.equals(address.getElement(0).getKey())) {
+                resources.add(address.subAddress(0, 1));
+            }
+        }
+        if (resources.isEmpty()) {
+            return;
+        }
+        changes.addLast(new Change(++revision, Collections.unmodifiableSet(resources)));
+        while (changes.size() > size) {
+            discardedRevision = changes.removeFirst().revision;
+        }
+    }
+
+    /**
+     * Gets the current revision of the domain model.
+     *
+     * @return the revision, with its {@link #EPOCH} and {@link #REVISION}
+     */
+    public synchronized ModelNode getRevision() {
+        final ModelNode result = new ModelNode();
+        result.get(EPOCH).set(epoch);
+        result.get(REVISION).set(revision);
+        return result;
+    }
+
+    /**
+     * Gets the top level resources changed since a revision.
+     *
+     * @param since the revision, as returned by {@link #getRevision()}. May be {@code null}
+     * @return the addresses of the changed top level resources, including the empty address if the root resource
+     *         changed, or {@code null} if the changes since the revision are unknown
+     */
+    public synchronized Set<PathAddress> getChangesSince(ModelNode since) {
+        if (since == null || !since.hasDefined(EPOCH) || !since.hasDefined(REVISION) || !epoch.equals(since.get(EPOCH).asString())) {
+            return null;
+        }
+        final long sinceRevision = since.get(REVISION).asLong();
+        if (sinceRevision < discardedRevision || sinceRevision > revision) {
+            return null;
+        }
+        final Set<PathAddress> result = new HashSet<>();
+        for (Change change : changes) {
+            if (change.revision > sinceRevision) {
+                result.addAll(change.resources);
+            }
+        }
+        return result;
+    }
+
+    private static int getSize() {
+        try {
+            return Math.max(0, Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("jboss.as.domain.model.history.size", String.valueOf(DEFAULT_SIZE))));
+        } catch (NumberFormatException e) {
+            return DEFAULT_SIZE;
+        }
+    }
+}
@@ -8,7 +8,9 @@ package org.jboss.as.domain.controller.operations;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.transform.TransformationCache;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -21,11 +23,20 @@ class ReadDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
     private final boolean lock;
+    private final TransformationCache<ModelNode> cache;
+    private final TransformationCache.Key cacheKey;
 
     public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock) {
+        this(ignoredTransformationRegistry, transformers, lock, null, null);
+    }
+
+    ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock,
+                           final TransformationCache<ModelNode> cache, final TransformationCache.Key cacheKey) {
         this.transformers = transformers;
         this.ignoredTransformationRegistry = ignoredTransformationRegistry != null ? ignoredTransformationRegistry : Transformers.DEFAULT;
         this.lock = lock;
+        this.cache = cacheKey != null ? cache : null;
+        this.cacheKey = cacheKey;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -35,10 +46,25 @@ class ReadDomainModelHandler implements OperationStepHandler {
             context.acquireControllerLock();
         }
 
+        if (cache != null) {
+            final ModelNode cached = cache.get(cacheKey);
+            if (cached != null) {
+                DomainControllerLogger.ROOT_LOGGER.debugf("Reusing the domain model transformed for %s for host %s", cacheKey,
+                        transformers.getTarget().getHostName());
+                context.getResult().set(cached);
+                return;
+            }
+        }
+
         final Transformers.TransformationInputs transformationInputs = new Transformers.TransformationInputs(context);
         final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
                 transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
         context.getResult().set(readUtil.getDescribedResources());
+        if (cache != null) {
+            final ModelNode described = context.getResult().clone();
+            described.protect();
+            cache.put(cacheKey, described);
+        }
     }
 
 }
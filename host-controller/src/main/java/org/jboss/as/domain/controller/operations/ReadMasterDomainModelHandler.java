@@ -5,13 +5,18 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import java.util.Set;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.TransformationCache;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.DomainModelHistory;
+import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.as.host.controller.mgmt.HostInfo;
 import org.jboss.dmr.ModelNode;
 
@@ -32,12 +37,33 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final ExtensionRegistry extensionRegistry;
     private final boolean lock;
+    private final TransformationCache<ModelNode> cache;
+    private final DomainModelHistory history;
 
     public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock) {
+        this(hostInfo, transformers, extensionRegistry, lock, null, null);
+    }
+
+    /**
+     * Creates the handler.
+     *
+     * @param hostInfo the information of the host
+     * @param transformers the transformers of the host
+     * @param extensionRegistry the extension registry
+     * @param lock whether to acquire the controller lock
+     * @param cache cache of the domain model described for the hosts, reused for the hosts with the same versions and
+     *              ignoring the same configuration. May be {@code null}
+     * @param history the revisions of the domain model, used to only describe the resources changed since the revision
+     *                last applied by the host. May be {@code null}
+     */
+    public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry,
+                                        boolean lock, final TransformationCache<ModelNode> cache, final DomainModelHistory history) {
         this.hostInfo = hostInfo;
         this.transformers = transformers;
         this.extensionRegistry = extensionRegistry;
         this.lock = lock;
+        this.cache = cache;
+        this.history = history;
     }
 
     @Override
@@ -48,6 +74,8 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
         }
 
         final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
+        ModelNode ignoredConfiguration = null;
+        TransformationCache.Key cacheKey = null;
         final Resource resource = context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS);
         // The host info is only null in the tests
         if (hostInfo == null) {
@@ -55,10 +83,37 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
         } else {
             final ReadMasterDomainModelUtil.RequiredConfigurationHolder rc = hostInfo.populateRequiredConfigurationHolder(resource, extensionRegistry);
             ignoredTransformationRegistry = ReadMasterDomainModelUtil.createHostIgnoredRegistry(hostInfo, rc);
+            ignoredConfiguration = hostInfo.describeIgnoredConfiguration(rc);
+            if (cache != null) {
+                cacheKey = cache.createKey(transformers.getTarget(), ignoredConfiguration);
+            }
         }
 
-        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock);
+        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock, cache, cacheKey);
         context.addStep(handler, OperationContext.Stage.MODEL);
+
+        if (history != null && hostInfo != null) {
+            final ModelNode revision = history.getRevision();
+            revision.get(ReadMasterDomainModelUtil.IGNORED_CONFIGURATION).set(ignoredConfiguration);
+            // The resources required by a host ignoring the unaffected configuration may have changed with its servers
+            final Set<PathAddress> changedResources = hostInfo.isIgnoreUnaffectedConfig() ? null
+                    : ReadMasterDomainModelUtil.getChangedResources(history, hostInfo.getDomainModelRevision(), ignoredConfiguration);
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    context.getResponseHeaders().get(ReadMasterDomainModelUtil.DOMAIN_MODEL_REVISION).set(revision);
+                    if (changedResources != null) {
+                        final ModelNode delta = context.getResponseHeaders().get(ReadMasterDomainModelUtil.DOMAIN_MODEL_DELTA).setEmptyList();
+                        for (PathAddress address : changedResources) {
+                            delta.add(address.toModelNode());
+                        }
+                        context.getResult().set(ReadMasterDomainModelUtil.describeDomainModelDelta(context.getResult().asList(), changedResources));
+                        DomainControllerLogger.ROOT_LOGGER.debugf("Sending the changes of %s since revision %s to host %s",
+                                changedResources, hostInfo.getDomainModelRevision(), hostInfo.getHostName());
+                    }
+                }
+            }, OperationContext.Stage.MODEL);
+        }
     }
 
 }
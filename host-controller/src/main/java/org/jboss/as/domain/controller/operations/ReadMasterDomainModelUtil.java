@@ -6,6 +6,7 @@ package org.jboss.as.domain.controller.operations;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST_EXCLUDE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
@@ -27,6 +28,7 @@ import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.DomainModelHistory;
 import org.jboss.as.host.controller.IgnoredNonAffectedServerGroupsUtil;
 import org.jboss.as.host.controller.mgmt.HostInfo;
 import org.jboss.dmr.ModelNode;
@@ -48,6 +50,23 @@ public class ReadMasterDomainModelUtil {
 
     public static final String ORDERED_CHILD_TYPES_PROPERTY = "ordered-child-types";
 
+    /**
+     * Key of the revision of the domain model last applied by a host, in the information it sends when registering,
+     * and of the revision of the domain model sent to it, in the response headers.
+     */
+    public static final String DOMAIN_MODEL_REVISION = "domain-model-revision";
+
+    /**
+     * Response header listing the addresses of the top level resources changed since the revision of the domain model
+     * last applied by a host, when only those resources are described.
+     */
+    public static final String DOMAIN_MODEL_DELTA = "domain-model-delta";
+
+    /**
+     * Key of the description of the configuration ignored by a host, in the revision of the domain model sent to it.
+     */
+    public static final String IGNORED_CONFIGURATION = "ignored-configuration";
+
     private final Set<PathElement> newRootResources = new HashSet<>();
 
     private volatile List<ModelNode> describedResources;
@@ -196,6 +215,91 @@ public class ReadMasterDomainModelUtil {
         return root;
     }
 
+    /**
+     * Gets the top level resources of the domain model to send to a host, if it can be sent only the resources changed
+     * since the revision it last applied.
+     *
+     * @param history the revisions of the domain model
+     * @param since the revision last applied by the host, as sent to it. May be {@code null}
+     * @param ignoredConfiguration the description of the configuration currently ignored by the host
+     * @return the addresses of the changed top level resources, or {@code null} if the host is to be sent the whole
+     *         domain model
+     */
+    static Set<PathAddress> getChangedResources(final DomainModelHistory history, final ModelNode since, final ModelNode ignoredConfiguration) {
+        // The host may ignore resources it did not, which it then has to remove, or the other way around
+        if (since == null || !since.has(IGNORED_CONFIGURATION) || !ignoredConfiguration.equals(since.get(IGNORED_CONFIGURATION))) {
+            return null;
+        }
+        final Set<PathAddress> changedResources = history.getChangesSince(since);
+        if (changedResources != null) {
+            for (PathAddress address : changedResources) {
+                // The extensions excluded for the host may have changed
+                if (address.size() > 0 && HOST_EXCLUDE.equals(address.getElement(0).getKey())) {
+                    return null;
+                }
+            }
+        }
+        return changedResources;
+    }
+
+    /**
+     * Keeps the description of the changed top level resources of the domain model.
+     *
+     * @param describedResources the description of the domain model
+     * @param changedResources the addresses of the changed top level resources, including the empty address if the
+     *                         root resource changed
+     * @return the description of the changed resources
+     */
+    static List<ModelNode> describeDomainModelDelta(final List<ModelNode> describedResources, final Set<PathAddress> changedResources) {
+        final List<ModelNode> delta = new ArrayList<>();
+        for (ModelNode description : describedResources) {
+            if (isChanged(description, changedResources)) {
+                delta.add(description);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Applies the description of the changed top level resources of the domain model to the description of the
+     * domain model last applied by a host.
+     *
+     * @param localResources the description of the domain model of the host
+     * @param delta the description of the changed resources, as returned by {@link #describeDomainModelDelta}
+     * @param changedResources the addresses of the changed top level resources, including the empty address if the
+     *                         root resource changed
+     * @return the description of the domain model
+     */
+    static List<ModelNode> applyDomainModelDelta(final List<ModelNode> localResources, final List<ModelNode> delta, final Set<PathAddress> changedResources) {
+        final List<ModelNode> result = new ArrayList<>(localResources.size() + delta.size());
+        // The root resource comes first, followed by the unchanged resources, parents before their children
+        for (ModelNode description : delta) {
+            if (isRoot(description)) {
+                result.add(description);
+            }
+        }
+        for (ModelNode description : localResources) {
+            if (!isChanged(description, changedResources)) {
+                result.add(description);
+            }
+        }
+        for (ModelNode description : delta) {
+            if (!isRoot(description)) {
+                result.add(description);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isRoot(final ModelNode description) {
+        return description.require(DOMAIN_RESOURCE_ADDRESS).asList().isEmpty();
+    }
+
+    private static boolean isChanged(final ModelNode description, final Set<PathAddress> changedResources) {
+        final PathAddress address = PathAddress.pathAddress(description.require(DOMAIN_RESOURCE_ADDRESS));
+        return changedResources.contains(address.size() == 0 ? address : address.subAddress(0, 1));
+    }
+
     /**
      * Process the host info and determine which configuration elements are required on the slave host.
      *
@@ -5,11 +5,17 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOMAIN_MODEL;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+
+import java.util.HashSet;
 import java.util.Set;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
@@ -22,7 +28,8 @@ import org.jboss.dmr.ModelNode;
  * the local model and pass them to the {@code SyncModelOperationHandler}.
  *
  * This handler will be called for the initial host registration as well when reconnecting and tries to sync the complete
- * model, automatically ignoring unused resources if configured.
+ * model, automatically ignoring unused resources if configured. When reconnecting, the domain controller may only send
+ * the top level resources changed since the model was last synchronized, which replace those of the local model.
  *
  * @author Emanuel Muckenhuber
  */
@@ -53,7 +60,25 @@ public class SyncDomainModelOperationHandler extends SyncModelHandlerBase {
         context.addStep(new OperationStepHandler() {
             @Override
             public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
-                SyncDomainModelOperationHandler.super.execute(context, operation);
+                if (operation.hasDefined(ReadMasterDomainModelUtil.DOMAIN_MODEL_DELTA)) {
+                    // Only the changed resources were sent, apply them to the description of the local model
+                    final ModelNode localModel = describeLocalModel(null);
+                    if (localModel.hasDefined(FAILURE_DESCRIPTION)) {
+                        context.getFailureDescription().set(localModel.get(FAILURE_DESCRIPTION));
+                        return;
+                    }
+                    final Set<PathAddress> changedResources = new HashSet<>();
+                    for (ModelNode address : operation.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_DELTA).asList()) {
+                        changedResources.add(PathAddress.pathAddress(address));
+                    }
+                    final ModelNode syncOperation = operation.clone();
+                    syncOperation.get(DOMAIN_MODEL).set(ReadMasterDomainModelUtil.applyDomainModelDelta(localModel.get(RESULT).asList(),
+                            operation.get(DOMAIN_MODEL).asList(), changedResources));
+                    syncOperation.remove(ReadMasterDomainModelUtil.DOMAIN_MODEL_DELTA);
+                    SyncDomainModelOperationHandler.super.execute(context, syncOperation);
+                } else {
+                    SyncDomainModelOperationHandler.super.execute(context, operation);
+                }
             }
         }, OperationContext.Stage.MODEL, true);
 
@@ -56,9 +56,8 @@ abstract class SyncModelHandlerBase implements OperationStepHandler {
         final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry = createRegistry(context, remote, remoteExtensions);
 
         // Describe the local model
-        final ReadDomainModelHandler readModelHandler = new ReadDomainModelHandler(ignoredTransformationRegistry, TRANSFORMERS, true);
         final HostControllerRegistrationHandler.OperationExecutor operationExecutor = parameters.getOperationExecutor();
-        final ModelNode localModel = operationExecutor.executeReadOnly(OPERATION, readModelHandler, ModelController.OperationTransactionControl.COMMIT);
+        final ModelNode localModel = describeLocalModel(ignoredTransformationRegistry);
         if (localModel.hasDefined(FAILURE_DESCRIPTION)) {
             context.getFailureDescription().set(localModel.get(FAILURE_DESCRIPTION));
             return;
@@ -94,6 +93,17 @@ abstract class SyncModelHandlerBase implements OperationStepHandler {
         }, OperationContext.Stage.MODEL, true);
     }
 
+    /**
+     * Describes the local domain model.
+     *
+     * @param ignoredTransformationRegistry the registry of the resources not to describe, may be {@code null}
+     * @return the response of the operation describing the model
+     */
+    ModelNode describeLocalModel(Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry) {
+        final ReadDomainModelHandler readModelHandler = new ReadDomainModelHandler(ignoredTransformationRegistry, TRANSFORMERS, true);
+        return parameters.getOperationExecutor().executeReadOnly(OPERATION, readModelHandler, ModelController.OperationTransactionControl.COMMIT);
+    }
+
     protected SyncModelParameters getParameters() {
         return parameters;
     }
@@ -12,16 +12,29 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPE
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.domain.controller.logging.DomainControllerLogger.HOST_CONTROLLER_LOGGER;
 
+import java.net.InetAddress;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
+import org.jboss.as.controller.AccessAuditContext;
 import org.jboss.as.controller.BlockingTimeout;
 import org.jboss.as.controller.CurrentOperationIdHolder;
 import org.jboss.as.controller.OperationContext;
@@ -37,6 +50,8 @@ import org.jboss.as.controller.transform.Transformers;
 import org.jboss.dmr.ModelNode;
 import org.jboss.threads.AsyncFuture;
 import org.jboss.as.controller.operations.DomainOperationTransmuter;
+import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Executes the first phase of a two phase operation on one or more remote, slave host controllers.
@@ -45,13 +60,35 @@ import org.jboss.as.controller.operations.DomainOperationTransmuter;
  */
 public class DomainSlaveHandler implements OperationStepHandler {
 
+    /**
+     * Maximum number of hosts the operation is transformed for and sent to concurrently. The hosts then prepare the
+     * operation in parallel, whatever the value.
+     */
+    private static final int MAX_PARALLEL_HOST_REQUESTS = getMaxParallelHostRequests();
+
     private final MultiphaseOverallContext multiphaseContext;
     private final Map<String, ProxyController> hostProxies;
+    private final Executor executor;
 
     public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
                               final MultiphaseOverallContext domainOperationContext) {
+        this(hostProxies, domainOperationContext, null);
+    }
+
+    /**
+     * Creates a handler sending the operation to several hosts concurrently.
+     *
+     * @param hostProxies the proxies of the hosts, keyed by host name
+     * @param domainOperationContext the context of the operation on the domain
+     * @param executor the executor used to send the operation to several hosts concurrently, or {@code null} if the
+     *                 operation is to be sent to one host after the other
+     */
+    public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
+                              final MultiphaseOverallContext domainOperationContext,
+                              final Executor executor) {
         this.hostProxies = hostProxies;
         this.multiphaseContext = domainOperationContext;
+        this.executor = executor;
     }
 
     @Override
@@ -66,31 +103,26 @@ public class DomainSlaveHandler implements OperationStepHandler {
         final BlockingTimeout blockingTimeout = BlockingTimeout.Factory.getDomainBlockingTimeout(context);
         final Set<String> outstanding = new HashSet<String>(hostProxies.keySet());
         final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results = new ArrayList<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>>();
-        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new HashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
-        final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener();
+        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new ConcurrentHashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
+        final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener(multiphaseContext);
         final Transformers.TransformationInputs transformationInputs = Transformers.TransformationInputs.getOrCreate(context);
         final List<DomainOperationTransmuter> transformers = context.getAttachment(OperationAttachments.SLAVE_SERVER_OPERATION_TRANSMUTERS);
-        for (Map.Entry<String, ProxyController> entry : hostProxies.entrySet()) {
-            // Create the proxy task
-            final String host = entry.getKey();
-            final TransformingProxyController proxyController = (TransformingProxyController) entry.getValue();
-            ModelNode clonedOp = operation.clone();
-            if (transformers != null) {
-                for (final DomainOperationTransmuter transformer : transformers) {
-                    clonedOp = transformer.transmmute(context, clonedOp);
-                }
+        // The transmuters do not depend on the host, so run them once
+        ModelNode hostOp = operation.clone();
+        if (transformers != null) {
+            for (final DomainOperationTransmuter transformer : transformers) {
+                hostOp = transformer.transmmute(context, hostOp);
             }
-
-            // Set the flags for host controller operations
-            clonedOp.get(OPERATION_HEADERS, EXECUTE_FOR_COORDINATOR).set(true);
-            clonedOp.get(OPERATION_HEADERS, DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).set(CurrentOperationIdHolder.getCurrentOperationID());
-            final HostControllerUpdateTask task = new HostControllerUpdateTask(host, clonedOp, context, proxyController, transformationInputs);
-            // Execute the operation on the remote host
-            final HostControllerUpdateTask.ExecutedHostRequest finalResult = task.execute(listener);
-            multiphaseContext.recordHostRequest(host, finalResult);
-            finalResults.put(host, finalResult);
         }
 
+        // Set the flags for host controller operations
+        hostOp.get(OPERATION_HEADERS, EXECUTE_FOR_COORDINATOR).set(true);
+        hostOp.get(OPERATION_HEADERS, DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).set(CurrentOperationIdHolder.getCurrentOperationID());
+
+        // Transform the operation for the remote hosts on this thread, and only send it to them concurrently
+        final Map<String, HostControllerUpdateTask.HostRequest> requests = transformForHosts(hostOp, context, transformationInputs);
+        sendToHosts(requests, listener, finalResults);
+
         // Wait for all hosts to reach the prepared state
         boolean interrupted = false;
         boolean completeStepCalled = false;
@@ -161,6 +193,154 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    /**
+     * Transforms the operation for each host. The transformations read the model and the context of the operation,
+     * which are not thread safe, so this must be called by the thread executing the operation.
+     *
+     * @param hostOp the operation to transform
+     * @param context the context of the operation
+     * @param transformationInputs the inputs of the transformations, shared by the hosts
+     * @return the requests to send to the hosts, keyed by host name
+     */
+    Map<String, HostControllerUpdateTask.HostRequest> transformForHosts(final ModelNode hostOp, final OperationContext context,
+                                                                        final Transformers.TransformationInputs transformationInputs) {
+        final Map<String, HostControllerUpdateTask.HostRequest> requests = new HashMap<String, HostControllerUpdateTask.HostRequest>();
+        for (Map.Entry<String, ProxyController> entry : hostProxies.entrySet()) {
+            final TransformingProxyController proxyController = (TransformingProxyController) entry.getValue();
+            final HostControllerUpdateTask task = new HostControllerUpdateTask(entry.getKey(), hostOp.clone(), context, proxyController, transformationInputs);
+            requests.put(entry.getKey(), task.transform());
+        }
+        return requests;
+    }
+
+    /**
+     * Sends the requests transformed for the hosts, concurrently if there are several hosts and an executor. Sending
+     * a request does not use the context of the operation.
+     *
+     * @param requests the requests, keyed by host name
+     * @param listener the listener notified once the hosts prepared the operation
+     * @param finalResults receives the executed requests, keyed by host name
+     */
+    void sendToHosts(final Map<String, HostControllerUpdateTask.HostRequest> requests,
+                     final HostControllerUpdateTask.ProxyOperationListener listener,
+                     final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults) {
+
+        final Consumer<String> sender = new Consumer<String>() {
+            @Override
+            public void accept(String host) {
+                multiphaseContext.getHostRequestTimes(host).dispatched();
+                // Execute the operation on the remote host
+                final HostControllerUpdateTask.ExecutedHostRequest finalResult = requests.get(host).send(listener);
+                multiphaseContext.recordHostRequest(host, finalResult);
+                finalResults.put(host, finalResult);
+            }
+        };
+        final Executor senderExecutor;
+        if (executor == null || requests.size() < 2) {
+            senderExecutor = null;
+        } else {
+            // The requests carry the identity of the caller, which is associated with this thread
+            final AccessAuditContext accessAuditContext = SecurityActions.currentAccessAuditContext();
+            final SecurityIdentity securityIdentity = accessAuditContext != null ? accessAuditContext.getSecurityIdentity() : null;
+            final InetAddress sourceAddress = accessAuditContext != null ? accessAuditContext.getRemoteAddress() : null;
+            final boolean inflowed = accessAuditContext != null && accessAuditContext.isInflowed();
+            senderExecutor = new Executor() {
+                @Override
+                public void execute(final Runnable command) {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            AccessAuditContext.doAs(inflowed, securityIdentity, sourceAddress, new PrivilegedAction<Void>() {
+                                @Override
+                                public Void run() {
+                                    command.run();
+                                    return null;
+                                }
+                            });
+                        }
+                    });
+                }
+            };
+        }
+        sendToHosts(requests.keySet(), sender, senderExecutor, MAX_PARALLEL_HOST_REQUESTS);
+    }
+
+    /**
+     * Sends a request to each host, using up to {@code maxSenders} senders. The calling thread is one of the senders,
+     * and sends the requests the other senders could not be started for. Once sending a request failed, the requests
+     * not yet sent are abandoned.
+     *
+     * @param hosts the names of the hosts
+     * @param sender sends the request to a host, and does not wait for the host to prepare it
+     * @param executor the executor running the other senders, or {@code null} if the requests are to be sent one after
+     *                 the other by the calling thread
+     * @param maxSenders the maximum number of senders
+     * @throws RuntimeException the first failure to send a request, once all the senders are done
+     */
+    static void sendToHosts(final Collection<String> hosts, final Consumer<String> sender, final Executor executor,
+                            final int maxSenders) {
+
+        final Queue<String> pending = new ConcurrentLinkedQueue<String>(hosts);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<RuntimeException>();
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                String host;
+                while ((host = pending.poll()) != null) {
+                    try {
+                        sender.accept(host);
+                    } catch (RuntimeException e) {
+                        // Don't send the request to any other host
+                        pending.clear();
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            }
+        };
+
+        final int senders = executor == null ? 1 : Math.max(1, Math.min(maxSenders, hosts.size()));
+        final CountDownLatch latch = new CountDownLatch(senders - 1);
+        for (int i = 1; i < senders; i++) {
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            task.run();
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // This thread sends the requests left
+                latch.countDown();
+            }
+        }
+        task.run();
+
+        // Wait for the other senders; they don't wait for the hosts to prepare the operation
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    latch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                // Let the wait for the prepared results learn about the interruption
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
     private void handleMissingHostResponses(Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
                                             Set<String> outstanding, boolean timedOut, long timeout) {
 
@@ -218,6 +398,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
                 if (prepared.isDone()) {
                     continue;
                 }
+                multiphaseContext.getHostRequestTimes(prepared.getOperation().getName()).completionRequested();
                 if (!rollback) {
                     prepared.commit();
                 } else {
@@ -235,6 +416,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
                 final AsyncFuture<OperationResponse> future = prepared.getFinalResult();
                 try {
                     final OperationResponse finalResponse = future.get(patient, TimeUnit.MILLISECONDS);
+                    multiphaseContext.getHostRequestTimes(hostName).completed();
                     final ModelNode transformedResult = request.transformResult(finalResponse.getResponseNode());
                     multiphaseContext.addHostControllerFinalResult(hostName, transformedResult);
 
@@ -270,6 +452,25 @@ public class DomainSlaveHandler implements OperationStepHandler {
             if (interruptThread) {
                 Thread.currentThread().interrupt();
             }
+            final Map<String, HostRequestTimes> hostRequestTimes = multiphaseContext.getHostRequestTimes();
+            if (!hostRequestTimes.isEmpty()) {
+                HOST_CONTROLLER_LOGGER.debugf("Prepare and completion times of the hosts: %s", hostRequestTimes);
+                reportHostRequestTimes(context.getResponseHeaders(), hostRequestTimes);
+            }
+        }
+    }
+
+    /**
+     * Reports the time each host took to prepare the operation and to commit or roll it back in the
+     * {@link HostRequestTimes#RESPONSE_HEADER} response header.
+     *
+     * @param responseHeaders the response headers of the operation
+     * @param hostRequestTimes the times of the requests, keyed by host name
+     */
+    static void reportHostRequestTimes(final ModelNode responseHeaders, final Map<String, HostRequestTimes> hostRequestTimes) {
+        final ModelNode header = responseHeaders.get(HostRequestTimes.RESPONSE_HEADER);
+        for (Map.Entry<String, HostRequestTimes> entry : new TreeMap<String, HostRequestTimes>(hostRequestTimes).entrySet()) {
+            header.get(entry.getKey()).set(entry.getValue().toModelNode());
         }
     }
 
@@ -281,6 +482,14 @@ public class DomainSlaveHandler implements OperationStepHandler {
         return response;
     }
 
+    private static int getMaxParallelHostRequests() {
+        try {
+            return Math.max(1, Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("jboss.as.domain.max.parallel.host.requests", "16")));
+        } catch (NumberFormatException e) {
+            return 16;
+        }
+    }
+
     private static ModelNode getInterruptedResponse(String hostName) {
         String msg = HOST_CONTROLLER_LOGGER.interruptedAwaitingResultFromHost(hostName);
         final ModelNode response = new ModelNode();
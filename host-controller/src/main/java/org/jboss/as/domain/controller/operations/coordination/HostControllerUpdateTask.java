@@ -69,30 +69,85 @@ class HostControllerUpdateTask {
         this.transformationInputs = transformationInputs;
     }
 
-    public ExecutedHostRequest execute(final ProxyOperationListener listener) {
+    /**
+     * Transforms the operation for the host. The transformation reads the model and the attachments of the operation,
+     * so this must be called by the thread executing the operation, whereas the returned request can be sent by any
+     * thread.
+     *
+     * @return the request to send to the host
+     */
+    public HostRequest transform() {
 
-        final TransactionalProtocolClient client = proxyController.getProtocolClient();
         final OperationMessageHandler messageHandler = new DelegatingMessageHandler(context);
-        final OperationAttachments operationAttachments = new DelegatingOperationAttachments(context);
-        final SubsystemInfoOperationListener subsystemListener = new SubsystemInfoOperationListener(listener, proxyController.getTransformers());
+        final OperationAttachments operationAttachments = new OperationContextAttachments(context);
         try {
 
             final OperationTransformer.TransformedOperation transformationResult = proxyController.transformOperation(transformationInputs, operation);
             final ModelNode transformedOperation = transformationResult.getTransformedOperation();
             final ProxyOperation proxyOperation = new ProxyOperation(name, transformedOperation, messageHandler, operationAttachments);
+            // Make sure we preserve the operation headers like PrepareStepHandler.EXECUTE_FOR_COORDINATOR
+            if(transformedOperation != null) {
+                transformedOperation.get(OPERATION_HEADERS).set(operation.get(OPERATION_HEADERS));
+                // If the operation was transformed
+                if (!operation.equals(transformedOperation)) {
+                    // push all operations (incl. read-only) to the servers
+                    transformedOperation.get(OPERATION_HEADERS, ServerOperationsResolverHandler.DOMAIN_PUSH_TO_SERVERS).set(true);
+                }
+            }
+            return new HostRequest(proxyOperation, transformationResult, null);
+        } catch (OperationFailedException e) {
+            // Handle transformation failures
+            final ProxyOperation proxyOperation = new ProxyOperation(name, operation, messageHandler, operationAttachments);
+            return new HostRequest(proxyOperation, null, e);
+        }
+    }
+
+    /**
+     * The operation transformed for a host, ready to be sent to the host. Sending it does not use the context of the
+     * operation, so any thread can send it.
+     */
+    class HostRequest {
+
+        private final ProxyOperation proxyOperation;
+        private final OperationTransformer.TransformedOperation transformationResult;
+        private final OperationFailedException transformationFailure;
+
+        private HostRequest(final ProxyOperation proxyOperation, final OperationTransformer.TransformedOperation transformationResult,
+                            final OperationFailedException transformationFailure) {
+            this.proxyOperation = proxyOperation;
+            this.transformationResult = transformationResult;
+            this.transformationFailure = transformationFailure;
+        }
+
+        /**
+         * @return the operation sent to the host, or {@code null} if the transformation discarded it
+         */
+        ModelNode getOperation() {
+            return proxyOperation.getOperation();
+        }
+
+        /**
+         * Sends the operation to the host, without waiting for the host to prepare it.
+         *
+         * @param listener the listener notified once the host prepared or completed the operation
+         * @return the request executed by the host
+         */
+        ExecutedHostRequest send(final ProxyOperationListener listener) {
+            final SubsystemInfoOperationListener subsystemListener = new SubsystemInfoOperationListener(listener, proxyController.getTransformers());
+            if (transformationFailure != null) {
+                final TransactionalProtocolClient.PreparedOperation<ProxyOperation> result = BlockingQueueOperationListener.FailedOperation.create(proxyOperation, transformationFailure);
+                subsystemListener.operationPrepared(result);
+                return new ExecutedHostRequest(result.getFinalResult(), OperationResultTransformer.ORIGINAL_RESULT, OperationTransformer.DEFAULT_REJECTION_POLICY);
+            }
+            final ModelNode transformedOperation = proxyOperation.getOperation();
             try {
-                // Make sure we preserve the operation headers like PrepareStepHandler.EXECUTE_FOR_COORDINATOR
                 if(transformedOperation != null) {
-                    transformedOperation.get(OPERATION_HEADERS).set(operation.get(OPERATION_HEADERS));
-                    // If the operation was transformed
                     if (!operation.equals(transformedOperation)) {
-                        // push all operations (incl. read-only) to the servers
-                        transformedOperation.get(OPERATION_HEADERS, ServerOperationsResolverHandler.DOMAIN_PUSH_TO_SERVERS).set(true);
                         HOST_CONTROLLER_LOGGER.tracef("Sending %s (transformed to %s) to %s", operation, transformedOperation, name);
                     } else {
                         HOST_CONTROLLER_LOGGER.tracef("Sending %s (untransformed) to %s", transformedOperation, name);
                     }
-                    final AsyncFuture<OperationResponse> result = client.execute(subsystemListener, proxyOperation);
+                    final AsyncFuture<OperationResponse> result = proxyController.getProtocolClient().execute(subsystemListener, proxyOperation);
                     return new ExecutedHostRequest(result, transformationResult);
                 } else {
                     // We assume here that if we have a null transformedOperation, it means the operation must be discarded and not be sent to the slave.
@@ -110,12 +165,6 @@ class HostControllerUpdateTask {
                 subsystemListener.operationPrepared(result);
                 return new ExecutedHostRequest(result.getFinalResult(), transformationResult);
             }
-        } catch (OperationFailedException e) {
-            // Handle transformation failures
-            final ProxyOperation proxyOperation = new ProxyOperation(name, operation, messageHandler, operationAttachments);
-            final TransactionalProtocolClient.PreparedOperation<ProxyOperation> result = BlockingQueueOperationListener.FailedOperation.create(proxyOperation, e);
-            subsystemListener.operationPrepared(result);
-            return new ExecutedHostRequest(result.getFinalResult(), OperationResultTransformer.ORIGINAL_RESULT, OperationTransformer.DEFAULT_REJECTION_POLICY);
         }
     }
 
@@ -216,9 +265,15 @@ class HostControllerUpdateTask {
      */
     static class ProxyOperationListener extends BlockingQueueOperationListener<ProxyOperation> {
         final boolean trace = HOST_CONTROLLER_LOGGER.isTraceEnabled();
+        private final MultiphaseOverallContext multiphaseContext;
+
+        ProxyOperationListener(final MultiphaseOverallContext multiphaseContext) {
+            this.multiphaseContext = multiphaseContext;
+        }
 
         @Override
         public void operationPrepared(final TransactionalProtocolClient.PreparedOperation<ProxyOperation> prepared) {
+            multiphaseContext.getHostRequestTimes(prepared.getOperation().getName()).prepared();
             try {
                 super.operationPrepared(prepared);
             } finally {
@@ -230,6 +285,12 @@ class HostControllerUpdateTask {
             }
         }
 
+        @Override
+        public void operationFailed(final ProxyOperation operation, final ModelNode result) {
+            multiphaseContext.getHostRequestTimes(operation.getName()).prepared();
+            super.operationFailed(operation, result);
+        }
+
         @Override
         public void operationComplete(final ProxyOperation operation, final OperationResponse result) {
             try {
@@ -320,11 +381,20 @@ class HostControllerUpdateTask {
         }
     }
 
-    private static class DelegatingOperationAttachments implements OperationAttachments {
+    /**
+     * The attachments of the operation, read from its context by the thread executing the operation, so the request
+     * can be sent by another thread.
+     */
+    private static class OperationContextAttachments implements OperationAttachments {
 
-        private final OperationContext context;
-        private DelegatingOperationAttachments(final OperationContext context) {
-            this.context = context;
+        private final List<InputStream> inputStreams;
+        private OperationContextAttachments(final OperationContext context) {
+            int count = context.getAttachmentStreamCount();
+            List<InputStream> result = new ArrayList<InputStream>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(context.getAttachmentStream(i));
+            }
+            this.inputStreams = result;
         }
 
         @Override
@@ -334,12 +404,7 @@ class HostControllerUpdateTask {
 
         @Override
         public List<InputStream> getInputStreams() {
-            int count = context.getAttachmentStreamCount();
-            List<InputStream> result = new ArrayList<InputStream>(count);
-            for (int i = 0; i < count; i++) {
-                result.add(context.getAttachmentStream(i));
-            }
-            return result;
+            return inputStreams;
         }
 
         @Override
@@ -0,0 +1,96 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Records when the request of a domain operation to a remote host controller reaches each phase of the two phase
+ * commit, so the latency of the host can be reported once the rollout completes.
+ */
+final class HostRequestTimes {
+
+    /** Name of the response header reporting the times of the requests, keyed by host name */
+    static final String RESPONSE_HEADER = "host-request-times";
+    /** Key of the time the host took to prepare the operation, in milliseconds */
+    static final String PREPARE_TIME = "prepare-time";
+    /** Key of the time the host took to commit or roll back the operation, in milliseconds */
+    static final String COMPLETION_TIME = "completion-time";
+
+    private static final long NOT_REACHED = Long.MIN_VALUE;
+
+    private volatile long dispatched = NOT_REACHED;
+    private volatile long prepared = NOT_REACHED;
+    private volatile long completionRequested = NOT_REACHED;
+    private volatile long completed = NOT_REACHED;
+
+    /** The operation was sent to the host */
+    void dispatched() {
+        dispatched = System.nanoTime();
+    }
+
+    /** The host reported its prepared result */
+    void prepared() {
+        prepared = System.nanoTime();
+    }
+
+    /** The host was told to commit or roll back */
+    void completionRequested() {
+        completionRequested = System.nanoTime();
+    }
+
+    /** The host reported its final result */
+    void completed() {
+        completed = System.nanoTime();
+    }
+
+    /**
+     * Gets the time between sending the operation to the host and receiving its prepared result.
+     *
+     * @return the time in milliseconds, or {@code -1} if the host did not report a prepared result
+     */
+    long getPrepareTime() {
+        return elapsed(dispatched, prepared);
+    }
+
+    /**
+     * Gets the time between telling the host to commit or roll back and receiving its final result.
+     *
+     * @return the time in milliseconds, or {@code -1} if the host did not report a final result
+     */
+    long getCompletionTime() {
+        return elapsed(completionRequested, completed);
+    }
+
+    /**
+     * Gets the times as reported in the {@link #RESPONSE_HEADER} response header.
+     *
+     * @return the {@link #PREPARE_TIME} and {@link #COMPLETION_TIME}, undefined if the phase was not completed
+     */
+    ModelNode toModelNode() {
+        final ModelNode result = new ModelNode();
+        setTime(result.get(PREPARE_TIME), getPrepareTime());
+        setTime(result.get(COMPLETION_TIME), getCompletionTime());
+        return result;
+    }
+
+    private static void setTime(ModelNode node, long time) {
+        if (time >= 0) {
+            node.set(time);
+        }
+    }
+
+    private static long elapsed(long start, long end) {
+        return start == NOT_REACHED || end == NOT_REACHED ? -1 : TimeUnit.NANOSECONDS.toMillis(end - start);
+    }
+
+    @Override
+    public String toString() {
+        return "{prepare=" + getPrepareTime() + "ms, completion=" + getCompletionTime() + "ms}";
+    }
+}
@@ -41,6 +41,7 @@ public final class MultiphaseOverallContext {
     private final ConcurrentMap<String, ModelNode> hostControllerFinalResults = new ConcurrentHashMap<String, ModelNode>();
     private final ConcurrentMap<ServerIdentity, ModelNode> serverResults = new ConcurrentHashMap<ServerIdentity, ModelNode>();
     private final ConcurrentMap<String, HostControllerUpdateTask.ExecutedHostRequest> finalResultFutures = new ConcurrentHashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
+    private final ConcurrentMap<String, HostRequestTimes> hostRequestTimes = new ConcurrentHashMap<String, HostRequestTimes>();
 
     private final Map<String, Boolean> serverGroupStatuses = new ConcurrentHashMap<String, Boolean>();
     private volatile boolean completeRollback = true;
@@ -82,6 +83,14 @@ public final class MultiphaseOverallContext {
         serverResults.put(serverId, serverResult);
     }
 
+    HostRequestTimes getHostRequestTimes(String hostId) {
+        return hostRequestTimes.computeIfAbsent(hostId, id -> new HostRequestTimes());
+    }
+
+    Map<String, HostRequestTimes> getHostRequestTimes() {
+        return new HashMap<String, HostRequestTimes>(hostRequestTimes);
+    }
+
     boolean isCompleteRollback() {
         return completeRollback;
     }
@@ -119,8 +119,10 @@ import org.jboss.as.controller.registry.ResourceProvider;
 import org.jboss.as.controller.remote.AbstractModelControllerOperationHandlerFactoryService;
 import org.jboss.as.controller.remote.ModelControllerOperationHandlerFactory;
 import org.jboss.as.controller.services.path.PathManagerService;
+import org.jboss.as.controller.transform.TransformationCache;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.domain.controller.DomainModelHistory;
 import org.jboss.as.domain.controller.HostConnectionInfo;
 import org.jboss.as.domain.controller.HostConnectionInfo.Event;
 import org.jboss.as.domain.controller.HostRegistrations;
@@ -225,6 +227,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
     private final DomainDelegatingResourceDefinition rootResourceDefinition;
     private final CapabilityRegistry capabilityRegistry;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
+    private final TransformationCache<ModelNode> transformedDomainModelCache = new TransformationCache<>();
+    private final DomainModelHistory domainModelHistory = new DomainModelHistory();
     private final AtomicBoolean domainConfigAvailable = new AtomicBoolean(false);
     private final PartialModelIndicator partialModelIndicator = new PartialModelIndicator() {
         @Override
@@ -523,7 +527,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
     @Override
     public void start(StartContext context) throws StartException {
         final ExecutorService executorService = getExecutorService();
-        this.hostControllerConfigurationPersister = new HostControllerConfigurationPersister(environment, hostControllerInfo, executorService, hostExtensionRegistry, extensionRegistry);
+        this.hostControllerConfigurationPersister = new HostControllerConfigurationPersister(environment, hostControllerInfo, executorService, hostExtensionRegistry, extensionRegistry,
+                this::domainModelChanged);
         setConfigurationPersister(hostControllerConfigurationPersister);
         prepareStepHandler.setExecutorService(executorService);
         ThreadFactory pingerThreadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
@@ -1382,6 +1387,25 @@ public class DomainModelControllerService extends AbstractControllerService impl
         return extensionRegistry;
     }
 
+    @Override
+    public TransformationCache<ModelNode> getTransformedDomainModelCache() {
+        return transformedDomainModelCache;
+    }
+
+    @Override
+    public DomainModelHistory getDomainModelHistory() {
+        return domainModelHistory;
+    }
+
+    /**
+     * Called with the controller lock held whenever the domain model is stored.
+     */
+    private void domainModelChanged(Set<PathAddress> affectedAddresses) {
+        // The domain model transformed for the registering hosts is stale
+        transformedDomainModelCache.invalidate();
+        domainModelHistory.record(affectedAddresses);
+    }
+
     @Override
     public ImmutableCapabilityRegistry getCapabilityRegistry() {
         return capabilityRegistry;
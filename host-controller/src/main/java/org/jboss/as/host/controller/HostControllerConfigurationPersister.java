@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.jboss.as.controller.PathAddress;
@@ -42,15 +43,23 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
     private final ExecutorService executorService;
     private final ExtensionRegistry hostExtensionRegistry;
     private final ExtensionRegistry extensionRegistry;
+    private final Consumer<Set<PathAddress>> domainModelListener;
     private Boolean slave;
 
     public HostControllerConfigurationPersister(final HostControllerEnvironment environment, final LocalHostControllerInfo localHostControllerInfo,
                                                 final ExecutorService executorService, final ExtensionRegistry hostExtensionRegistry, final ExtensionRegistry extensionRegistry) {
+        this(environment, localHostControllerInfo, executorService, hostExtensionRegistry, extensionRegistry, null);
+    }
+
+    public HostControllerConfigurationPersister(final HostControllerEnvironment environment, final LocalHostControllerInfo localHostControllerInfo,
+                                                final ExecutorService executorService, final ExtensionRegistry hostExtensionRegistry, final ExtensionRegistry extensionRegistry,
+                                                final Consumer<Set<PathAddress>> domainModelListener) {
         this.environment = environment;
         this.hostControllerInfo = localHostControllerInfo;
         this.executorService = executorService;
         this.hostExtensionRegistry = hostExtensionRegistry;
         this.extensionRegistry = extensionRegistry;
+        this.domainModelListener = domainModelListener;
         final ConfigurationFile configurationFile = environment.getHostConfigurationFile();
         final HostRunningModeControl runningModeControl = environment.getRunningModeControl();
         if (runningModeControl.isReloaded()) {
@@ -133,6 +142,9 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
                 delegates[0] = hostPersister.store(hostModel, affectedAddresses);
             } else if (delegates[1] == null && (addr.size() == 0 || !HOST.equals(addr.getElement(0).getKey()))) {
                 delegates[1] = getDomainPersister().store(model, affectedAddresses);
+                if (domainModelListener != null) {
+                    domainModelListener.accept(affectedAddresses);
+                }
             }
 
             if (delegates[0] != null && delegates[1] != null) {
@@ -160,6 +172,12 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
                     delegates[1].rollback();
                 }
             }
+
+            @Override
+            public boolean isCommitDeferrable() {
+                return (delegates[0] == null || delegates[0].isCommitDeferrable())
+                        && (delegates[1] == null || delegates[1].isCommitDeferrable());
+            }
         };
     }
 
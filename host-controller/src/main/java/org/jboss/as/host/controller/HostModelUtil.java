@@ -6,10 +6,13 @@ package org.jboss.as.host.controller;
 
 
 import org.jboss.as.controller.BootErrorCollector;
+import org.jboss.as.controller.BulkReadOperationHandler;
 import org.jboss.as.controller.CompositeOperationHandler;
 import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.MetricsSubscriptionHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ReadBootProfileHandler;
 import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
 import org.jboss.as.controller.access.management.ManagementSecurityIdentitySupplier;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
@@ -90,6 +93,9 @@ public class HostModelUtil {
 
         // Other root resource operations
         root.registerOperationHandler(CompositeOperationHandler.DEFINITION, CompositeOperationHandler.INSTANCE);
+        root.registerOperationHandler(BulkReadOperationHandler.DEFINITION, BulkReadOperationHandler.INSTANCE);
+        root.registerOperationHandler(MetricsSubscriptionHandler.DEFINITION, MetricsSubscriptionHandler.INSTANCE);
+        root.registerOperationHandler(ReadBootProfileHandler.DEFINITION, ReadBootProfileHandler.INSTANCE);
     }
 
     public static ManagementResourceRegistration createHostRegistry(final String hostName,
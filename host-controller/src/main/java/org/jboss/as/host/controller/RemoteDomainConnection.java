@@ -295,7 +295,9 @@ class RemoteDomainConnection extends FutureManagementChannel {
             return false;
         }
         final List<ModelNode> bootOperations= result.get(ModelDescriptionConstants.RESULT).asList();
-        return callback.applyDomainModel(bootOperations);
+        final ModelNode responseHeaders = result.has(ModelDescriptionConstants.RESPONSE_HEADERS)
+                ? result.get(ModelDescriptionConstants.RESPONSE_HEADERS) : new ModelNode();
+        return callback.applyDomainModel(bootOperations, responseHeaders);
     }
 
     void registered() {
@@ -321,9 +323,10 @@ class RemoteDomainConnection extends FutureManagementChannel {
          * Apply the remote domain model.
          *
          * @param result the read-domain-model operation result
+         * @param responseHeaders the read-domain-model operation response headers
          * @return {@code true} if the model was applied successfully, {@code false} otherwise
          */
-        boolean applyDomainModel(List<ModelNode> result);
+        boolean applyDomainModel(List<ModelNode> result, ModelNode responseHeaders);
 
         /**
          * Event that the registration was completed.
@@ -65,6 +65,7 @@ import org.jboss.as.domain.controller.DomainController;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.controller.operations.FetchMissingConfigurationHandler;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
 import org.jboss.as.domain.controller.operations.SyncDomainModelOperationHandler;
 import org.jboss.as.domain.controller.operations.SyncServerGroupOperationHandler;
 import org.jboss.as.domain.controller.operations.coordination.DomainControllerLockIdUtils;
@@ -177,6 +178,8 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private ManagementChannelHandler handler;
     private volatile ResponseAttachmentInputStreamSupport responseAttachmentSupport;
     private volatile RemoteDomainConnection connection;
+    /** The revision of the domain model last applied, sent when reconnecting to only receive the changed resources */
+    private volatile ModelNode domainModelRevision;
 
     private RemoteDomainConnectionService(final ModelController controller,
                                           final ExtensionRegistry extensionRegistry,
@@ -506,7 +509,12 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                  */
                 @Override
                 public ModelNode createLocalHostInfo() {
-                    return HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+                    final ModelNode info = HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+                    final ModelNode revision = domainModelRevision;
+                    if (revision != null) {
+                        info.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_REVISION).set(revision);
+                    }
+                    return info;
                 }
 
                 @Override
@@ -515,10 +523,18 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 }
 
                 @Override
-                public boolean applyDomainModel(final List<ModelNode> bootOperations) {
+                public boolean applyDomainModel(final List<ModelNode> bootOperations, final ModelNode responseHeaders) {
                     // Apply the model..
                     final HostInfo info = HostInfo.fromModelNode(createLocalHostInfo(), null, productConfig);
-                    return applyRemoteDomainModel(bootOperations, info);
+                    // Until applied, the domain model is unknown
+                    domainModelRevision = null;
+                    final ModelNode delta = responseHeaders.hasDefined(ReadMasterDomainModelUtil.DOMAIN_MODEL_DELTA)
+                            ? responseHeaders.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_DELTA) : new ModelNode();
+                    final boolean applied = applyRemoteDomainModel(bootOperations, delta, info);
+                    if (applied && responseHeaders.hasDefined(ReadMasterDomainModelUtil.DOMAIN_MODEL_REVISION)) {
+                        domainModelRevision = responseHeaders.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_REVISION).clone();
+                    }
+                    return applied;
                 }
 
                 @Override
@@ -562,9 +578,11 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
      * Apply the remote domain model to the local host controller.
      *
      * @param bootOperations the result of the remote read-domain-model op
+     * @param delta the addresses of the top level resources described by the result, if it only describes the
+     *              resources changed since the domain model was last applied, undefined otherwise
      * @return {@code true} if the model was applied successfully, {@code false} otherwise
      */
-    private boolean applyRemoteDomainModel(final List<ModelNode> bootOperations, final HostInfo hostInfo) {
+    private boolean applyRemoteDomainModel(final List<ModelNode> bootOperations, final ModelNode delta, final HostInfo hostInfo) {
         try {
             HostControllerLogger.ROOT_LOGGER.debug("Applying domain level boot operations provided by master");
             SyncModelParameters parameters =
@@ -574,6 +592,9 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                     new SyncDomainModelOperationHandler(hostInfo, parameters);
             final ModelNode operation = APPLY_DOMAIN_MODEL.clone();
             operation.get(DOMAIN_MODEL).set(bootOperations);
+            if (delta.isDefined()) {
+                operation.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_DELTA).set(delta);
+            }
 
             final ModelNode result = operationExecutor.execute(OperationBuilder.create(operation).build(), OperationMessageHandler.DISCARD, ModelController.OperationTransactionControl.COMMIT, handler);
 
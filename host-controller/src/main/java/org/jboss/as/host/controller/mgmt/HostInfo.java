@@ -31,6 +31,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.jboss.as.controller.Feature;
 import org.jboss.as.controller.PathAddress;
@@ -114,11 +115,13 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
     private final String productVersion;
     private final Long remoteConnectionId;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredResources;
+    private final ModelNode ignoredResourcesModel;
     private final boolean ignoreUnaffectedConfig;
     private final Set<ServerConfigInfo> serverConfigInfos;
     private final Set<String> domainIgnoredExtensions;
     private final boolean hostDeclaredIgnoreUnaffected;
     private final Stability stability;
+    private final ModelNode domainModelRevision;
     // GuardedBy this
     private ReadMasterDomainModelUtil.RequiredConfigurationHolder requiredConfigurationHolder;
 
@@ -154,6 +157,9 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         this.domainIgnoredExtensions = domainIgnoredExtensions;
 
         ignoredResources = createIgnoredRegistry(hostInfo, domainIgnoredExtensions);
+        domainModelRevision = hostInfo.hasDefined(ReadMasterDomainModelUtil.DOMAIN_MODEL_REVISION)
+                ? hostInfo.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_REVISION).clone() : null;
+        ignoredResourcesModel = hostInfo.hasDefined(IGNORED_RESOURCES) ? hostInfo.get(IGNORED_RESOURCES).clone() : new ModelNode();
 
         hostDeclaredIgnoreUnaffected = hostInfo.hasDefined(IGNORE_UNUSED_CONFIG) && hostInfo.get(IGNORE_UNUSED_CONFIG).asBoolean();
         ignoreUnaffectedConfig = hostDeclaredIgnoreUnaffected || (domainActiveServerGroups != null && !domainActiveServerGroups.isEmpty());
@@ -280,6 +286,45 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return domainIgnoredExtensions;
     }
 
+    /**
+     * Gets the revision of the domain model last applied by the host, if it is reconnecting.
+     *
+     * @return the revision, or {@code null} if the host has not applied any domain model since it started
+     */
+    public ModelNode getDomainModelRevision() {
+        return domainModelRevision;
+    }
+
+    /**
+     * Describes the domain configuration ignored by the host. Hosts running the same versions with equal descriptions
+     * are sent the same transformed domain model.
+     *
+     * @param rc the configuration required by the host, as returned by {@link #populateRequiredConfigurationHolder}
+     * @return the description
+     */
+    public ModelNode describeIgnoredConfiguration(ReadMasterDomainModelUtil.RequiredConfigurationHolder rc) {
+        final ModelNode description = new ModelNode();
+        description.get(STABILITY).set(stability.name());
+        description.get(IGNORED_RESOURCES).set(ignoredResourcesModel);
+        addSorted(description.get(EXTENSION), domainIgnoredExtensions);
+        description.get(IGNORE_UNUSED_CONFIG).set(ignoreUnaffectedConfig);
+        if (ignoreUnaffectedConfig) {
+            addSorted(description.get(PROFILE), rc.getProfiles());
+            addSorted(description.get(SERVER_GROUP), rc.getServerGroups());
+            addSorted(description.get(SOCKET_BINDING_GROUP), rc.getSocketBindings());
+        }
+        return description;
+    }
+
+    private static void addSorted(ModelNode list, Set<String> names) {
+        list.setEmptyList();
+        if (names != null) {
+            for (String name : new TreeSet<>(names)) {
+                list.add(name);
+            }
+        }
+    }
+
     private static class IgnoredType {
         private final boolean wildcard;
         private final Set<String> names;
@@ -22,6 +22,7 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.management.BaseHttpInterfaceResourceDefinition;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.registry.RuntimePackageDependency;
 import org.jboss.as.host.controller.HostControllerEnvironment;
@@ -30,6 +31,7 @@ import org.jboss.as.host.controller.operations.HttpManagementAddHandler;
 import org.jboss.as.host.controller.operations.HttpManagementRemoveHandler;
 import org.jboss.as.host.controller.operations.LocalHostControllerInfoImpl;
 import org.jboss.as.network.NetworkInterfaceBinding;
+import org.jboss.as.server.mgmt.HttpManagementMetricsHandler;
 import org.jboss.as.server.mgmt.UndertowHttpManagementService;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -92,6 +94,12 @@ public class HttpManagementResourceDefinition extends BaseHttpInterfaceResourceD
         return new HttpManagementResourceDefinition(add, remove);
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        HttpManagementMetricsHandler.registerMetrics(resourceRegistration);
+    }
+
     @Override
     protected AttributeDefinition[] getAttributeDefinitions() {
         return ATTRIBUTE_DEFINITIONS;
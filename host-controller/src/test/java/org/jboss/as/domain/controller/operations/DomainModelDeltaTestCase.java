@@ -0,0 +1,123 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import static org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS;
+import static org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil.DOMAIN_RESOURCE_MODEL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.domain.controller.DomainModelHistory;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the synchronization of the resources of the domain model changed since a revision.
+ */
+public class DomainModelDeltaTestCase {
+
+    private static final PathAddress ROOT = PathAddress.EMPTY_ADDRESS;
+    private static final PathAddress PROFILE_A = PathAddress.pathAddress("profile", "a");
+    private static final PathAddress PROFILE_B = PathAddress.pathAddress("profile", "b");
+    private static final PathAddress PROFILE_C = PathAddress.pathAddress("profile", "c");
+    private static final PathAddress GROUP = PathAddress.pathAddress("server-group", "group");
+
+    @Test
+    public void testHistory() {
+        DomainModelHistory history = new DomainModelHistory(2);
+        ModelNode initial = history.getRevision();
+        assertEquals(Collections.emptySet(), history.getChangesSince(initial));
+
+        history.record(Collections.singleton(PROFILE_A.append("subsystem", "test")));
+        ModelNode first = history.getRevision();
+        // Changes of the hosts are not part of the domain model
+        history.record(Collections.singleton(PathAddress.pathAddress("host", "primary").append("subsystem", "test")));
+        assertEquals(first, history.getRevision());
+        history.record(new HashSet<>(Arrays.asList(ROOT, GROUP, GROUP.append("jvm", "default"))));
+
+        assertEquals(set(PROFILE_A, ROOT, GROUP), history.getChangesSince(initial));
+        assertEquals(set(ROOT, GROUP), history.getChangesSince(first));
+        assertEquals(Collections.emptySet(), history.getChangesSince(history.getRevision()));
+
+        // The changes of the first revision are discarded
+        history.record(Collections.singleton(PROFILE_B));
+        assertNull(history.getChangesSince(initial));
+        assertEquals(set(ROOT, GROUP, PROFILE_B), history.getChangesSince(first));
+
+        // Revisions of other domain controllers or unknown revisions
+        assertNull(history.getChangesSince(null));
+        assertNull(history.getChangesSince(new DomainModelHistory().getRevision()));
+        ModelNode future = history.getRevision();
+        future.get(DomainModelHistory.REVISION).set(future.get(DomainModelHistory.REVISION).asLong() + 1);
+        assertNull(history.getChangesSince(future));
+    }
+
+    @Test
+    public void testChangedResources() {
+        DomainModelHistory history = new DomainModelHistory(10);
+        ModelNode ignored = new ModelNode();
+        ignored.get("extension").add("org.jboss.as.test");
+        ModelNode since = history.getRevision();
+        since.get(ReadMasterDomainModelUtil.IGNORED_CONFIGURATION).set(ignored);
+
+        history.record(Collections.singleton(PROFILE_A));
+        assertEquals(set(PROFILE_A), ReadMasterDomainModelUtil.getChangedResources(history, since, ignored.clone()));
+
+        // The host did not apply a model, or applied one sent with other ignored configuration
+        assertNull(ReadMasterDomainModelUtil.getChangedResources(history, null, ignored));
+        assertNull(ReadMasterDomainModelUtil.getChangedResources(history, history.getRevision(), ignored));
+        ModelNode otherIgnored = ignored.clone();
+        otherIgnored.get("extension").add("org.jboss.as.other");
+        assertNull(ReadMasterDomainModelUtil.getChangedResources(history, since, otherIgnored));
+
+        // The extensions excluded for the hosts changed
+        history.record(Collections.singleton(PathAddress.pathAddress("host-exclude", "legacy").append("active-server-groups", "a")));
+        assertNull(ReadMasterDomainModelUtil.getChangedResources(history, since, ignored));
+    }
+
+    @Test
+    public void testDelta() {
+        List<ModelNode> local = Arrays.asList(describe(ROOT, "old"), describe(PROFILE_A, "old"),
+                describe(PROFILE_A.append("subsystem", "removed"), "old"), describe(PROFILE_B, "old"),
+                describe(PROFILE_B.append("subsystem", "kept"), "old"), describe(PROFILE_C, "old"));
+        List<ModelNode> remote = Arrays.asList(describe(ROOT, "new"), describe(PROFILE_A, "new"),
+                describe(PROFILE_A.append("subsystem", "added"), "new"), describe(PROFILE_B, "old"),
+                describe(PROFILE_B.append("subsystem", "kept"), "old"), describe(GROUP, "new"));
+        Set<PathAddress> changed = set(ROOT, PROFILE_A, PROFILE_C, GROUP);
+
+        List<ModelNode> delta = ReadMasterDomainModelUtil.describeDomainModelDelta(remote, changed);
+        assertEquals(Arrays.asList(remote.get(0), remote.get(1), remote.get(2), remote.get(5)), delta);
+
+        List<ModelNode> merged = ReadMasterDomainModelUtil.applyDomainModelDelta(local, delta, changed);
+        ModelNode expected = Resource.Tools.readModel(ReadMasterDomainModelUtil.createResourceFromDomainModelOp(list(remote), new HashSet<>()));
+        ModelNode actual = Resource.Tools.readModel(ReadMasterDomainModelUtil.createResourceFromDomainModelOp(list(merged), new HashSet<>()));
+        assertEquals(expected, actual);
+    }
+
+    private static ModelNode describe(PathAddress address, String value) {
+        ModelNode description = new ModelNode();
+        description.get(DOMAIN_RESOURCE_ADDRESS).set(address.toModelNode());
+        description.get(DOMAIN_RESOURCE_MODEL, "attribute").set(value);
+        return description;
+    }
+
+    private static ModelNode list(List<ModelNode> descriptions) {
+        return new ModelNode().set(new ArrayList<>(descriptions));
+    }
+
+    private static Set<PathAddress> set(PathAddress... addresses) {
+        return new HashSet<>(Arrays.asList(addresses));
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProxyController;
+import org.jboss.as.controller.TransformingProxyController;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.controller.transform.OperationResultTransformer;
+import org.jboss.as.controller.transform.OperationTransformer;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.LocalHostControllerInfo;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the dispatch of domain operations to the slave host controllers by {@link DomainSlaveHandler}.
+ */
+public class DomainSlaveHandlerTestCase {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    private static final List<String> HOSTS = Arrays.asList("a", "b", "c", "d", "e", "f");
+
+    private final Thread mainThread = Thread.currentThread();
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentDispatch() {
+        CountDownLatch sending = new CountDownLatch(HOSTS.size());
+        Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+        List<String> sent = new CopyOnWriteArrayList<>();
+
+        DomainSlaveHandler.sendToHosts(HOSTS, host -> {
+            threads.add(Thread.currentThread());
+            sending.countDown();
+            // Only returns once the request is being sent to every host at the same time
+            await(sending);
+            sent.add(host);
+        }, executor, HOSTS.size());
+
+        assertEquals(new HashSet<>(HOSTS), new HashSet<>(sent));
+        assertEquals(HOSTS.size(), sent.size());
+        assertEquals(HOSTS.size(), threads.size());
+        assertTrue(threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void testMaxSenders() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<String> sent = new CopyOnWriteArrayList<>();
+
+        DomainSlaveHandler.sendToHosts(HOSTS, host -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            sent.add(host);
+        }, executor, 2);
+
+        assertEquals(new HashSet<>(HOSTS), new HashSet<>(sent));
+        assertTrue(maxActive.get() <= 2);
+    }
+
+    @Test
+    public void testSequentialDispatch() {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        DomainSlaveHandler.sendToHosts(HOSTS, host -> {
+            assertSame(Thread.currentThread(), mainThread);
+            sent.add(host);
+        }, null, HOSTS.size());
+        assertEquals(HOSTS, sent);
+    }
+
+    @Test
+    public void testRejectedExecution() {
+        AtomicInteger rejected = new AtomicInteger();
+        List<String> sent = new CopyOnWriteArrayList<>();
+
+        DomainSlaveHandler.sendToHosts(HOSTS, host -> {
+            assertSame(Thread.currentThread(), mainThread);
+            sent.add(host);
+        }, command -> {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException();
+        }, HOSTS.size());
+
+        // The calling thread sent the requests itself
+        assertEquals(HOSTS.size() - 1, rejected.get());
+        assertEquals(HOSTS, sent);
+    }
+
+    @Test
+    public void testFailure() {
+        RuntimeException failure = new IllegalStateException("b");
+        List<String> sent = new CopyOnWriteArrayList<>();
+        try {
+            DomainSlaveHandler.sendToHosts(HOSTS, host -> {
+                if (host.equals("b")) {
+                    throw failure;
+                }
+                sent.add(host);
+            }, null, HOSTS.size());
+            fail("The failure was not propagated");
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+        // The request is not sent to the hosts left
+        assertEquals(Collections.singletonList("a"), sent);
+    }
+
+    @Test
+    public void testConcurrentFailure() {
+        RuntimeException failure = new IllegalStateException("a");
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger active = new AtomicInteger();
+        try {
+            DomainSlaveHandler.sendToHosts(HOSTS, host -> {
+                if (host.equals("a")) {
+                    failed.countDown();
+                    throw failure;
+                }
+                active.incrementAndGet();
+                await(failed);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                active.decrementAndGet();
+            }, executor, 3);
+            fail("The failure was not propagated");
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+        // The failure is only propagated once the other senders are done
+        assertEquals(0, active.get());
+    }
+
+    @Test
+    public void testInterrupted() {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread.currentThread().interrupt();
+        try {
+            DomainSlaveHandler.sendToHosts(Arrays.asList("a", "b"), host -> {
+                if (host.equals("b")) {
+                    release.countDown();
+                }
+            }, command -> executor.execute(() -> {
+                await(release);
+                command.run();
+            }), 2);
+            // The interruption is kept for the wait for the prepared results
+            assertTrue(Thread.interrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void testTransformationOnOperationThread() throws Exception {
+        Set<Thread> contextThreads = Collections.synchronizedSet(new HashSet<>());
+        Set<Thread> transformingThreads = Collections.synchronizedSet(new HashSet<>());
+        Set<Thread> sendingThreads = Collections.synchronizedSet(new HashSet<>());
+        CountDownLatch sending = new CountDownLatch(HOSTS.size());
+
+        OperationContext context = mock(OperationContext.class);
+        when(context.getAttachmentStreamCount()).thenAnswer(invocation -> {
+            contextThreads.add(Thread.currentThread());
+            return 0;
+        });
+        Map<String, ProxyController> proxies = new LinkedHashMap<>();
+        Map<String, TransactionalProtocolClient> clients = new LinkedHashMap<>();
+        for (String host : HOSTS) {
+            TransactionalProtocolClient client = mock(TransactionalProtocolClient.class);
+            when(client.execute(any(), any(HostControllerUpdateTask.ProxyOperation.class))).thenAnswer(invocation -> {
+                sendingThreads.add(Thread.currentThread());
+                sending.countDown();
+                // Only returns once the request is being sent to every host at the same time
+                await(sending);
+                return mock(AsyncFuture.class);
+            });
+            proxies.put(host, proxy(client, transformingThreads, operation -> operation));
+            clients.put(host, client);
+        }
+
+        MultiphaseOverallContext multiphaseContext = new MultiphaseOverallContext(mock(LocalHostControllerInfo.class));
+        DomainSlaveHandler handler = new DomainSlaveHandler(proxies, multiphaseContext, executor);
+        Map<String, HostControllerUpdateTask.HostRequest> requests = handler.transformForHosts(Util.createEmptyOperation("op", PathAddress.EMPTY_ADDRESS), context,
+                mock(Transformers.TransformationInputs.class));
+        Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new ConcurrentHashMap<>();
+        handler.sendToHosts(requests, new HostControllerUpdateTask.ProxyOperationListener(multiphaseContext), finalResults);
+
+        // The operation is transformed once for each host, and the context only used, by the operation thread
+        assertEquals(Collections.singleton(mainThread), transformingThreads);
+        assertEquals(Collections.singleton(mainThread), contextThreads);
+        for (String host : HOSTS) {
+            verify((TransformingProxyController) proxies.get(host), times(1)).transformOperation(any(Transformers.TransformationInputs.class), any(ModelNode.class));
+            verify(clients.get(host), times(1)).execute(any(), any(HostControllerUpdateTask.ProxyOperation.class));
+        }
+        // Only the requests are sent concurrently
+        assertEquals(HOSTS.size(), sendingThreads.size());
+        assertEquals(new HashSet<>(HOSTS), finalResults.keySet());
+    }
+
+    @Test
+    public void testUnsentRequests() throws Exception {
+        Set<Thread> transformingThreads = Collections.synchronizedSet(new HashSet<>());
+        TransactionalProtocolClient client = mock(TransactionalProtocolClient.class);
+        Map<String, ProxyController> proxies = new LinkedHashMap<>();
+        // The transformation discards the operation for one host, and fails for the other
+        proxies.put("a", proxy(client, transformingThreads, operation -> null));
+        proxies.put("b", proxy(client, transformingThreads, operation -> {
+            throw new OperationFailedException("b");
+        }));
+
+        MultiphaseOverallContext multiphaseContext = new MultiphaseOverallContext(mock(LocalHostControllerInfo.class));
+        DomainSlaveHandler handler = new DomainSlaveHandler(proxies, multiphaseContext, executor);
+        Map<String, HostControllerUpdateTask.HostRequest> requests = handler.transformForHosts(Util.createEmptyOperation("op", PathAddress.EMPTY_ADDRESS),
+                mock(OperationContext.class), mock(Transformers.TransformationInputs.class));
+        assertEquals(Collections.singleton(mainThread), transformingThreads);
+
+        HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener(multiphaseContext);
+        Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new ConcurrentHashMap<>();
+        handler.sendToHosts(requests, listener, finalResults);
+
+        // Neither request is sent, but both are prepared
+        verify(client, never()).execute(any(), any(HostControllerUpdateTask.ProxyOperation.class));
+        Map<String, ModelNode> prepared = new HashMap<>();
+        for (int i = 0; i < proxies.size(); i++) {
+            TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation> operation = listener.retrievePreparedOperation(TIMEOUT, TimeUnit.MILLISECONDS);
+            prepared.put(operation.getOperation().getName(), operation.getPreparedResult());
+        }
+        assertEquals("success", prepared.get("a").get("outcome").asString());
+        assertEquals("failed", prepared.get("b").get("outcome").asString());
+        assertEquals(proxies.keySet(), finalResults.keySet());
+    }
+
+    @Test
+    public void testReportHostRequestTimes() {
+        Map<String, HostRequestTimes> times = new LinkedHashMap<>();
+        HostRequestTimes completed = new HostRequestTimes();
+        completed.dispatched();
+        completed.prepared();
+        completed.completionRequested();
+        completed.completed();
+        times.put("b", completed);
+        HostRequestTimes prepared = new HostRequestTimes();
+        prepared.dispatched();
+        prepared.prepared();
+        times.put("a", prepared);
+        times.put("c", new HostRequestTimes());
+
+        ModelNode headers = new ModelNode();
+        DomainSlaveHandler.reportHostRequestTimes(headers, times);
+
+        ModelNode header = headers.get(HostRequestTimes.RESPONSE_HEADER);
+        assertEquals(Arrays.asList("a", "b", "c"), Arrays.asList(header.keys().toArray()));
+        assertTrue(header.get("b").hasDefined(HostRequestTimes.PREPARE_TIME));
+        assertTrue(header.get("b").hasDefined(HostRequestTimes.COMPLETION_TIME));
+        assertTrue(header.get("a").get(HostRequestTimes.PREPARE_TIME).asLong() >= 0);
+        assertFalse(header.get("a").hasDefined(HostRequestTimes.COMPLETION_TIME));
+        assertFalse(header.get("c").hasDefined(HostRequestTimes.PREPARE_TIME));
+        assertFalse(header.get("c").hasDefined(HostRequestTimes.COMPLETION_TIME));
+    }
+
+    private static TransformingProxyController proxy(TransactionalProtocolClient client, Set<Thread> transformingThreads,
+                                                     Transformation transformation) throws OperationFailedException {
+        TransformingProxyController proxy = mock(TransformingProxyController.class);
+        when(proxy.getProtocolClient()).thenReturn(client);
+        when(proxy.transformOperation(any(Transformers.TransformationInputs.class), any(ModelNode.class))).thenAnswer(invocation -> {
+            transformingThreads.add(Thread.currentThread());
+            ModelNode transformed = transformation.transform(invocation.<ModelNode>getArgument(1).clone());
+            return new OperationTransformer.TransformedOperation(transformed, OperationResultTransformer.ORIGINAL_RESULT);
+        });
+        return proxy;
+    }
+
+    private interface Transformation {
+        ModelNode transform(ModelNode operation) throws OperationFailedException;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -12,4 +12,10 @@ interface Constants {
     String MAX_REQUESTS = "max-requests";
     String ACTIVE_REQUESTS = "active-requests";
     String TRACK_INDIVIDUAL_ENDPOINTS = "track-individual-endpoints";
+    String MAX_QUEUE_SIZE = "max-queue-size";
+    String QUEUE_TIMEOUT = "queue-timeout";
+    String QUEUE_WEIGHTS = "queue-weights";
+    String QUEUE_DEPTH = "queue-depth";
+    String AVERAGE_QUEUE_WAIT_TIME = "average-queue-wait-time";
+    String MAX_QUEUE_WAIT_TIME = "max-queue-wait-time";
 }
@@ -32,6 +32,7 @@ public class ControlPoint {
     private final String deployment;
     private final String entryPoint;
     private final boolean trackIndividualControlPoints;
+    private final RequestController.TaskLane taskLane;
 
     /**
      * The number of active requests that are using this entry point
@@ -58,6 +59,7 @@ public class ControlPoint {
         this.deployment = deployment;
         this.entryPoint = entryPoint;
         this.trackIndividualControlPoints = trackIndividualControlPoints;
+        this.taskLane = controller.new TaskLane();
     }
 
     public String getEntryPoint() {
@@ -215,6 +217,26 @@ public class ControlPoint {
         return paused;
     }
 
+    /**
+     * Sets the weight of this entry point in the queue of tasks. When tasks of several entry points are queued, each
+     * entry point runs as many of its tasks in turn as its weight. The weight is initially the one configured for the
+     * deployment, see {@link RequestController#setQueueWeights(java.util.Map)}, and is reset when that configuration
+     * changes.
+     *
+     * @param weight The weight, at least 1
+     */
+    public void setQueueWeight(int weight) {
+        taskLane.setWeight(weight);
+    }
+
+    public int getQueueWeight() {
+        return taskLane.getWeight();
+    }
+
+    RequestController.TaskLane getTaskLane() {
+        return taskLane;
+    }
+
     public int getActiveRequestCount() {
         return activeRequestCountUpdater.get(this);
     }
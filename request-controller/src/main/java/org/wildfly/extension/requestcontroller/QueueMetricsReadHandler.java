@@ -0,0 +1,46 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads handler for the metrics of the queue of tasks
+ */
+class QueueMetricsReadHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected boolean requiresRuntime(OperationContext context) {
+        return true;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ServiceController<?> service = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if(service != null) {
+            RequestController requestController = (RequestController) service.getValue();
+            switch (operation.require(NAME).asString()) {
+                case Constants.QUEUE_DEPTH:
+                    context.getResult().set(requestController.getQueueDepth());
+                    break;
+                case Constants.AVERAGE_QUEUE_WAIT_TIME:
+                    context.getResult().set(requestController.getAverageQueueWaitTime());
+                    break;
+                case Constants.MAX_QUEUE_WAIT_TIME:
+                    context.getResult().set(requestController.getMaxQueueWaitTime());
+                    break;
+                default:
+                    throw new IllegalStateException(operation.require(NAME).asString());
+            }
+        }
+    }
+}
@@ -5,17 +5,22 @@
 package org.wildfly.extension.requestcontroller;
 
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import org.jboss.as.server.suspend.CountingRequestCountCallback;
@@ -37,6 +42,12 @@ import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
  * 1) Graceful shutdown - When the number of active request reaches zero then the container can be gracefully shut down
  * 2) Request limiting - This allows the total number of requests that are active to be limited.
  * <p/>
+ * Tasks that cannot run straight away are queued in two lanes. Forced tasks are queued in their own lane, which is
+ * drained first, and is the only lane drained while the controller is suspended. Other tasks are queued per
+ * {@link ControlPoint}, and the control points with queued tasks take turns in running them, in proportion to their
+ * {@link #setQueueWeights(Map) weight}, so that a burst of tasks through one control point does not starve
+ * the others. Admission and queueing are lock free.
+ * <p/>
  *
  * @author Stuart Douglas
  */
@@ -49,11 +60,17 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     private volatile int maxRequestCount = -1;
 
+    private volatile int maxQueueSize = -1;
+
+    private volatile long queueTimeout = -1;
+
+    private volatile Map<String, Integer> queueWeights = Collections.emptyMap();
+
     private volatile int activeRequestCount = 0;
 
     private volatile boolean paused = false;
 
-    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new HashMap<>();
+    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new ConcurrentHashMap<>();
 
     @SuppressWarnings("unused")
     private volatile ServerActivityCallback listener = null;
@@ -71,9 +88,20 @@ public class RequestController implements Service<RequestController>, ServerActi
         listener.done();
     }
 
-    private Timer timer;
-
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    private volatile Timer timer;
+
+    /** Forced tasks, which run first, and even while suspended */
+    private final Queue<QueuedTask> forcedTasks = new ConcurrentLinkedQueue<>();
+    /** The lanes of the control points with queued tasks, each appearing up to its weight times */
+    private final Queue<TaskLane> laneTurns = new ConcurrentLinkedQueue<>();
+    /** The lane of tasks queued without a control point */
+    private final TaskLane defaultLane = new TaskLane();
+    /** The number of queued tasks, which is not the number of tasks in the queues, as timed out tasks linger there */
+    private final AtomicInteger queuedTaskCount = new AtomicInteger();
+    private final AtomicInteger queuedForcedTaskCount = new AtomicInteger();
+    private final LongAdder queueWaitTime = new LongAdder();
+    private final LongAdder queueWaitCount = new LongAdder();
+    private final LongAccumulator maxQueueWaitTime = new LongAccumulator(Math::max, 0);
 
     /**
      * Pause the controller. All existing requests will have a chance to finish, and once all requests are
@@ -83,7 +111,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      *
      * @param requestCountListener The listener that will be notified when all requests are done
      */
-    public synchronized void suspended(ServerActivityCallback requestCountListener) {
+    public void suspended(ServerActivityCallback requestCountListener) {
         this.paused = true;
         listenerUpdater.set(this, requestCountListener);
 
@@ -98,15 +126,13 @@ public class RequestController implements Service<RequestController>, ServerActi
      * Unpause the server, allowing it to resume normal operations
      */
     @Override
-    public synchronized void resume() {
+    public void resume() {
         this.paused = false;
         ServerActivityCallback listener = listenerUpdater.get(this);
         if (listener != null) {
             listenerUpdater.compareAndSet(this, listener, null);
         }
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
-            runQueuedTask(false);
-        }
+        runQueuedTasks();
     }
 
     /**
@@ -115,7 +141,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param deployment The deployment to pause
      * @param listener The listener that will be notified when the pause is complete
      */
-    public synchronized void pauseDeployment(final String deployment, ServerActivityCallback listener) {
+    public void pauseDeployment(final String deployment, ServerActivityCallback listener) {
         final List<ControlPoint> eps = new ArrayList<ControlPoint>();
         for (ControlPoint ep : entryPoints.values()) {
             if (ep.getDeployment().equals(deployment)) {
@@ -135,7 +161,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      *
      * @param deployment The deployment to resume
      */
-    public synchronized void resumeDeployment(final String deployment) {
+    public void resumeDeployment(final String deployment) {
         for (ControlPoint ep : entryPoints.values()) {
             if (ep.getDeployment().equals(deployment)) {
                 ep.resume();
@@ -149,7 +175,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param controlPoint The control point
      * @param listener   The listener
      */
-    public synchronized void pauseControlPoint(final String controlPoint, ServerActivityCallback listener) {
+    public void pauseControlPoint(final String controlPoint, ServerActivityCallback listener) {
         final List<ControlPoint> eps = new ArrayList<ControlPoint>();
         for (ControlPoint ep : entryPoints.values()) {
             if (ep.getEntryPoint().equals(controlPoint)) {
@@ -174,7 +200,7 @@ public class RequestController implements Service<RequestController>, ServerActi
      *
      * @param entryPoint The entry point
      */
-    public synchronized void resumeControlPoint(final String entryPoint) {
+    public void resumeControlPoint(final String entryPoint) {
         for (ControlPoint ep : entryPoints.values()) {
             if (ep.getEntryPoint().equals(entryPoint)) {
                 ep.resume();
@@ -182,7 +208,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         }
     }
 
-    public synchronized RequestControllerState getState() {
+    public RequestControllerState getState() {
         final List<RequestControllerState.EntryPointState> eps = new ArrayList<>();
         for (ControlPoint controlPoint : entryPoints.values()) {
             eps.add(new RequestControllerState.EntryPointState(controlPoint.getDeployment(), controlPoint.getEntryPoint(), controlPoint.isPaused(), controlPoint.getActiveRequestCount()));
@@ -246,15 +272,16 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param entryPointName The entry point name
      * @return The entry point, or null if the request controller is disabled
      */
-    public synchronized ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
+    public ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
         ControlPointIdentifier id = new ControlPointIdentifier(deploymentName, entryPointName);
-        ControlPoint ep = entryPoints.get(id);
-        if (ep == null) {
-            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
-            entryPoints.put(id, ep);
-        }
-        ep.increaseReferenceCount();
-        return ep;
+        return entryPoints.compute(id, (key, ep) -> {
+            if (ep == null) {
+                ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
+                ep.setQueueWeight(queueWeights.getOrDefault(deploymentName, 1));
+            }
+            ep.increaseReferenceCount();
+            return ep;
+        });
     }
 
     /**
@@ -262,11 +289,9 @@ public class RequestController implements Service<RequestController>, ServerActi
      *
      * @param controlPoint The entry point
      */
-    public synchronized void removeControlPoint(ControlPoint controlPoint) {
-        if (controlPoint.decreaseReferenceCount() == 0) {
-            ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
-            entryPoints.remove(id);
-        }
+    public void removeControlPoint(ControlPoint controlPoint) {
+        ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
+        entryPoints.computeIfPresent(id, (key, ep) -> ep.decreaseReferenceCount() == 0 ? null : ep);
     }
 
     /**
@@ -286,13 +311,89 @@ public class RequestController implements Service<RequestController>, ServerActi
      */
     public void setMaxRequestCount(int maxRequestCount) {
         this.maxRequestCount = maxRequestCount;
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
-            if(!runQueuedTask(false)) {
-                break;
-            }
+        runQueuedTasks();
+    }
+
+    /**
+     * @return The maximum number of tasks that can be queued, not counting forced tasks
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * Sets the maximum number of tasks that can be queued, not counting forced tasks. Once the queue is full, the
+     * timeout task of a newly queued task is run straight away. A negative value means the queue is not limited.
+     *
+     * @param maxQueueSize The max queue size
+     */
+    public void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * @return The maximum time in milliseconds that a task can be queued
+     */
+    public long getQueueTimeout() {
+        return queueTimeout;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds that a task can be queued, unless it is forced. It applies to tasks queued
+     * from then on that have a timeout task, if the timeout they were queued with is not shorter. A value that is not
+     * positive means tasks are only timed out as requested when they were queued.
+     *
+     * @param queueTimeout The queue timeout
+     */
+    public void setQueueTimeout(long queueTimeout) {
+        this.queueTimeout = queueTimeout;
+    }
+
+    /**
+     * @return The weights in the queue of tasks of the control points of deployments, by deployment name
+     */
+    public Map<String, Integer> getQueueWeights() {
+        return queueWeights;
+    }
+
+    /**
+     * Sets the weights in the queue of tasks of the control points of deployments. When tasks of several control
+     * points are queued, each control point runs as many of its tasks in turn as its weight. The weights apply to the
+     * existing control points as well as to those created from then on, and those of the deployments that are not
+     * given a weight are reset to 1, the default.
+     *
+     * @param queueWeights The weights, by deployment name
+     */
+    public void setQueueWeights(Map<String, Integer> queueWeights) {
+        final Map<String, Integer> weights = Collections.unmodifiableMap(new HashMap<>(queueWeights));
+        this.queueWeights = weights;
+        for (ControlPoint controlPoint : entryPoints.values()) {
+            controlPoint.setQueueWeight(weights.getOrDefault(controlPoint.getDeployment(), 1));
         }
     }
 
+    /**
+     * @return The number of tasks that are queued
+     */
+    public int getQueueDepth() {
+        return queuedTaskCount.get() + queuedForcedTaskCount.get();
+    }
+
+    /**
+     * @return The average time in milliseconds that queued tasks waited before they ran
+     */
+    public long getAverageQueueWaitTime() {
+        final long count = queueWaitCount.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(queueWaitTime.sum() / count);
+    }
+
+    /**
+     * @return The longest time in milliseconds that a queued task waited before it ran
+     */
+    public long getMaxQueueWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueWaitTime.get());
+    }
+
     /**
      * @return <code>true</code> If the server is currently pause
      */
@@ -311,9 +412,13 @@ public class RequestController implements Service<RequestController>, ServerActi
         suspendController.get().unRegisterActivity(this);
         timer.cancel();
         timer = null;
-        while (!taskQueue.isEmpty()) {
-            QueuedTask t = taskQueue.poll();
-            if(t != null) {
+        QueuedTask t;
+        while ((t = forcedTasks.poll()) != null) {
+            t.run();
+        }
+        TaskLane lane;
+        while ((lane = laneTurns.poll()) != null) {
+            while ((t = lane.tasks.poll()) != null) {
                 t.run();
             }
         }
@@ -335,16 +440,59 @@ public class RequestController implements Service<RequestController>, ServerActi
                 return;
             }
         }
+        if (!forceRun && timeoutTask != null) {
+            if (!reserveQueueSlot()) {
+                // The queue is full
+                taskExecutor.execute(timeoutTask);
+                return;
+            }
+            final long queueTimeout = this.queueTimeout;
+            if (queueTimeout > 0 && (timeout <= 0 || queueTimeout < timeout)) {
+                timeout = queueTimeout;
+            }
+        } else {
+            // Tasks that cannot be told they were rejected are always queued
+            (forceRun ? queuedForcedTaskCount : queuedTaskCount).incrementAndGet();
+        }
         QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun);
-        taskQueue.add(queuedTask);
+        if (forceRun) {
+            forcedTasks.add(queuedTask);
+        } else {
+            (controlPoint == null ? defaultLane : controlPoint.getTaskLane()).add(queuedTask);
+        }
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
-            if(timeout > 0) {
+            final Timer timer = this.timer;
+            if(timeout > 0 && timer != null) {
                 timer.schedule(queuedTask, timeout);
             }
         }
     }
 
+    private boolean reserveQueueSlot() {
+        for (;;) {
+            final int maxQueueSize = this.maxQueueSize;
+            final int queued = queuedTaskCount.get();
+            if (maxQueueSize >= 0 && queued >= maxQueueSize) {
+                return false;
+            }
+            if (queuedTaskCount.compareAndSet(queued, queued + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Runs queued tasks for as long as there are tasks that can be run.
+     */
+    private void runQueuedTasks() {
+        while (hasQueuedTasks() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+            if (!runQueuedTask(false)) {
+                break;
+            }
+        }
+    }
+
     /**
      * Runs a queued task, if the queue is not already empty.
      *
@@ -353,42 +501,101 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param hasPermit If the caller has already called {@link #beginRequest(boolean force)}
      */
     private boolean runQueuedTask(boolean hasPermit) {
-        if (!hasPermit && beginRequest(paused) == RunResult.REJECTED) {
-            return false;
+        for (;;) {
+            if (!hasPermit && beginRequest(paused) == RunResult.REJECTED) {
+                return false;
+            }
+            QueuedTask task;
+            while ((task = pollQueuedTask()) != null) {
+                // Tasks that timed out meanwhile are skipped, the permit goes to the next one
+                if (task.runRequest()) {
+                    recordQueueWait(task);
+                    return true;
+                }
+            }
+            decrementRequestCount();
+            // A task queued while we held the permit may have been refused one, so it is our job to run it
+            if (!hasQueuedTasks()) {
+                return false;
+            }
+            hasPermit = false;
         }
-        QueuedTask task = null;
-        if (!paused) {
-            task = taskQueue.poll();
-        } else {
+    }
+
+    private boolean hasQueuedTasks() {
+        return queuedForcedTaskCount.get() > 0 || (!paused && queuedTaskCount.get() > 0);
+    }
+
+    private QueuedTask pollQueuedTask() {
+        final QueuedTask forced = forcedTasks.poll();
+        if (forced != null || paused) {
             //the container is suspended, but we still need to run any force queued tasks
-            task = findForcedTask();
-        }
-        if (task != null) {
-            if(!task.runRequest()) {
-                decrementRequestCount();
+            return forced;
+        }
+        TaskLane lane;
+        while ((lane = laneTurns.poll()) != null) {
+            final QueuedTask task = lane.tasks.poll();
+            if (task != null) {
+                if (lane.turns.get() > lane.weight) {
+                    // The weight was lowered
+                    lane.releaseTurn();
+                } else {
+                    // Back to the end of the line, for another turn
+                    laneTurns.add(lane);
+                }
+                return task;
             }
-            return true;
-        } else {
-            decrementRequestCount();
-            return false;
+            lane.releaseTurn();
         }
+        return null;
     }
 
-    private QueuedTask findForcedTask() {
-        QueuedTask forcedTask = null;
-        QueuedTask task;
-        List<QueuedTask> storage = new ArrayList<>();
-        while (forcedTask == null && (task = taskQueue.poll()) != null) {
-            if (task.forceRun) {
-                forcedTask = task;
-            } else {
-                storage.add(task);
+    private void recordQueueWait(QueuedTask task) {
+        final long wait = System.nanoTime() - task.queuedAt;
+        queueWaitTime.add(wait);
+        queueWaitCount.increment();
+        maxQueueWaitTime.accumulate(wait);
+    }
+
+    /**
+     * The queue of tasks of a control point. The lane takes as many turns at running a task as its weight, for as long
+     * as it has tasks.
+     */
+    final class TaskLane {
+
+        private final Queue<QueuedTask> tasks = new ConcurrentLinkedQueue<>();
+        /** The number of turns of this lane in the queue of turns */
+        private final AtomicInteger turns = new AtomicInteger();
+        private volatile int weight = 1;
+
+        void setWeight(int weight) {
+            this.weight = Math.max(1, weight);
+            takeTurn();
+        }
+
+        int getWeight() {
+            return weight;
+        }
+
+        void add(QueuedTask task) {
+            tasks.add(task);
+            takeTurn();
+        }
+
+        private void takeTurn() {
+            int current;
+            while (!tasks.isEmpty() && (current = turns.get()) < weight) {
+                if (turns.compareAndSet(current, current + 1)) {
+                    laneTurns.add(this);
+                }
             }
         }
-        // this screws the order somewhat, but the container is suspending anyway, and the order
-        // was never guarenteed. if we push them back onto the front we will need to just go through them again
-        taskQueue.addAll(storage);
-        return forcedTask;
+
+        private void releaseTurn() {
+            turns.decrementAndGet();
+            // A task added meanwhile may have found all the turns taken
+            takeTurn();
+        }
     }
 
     private static final class ControlPointIdentifier {
@@ -426,13 +633,14 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
 
-    private static final class QueuedTask extends TimerTask {
+    private final class QueuedTask extends TimerTask {
 
         private final Executor executor;
         private final Runnable task;
         private final Runnable cancelTask;
         private final ControlPoint controlPoint;
         private final boolean forceRun;
+        private final long queuedAt = System.nanoTime();
 
         //0 == queued
         //1 == run
@@ -450,6 +658,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         @Override
         public void run() {
             if(state.compareAndSet(0, 2)) {
+                dequeued();
                 if(cancelTask != null) {
                     try {
                         executor.execute(cancelTask);
@@ -463,6 +672,7 @@ public class RequestController implements Service<RequestController>, ServerActi
 
         public boolean runRequest() {
             if (state.compareAndSet(0, 1)) {
+                dequeued();
                 cancel();
                 executor.execute(new ControlPointTask(task, controlPoint));
                 return true;
@@ -474,6 +684,10 @@ public class RequestController implements Service<RequestController>, ServerActi
         boolean isQueued() {
             return state.get() == 0;
         }
+
+        private void dequeued() {
+            (forceRun ? queuedForcedTaskCount : queuedTaskCount).decrementAndGet();
+        }
     }
 
 }
@@ -8,7 +8,9 @@ package org.wildfly.extension.requestcontroller;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PersistentResourceDefinition;
@@ -16,11 +18,16 @@ import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleMapAttributeDefinition;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
 
 /**
  * @author Stuart Douglas
@@ -41,9 +48,41 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    public static final SimpleAttributeDefinition MAX_QUEUE_SIZE = SimpleAttributeDefinitionBuilder.create(Constants.MAX_QUEUE_SIZE, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(-1))
+            .setValidator(new IntRangeValidator(-1, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition QUEUE_TIMEOUT = SimpleAttributeDefinitionBuilder.create(Constants.QUEUE_TIMEOUT, ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(-1L))
+            .setValidator(new LongRangeValidator(-1, true))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
+    public static final SimpleMapAttributeDefinition QUEUE_WEIGHTS = new SimpleMapAttributeDefinition.Builder(Constants.QUEUE_WEIGHTS, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setElementValidator(new IntRangeValidator(1, false, true))
+            .build();
+
     public static final SimpleAttributeDefinition ACTIVE_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.ACTIVE_REQUESTS, ModelType.INT, true)
             .setStorageRuntime()
             .build();
+
+    public static final SimpleAttributeDefinition QUEUE_DEPTH = SimpleAttributeDefinitionBuilder.create(Constants.QUEUE_DEPTH, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition AVERAGE_QUEUE_WAIT_TIME = SimpleAttributeDefinitionBuilder.create(Constants.AVERAGE_QUEUE_WAIT_TIME, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition MAX_QUEUE_WAIT_TIME = SimpleAttributeDefinitionBuilder.create(Constants.MAX_QUEUE_WAIT_TIME, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
     public static final RequestControllerRootDefinition INSTANCE = new RequestControllerRootDefinition(true);
 
     static final RuntimeCapability<Void> REQUEST_CONTROLLER_CAPABILITY =
@@ -67,10 +106,23 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
 
     private static Collection<AttributeDefinition> getAttributeDefinitions(boolean registerRuntimeOnly) {
         if(registerRuntimeOnly) {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ACTIVE_REQUESTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, MAX_QUEUE_SIZE, QUEUE_TIMEOUT, QUEUE_WEIGHTS, ACTIVE_REQUESTS, QUEUE_DEPTH, AVERAGE_QUEUE_WAIT_TIME, MAX_QUEUE_WAIT_TIME});
         } else {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, MAX_QUEUE_SIZE, QUEUE_TIMEOUT, QUEUE_WEIGHTS});
+        }
+    }
+
+    /**
+     * Converts the resolved value of the {@link #QUEUE_WEIGHTS} attribute to the weights by deployment name.
+     */
+    static Map<String, Integer> getQueueWeights(ModelNode queueWeights) {
+        final Map<String, Integer> result = new HashMap<>();
+        if (queueWeights.isDefined()) {
+            for (Property property : queueWeights.asPropertyList()) {
+                result.put(property.getName(), property.getValue().asInt());
+            }
         }
+        return result;
     }
 
     @Override
@@ -80,11 +132,18 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
-        MaxRequestsWriteHandler handler = new MaxRequestsWriteHandler(MAX_REQUESTS);
+        RequestControllerWriteHandler handler = new RequestControllerWriteHandler(MAX_REQUESTS, MAX_QUEUE_SIZE, QUEUE_TIMEOUT, QUEUE_WEIGHTS);
         resourceRegistration.registerReadWriteAttribute(MAX_REQUESTS, null, handler);
+        resourceRegistration.registerReadWriteAttribute(MAX_QUEUE_SIZE, null, handler);
+        resourceRegistration.registerReadWriteAttribute(QUEUE_TIMEOUT, null, handler);
+        resourceRegistration.registerReadWriteAttribute(QUEUE_WEIGHTS, null, handler);
         resourceRegistration.registerReadWriteAttribute(TRACK_INDIVIDUAL_ENDPOINTS, null, new ReloadRequiredWriteAttributeHandler(TRACK_INDIVIDUAL_ENDPOINTS));
         if(registerRuntimeOnly) {
             resourceRegistration.registerMetric(ACTIVE_REQUESTS, new ActiveRequestsReadHandler());
+            QueueMetricsReadHandler queueMetricsHandler = new QueueMetricsReadHandler();
+            resourceRegistration.registerMetric(QUEUE_DEPTH, queueMetricsHandler);
+            resourceRegistration.registerMetric(AVERAGE_QUEUE_WAIT_TIME, queueMetricsHandler);
+            resourceRegistration.registerMetric(MAX_QUEUE_WAIT_TIME, queueMetricsHandler);
         }
     }
 }
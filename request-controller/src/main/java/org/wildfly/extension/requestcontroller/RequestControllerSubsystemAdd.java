@@ -51,6 +51,9 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
 
         int maxRequests = RequestControllerRootDefinition.MAX_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
         boolean trackIndividual = RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS.resolveModelAttribute(context, resource.getModel()).asBoolean();
+        int maxQueueSize = RequestControllerRootDefinition.MAX_QUEUE_SIZE.resolveModelAttribute(context, resource.getModel()).asInt();
+        long queueTimeout = RequestControllerRootDefinition.QUEUE_TIMEOUT.resolveModelAttribute(context, resource.getModel()).asLong();
+        ModelNode queueWeights = RequestControllerRootDefinition.QUEUE_WEIGHTS.resolveModelAttribute(context, resource.getModel());
 
 
 
@@ -58,6 +61,9 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
         Supplier<SuspendController> supplier = svcBuilder.requiresCapability("org.wildfly.server.suspend-controller", SuspendController.class);
         RequestController requestController = new RequestController(trackIndividual, supplier);
         requestController.setMaxRequestCount(maxRequests);
+        requestController.setMaxQueueSize(maxQueueSize);
+        requestController.setQueueTimeout(queueTimeout);
+        requestController.setQueueWeights(RequestControllerRootDefinition.getQueueWeights(queueWeights));
         svcBuilder.setInstance(requestController)
                 .install();
 
@@ -14,24 +14,21 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 
 /**
- * Write handler for the max requests attribute
+ * Write handler for the attributes that are applied to a running request controller
  *
  * @author Stuart Douglas
  */
-class MaxRequestsWriteHandler extends AbstractWriteAttributeHandler<Void> {
+class RequestControllerWriteHandler extends AbstractWriteAttributeHandler<Void> {
 
-    private final AttributeDefinition attributeDefinition;
-
-    MaxRequestsWriteHandler(final AttributeDefinition attributeDefinition) {
-        super(attributeDefinition);
-        this.attributeDefinition = attributeDefinition;
+    RequestControllerWriteHandler(final AttributeDefinition... attributeDefinitions) {
+        super(attributeDefinitions);
     }
 
     @Override
     protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName,
                                            ModelNode resolvedValue, ModelNode currentValue, HandbackHolder<Void> handbackHolder) throws OperationFailedException {
         final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
-        apply(context, model);
+        apply(context, attributeName, model);
 
         return false;
     }
@@ -41,20 +38,32 @@ class MaxRequestsWriteHandler extends AbstractWriteAttributeHandler<Void> {
                                          ModelNode valueToRestore, ModelNode valueToRevert, Void handback) throws OperationFailedException {
         final ModelNode restored = context.readResource(PathAddress.EMPTY_ADDRESS).getModel().clone();
         restored.get(attributeName).set(valueToRestore);
-        apply(context, restored);
+        apply(context, attributeName, restored);
     }
 
-    private void apply(final OperationContext context, final ModelNode model) throws OperationFailedException {
+    private void apply(final OperationContext context, final String attributeName, final ModelNode model) throws OperationFailedException {
         ServiceController<?> serviceController = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
         if(serviceController == null) {
             return;
         }
-        RequestController requestController = (RequestController) serviceController.getService().getValue();
-        final ModelNode modelNode = this.attributeDefinition.resolveModelAttribute(context, model);
-        if(!modelNode.isDefined()) {
-            requestController.setMaxRequestCount(-1);
-        } else {
-            requestController.setMaxRequestCount(modelNode.asInt());
+        RequestController requestController = (RequestController) serviceController.getValue();
+        final AttributeDefinition attributeDefinition = getAttributeDefinition(attributeName);
+        final ModelNode modelNode = attributeDefinition.resolveModelAttribute(context, model);
+        switch (attributeName) {
+            case Constants.MAX_REQUESTS:
+                requestController.setMaxRequestCount(modelNode.isDefined() ? modelNode.asInt() : -1);
+                break;
+            case Constants.MAX_QUEUE_SIZE:
+                requestController.setMaxQueueSize(modelNode.isDefined() ? modelNode.asInt() : -1);
+                break;
+            case Constants.QUEUE_TIMEOUT:
+                requestController.setQueueTimeout(modelNode.isDefined() ? modelNode.asLong() : -1);
+                break;
+            case Constants.QUEUE_WEIGHTS:
+                requestController.setQueueWeights(RequestControllerRootDefinition.getQueueWeights(modelNode));
+                break;
+            default:
+                throw new IllegalStateException(attributeName);
         }
     }
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the queueing of tasks by the {@link RequestController}.
+ */
+public class RequestControllerQueueTestCase {
+
+    private final Deque<Runnable> executed = new ArrayDeque<>();
+    private final List<String> ran = new ArrayList<>();
+    private RequestController controller;
+
+    @Before
+    public void setup() {
+        controller = new RequestController(false, () -> null);
+        controller.setMaxRequestCount(1);
+    }
+
+    @Test
+    public void testControlPointsTakeTurnsByWeight() {
+        ControlPoint a = controller.getControlPoint("a.war", "web");
+        ControlPoint b = controller.getControlPoint("b.war", "web");
+        a.setQueueWeight(2);
+        assertEquals(RunResult.RUN, a.beginRequest());
+
+        for (int i = 0; i < 6; i++) {
+            queue(a, "a");
+        }
+        for (int i = 0; i < 3; i++) {
+            queue(b, "b");
+        }
+        assertEquals(9, controller.getQueueDepth());
+
+        a.requestComplete();
+        runExecuted();
+        assertEquals(List.of("a", "a", "b", "a", "a", "b", "a", "a", "b"), ran);
+        assertEquals(0, controller.getQueueDepth());
+        assertEquals(0, controller.getActiveRequestCount());
+    }
+
+    @Test
+    public void testQueueWeightsByDeployment() {
+        ControlPoint a = controller.getControlPoint("a.war", "web");
+        ControlPoint b = controller.getControlPoint("b.war", "web");
+        b.setQueueWeight(4);
+        controller.setQueueWeights(Map.of("a.war", 3));
+
+        // The configured weights apply to the existing control points, the others are reset
+        assertEquals(3, a.getQueueWeight());
+        assertEquals(1, b.getQueueWeight());
+        assertEquals(3, controller.getControlPoint("a.war", "ejb").getQueueWeight());
+        assertEquals(1, controller.getControlPoint("c.war", "web").getQueueWeight());
+    }
+
+    @Test
+    public void testForcedTasksRunWhileSuspended() {
+        ControlPoint a = controller.getControlPoint("a.war", "web");
+        controller.suspended(() -> { });
+        queue(a, "queued");
+        a.forceQueueTask(() -> ran.add("forced"), executed::add);
+        runExecuted();
+        assertEquals(List.of("forced"), ran);
+        assertEquals(1, controller.getQueueDepth());
+
+        controller.resume();
+        runExecuted();
+        assertEquals(List.of("forced", "queued"), ran);
+        assertEquals(0, controller.getQueueDepth());
+    }
+
+    @Test
+    public void testFullQueueRejectsTasks() {
+        ControlPoint a = controller.getControlPoint("a.war", "web");
+        controller.setMaxQueueSize(2);
+        assertEquals(RunResult.RUN, a.beginRequest());
+        for (int i = 0; i < 3; i++) {
+            queue(a, "a" + i);
+        }
+        assertEquals(2, controller.getQueueDepth());
+        // The timeout task of the task that did not fit ran straight away
+        runExecuted();
+        assertEquals(List.of("timeout a2"), ran);
+
+        a.requestComplete();
+        runExecuted();
+        assertEquals(List.of("timeout a2", "a0", "a1"), ran);
+        assertEquals(0, controller.getQueueDepth());
+    }
+
+    private void queue(ControlPoint controlPoint, String name) {
+        controlPoint.queueTask(() -> ran.add(name), executed::add, -1, () -> ran.add("timeout " + name), false);
+    }
+
+    private void runExecuted() {
+        Runnable task;
+        while ((task = executed.poll()) != null) {
+            task.run();
+        }
+    }
+}
@@ -5,9 +5,11 @@
 
 package org.wildfly.extension.requestcontroller;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 import static org.jboss.as.server.Services.JBOSS_SUSPEND_CONTROLLER;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.RunningMode;
@@ -36,7 +38,21 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("request-controller-1.0.xml");
+        return readResource("request-controller-1.1.xml");
+    }
+
+    @Override
+    protected String getSubsystemXsdPath() throws Exception {
+        return "schema/wildfly-request-controller_1_1.xsd";
+    }
+
+    @Test
+    public void testParse_1_0() throws Exception {
+        KernelServices services = createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXml(readResource("request-controller-1.0.xml"))
+                .build();
+        Assert.assertTrue(services.isSuccessfulBoot());
+        Assert.assertEquals(100, services.readWholeModel().get(SUBSYSTEM, getMainSubsystemName(), Constants.MAX_REQUESTS).asInt());
     }
 
     @Test
@@ -52,6 +68,9 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
         workerServiceController.awaitValue();
         RequestController controller = workerServiceController.getService().getValue();
         Assert.assertEquals(100, controller.getMaxRequestCount());
+        Assert.assertEquals(500, controller.getMaxQueueSize());
+        Assert.assertEquals(30000, controller.getQueueTimeout());
+        Assert.assertEquals(Map.of("a.war", 2, "b.war", 3), controller.getQueueWeights());
     }
 
     @Override
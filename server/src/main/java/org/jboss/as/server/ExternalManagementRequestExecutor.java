@@ -53,22 +53,31 @@ public class ExternalManagementRequestExecutor implements Service<ExecutorServic
     // but for HTTP EAP 6 had no limit (not great) and WildFly < 10.1 had 10 with no queue, so we'll go
     // with 10 to be more like what was out there getting bake in WildFly < 10.1.
     // We provide a fairly large but not unlimited queue to avoid rejecting requests.
+    // Both can be tuned for clients sending many concurrent requests.
     private static final int DEFAULT_POOL_SIZE = 10;
-    private static final int WORK_QUEUE_SIZE = 512;
+    private static final int DEFAULT_WORK_QUEUE_SIZE = 512;
     private static final String POOL_SIZE_PROP = "org.wildfly.unsupported.external.management.pool-size";
+    private static final String WORK_QUEUE_SIZE_PROP = "org.wildfly.unsupported.external.management.queue-size";
 
     private static int getPoolSize() {
-        int defaultThreads = DEFAULT_POOL_SIZE;
-        String maxThreads = WildFlySecurityManager.getPropertyPrivileged(POOL_SIZE_PROP, null);
-        if (maxThreads != null && maxThreads.length() > 0) {
+        return getSize(POOL_SIZE_PROP, DEFAULT_POOL_SIZE);
+    }
+
+    private static int getWorkQueueSize() {
+        return getSize(WORK_QUEUE_SIZE_PROP, DEFAULT_WORK_QUEUE_SIZE);
+    }
+
+    private static int getSize(String propertyName, int defaultSize) {
+        int size = defaultSize;
+        String value = WildFlySecurityManager.getPropertyPrivileged(propertyName, null);
+        if (value != null && value.length() > 0) {
             try {
-                int max = Integer.decode(maxThreads);
-                defaultThreads = Math.max(max, 1);
+                size = Math.max(Integer.decode(value), 1);
             } catch (NumberFormatException ex) {
-                ServerLogger.ROOT_LOGGER.failedToParseCommandLineInteger(POOL_SIZE_PROP, maxThreads);
+                ServerLogger.ROOT_LOGGER.failedToParseCommandLineInteger(propertyName, value);
             }
         }
-        return defaultThreads;
+        return size;
     }
 
     private final InjectedValue<ExecutorService> injectedExecutor = new InjectedValue<>();
@@ -97,8 +106,9 @@ public class ExternalManagementRequestExecutor implements Service<ExecutorServic
         });
 
         int poolSize = getPoolSize();
+        int workQueueSize = getWorkQueueSize();
         if (EnhancedQueueExecutor.DISABLE_HINT) {
-            final BlockingQueue<Runnable> workQueue = new LinkedBlockingQueue<Runnable>(WORK_QUEUE_SIZE);
+            final BlockingQueue<Runnable> workQueue = new LinkedBlockingQueue<Runnable>(workQueueSize);
             executorService = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
                     workQueue, threadFactory);
         } else {
@@ -106,7 +116,7 @@ public class ExternalManagementRequestExecutor implements Service<ExecutorServic
                 .setCorePoolSize(poolSize)
                 .setMaximumPoolSize(poolSize)
                 .setKeepAliveTime(60L, TimeUnit.SECONDS)
-                .setMaximumQueueSize(WORK_QUEUE_SIZE)
+                .setMaximumQueueSize(workQueueSize)
                 .setThreadFactory(threadFactory)
                 .build();
         }
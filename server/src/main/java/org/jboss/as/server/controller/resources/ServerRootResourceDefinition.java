@@ -17,15 +17,18 @@ import static org.jboss.as.controller.services.path.PathResourceDefinition.PATH_
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.BootErrorCollector;
+import org.jboss.as.controller.BulkReadOperationHandler;
 import org.jboss.as.controller.CapabilityRegistry;
 import org.jboss.as.controller.CompositeOperationHandler;
 import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.MetricsSubscriptionHandler;
 import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.NoopOperationStepHandler;
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.ProcessType;
 import org.jboss.as.controller.PropertiesAttributeDefinition;
+import org.jboss.as.controller.ReadBootProfileHandler;
 import org.jboss.as.controller.ResourceDefinition;
 import org.jboss.as.controller.ResourceRegistration;
 import org.jboss.as.controller.RunningMode;
@@ -335,6 +338,9 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
 
         // Other root resource operations
         resourceRegistration.registerOperationHandler(CompositeOperationHandler.DEFINITION, CompositeOperationHandler.INSTANCE, false);
+        resourceRegistration.registerOperationHandler(BulkReadOperationHandler.DEFINITION, BulkReadOperationHandler.INSTANCE, false);
+        resourceRegistration.registerOperationHandler(MetricsSubscriptionHandler.DEFINITION, MetricsSubscriptionHandler.INSTANCE, false);
+        resourceRegistration.registerOperationHandler(ReadBootProfileHandler.DEFINITION, ReadBootProfileHandler.INSTANCE, false);
 
         SimpleOperationDefinitionBuilder xmlMarshallingHandlerBuilder = XmlMarshallingHandler.createOperationDefinitionBuilder();
         if(resourceRegistration.enables(XmlFileMarshallingHandler.DEFINITION)) {
@@ -74,6 +74,12 @@ public final class Attachments {
      */
     public static final AttachmentKey<VirtualFile> DEPLOYMENT_CONTENTS = AttachmentKey.create(VirtualFile.class);
 
+    /**
+     * The hash of the deployment contents in the content repository. Only attached to a top-level deployment whose
+     * contents is a managed archive, which cannot change without the hash changing.
+     */
+    public static final AttachmentKey<byte[]> DEPLOYMENT_CONTENT_HASH = AttachmentKey.create(byte[].class);
+
     /**
      * An attachment defining a transformer of the ServiceTarget used to install a deployment unit phase.
      */
@@ -0,0 +1,48 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for the start or stop of a {@link DeploymentUnitPhaseService}, i.e. the deployment or
+ * undeployment of a deployment unit by the processors of a phase. Only created when
+ * {@linkplain org.jboss.as.controller.FlightRecorderEvents#isEnabled() enabled}.
+ */
+@Name("org.wildfly.DeploymentPhase")
+@Label("Deployment Phase")
+@Category({"WildFly", "Deployment"})
+@Description("Deployment or undeployment of a deployment unit by the processors of a phase")
+final class DeploymentPhaseEvent extends Event {
+
+    @Label("Deployment Unit")
+    String deploymentUnit;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Undeploy")
+    boolean undeploy;
+
+    static DeploymentPhaseEvent start() {
+        final DeploymentPhaseEvent event = new DeploymentPhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    void complete(final String deploymentUnit, final Phase phase, final boolean undeploy) {
+        if (shouldCommit()) {
+            this.deploymentUnit = deploymentUnit;
+            this.phase = phase.name();
+            this.undeploy = undeploy;
+            commit();
+        }
+    }
+}
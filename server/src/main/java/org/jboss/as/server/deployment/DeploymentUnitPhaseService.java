@@ -15,6 +15,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import org.jboss.as.controller.BootProfile;
+import org.jboss.as.controller.FlightRecorderEvents;
 import org.jboss.as.controller.RequirementServiceBuilder;
 import org.jboss.as.controller.RequirementServiceTarget;
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
@@ -76,6 +78,17 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
 
     @SuppressWarnings("unchecked")
     public synchronized void start(final StartContext context) throws StartException {
+        final DeploymentPhaseEvent event = FlightRecorderEvents.isEnabled() ? DeploymentPhaseEvent.start() : null;
+        try {
+            doStart(context);
+        } finally {
+            if (event != null) {
+                event.complete(deploymentUnit.getName(), phase, false);
+            }
+        }
+    }
+
+    private void doStart(final StartContext context) throws StartException {
         if(runOnce.get()) {
             ServerLogger.DEPLOYMENT_LOGGER.deploymentRestartDetected(deploymentUnit.getName());
             //this only happens on deployment restart, which we don't support at the moment.
@@ -169,7 +182,10 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             final RegisteredDeploymentUnitProcessor processor = iterator.next();
             try {
                 if (shouldRun(deploymentUnit, processor)) {
-                    processor.getProcessor().deploy(processorContext);
+                    try (BootProfile.Measurement ignored = BootProfile.measure(BootProfile.Category.DEPLOYMENT_PROCESSOR,
+                            processor.getProcessor().getClass().getName(), phase.name())) {
+                        processor.getProcessor().deploy(processorContext);
+                    }
                 }
             } catch (Throwable e) {
                 while (iterator.hasPrevious()) {
@@ -227,6 +243,7 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
     }
 
     public synchronized void stop(final StopContext context) {
+        final DeploymentPhaseEvent event = FlightRecorderEvents.isEnabled() ? DeploymentPhaseEvent.start() : null;
         final DeploymentUnit deploymentUnitContext = deploymentUnit;
         final DeployerChains chains = deployerChainsInjector.getValue();
         final List<RegisteredDeploymentUnitProcessor> list = chains.getChain(phase);
@@ -235,6 +252,9 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             final RegisteredDeploymentUnitProcessor prev = iterator.previous();
             safeUndeploy(deploymentUnitContext, phase, prev);
         }
+        if (event != null) {
+            event.complete(deploymentUnitContext.getName(), phase, true);
+        }
     }
 
     private static void safeUndeploy(final DeploymentUnit deploymentUnit, final Phase phase, final RegisteredDeploymentUnitProcessor prev) {
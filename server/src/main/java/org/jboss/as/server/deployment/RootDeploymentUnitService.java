@@ -5,6 +5,10 @@
 
 package org.jboss.as.server.deployment;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ARCHIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONTENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HASH;
+
 import java.lang.ref.WeakReference;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -16,6 +20,7 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.server.deployment.annotation.AnnotationIndexSupport;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
+import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceRegistry;
 import org.jboss.vfs.VirtualFile;
 
@@ -87,6 +92,11 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         deploymentUnit.putAttachment(Attachments.ANNOTATION_INDEX_SUPPORT, annotationIndexSupport);
         if(this.isExplodedContent) {
             MountExplodedMarker.setMountExploded(deploymentUnit);
+        } else {
+            final byte[] contentHash = getArchiveContentHash(resource.getModel());
+            if (contentHash != null) {
+                deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENT_HASH, contentHash);
+            }
         }
 
         // Attach the deployment repo
@@ -94,4 +104,16 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
 
         return deploymentUnit;
     }
+
+    private static byte[] getArchiveContentHash(final ModelNode model) {
+        // Only read the model, the node is shared with the management model
+        if (model.hasDefined(CONTENT) && !model.get(CONTENT).asList().isEmpty()) {
+            final ModelNode contentItem = model.get(CONTENT).get(0);
+            final boolean archive = !contentItem.hasDefined(ARCHIVE) || contentItem.get(ARCHIVE).asBoolean();
+            if (archive && contentItem.hasDefined(HASH)) {
+                return contentItem.get(HASH).asBytes();
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A persistent cache of annotation indices, kept under the server data directory so that a reboot or a redeploy of
+ * unchanged content does not index it again.
+ * <p>
+ * Entries are keyed by a digest of everything that determines the content of an index. For a resource root of a
+ * deployment that is the hash of the deployment content in the content repository, the overlays of the deployment
+ * and the location of the root within it, as well as the version of Jandex that built the index, so that an upgrade
+ * does not read indices built differently. Content that cannot be identified that way, such as unmanaged or exploded
+ * content, is not cached. An entry is written to a temporary file and then moved in place, so a reader never sees a
+ * partial index. Entries not used for {@link #MAX_IDLE_DAYS} days are removed when the cache is created.
+ */
+public final class AnnotationIndexCache {
+
+    /** Name of the system property that enables the cache, which it is by default */
+    public static final String ENABLED_PROPERTY = "org.jboss.as.server.annotation_index_cache";
+
+    static final String CACHE_DIR = "annotation-index";
+    static final int MAX_IDLE_DAYS = 30;
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final byte[] JANDEX_VERSION = getJandexVersion().getBytes(StandardCharsets.UTF_8);
+
+    private final Path root;
+
+    AnnotationIndexCache(final Path root) throws IOException {
+        this.root = Files.createDirectories(root);
+        removeIdleEntries(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_IDLE_DAYS));
+    }
+
+    /**
+     * Creates the cache in the given server data directory, unless it was disabled with the {@link #ENABLED_PROPERTY}
+     * system property or cannot be created.
+     *
+     * @param serverDataDir the server data directory. Cannot be {@code null}
+     * @return the cache, or {@code null} if annotation indices are not to be cached
+     */
+    public static AnnotationIndexCache create(final File serverDataDir) {
+        if (!Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "true"))) {
+            return null;
+        }
+        try {
+            return new AnnotationIndexCache(serverDataDir.toPath().resolve(CACHE_DIR));
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Annotation indices will not be cached in %s", serverDataDir);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the index cached under the given key.
+     *
+     * @param key the key
+     * @return the index, or {@code null} if none is cached, or it cannot be read
+     */
+    Index get(final byte[] key) {
+        final Path file = getFile(key);
+        try (InputStream in = Files.newInputStream(file)) {
+            final Index index = new IndexReader(in).read();
+            // Record the use, which keeps the entry from being removed as idle
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return index;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Discarding unreadable cached annotation index %s", file);
+            delete(file);
+            return null;
+        }
+    }
+
+    /**
+     * Caches an index under the given key. A failure to write the index is not reported, it is just not cached.
+     *
+     * @param key the key
+     * @param index the index
+     */
+    void put(final byte[] key, final Index index) {
+        final Path file = getFile(key);
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(root, file.getFileName().toString(), TMP_SUFFIX);
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                new IndexWriter(out).write(index);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed caching annotation index %s", file);
+            if (tmp != null) {
+                delete(tmp);
+            }
+        }
+    }
+
+    /**
+     * Gets the digest of the content of the given resource root of a deployment, which is the basis of the key of
+     * its cached index.
+     *
+     * @param deploymentUnit the deployment unit the resource root belongs to
+     * @param resourceRoot the resource root
+     * @return the digest, or {@code null} if the content of the resource root cannot be identified
+     */
+    static byte[] getContentDigest(final DeploymentUnit deploymentUnit, final ResourceRoot resourceRoot) {
+        final DeploymentUnit top = deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+        final byte[] contentHash = top.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH);
+        final ResourceRoot deploymentRoot = top.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        if (contentHash == null || deploymentRoot == null) {
+            return null;
+        }
+        final String path;
+        if (resourceRoot.getRoot().equals(deploymentRoot.getRoot())) {
+            path = "";
+        } else {
+            try {
+                path = resourceRoot.getRoot().getPathNameRelativeTo(deploymentRoot.getRoot());
+            } catch (IllegalArgumentException e) {
+                // Not part of the deployment content
+                return null;
+            }
+        }
+        final MessageDigest digest = newDigest();
+        digest.update(contentHash);
+        digest.update(path.getBytes(StandardCharsets.UTF_8));
+        final DeploymentOverlayIndex overlayIndex = top.getAttachment(Attachments.DEPLOYMENT_OVERLAY_INDEX);
+        if (overlayIndex != null) {
+            for (Map.Entry<String, byte[]> overlay : new TreeMap<>(overlayIndex.getOverlays(top.getName())).entrySet()) {
+                digest.update(overlay.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update(overlay.getValue());
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Gets the key of the cached index of content with the given digest, indexed ignoring the given paths.
+     *
+     * @param contentDigest the digest of the content
+     * @param ignoredPaths the paths ignored when indexing the content, sorted. May be {@code null}
+     * @return the key
+     */
+    static byte[] getKey(final byte[] contentDigest, final List<String> ignoredPaths) {
+        final MessageDigest digest = newDigest();
+        digest.update(contentDigest);
+        digest.update(JANDEX_VERSION);
+        if (ignoredPaths != null) {
+            for (String path : ignoredPaths) {
+                digest.update((byte) 0);
+                digest.update(path.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Gets the version of Jandex, or the location of its classes if the version is not in its manifest, which
+     * identifies the version as well.
+     */
+    private static String getJandexVersion() {
+        final String version = Index.class.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        final URL location = Index.class.getResource("Index.class");
+        return location == null ? "" : location.toString();
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path getFile(final byte[] key) {
+        return root.resolve(HashUtil.bytesToHexString(key) + INDEX_SUFFIX);
+    }
+
+    private void removeIdleEntries(final long idleSince) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root)) {
+            for (Path entry : entries) {
+                final String name = entry.getFileName().toString();
+                // Temporary files are left over by a crash while writing an entry
+                if (name.endsWith(TMP_SUFFIX) || (name.endsWith(INDEX_SUFFIX) && Files.getLastModifiedTime(entry).toMillis() < idleSince)) {
+                    delete(entry);
+                }
+            }
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed removing idle annotation indices from %s", root);
+        }
+    }
+
+    private static void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed deleting %s", file);
+        }
+    }
+}
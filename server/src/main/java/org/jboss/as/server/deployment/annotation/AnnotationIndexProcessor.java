@@ -10,7 +10,6 @@ import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentUtils;
-import org.jboss.as.server.deployment.module.ResourceRoot;
 
 /**
  * Deployment unit processor responsible for creating and attaching an annotation index for a resource root
@@ -20,6 +19,19 @@ import org.jboss.as.server.deployment.module.ResourceRoot;
  */
 public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
 
+    private final AnnotationIndexCache indexCache;
+
+    public AnnotationIndexProcessor() {
+        this(null);
+    }
+
+    /**
+     * @param indexCache the persistent cache of the indices of deployment content. May be {@code null}
+     */
+    public AnnotationIndexProcessor(final AnnotationIndexCache indexCache) {
+        this.indexCache = indexCache;
+    }
+
     /**
      * Process this deployment for annotations.  This will use an annotation indexer to create an index of all annotations
      * found in this deployment and attach it to the deployment unit context.
@@ -30,9 +42,8 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
-        for (ResourceRoot resourceRoot : DeploymentUtils.allResourceRoots(deploymentUnit)) {
-            ResourceRootIndexer.indexResourceRoot(resourceRoot);
-        }
+        // The resource roots are indexed in parallel
+        ResourceRootIndexer.indexResourceRoots(deploymentUnit, DeploymentUtils.allResourceRoots(deploymentUnit), indexCache);
     }
 
 }
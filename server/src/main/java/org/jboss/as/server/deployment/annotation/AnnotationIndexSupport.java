@@ -7,6 +7,8 @@ package org.jboss.as.server.deployment.annotation;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
@@ -18,6 +20,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.moduleservice.ModuleIndexBuilder;
+import org.jboss.jandex.Index;
 import org.jboss.jandex.Indexer;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleLoadException;
@@ -40,10 +43,11 @@ public final class AnnotationIndexSupport {
      * Gets the annotation indices for the resources in the module with the given id.
      * @param moduleId the id of the module to be indexed. Cannot be {@code null}.
      * @param moduleLoader {@link ModuleLoader} to use to load the module. Cannot be {@code null}.
+     * @param persistentCache the cache that persists calculated indices across operations. May be {@code null}.
      * @return the indices. Will not return {@code null}.
      * @throws DeploymentUnitProcessingException if a problem occurs obtaining the indices
      */
-    CompositeIndex getAnnotationIndices(String moduleId, ModuleLoader moduleLoader) throws DeploymentUnitProcessingException {
+    CompositeIndex getAnnotationIndices(String moduleId, ModuleLoader moduleLoader, AnnotationIndexCache persistentCache) throws DeploymentUnitProcessingException {
         Assert.checkNotNullParam("moduleId", moduleId);
         Assert.checkNotNullParam("moduleLoader", moduleLoader);
 
@@ -61,7 +65,7 @@ public final class AnnotationIndexSupport {
                     result = indexCache.get(moduleId);
                     if (result == null) {
                         // Nope. We build and cache the indices
-                        result = indexModule(moduleId, moduleLoader);
+                        result = indexModule(moduleId, moduleLoader, persistentCache);
                         indexCache.put(moduleId, result);
                     }
                 } finally {
@@ -91,7 +95,7 @@ public final class AnnotationIndexSupport {
         return lock;
     }
 
-    static CompositeIndex indexModule(String moduleIdentifier, ModuleLoader moduleLoader) throws DeploymentUnitProcessingException {
+    static CompositeIndex indexModule(String moduleIdentifier, ModuleLoader moduleLoader, AnnotationIndexCache persistentCache) throws DeploymentUnitProcessingException {
         ServerLogger.DEPLOYMENT_LOGGER.debugf("Creating annotation index for static module %s", moduleIdentifier);
         try {
             CompositeIndex result;
@@ -105,7 +109,7 @@ public final class AnnotationIndexSupport {
                 // No MANIFEST/jandex.idx files. The fact that we were calle indicates some deployment
                 // wants this module indexed even though it has no jandex.idx files, so we process
                 // all class files in the module resources.
-                result = calculateModuleIndex(module);
+                result = calculateModuleIndex(module, persistentCache);
             }
             return result;
         } catch (ModuleLoadException | IOException e) {
@@ -113,7 +117,18 @@ public final class AnnotationIndexSupport {
         }
     }
 
-    private static CompositeIndex calculateModuleIndex(final Module module) throws ModuleLoadException, IOException {
+    private static CompositeIndex calculateModuleIndex(final Module module, final AnnotationIndexCache persistentCache) throws ModuleLoadException, IOException {
+        byte[] cacheKey = null;
+        if (persistentCache != null) {
+            // Reading and digesting the classes is much cheaper than indexing them, so a module that did not change
+            // since it was last indexed is identified by the digest of its classes
+            cacheKey = digestModuleClasses(module);
+            final Index cached = cacheKey != null ? persistentCache.get(cacheKey) : null;
+            if (cached != null) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf("Using persisted annotation index for static module %s", module.getName());
+                return new CompositeIndex(Collections.singleton(cached));
+            }
+        }
         final Indexer indexer = new Indexer();
         final PathFilter filter = PathFilters.getDefaultImportFilter();
         final Iterator<Resource> iterator = module.iterateResources(filter);
@@ -127,6 +142,34 @@ public final class AnnotationIndexSupport {
                 }
             }
         }
-        return new CompositeIndex(Collections.singleton(indexer.complete()));
+        final Index index = indexer.complete();
+        if (cacheKey != null) {
+            persistentCache.put(cacheKey, index);
+        }
+        return new CompositeIndex(Collections.singleton(index));
+    }
+
+    private static byte[] digestModuleClasses(final Module module) throws ModuleLoadException {
+        final MessageDigest digest = AnnotationIndexCache.newDigest();
+        digest.update(module.getName().getBytes(StandardCharsets.UTF_8));
+        final byte[] buffer = new byte[8192];
+        final Iterator<Resource> iterator = module.iterateResources(PathFilters.getDefaultImportFilter());
+        while (iterator.hasNext()) {
+            Resource resource = iterator.next();
+            if (resource.getName().endsWith(".class")) {
+                digest.update((byte) 0);
+                digest.update(resource.getName().getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = resource.openStream()) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                } catch (IOException e) {
+                    // Reported when indexing the class; the index is just not cached
+                    return null;
+                }
+            }
+        }
+        return digest.digest();
     }
 }
@@ -41,6 +41,19 @@ import org.jboss.modules.ModuleLoader;
  */
 public class CompositeIndexProcessor implements DeploymentUnitProcessor {
 
+    private final AnnotationIndexCache indexCache;
+
+    public CompositeIndexProcessor() {
+        this(null);
+    }
+
+    /**
+     * @param indexCache the persistent cache of the indices of deployment content and static modules. May be {@code null}
+     */
+    public CompositeIndexProcessor(final AnnotationIndexCache indexCache) {
+        this.indexCache = indexCache;
+    }
+
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         final ModuleLoader moduleLoader = deploymentUnit.getAttachment(Attachments.SERVICE_MODULE_LOADER);
@@ -69,7 +82,7 @@ public class CompositeIndexProcessor implements DeploymentUnitProcessor {
                 // or jboss-deployment-structure.xml or equivalent jboss-all.xml content. Obtain indexes from its resources.
                 final List<Index> moduleIndexes = new ArrayList<>();
                 for(ResourceRoot resource : additional.getResourceRoots()) {
-                    ResourceRootIndexer.indexResourceRoot(resource);
+                    ResourceRootIndexer.indexResourceRoot(deploymentUnit, resource, indexCache);
                     Index indexAttachment = resource.getAttachment(Attachments.ANNOTATION_INDEX);
                     if(indexAttachment != null) {
                         indexes.add(indexAttachment);
@@ -106,12 +119,12 @@ public class CompositeIndexProcessor implements DeploymentUnitProcessor {
                 CompositeIndex externalModuleIndexes;
                 AnnotationIndexSupport annotationIndexSupport = indexSupportRef.get();
                 if (annotationIndexSupport != null) {
-                    externalModuleIndexes = annotationIndexSupport.getAnnotationIndices(moduleIdentifier.toString(), moduleLoader);
+                    externalModuleIndexes = annotationIndexSupport.getAnnotationIndices(moduleIdentifier.toString(), moduleLoader, indexCache);
                 } else {
                     // This implies the DeploymentUnitService was restarted after the original operation that held
                     // the strong ref to the AnnotationIndexSupport. So we can't benefit from caching. Just calculate
                     // the indices without worrying about caching.
-                    externalModuleIndexes = AnnotationIndexSupport.indexModule(moduleIdentifier.toString(), moduleLoader);
+                    externalModuleIndexes = AnnotationIndexSupport.indexModule(moduleIdentifier.toString(), moduleLoader, indexCache);
                 }
                 indexes.addAll(externalModuleIndexes.indexes);
                 additionalAnnotationIndexes.put(moduleIdentifier, externalModuleIndexes);
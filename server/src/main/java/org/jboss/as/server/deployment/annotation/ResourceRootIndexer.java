@@ -5,20 +5,34 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import static java.security.AccessController.doPrivileged;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.as.server.moduleservice.ModuleIndexBuilder;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexReader;
 import org.jboss.jandex.Indexer;
-import org.jboss.vfs.VFSUtils;
+import org.jboss.threads.JBossThreadFactory;
 import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.VirtualFileFilter;
 import org.jboss.vfs.VisitorAttributes;
@@ -29,10 +43,69 @@ import org.jboss.vfs.util.SuffixMatchFilter;
  */
 public class ResourceRootIndexer {
 
+    /** Number of class files read ahead of the indexer */
+    private static final int READ_AHEAD_COUNT = 16;
+
     /**
      * Creates and attaches the annotation index to a resource root, if it has not already been attached
      */
     public static void indexResourceRoot(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
+        indexResourceRoot(resourceRoot, null, null);
+    }
+
+    /**
+     * Creates and attaches the annotation index to each of the given resource roots of a deployment, indexing the
+     * resource roots in parallel, and reading the index from the cache if it was cached before.
+     *
+     * @param deploymentUnit the deployment unit the resource roots belong to
+     * @param resourceRoots the resource roots
+     * @param cache the persistent cache of indices. May be {@code null}
+     */
+    static void indexResourceRoots(final DeploymentUnit deploymentUnit, final List<ResourceRoot> resourceRoots, final AnnotationIndexCache cache) throws DeploymentUnitProcessingException {
+        if (resourceRoots.size() == 1) {
+            indexResourceRoot(deploymentUnit, resourceRoots.get(0), cache);
+            return;
+        }
+        final List<Future<Void>> tasks = new ArrayList<>(resourceRoots.size());
+        try {
+            for (ResourceRoot resourceRoot : resourceRoots) {
+                tasks.add(IndexingPool.ROOTS.submit(() -> {
+                    indexResourceRoot(deploymentUnit, resourceRoot, cache);
+                    return null;
+                }));
+            }
+            for (Future<Void> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DeploymentUnitProcessingException) {
+                throw (DeploymentUnitProcessingException) e.getCause();
+            }
+            throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e.getCause());
+        } finally {
+            for (Future<Void> task : tasks) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Creates and attaches the annotation index to a resource root of a deployment, reading it from the cache if it
+     * was cached before.
+     *
+     * @param deploymentUnit the deployment unit the resource root belongs to
+     * @param resourceRoot the resource root
+     * @param cache the persistent cache of indices. May be {@code null}
+     */
+    static void indexResourceRoot(final DeploymentUnit deploymentUnit, final ResourceRoot resourceRoot, final AnnotationIndexCache cache) throws DeploymentUnitProcessingException {
+        final byte[] contentDigest = cache != null ? AnnotationIndexCache.getContentDigest(deploymentUnit, resourceRoot) : null;
+        indexResourceRoot(resourceRoot, contentDigest != null ? cache : null, contentDigest);
+    }
+
+    private static void indexResourceRoot(final ResourceRoot resourceRoot, final AnnotationIndexCache cache, final byte[] contentDigest) throws DeploymentUnitProcessingException {
         if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
             return;
         }
@@ -63,6 +136,17 @@ public class ResourceRootIndexer {
             indexIgnorePaths = null;
         }
 
+        byte[] cacheKey = null;
+        if (cache != null) {
+            cacheKey = AnnotationIndexCache.getKey(contentDigest, indexIgnorePathList == null ? null : indexIgnorePathList.stream().sorted().distinct().collect(Collectors.toList()));
+            final Index index = cache.get(cacheKey);
+            if (index != null) {
+                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
+                ServerLogger.DEPLOYMENT_LOGGER.tracef("Read cached index for archive %s", resourceRoot.getRoot());
+                return;
+            }
+        }
+
         final VirtualFile virtualFile = resourceRoot.getRoot();
         final Indexer indexer = new Indexer();
         try {
@@ -75,22 +159,80 @@ public class ResourceRootIndexer {
             });
 
             final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
-            for (VirtualFile classFile : classChildren) {
-                InputStream inputStream = null;
-                try {
-                    inputStream = classFile.openStream();
-                    indexer.index(inputStream);
-                } catch (Exception e) {
-                    ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(virtualFile), virtualFile.getPathName(), e);
-                } finally {
-                    VFSUtils.safeClose(inputStream);
-                }
-            }
+            index(indexer, virtualFile, classChildren);
             final Index index = indexer.complete();
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
+            if (cache != null) {
+                cache.put(cacheKey, index);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e);
         } catch (Throwable t) {
             throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
         }
     }
+
+    /**
+     * Indexes the given class files. The indexer is not thread safe, so the classes are indexed in order by the calling
+     * thread, while the next few class files are read, and decompressed, by the pool reading class files. That pool
+     * is not the one indexing the resource roots, so waiting for a read never holds up the reads themselves.
+     */
+    private static void index(final Indexer indexer, final VirtualFile root, final List<VirtualFile> classFiles) throws InterruptedException {
+        final List<Future<byte[]>> reads = new ArrayList<>(classFiles.size());
+        try {
+            for (int i = 0; i < classFiles.size(); i++) {
+                for (int j = reads.size(); j < classFiles.size() && j <= i + READ_AHEAD_COUNT; j++) {
+                    final VirtualFile classFile = classFiles.get(j);
+                    reads.add(IndexingPool.READS.submit(() -> readClassFile(classFile)));
+                }
+                final VirtualFile classFile = classFiles.get(i);
+                try {
+                    final byte[] bytes = reads.get(i).get();
+                    // Let the bytes be collected once indexed
+                    reads.set(i, null);
+                    indexer.index(new ByteArrayInputStream(bytes));
+                } catch (ExecutionException e) {
+                    ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(root), root.getPathName(), e.getCause());
+                } catch (Exception e) {
+                    ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(root), root.getPathName(), e);
+                }
+            }
+        } finally {
+            for (Future<byte[]> read : reads) {
+                if (read != null) {
+                    read.cancel(false);
+                }
+            }
+        }
+    }
+
+    private static byte[] readClassFile(final VirtualFile classFile) throws IOException {
+        try (InputStream inputStream = classFile.openStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    /**
+     * Lazily created pools of daemon threads, one indexing resource roots and one reading class files ahead of the
+     * indexers. Threads idle for a while are stopped.
+     */
+    private static final class IndexingPool {
+        private static final int THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+        private static final ThreadGroup THREAD_GROUP = new ThreadGroup("annotation-indexing-threads");
+        static final ExecutorService ROOTS = create("%G - root-%t");
+        static final ExecutorService READS = create("%G - read-%t");
+
+        private static ExecutorService create(final String namePattern) {
+            final JBossThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                public JBossThreadFactory run() {
+                    return new JBossThreadFactory(THREAD_GROUP, Boolean.TRUE, null, namePattern, null, null);
+                }
+            });
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.mgmt;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.domain.http.server.ManagementHttpRequestMetrics;
+import org.jboss.as.server.mgmt.domain.HttpManagement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the {@link ManagementHttpRequestMetrics statistics} of the requests handled by the HTTP management interface.
+ */
+public final class HttpManagementMetricsHandler implements OperationStepHandler {
+
+    public static final SimpleAttributeDefinition REQUEST_COUNT = metric("request-count", MeasurementUnit.NONE);
+    public static final SimpleAttributeDefinition QUEUE_TIME = metric("queue-time", MeasurementUnit.MILLISECONDS);
+    public static final SimpleAttributeDefinition MAX_QUEUE_TIME = metric("max-queue-time", MeasurementUnit.MILLISECONDS);
+    public static final SimpleAttributeDefinition PROCESSING_TIME = metric("processing-time", MeasurementUnit.MILLISECONDS);
+    public static final SimpleAttributeDefinition MAX_PROCESSING_TIME = metric("max-processing-time", MeasurementUnit.MILLISECONDS);
+
+    public static final AttributeDefinition[] METRICS = {
+        REQUEST_COUNT, QUEUE_TIME, MAX_QUEUE_TIME, PROCESSING_TIME, MAX_PROCESSING_TIME
+    };
+
+    private static final HttpManagementMetricsHandler INSTANCE = new HttpManagementMetricsHandler();
+
+    private HttpManagementMetricsHandler() {
+    }
+
+    private static SimpleAttributeDefinition metric(String name, MeasurementUnit unit) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setStorageRuntime()
+                // Read from the process itself, including a host controller
+                .addFlag(AttributeAccess.Flag.RUNTIME_SERVICE_NOT_REQUIRED)
+                .setMeasurementUnit(unit)
+                .setUndefinedMetricValue(ModelNode.ZERO_LONG)
+                .build();
+    }
+
+    /**
+     * Registers the metrics of the HTTP management interface.
+     *
+     * @param resourceRegistration the registration of the HTTP management interface resource
+     */
+    public static void registerMetrics(ManagementResourceRegistration resourceRegistration) {
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, INSTANCE);
+        }
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowHttpManagementService.SERVICE_NAME);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            // Not started yet, or stopping
+            return;
+        }
+        ManagementHttpRequestMetrics metrics = ((HttpManagement) controller.getValue()).getRequestMetrics();
+        if (metrics == null) {
+            return;
+        }
+        String name = operation.require(NAME).asString();
+        final long value;
+        if (REQUEST_COUNT.getName().equals(name)) {
+            value = metrics.getRequestCount();
+        } else if (QUEUE_TIME.getName().equals(name)) {
+            value = metrics.getQueueTime();
+        } else if (MAX_QUEUE_TIME.getName().equals(name)) {
+            value = metrics.getMaxQueueTime();
+        } else if (PROCESSING_TIME.getName().equals(name)) {
+            value = metrics.getProcessingTime();
+        } else {
+            value = metrics.getMaxProcessingTime();
+        }
+        context.getResult().set(value);
+    }
+}
@@ -22,6 +22,7 @@ import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.management.HttpInterfaceCommonPolicy.Header;
 import org.jboss.as.domain.http.server.ConsoleAvailability;
 import org.jboss.as.domain.http.server.ConsoleMode;
+import org.jboss.as.domain.http.server.ManagementHttpRequestMetrics;
 import org.jboss.as.domain.http.server.ManagementHttpRequestProcessor;
 import org.jboss.as.domain.http.server.ManagementHttpServer;
 import org.jboss.as.network.ManagedBinding;
@@ -44,6 +45,7 @@ import org.wildfly.security.auth.server.MechanismConfiguration;
 import org.wildfly.security.auth.server.MechanismConfigurationSelector;
 import org.wildfly.security.auth.server.SecurityDomain;
 import org.wildfly.security.http.HttpServerAuthenticationMechanismFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.SslClientAuthMode;
 import org.xnio.XnioWorker;
 
@@ -72,6 +74,8 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
     public static final String JBOSS_REMOTING = "jboss-remoting";
     public static final String MANAGEMENT_ENDPOINT = "management-endpoint";
 
+    private static final String HTTP2_PROP = "org.wildfly.unsupported.external.management.http2";
+
     private final Consumer<HttpManagement> httpManagementConsumer;
     private final Supplier<ListenerRegistry> listenerRegistrySupplier;
     private final Supplier<ModelController> modelControllerSupplier;
@@ -95,7 +99,7 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
     private final Supplier<SecurityDomain> virtualSecurityDomainSupplier;
     private final Supplier<HttpServerAuthenticationMechanismFactory> virtualMechanismFactorySupplier;
 
-    private ManagementHttpServer serverManagement;
+    private volatile ManagementHttpServer serverManagement;
     private SocketBindingManager socketBindingManager;
     private boolean useUnmanagedBindings = false;
     private ManagedBinding basicManagedBinding;
@@ -184,6 +188,12 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
         public boolean hasConsole() {
             return consoleMode.hasConsole();
         }
+
+        @Override
+        public ManagementHttpRequestMetrics getRequestMetrics() {
+            ManagementHttpServer serverManagement = UndertowHttpManagementService.this.serverManagement;
+            return serverManagement == null ? null : serverManagement.getRequestMetrics();
+        }
     };
 
     public UndertowHttpManagementService(final Consumer<HttpManagement> httpManagementConsumer,
@@ -352,6 +362,7 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
                     .setAllowedOrigins(allowedOrigins)
                     .setWorker(workerSupplier.get())
                     .setExecutor(executorSupplier.get())
+                    .setHttp2Enabled(Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(HTTP2_PROP, "false")))
                     .setConstantHeaders(constantHeaders)
                     .setConsoleAvailability(consoleAvailability);
 
@@ -5,6 +5,7 @@
 
 package org.jboss.as.server.mgmt.domain;
 
+import org.jboss.as.domain.http.server.ManagementHttpRequestMetrics;
 import org.jboss.as.network.NetworkInterfaceBinding;
 
 /**
@@ -22,4 +23,13 @@ public interface HttpManagement {
 
     boolean hasConsole();
 
+    /**
+     * Gets the statistics of the requests handled by the HTTP management API.
+     *
+     * @return the statistics, or {@code null} if not available
+     */
+    default ManagementHttpRequestMetrics getRequestMetrics() {
+        return null;
+    }
+
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.vfs.VFS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ResourceRootIndexer} and of the {@link AnnotationIndexCache} it uses.
+ */
+public class ResourceRootIndexerTestCase {
+
+    private static final Class<?>[] CLASSES = {AnnotationIndexCache.class, CompositeIndex.class, ResourceRootIndexer.class};
+
+    private final Path root = Paths.get("target", "resource-root-indexer").toAbsolutePath();
+    private final Path deployment = root.resolve("app.ear");
+    private AnnotationIndexCache cache;
+    private DeploymentUnit deploymentUnit;
+
+    @Before
+    public void setup() throws IOException {
+        deleteTree();
+        for (String jar : new String[] {"a.jar", "b.jar"}) {
+            for (Class<?> clazz : CLASSES) {
+                final String name = clazz.getName().replace('.', '/') + ".class";
+                final Path file = deployment.resolve("lib").resolve(jar).resolve(name);
+                Files.createDirectories(file.getParent());
+                try (InputStream in = clazz.getClassLoader().getResourceAsStream(name)) {
+                    Files.copy(in, file);
+                }
+            }
+        }
+        cache = new AnnotationIndexCache(root.resolve(AnnotationIndexCache.CACHE_DIR));
+        deploymentUnit = mockDeploymentUnit(new byte[] {1, 2, 3});
+    }
+
+    @After
+    public void deleteTree() throws IOException {
+        if (Files.exists(root)) {
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testResourceRootsAreIndexed() throws Exception {
+        final ResourceRoot a = resourceRoot("a.jar");
+        final ResourceRoot b = resourceRoot("b.jar");
+        ResourceRootIndexer.indexResourceRoots(deploymentUnit, Arrays.asList(a, b), null);
+
+        for (ResourceRoot resourceRoot : new ResourceRoot[] {a, b}) {
+            final Index index = resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX);
+            assertEquals(CLASSES.length, index.getKnownClasses().size());
+            for (Class<?> clazz : CLASSES) {
+                assertNotNull(index.getClassByName(DotName.createSimple(clazz.getName())));
+            }
+        }
+        assertEquals(0L, countCacheEntries());
+    }
+
+    @Test
+    public void testCachedIndexIsReused() throws Exception {
+        ResourceRootIndexer.indexResourceRoots(deploymentUnit, Arrays.asList(resourceRoot("a.jar"), resourceRoot("b.jar")), cache);
+        assertEquals(2L, countCacheEntries());
+
+        // Identical content is not read again, so removing its classes goes unnoticed
+        deleteClasses("a.jar");
+        ResourceRoot a = resourceRoot("a.jar");
+        ResourceRootIndexer.indexResourceRoot(deploymentUnit, a, cache);
+        assertEquals(CLASSES.length, a.getAttachment(Attachments.ANNOTATION_INDEX).getKnownClasses().size());
+
+        // Whereas different content is indexed
+        a = resourceRoot("a.jar");
+        ResourceRootIndexer.indexResourceRoot(mockDeploymentUnit(new byte[] {4, 5, 6}), a, cache);
+        assertTrue(a.getAttachment(Attachments.ANNOTATION_INDEX).getKnownClasses().isEmpty());
+        assertEquals(3L, countCacheEntries());
+    }
+
+    @Test
+    public void testUnidentifiedContentIsNotCached() throws Exception {
+        final ResourceRoot a = resourceRoot("a.jar");
+        ResourceRootIndexer.indexResourceRoot(mockDeploymentUnit(null), a, cache);
+        assertEquals(CLASSES.length, a.getAttachment(Attachments.ANNOTATION_INDEX).getKnownClasses().size());
+        assertEquals(0L, countCacheEntries());
+    }
+
+    @Test
+    public void testUnreadableEntryIsDiscarded() throws Exception {
+        final byte[] key = AnnotationIndexCache.getKey(new byte[] {7}, null);
+        final Path entry;
+        try (Stream<Path> files = Files.list(root.resolve(AnnotationIndexCache.CACHE_DIR))) {
+            assertFalse(files.findAny().isPresent());
+        }
+        cache.put(key, Index.of(AnnotationIndexCache.class));
+        assertNotNull(cache.get(key));
+        try (Stream<Path> files = Files.list(root.resolve(AnnotationIndexCache.CACHE_DIR))) {
+            entry = files.findFirst().get();
+        }
+
+        Files.write(entry, new byte[] {1, 2, 3});
+        assertNull(cache.get(key));
+        assertFalse(Files.exists(entry));
+    }
+
+    private ResourceRoot resourceRoot(final String jar) {
+        return new ResourceRoot(VFS.getChild(deployment.resolve("lib").resolve(jar).toString()), null);
+    }
+
+    private DeploymentUnit mockDeploymentUnit(final byte[] contentHash) {
+        final DeploymentUnit unit = mock(DeploymentUnit.class);
+        when(unit.getName()).thenReturn(deployment.getFileName().toString());
+        when(unit.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH)).thenReturn(contentHash);
+        when(unit.getAttachment(Attachments.DEPLOYMENT_ROOT)).thenReturn(new ResourceRoot(VFS.getChild(deployment.toString()), null));
+        return unit;
+    }
+
+    private void deleteClasses(final String jar) throws IOException {
+        try (Stream<Path> files = Files.walk(deployment.resolve("lib").resolve(jar))) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private long countCacheEntries() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve(AnnotationIndexCache.CACHE_DIR))) {
+            return files.count();
+        }
+    }
+}